@@ -0,0 +1,101 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader.benchmarks;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.ObjectReader;
+import io.github.zessi.utils.java_object_reader.java_object_reader.StringRepresentationOptions;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the circular reference checks on deep linked structures, where every non-primitive field is checked against all of the objects on the current path. <br>
+ * The chains are built from nodes with a plain identity hashCode, nodes with a constant hashCode (every node collides) and nodes with an expensive hashCode.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xss16m")
+public class CircularReferenceBenchmark {
+
+    /**
+     * A node of a linked chain.
+     */
+    static class Node {
+        private int value;
+        private Object next;
+    }
+
+    /**
+     * A node of which all instances are equal and have the same hashCode.
+     */
+    static class CollidingNode extends Node {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingNode;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+
+    /**
+     * A node with a hashCode that is expensive to compute.
+     */
+    static class ExpensiveHashCodeNode extends Node {
+        @Override
+        public int hashCode() {
+            int hash = 0;
+            for (int i = 0; i < 1000; i++) {
+                hash = 31 * hash + Integer.rotateLeft(System.identityHashCode(this), i);
+            }
+            return hash;
+        }
+    }
+
+    public enum NodeKind {PLAIN, COLLIDING, EXPENSIVE_HASH_CODE}
+
+    @Param({"PLAIN", "COLLIDING", "EXPENSIVE_HASH_CODE"})
+    public NodeKind nodeKind;
+
+    @Param({"100", "1000"})
+    public int depth;
+
+    private final StringRepresentationOptions options = StringRepresentationOptions.Builder.build().get();
+    private final StringBuilder builder = new StringBuilder();
+    private Node root;
+
+    @Setup
+    public void setUp() {
+        root = newNode();
+        Node current = root;
+        for (int i = 1; i < depth; i++) {
+            final Node next = newNode();
+            next.value = i;
+            current.next = next;
+            current = next;
+        }
+        //Closing the chain, so that the last node refers to the first node on the path.
+        current.next = root.next;
+    }
+
+    private Node newNode() {
+        switch (nodeKind) {
+            case COLLIDING:
+                return new CollidingNode();
+            case EXPENSIVE_HASH_CODE:
+                return new ExpensiveHashCodeNode();
+            default:
+                return new Node();
+        }
+    }
+
+    @Benchmark
+    public int readChain() throws IOException {
+        builder.setLength(0);
+        return ObjectReader.read(root, options, builder).length();
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader.benchmarks;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.ObjectReader;
+import io.github.zessi.utils.java_object_reader.java_object_reader.StringRepresentationOptions;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of many threads reading objects of the same types at the same time, which is the case of request threads logging the same DTO types. <br>
+ * Comparing the score of readOneThread with the score of readAllThreads shows how the throughput scales with the number of cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentReadBenchmark {
+
+    /**
+     * A DTO shaped object with fields of different types.
+     */
+    static class Address {
+        private String street = "Main Street";
+        private int number = 42;
+        private String city = "Springfield";
+    }
+
+    /**
+     * A DTO shaped object with fields of different types and a nested object.
+     */
+    static class Customer {
+        private long id = 1234567890L;
+        private String firstName = "John";
+        private String lastName = "Doe";
+        private boolean active = true;
+        private double balance = 1050.25;
+        private Address address = new Address();
+    }
+
+    private final StringRepresentationOptions options = StringRepresentationOptions.Builder.build().get();
+    private final Customer customer = new Customer();
+
+    @Benchmark
+    @Threads(1)
+    public String readOneThread() {
+        return ObjectReader.read(customer, options);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String readAllThreads() {
+        return ObjectReader.read(customer, options);
+    }
+}
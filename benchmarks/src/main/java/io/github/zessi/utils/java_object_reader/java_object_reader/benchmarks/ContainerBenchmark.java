@@ -0,0 +1,67 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader.benchmarks;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.ObjectReader;
+import io.github.zessi.utils.java_object_reader.java_object_reader.StringRepresentationOptions;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the logical representation of maps (their entries) with the representation of their internal fields (tables, nodes, counters, ... etc.). <br>
+ * The maps hold session-like entries keyed by Strings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContainerBenchmark {
+
+    /**
+     * A value stored in the maps.
+     */
+    static class Session {
+        private final long createdAt;
+        private final String user;
+
+        Session(long createdAt, String user) {
+            this.createdAt = createdAt;
+            this.user = user;
+        }
+    }
+
+    public enum MapKind {HASH_MAP, CONCURRENT_HASH_MAP}
+
+    @Param({"HASH_MAP", "CONCURRENT_HASH_MAP"})
+    public MapKind mapKind;
+
+    @Param({"true", "false"})
+    public boolean logicalContainers;
+
+    @Param({"1000"})
+    public int size;
+
+    private final StringBuilder builder = new StringBuilder();
+    private StringRepresentationOptions options;
+    private Map<String, Session> map;
+
+    @Setup
+    public void setUp() {
+        options = StringRepresentationOptions.Builder.build().setLogicalContainers(logicalContainers).get();
+        map = (mapKind == MapKind.HASH_MAP) ? new HashMap<>() : new ConcurrentHashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put("session-" + i, new Session(1500000000000L + i, "user-" + (i % 97)));
+        }
+    }
+
+    @Benchmark
+    public int readMap() throws IOException {
+        builder.setLength(0);
+        return ObjectReader.read(map, options, builder).length();
+    }
+}
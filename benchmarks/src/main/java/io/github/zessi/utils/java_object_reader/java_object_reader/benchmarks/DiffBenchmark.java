@@ -0,0 +1,84 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader.benchmarks;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.ObjectReader;
+import io.github.zessi.utils.java_object_reader.java_object_reader.StringRepresentationOptions;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares finding the differences between two versions of a domain object with ObjectReader.diff to reading both versions (the text that would otherwise be diffed). <br>
+ * The versions share most of their objects (like a copy-on-write update would), or are deep copies of each other with a single changed value.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiffBenchmark {
+
+    static class Line {
+        private String product;
+        private int quantity;
+        private double price;
+    }
+
+    static class Order {
+        private long id;
+        private String customer;
+        private Line[] lines;
+    }
+
+    @Param({"1000"})
+    public int lineCount;
+
+    @Param({"false", "true"})
+    public boolean shared;
+
+    private final StringRepresentationOptions options = StringRepresentationOptions.Builder.build().get();
+    private final StringBuilder builder = new StringBuilder();
+    private Order before;
+    private Order after;
+
+    @Setup
+    public void setUp() {
+        before = createOrder();
+        after = new Order();
+        after.id = before.id;
+        after.customer = before.customer;
+        after.lines = shared ? before.lines.clone() : createOrder().lines;
+        //A single changed value in the middle of the order.
+        final Line changed = new Line();
+        changed.product = "changed";
+        after.lines[lineCount / 2] = changed;
+    }
+
+    private Order createOrder() {
+        final Order order = new Order();
+        order.id = 42;
+        order.customer = "customer";
+        order.lines = new Line[lineCount];
+        for (int i = 0; i < lineCount; i++) {
+            order.lines[i] = new Line();
+            order.lines[i].product = "product " + i;
+            order.lines[i].quantity = i;
+            order.lines[i].price = i * 0.5;
+        }
+        return order;
+    }
+
+    @Benchmark
+    public int diff() throws IOException {
+        builder.setLength(0);
+        return ObjectReader.diff(before, after, options, builder).length();
+    }
+
+    @Benchmark
+    public int readBoth() throws IOException {
+        builder.setLength(0);
+        ObjectReader.read(before, options, builder);
+        return ObjectReader.read(after, options, builder).length();
+    }
+}
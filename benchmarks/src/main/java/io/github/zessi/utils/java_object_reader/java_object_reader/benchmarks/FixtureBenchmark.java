@@ -0,0 +1,171 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader.benchmarks;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.ObjectReader;
+import io.github.zessi.utils.java_object_reader.java_object_reader.StringRepresentationOptions;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.LinkedNode;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.ObjectWithLargeString;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.PrimitivesFieldsObject;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.circular.CircularObjectHolder;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.complex.TypeWithArray;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.inheritance.SimpleTypeOne_One_One;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ObjectReader.read on the shapes of the test fixtures and on scaled-up variants of them (large arrays, deep chains and wide objects). <br>
+ * Each shape is read by a single thread and by as many threads as there are cores, and both the throughput and the average latency are reported. Running the benchmarks with
+ * the GC profiler (as the jmh task does) reports the allocation rate per operation as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixtureBenchmark {
+
+    /**
+     * An object with many fields of different types.
+     */
+    static class WideObject {
+        private int field00 = 0;
+        private long field01 = 1L;
+        private double field02 = 2.5;
+        private String field03 = "value3";
+        private boolean field04 = true;
+        private Integer field05 = 5;
+        private char field06 = 'c';
+        private float field07 = 7.25f;
+        private int field08 = 8;
+        private long field09 = 9L;
+        private double field10 = 10.5;
+        private String field11 = "value11";
+        private boolean field12 = true;
+        private Integer field13 = 13;
+        private char field14 = 'c';
+        private float field15 = 15.25f;
+        private int field16 = 16;
+        private long field17 = 17L;
+        private double field18 = 18.5;
+        private String field19 = "value19";
+        private boolean field20 = true;
+        private Integer field21 = 21;
+        private char field22 = 'c';
+        private float field23 = 23.25f;
+        private int field24 = 24;
+        private long field25 = 25L;
+        private double field26 = 26.5;
+        private String field27 = "value27";
+        private boolean field28 = true;
+        private Integer field29 = 29;
+        private char field30 = 'c';
+        private float field31 = 31.25f;
+        private int field32 = 32;
+        private long field33 = 33L;
+        private double field34 = 34.5;
+        private String field35 = "value35";
+        private boolean field36 = true;
+        private Integer field37 = 37;
+        private char field38 = 'c';
+        private float field39 = 39.25f;
+        private int field40 = 40;
+        private long field41 = 41L;
+        private double field42 = 42.5;
+        private String field43 = "value43";
+        private boolean field44 = true;
+        private Integer field45 = 45;
+        private char field46 = 'c';
+        private float field47 = 47.25f;
+        private int field48 = 48;
+        private long field49 = 49L;
+        private double field50 = 50.5;
+        private String field51 = "value51";
+        private boolean field52 = true;
+        private Integer field53 = 53;
+        private char field54 = 'c';
+        private float field55 = 55.25f;
+        private int field56 = 56;
+        private long field57 = 57L;
+        private double field58 = 58.5;
+        private String field59 = "value59";
+        private boolean field60 = true;
+        private Integer field61 = 61;
+        private char field62 = 'c';
+        private float field63 = 63.25f;
+    }
+
+    public enum Shape {
+        PRIMITIVE_FIELDS, TYPE_WITH_ARRAY, INHERITANCE_CHAIN, CIRCULAR, LARGE_STRING, LARGE_OBJECT_ARRAY, LARGE_PRIMITIVE_ARRAY, DEEP_CHAIN, WIDE_OBJECT
+    }
+
+    /**
+     * The buffer of each thread, which is reused by all the operations of the thread.
+     */
+    @State(Scope.Thread)
+    public static class Buffer {
+        private final StringBuilder builder = new StringBuilder();
+    }
+
+    @Param({"PRIMITIVE_FIELDS", "TYPE_WITH_ARRAY", "INHERITANCE_CHAIN", "CIRCULAR", "LARGE_STRING", "LARGE_OBJECT_ARRAY", "LARGE_PRIMITIVE_ARRAY", "DEEP_CHAIN", "WIDE_OBJECT"})
+    public Shape shape;
+
+    private final StringRepresentationOptions options = StringRepresentationOptions.Builder.build().get();
+    private Object object;
+
+    @Setup
+    public void setUp() {
+        switch (shape) {
+            case PRIMITIVE_FIELDS:
+                object = new PrimitivesFieldsObject();
+                break;
+            case TYPE_WITH_ARRAY:
+                object = new TypeWithArray();
+                break;
+            case INHERITANCE_CHAIN:
+                object = new SimpleTypeOne_One_One().setText3("333").setText2("222").setText1("111");
+                break;
+            case CIRCULAR:
+                object = new CircularObjectHolder();
+                break;
+            case LARGE_STRING:
+                object = new ObjectWithLargeString();
+                break;
+            case LARGE_OBJECT_ARRAY:
+                final PrimitivesFieldsObject[] objects = new PrimitivesFieldsObject[1000];
+                for (int i = 0; i < objects.length; i++) {
+                    objects[i] = new PrimitivesFieldsObject();
+                }
+                object = objects;
+                break;
+            case LARGE_PRIMITIVE_ARRAY:
+                final long[] longs = new long[100000];
+                for (int i = 0; i < longs.length; i++) {
+                    longs[i] = i * 2654435761L;
+                }
+                object = longs;
+                break;
+            case DEEP_CHAIN:
+                //The indentation of each line grows with the depth, so the size of the representation grows quadratically with the length of the chain.
+                object = LinkedNode.createChain(1000);
+                break;
+            default:
+                object = new WideObject();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int readOneThread(Buffer buffer) throws IOException {
+        buffer.builder.setLength(0);
+        return ObjectReader.read(object, options, buffer.builder).length();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int readAllThreads(Buffer buffer) throws IOException {
+        buffer.builder.setLength(0);
+        return ObjectReader.read(object, options, buffer.builder).length();
+    }
+}
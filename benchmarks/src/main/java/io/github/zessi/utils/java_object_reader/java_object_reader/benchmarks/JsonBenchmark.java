@@ -0,0 +1,57 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader.benchmarks;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.ObjectReader;
+import io.github.zessi.utils.java_object_reader.java_object_reader.OutputFormat;
+import io.github.zessi.utils.java_object_reader.java_object_reader.StringRepresentationOptions;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing the same records in the TEXT format and in the JSON format. The records hold strings that need escaping, so the JSON numbers include the cost of the escaper,
+ * which writes the runs of plain chars as ranges of the original strings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    static class Record {
+        private String name;
+        private String comment;
+        private long id;
+        private double score;
+        private int[] flags;
+    }
+
+    @Param({"TEXT", "JSON"})
+    public OutputFormat format;
+
+    private final StringBuilder builder = new StringBuilder();
+    private StringRepresentationOptions options;
+    private Record[] records;
+
+    @Setup
+    public void setUp() {
+        options = StringRepresentationOptions.Builder.build().setOutputFormat(format).get();
+        records = new Record[1000];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = new Record();
+            records[i].name = "record-" + i;
+            records[i].comment = "line one\nline \"two\"\twith a tab " + i;
+            records[i].id = i * 31L;
+            records[i].score = i / 7.0;
+            records[i].flags = new int[]{i, -i, i % 2};
+        }
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        builder.setLength(0);
+        return ObjectReader.read(records, options, builder).length();
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader.benchmarks;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.ObjectReader;
+import io.github.zessi.utils.java_object_reader.java_object_reader.StringRepresentationOptions;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing a request holding a 4 MB payload String to a Writer (like a request logger does), in full and with the maximum String length, which writes a preview of the
+ * payload without reading the rest of it. The full payload is copied into the Writer in chunks, so the allocation per operation does not grow with the size of the payload.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LargeStringBenchmark {
+
+    static class Request {
+        private String method = "POST";
+        private String path = "/upload";
+        private String payload;
+    }
+
+    /**
+     * A Writer that discards the written chars, so only the cost of the read is measured.
+     */
+    static final class DiscardingWriter extends Writer {
+        private long count;
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            count += length;
+        }
+
+        @Override
+        public void write(String string, int offset, int length) {
+            count += length;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Param({"2147483647", "256"})
+    public int maxStringLength;
+
+    private final DiscardingWriter writer = new DiscardingWriter();
+    private StringRepresentationOptions options;
+    private Request request;
+
+    @Setup
+    public void setUp() {
+        options = StringRepresentationOptions.Builder.build().setMaxStringLength(maxStringLength).get();
+        final char[] payload = new char[4 * 1024 * 1024];
+        Arrays.fill(payload, 'x');
+        request = new Request();
+        request.payload = new String(payload);
+    }
+
+    @Benchmark
+    public long write() throws IOException {
+        writer.count = 0;
+        ObjectReader.read(request, options, writer);
+        return writer.count;
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader.benchmarks;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.ObjectReader;
+import io.github.zessi.utils.java_object_reader.java_object_reader.StringRepresentationOptions;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.complex.TypeWithArray;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of passing a representation to a logging call whose level is disabled (the argument is created but never converted to a String), eagerly and lazily.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyBenchmark {
+
+    private final StringRepresentationOptions options = StringRepresentationOptions.Builder.build().get();
+    private final TypeWithArray object = new TypeWithArray();
+
+    @Benchmark
+    public Object eagerDisabled() {
+        return ObjectReader.read(object, options);
+    }
+
+    @Benchmark
+    public Object lazyDisabled() {
+        return ObjectReader.lazy(object, options);
+    }
+
+    @Benchmark
+    public String lazyEnabled() {
+        return ObjectReader.lazy(object, options).toString();
+    }
+}
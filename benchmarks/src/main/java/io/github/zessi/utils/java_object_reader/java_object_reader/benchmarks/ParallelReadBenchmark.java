@@ -0,0 +1,65 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader.benchmarks;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.ObjectReader;
+import io.github.zessi.utils.java_object_reader.java_object_reader.StringRepresentationOptions;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the sequential and the parallel (ForkJoinPool.commonPool()) reads of a single large array of DTOs. The speedup depends on the number of cores.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelReadBenchmark {
+
+    /**
+     * A DTO shaped object with fields of different types.
+     */
+    static class Order {
+        private long id;
+        private String customer;
+        private int quantity;
+        private double price;
+        private boolean shipped;
+
+        Order(long id) {
+            this.id = id;
+            this.customer = "customer-" + (id % 1000);
+            this.quantity = (int) (id % 17);
+            this.price = id / 7.0;
+            this.shipped = (id % 2) == 0;
+        }
+    }
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    @Param({"200000"})
+    public int size;
+
+    private final StringBuilder builder = new StringBuilder();
+    private StringRepresentationOptions options;
+    private Order[] orders;
+
+    @Setup
+    public void setUp() {
+        options = StringRepresentationOptions.Builder.build().setForkJoinPool(parallel ? ForkJoinPool.commonPool() : null).get();
+        orders = new Order[size];
+        for (int i = 0; i < size; i++) {
+            orders[i] = new Order(i);
+        }
+    }
+
+    @Benchmark
+    public int readArray() throws IOException {
+        builder.setLength(0);
+        return ObjectReader.read(orders, options, builder).length();
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader.benchmarks;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.ObjectReader;
+import io.github.zessi.utils.java_object_reader.java_object_reader.StringRepresentationOptions;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares arrays of primitive types, which are written without boxing, with the equivalent arrays of wrapper objects, which are written element by element through ObjectInfo
+ * objects. Both render the same elements, so the difference is the cost of boxing and wrapping each element.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveArrayBenchmark {
+
+    /**
+     * A Writer that discards everything, so that only the cost of producing the characters is measured.
+     */
+    static class DiscardingWriter extends Writer {
+        @Override
+        public void write(int c) {
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+        }
+
+        @Override
+        public void write(String string, int offset, int length) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private final StringRepresentationOptions options = StringRepresentationOptions.Builder.build().get();
+    private final StringBuilder builder = new StringBuilder();
+    private final Writer discardingWriter = new DiscardingWriter();
+    private int[] ints;
+    private Integer[] boxedInts;
+    private double[] doubles;
+    private Double[] boxedDoubles;
+
+    @Setup
+    public void setUp() {
+        ints = new int[size];
+        boxedInts = new Integer[size];
+        doubles = new double[size];
+        boxedDoubles = new Double[size];
+        for (int i = 0; i < size; i++) {
+            ints[i] = i * 7919 - 1000000;
+            boxedInts[i] = ints[i];
+            doubles[i] = i / 3.0;
+            boxedDoubles[i] = doubles[i];
+        }
+    }
+
+    @Benchmark
+    public int intArray() throws IOException {
+        builder.setLength(0);
+        return ObjectReader.read(ints, options, builder).length();
+    }
+
+    @Benchmark
+    public int boxedIntArray() throws IOException {
+        builder.setLength(0);
+        return ObjectReader.read(boxedInts, options, builder).length();
+    }
+
+    @Benchmark
+    public Writer intArrayToWriter() throws IOException {
+        return ObjectReader.read(ints, options, discardingWriter);
+    }
+
+    @Benchmark
+    public Writer boxedIntArrayToWriter() throws IOException {
+        return ObjectReader.read(boxedInts, options, discardingWriter);
+    }
+
+    @Benchmark
+    public int doubleArray() throws IOException {
+        builder.setLength(0);
+        return ObjectReader.read(doubles, options, builder).length();
+    }
+
+    @Benchmark
+    public int boxedDoubleArray() throws IOException {
+        builder.setLength(0);
+        return ObjectReader.read(boxedDoubles, options, builder).length();
+    }
+}
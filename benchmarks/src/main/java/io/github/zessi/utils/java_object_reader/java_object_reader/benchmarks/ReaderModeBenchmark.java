@@ -0,0 +1,58 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader.benchmarks;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.ObjectReader;
+import io.github.zessi.utils.java_object_reader.java_object_reader.ReaderMode;
+import io.github.zessi.utils.java_object_reader.java_object_reader.StringRepresentationOptions;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ReaderMode.REFLECTIVE and ReaderMode.METHOD_HANDLES modes on an array of objects of the same class with many primitive fields.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReaderModeBenchmark {
+
+    /**
+     * An object with fields of all the primitive types.
+     */
+    static class Measurement {
+        private boolean valid = true;
+        private byte flags = 3;
+        private short sensor = 12;
+        private int sequence = 123456;
+        private long timestamp = 1500000000000L;
+        private float temperature = 21.5f;
+        private double pressure = 1013.25;
+        private char unit = 'C';
+        private Integer station = 77;
+        private String label = "outdoor";
+    }
+
+    @Param({"REFLECTIVE", "METHOD_HANDLES"})
+    public ReaderMode readerMode;
+
+    private final StringBuilder builder = new StringBuilder();
+    private final Measurement[] measurements = new Measurement[1000];
+    private StringRepresentationOptions options;
+
+    @Setup
+    public void setUp() {
+        options = StringRepresentationOptions.Builder.build().setReaderMode(readerMode).get();
+        for (int i = 0; i < measurements.length; i++) {
+            measurements[i] = new Measurement();
+        }
+    }
+
+    @Benchmark
+    public int readArray() throws IOException {
+        builder.setLength(0);
+        return ObjectReader.read(measurements, options, builder).length();
+    }
+}
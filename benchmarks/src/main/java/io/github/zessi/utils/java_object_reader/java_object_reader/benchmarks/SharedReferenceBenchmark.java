@@ -0,0 +1,90 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader.benchmarks;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.ObjectReader;
+import io.github.zessi.utils.java_object_reader.java_object_reader.StringRepresentationOptions;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading graphs in which objects are shared by many other objects, with and without back-references. <br>
+ * The graph is made of layers of two nodes, where both nodes of a layer refer to both nodes of the next layer, so the number of paths doubles with each layer, and a wide graph
+ * in which a single configuration object is referred to by all the children (as many children as there are paths in the layered graph).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SharedReferenceBenchmark {
+
+    /**
+     * A node of the layered graph.
+     */
+    static class Node {
+        private int value;
+        private Node left;
+        private Node right;
+    }
+
+    /**
+     * A child referring to a shared configuration object.
+     */
+    static class Child {
+        private int index;
+        private Node config;
+    }
+
+    @Param({"8", "12"})
+    public int layers;
+
+    @Param({"false", "true"})
+    public boolean backReferences;
+
+    private final StringBuilder builder = new StringBuilder();
+    private StringRepresentationOptions options;
+    private Node layered;
+    private Child[] wide;
+
+    @Setup
+    public void setUp() {
+        options = StringRepresentationOptions.Builder.build().setBackReferences(backReferences).get();
+        Node left = new Node();
+        Node right = new Node();
+        for (int i = 1; i < layers; i++) {
+            final Node nextLeft = new Node();
+            final Node nextRight = new Node();
+            nextLeft.value = i;
+            nextRight.value = -i;
+            nextLeft.left = nextRight.left = left;
+            nextLeft.right = nextRight.right = right;
+            left = nextLeft;
+            right = nextRight;
+        }
+        layered = left;
+        //The configuration object is a small layered graph of its own.
+        final Node config = new Node();
+        config.left = new Node();
+        config.right = new Node();
+        wide = new Child[1 << layers];
+        for (int i = 0; i < wide.length; i++) {
+            wide[i] = new Child();
+            wide[i].index = i;
+            wide[i].config = config;
+        }
+    }
+
+    @Benchmark
+    public int readLayered() throws IOException {
+        builder.setLength(0);
+        return ObjectReader.read(layered, options, builder).length();
+    }
+
+    @Benchmark
+    public int readWide() throws IOException {
+        builder.setLength(0);
+        return ObjectReader.read(wide, options, builder).length();
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader.benchmarks;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.ObjectReader;
+import io.github.zessi.utils.java_object_reader.java_object_reader.SizeEstimate;
+import io.github.zessi.utils.java_object_reader.java_object_reader.StringRepresentationOptions;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares estimating the sizes of a graph of 10000 objects without writing it, reading it, and reading it with the sizes of each object written next to it. The estimate only
+ * follows the references, so it costs a fraction of a read.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SizeEstimateBenchmark {
+
+    static class Entry {
+        private long id;
+        private String name;
+        private int[] scores;
+    }
+
+    private final StringRepresentationOptions options = StringRepresentationOptions.Builder.build().get();
+    private final StringRepresentationOptions sizeOptions = StringRepresentationOptions.Builder.build().setSizeEstimates(true).get();
+    private Entry[] entries;
+
+    @Setup
+    public void setUp() {
+        entries = new Entry[2500];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = new Entry();
+            entries[i].id = i;
+            entries[i].name = "entry-" + i;
+            entries[i].scores = new int[]{i, i + 1, i + 2};
+        }
+    }
+
+    @Benchmark
+    public SizeEstimate estimate() {
+        return ObjectReader.estimateSize(entries, options);
+    }
+
+    @Benchmark
+    public String read() {
+        return ObjectReader.read(entries, options);
+    }
+
+    @Benchmark
+    public String readWithSizes() {
+        return ObjectReader.read(entries, sizeOptions);
+    }
+}
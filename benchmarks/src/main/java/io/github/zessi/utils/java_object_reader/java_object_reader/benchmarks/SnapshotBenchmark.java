@@ -0,0 +1,90 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader.benchmarks;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.BinarySnapshot;
+import io.github.zessi.utils.java_object_reader.java_object_reader.ObjectReader;
+import io.github.zessi.utils.java_object_reader.java_object_reader.Snapshot;
+import io.github.zessi.utils.java_object_reader.java_object_reader.StringRepresentationOptions;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.complex.TypeWithArray;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of capturing a Snapshot or a BinarySnapshot (the work left on the thread that records the state) to the cost of reading the object, and measures writing
+ * the captures later.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    /**
+     * An object with fields of primitive types, like the entities that are usually recorded.
+     */
+    static class Entity {
+        private long id = 42;
+        private int version = 7;
+        private double amount = 12.5;
+        private boolean active = true;
+        private char grade = 'A';
+        private String name = "name";
+    }
+
+    public enum Shape {TYPE_WITH_ARRAY, ENTITIES}
+
+    @Param({"TYPE_WITH_ARRAY", "ENTITIES"})
+    public Shape shape;
+
+    private final StringRepresentationOptions options = StringRepresentationOptions.Builder.build().get();
+    private final StringBuilder builder = new StringBuilder();
+    private Object object;
+    private Snapshot snapshot;
+    private BinarySnapshot binarySnapshot;
+
+    @Setup
+    public void setUp() {
+        if (shape == Shape.TYPE_WITH_ARRAY) {
+            object = new TypeWithArray();
+        } else {
+            final Entity[] entities = new Entity[1000];
+            for (int i = 0; i < entities.length; i++) {
+                entities[i] = new Entity();
+            }
+            object = entities;
+        }
+        snapshot = ObjectReader.capture(object, options);
+        binarySnapshot = ObjectReader.encode(object, options);
+    }
+
+    @Benchmark
+    public Snapshot capture() {
+        return ObjectReader.capture(object, options);
+    }
+
+    @Benchmark
+    public int read() throws IOException {
+        builder.setLength(0);
+        return ObjectReader.read(object, options, builder).length();
+    }
+
+    @Benchmark
+    public int render() throws IOException {
+        builder.setLength(0);
+        return snapshot.render(options, builder).length();
+    }
+
+    @Benchmark
+    public BinarySnapshot encode() {
+        return ObjectReader.encode(object, options);
+    }
+
+    @Benchmark
+    public int renderBinary() throws IOException {
+        builder.setLength(0);
+        return binarySnapshot.render(options, builder).length();
+    }
+}
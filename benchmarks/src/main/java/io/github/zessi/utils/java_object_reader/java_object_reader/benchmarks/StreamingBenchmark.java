@@ -0,0 +1,90 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader.benchmarks;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.ObjectReader;
+import io.github.zessi.utils.java_object_reader.java_object_reader.StringRepresentationOptions;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building the whole String representation (read(Object, StringRepresentationOptions)) with streaming it into an Appendable
+ * (read(Object, StringRepresentationOptions, Appendable)) on a deeply nested object. <br>
+ * Run with the GC profiler (gradle :benchmarks:jmh -Pinclude=StreamingBenchmark) to compare the allocation rate per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamingBenchmark {
+
+    /**
+     * A node of a chain of nested objects, every node is rendered one indentation level deeper than its parent.
+     */
+    static class Node {
+        private String text = "some text";
+        private int number = 1234;
+        private Node child;
+    }
+
+    /**
+     * An Appendable that discards everything written to it. Used to measure the cost of the traversal without the cost of keeping the output.
+     */
+    static final class DiscardingAppendable implements Appendable {
+        private long length;
+
+        @Override
+        public Appendable append(CharSequence csq) {
+            length += csq.length();
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) {
+            length += end - start;
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) {
+            length++;
+            return this;
+        }
+    }
+
+    @Param({"10", "100"})
+    public int depth;
+
+    private final StringRepresentationOptions options = StringRepresentationOptions.Builder.build().get();
+    private final StringBuilder builder = new StringBuilder();
+    private final DiscardingAppendable discardingAppendable = new DiscardingAppendable();
+    private Node root;
+
+    @Setup
+    public void setUp() {
+        root = new Node();
+        Node current = root;
+        for (int i = 1; i < depth; i++) {
+            current.child = new Node();
+            current = current.child;
+        }
+    }
+
+    @Benchmark
+    public String readToString() {
+        return ObjectReader.read(root, options);
+    }
+
+    @Benchmark
+    public int readToReusedStringBuilder() throws IOException {
+        builder.setLength(0);
+        return ObjectReader.read(root, options, builder).length();
+    }
+
+    @Benchmark
+    public long readToDiscardingAppendable() throws IOException {
+        return ObjectReader.read(root, options, discardingAppendable).length;
+    }
+}
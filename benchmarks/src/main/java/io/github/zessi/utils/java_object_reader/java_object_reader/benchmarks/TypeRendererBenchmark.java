@@ -0,0 +1,60 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader.benchmarks;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.FieldFilter;
+import io.github.zessi.utils.java_object_reader.java_object_reader.ObjectReader;
+import io.github.zessi.utils.java_object_reader.java_object_reader.StringRepresentationOptions;
+import io.github.zessi.utils.java_object_reader.java_object_reader.TypeRenderers;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading objects holding common JDK value types by their fields to reading them with the default TypeRenderers, which write each value as a compact value after a
+ * single ClassValue lookup of its class. The static fields are excluded in both cases, as the static caches of the JDK classes are larger than the values themselves.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeRendererBenchmark {
+
+    static class Payment {
+        private UUID id;
+        private BigDecimal amount;
+        private LocalDate date;
+        private int attempts;
+    }
+
+    @Param({"false", "true"})
+    public boolean renderers;
+
+    private final StringBuilder builder = new StringBuilder();
+    private StringRepresentationOptions options;
+    private Payment[] payments;
+
+    @Setup
+    public void setUp() {
+        options = StringRepresentationOptions.Builder.build().setFieldFilter(FieldFilter.excludeStatic())
+                .setTypeRenderers(renderers ? TypeRenderers.getDefaults() : null).get();
+        payments = new Payment[1000];
+        for (int i = 0; i < payments.length; i++) {
+            payments[i] = new Payment();
+            payments[i].id = new UUID(i, -i);
+            payments[i].amount = BigDecimal.valueOf(i, 2);
+            payments[i].date = LocalDate.ofEpochDay(i);
+            payments[i].attempts = i % 3;
+        }
+    }
+
+    @Benchmark
+    public int read() throws IOException {
+        builder.setLength(0);
+        return ObjectReader.read(payments, options, builder).length();
+    }
+}
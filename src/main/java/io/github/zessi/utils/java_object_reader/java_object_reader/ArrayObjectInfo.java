@@ -1,15 +1,56 @@
 package io.github.zessi.utils.java_object_reader.java_object_reader;
 
+import java.io.IOException;
 import java.lang.reflect.Array;
-import java.util.StringJoiner;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 /**
  * A class extending the abstract class ObjectInfo <br>
- * This class should be used for String representation of array type objects.
+ * This class should be used for String representation of array type objects, and of the nodes of Snapshots that were captured from arrays of non-primitive types.
  */
-final class ArrayObjectInfo extends ObjectInfo {
+final class ArrayObjectInfo extends ObjectInfo implements Sliceable {
+
+    /**
+     * The smallest number of elements for which the elements are written by slices (when a ForkJoinPool is provided by the options).
+     */
+    private static final int MIN_SLICED_ELEMENTS = 1024;
+
+    /**
+     * The smallest number of elements written by each slice.
+     */
+    private static final int MIN_SLICE_SIZE = 512;
+
     private final CircularReferencePrevention crp;
 
+    /**
+     * The length of the array.
+     */
+    private final int length;
+
+    /**
+     * The index of the next element to be written.
+     */
+    private int nextIndex;
+
+    /**
+     * The index after the last element to be written. It is the length of the array, except for slices.
+     */
+    private int end;
+
+    /**
+     * The arrays that are currently being written and that enclose each other directly (an array that is an element of an array that is an element of an array ... etc.), or null
+     * if no array is an element of this array. The set is shared by all the arrays of the same chain and compares arrays by identity. <br>
+     * Elements of arrays are not added to the CircularReferencePrevention object, so this is used to stop arrays that contain themselves (directly or through other arrays).
+     */
+    private Set<Object> enclosingArrays;
+
+    /**
+     * The StringRepresentationOptions object that is used for the String representation of the elements, which is this array's options with one more indent.
+     */
+    private StringRepresentationOptions elementOptions;
+
     /**
      * A constructor that creates and instance of ArrayObjectInfo using the provided arguments
      *
@@ -18,23 +59,149 @@ final class ArrayObjectInfo extends ObjectInfo {
      */
     ArrayObjectInfo(Object object, StringRepresentationOptions options, CircularReferencePrevention crp) {
         super(object, options);
-        if (!object.getClass().isArray()) throw new IllegalArgumentException("First input parameter is not an array object");
+        if (!this.getType().isArray()) throw new IllegalArgumentException("First input parameter is not an array object");
         this.crp = crp;
+        this.length = (object instanceof SnapshotNode) ? ((SnapshotNode) object).getLength() : Array.getLength(object);
+        this.end = this.length;
+    }
+
+    /**
+     * A constructor that creates a slice of the provided ArrayObjectInfo (See Sliceable).
+     *
+     * @param source The ArrayObjectInfo of which the head was written.
+     * @param from   The index of the first element of the slice.
+     * @param to     The index after the last element of the slice.
+     */
+    private ArrayObjectInfo(ArrayObjectInfo source, int from, int to) {
+        super(source.getObject(), source.getOptions());
+        this.crp = source.crp.copy();
+        this.length = source.length;
+        this.elementOptions = source.elementOptions;
+        if (source.enclosingArrays != null) {
+            this.enclosingArrays = Collections.newSetFromMap(new IdentityHashMap<>());
+            this.enclosingArrays.addAll(source.enclosingArrays);
+        }
+        this.nextIndex = from;
+        this.end = to;
+    }
+
+    /**
+     * Writes the beginning of the String representation of the elements of this array. <br>
+     * The elements of arrays of primitive types are written here as well (See PrimitiveArrayWriter), as they are written from the typed array without creating an ObjectInfo for
+     * each element.
+     *
+     * @param out The Appendable that will be written to.
+     * @return true if the elements and the end of the array should be written using writeNextChild and writeValueTail, false if the array was written completely.
+     * @throws IOException If the Appendable fails to append.
+     */
+    @Override
+    boolean writeValueHead(Appendable out) throws IOException {
+        this.nextIndex = 0;
+        if (this.elementOptions == null) this.elementOptions = this.getOptions().cloneAndAddIndent();
+        //This array is an element of the arrays in the set until its end is written.
+        if (this.enclosingArrays != null) this.enclosingArrays.add(this.getObject());
+        out.append("[\n");
+        if (this.getType().getComponentType().isPrimitive()) {
+            PrimitiveArrayWriter.writeElements(this.getObject(), out, this.elementOptions);
+            writeValueTail(out);
+            return false;
+        }
+        return true;
     }
 
     /**
-     * @return A String containing the String representation of the elements of this array.
+     * @return true if there are more elements to be written, false otherwise.
      */
     @Override
-    public String getValueStringRepresentation() {
-        final StringJoiner joiner = new StringJoiner(",\n", "[\n", "\n" + this.getOptions().getIndents() + "]");
-        final int arrayLength = Array.getLength(this.getObject());
-        for (int i = 0; i < arrayLength; i++) {
-            final Object element = Array.get(this.getObject(), i);
-            //An ObjectInfo is obtained for each element of the array and its String representation is then added to the StringJoiner
-            final ObjectInfo elementObjectInfo = ObjectInfo.getObjectInfo(element, this.getOptions().cloneAndAddIndent(), crp);
-            joiner.add(elementObjectInfo.getOptions().getIndents() + elementObjectInfo.getFullStringRepresentation());
+    boolean hasNextChild() {
+        return this.nextIndex < this.end;
+    }
+
+    /**
+     * Writes the separator and the indentation preceding the next element of this array.
+     *
+     * @param out The Appendable that will be written to.
+     * @return The ObjectInfo of the next element, or null if the element is an array that contains this array, in which case "&lt;Object Processing&gt;" is written instead,
+     * or if the budget of elements is exhausted, in which case the truncation marker is written instead of the remaining elements.
+     * @throws IOException If the Appendable fails to append.
+     */
+    @Override
+    ObjectInfo writeNextChild(Appendable out) throws IOException {
+        final int i = this.nextIndex++;
+        if (i > 0) out.append(",\n");
+        this.elementOptions.writeIndents(out);
+        //The elements exceeding the budget of elements are replaced by a single truncation marker.
+        if (i >= this.elementOptions.getMaxElements()) {
+            out.append(Traversal.TRUNCATION_MARKER);
+            this.nextIndex = this.end;
+            return null;
         }
-        return joiner.toString();
+        final Object element = (this.getObject() instanceof SnapshotNode) ? ((SnapshotNode) this.getObject()).getElement(i) : Array.get(this.getObject(), i);
+        //An ObjectInfo is obtained for each element of the array and its String representation is then written by the Traversal
+        final ObjectInfo elementObjectInfo = ObjectInfo.getObjectInfo(element, this.elementOptions, crp);
+        if (elementObjectInfo instanceof ArrayObjectInfo) {
+            if (this.enclosingArrays == null) {
+                this.enclosingArrays = Collections.newSetFromMap(new IdentityHashMap<>());
+                this.enclosingArrays.add(this.getObject());
+            }
+            if (this.enclosingArrays.contains(element)) {
+                out.append("<Object Processing>");
+                return null;
+            }
+            ((ArrayObjectInfo) elementObjectInfo).enclosingArrays = this.enclosingArrays;
+        }
+        return elementObjectInfo;
+    }
+
+    /**
+     * Writes the end of the String representation of the elements of this array.
+     *
+     * @param out The Appendable that will be written to.
+     * @throws IOException If the Appendable fails to append.
+     */
+    @Override
+    void writeValueTail(Appendable out) throws IOException {
+        if (this.enclosingArrays != null) this.enclosingArrays.remove(this.getObject());
+        out.append("\n");
+        this.getOptions().writeIndents(out);
+        out.append("]");
+    }
+
+    @Override
+    public int getNextChildIndex() {
+        return this.nextIndex;
+    }
+
+    /**
+     * @return The index after the last element that can be written by slices. The elements exceeding the budget of elements are left to this ArrayObjectInfo, so that the
+     * truncation marker is written once.
+     */
+    @Override
+    public int getChildLimit() {
+        return (int) Math.min(this.end, (long) this.getOptions().getMaxElements());
+    }
+
+    /**
+     * Large arrays are split into a few slices for each thread, so that the threads that finish early can steal slices from the others.
+     *
+     * @param depth       The depth of the ObjectInfo (The read object is at depth 0).
+     * @param parallelism The number of threads that the slices can be written by.
+     * @return The number of elements that each slice should write, or 0 if the array is too small to be worth slicing.
+     */
+    @Override
+    public int getSliceSize(int depth, int parallelism) {
+        final int count = getChildLimit() - this.nextIndex;
+        if (count < MIN_SLICED_ELEMENTS) return 0;
+        return Math.max(MIN_SLICE_SIZE, (count + (4 * parallelism) - 1) / (4 * parallelism));
+    }
+
+    @Override
+    public ObjectInfo slice(int from, int to) {
+        return new ArrayObjectInfo(this, from, to);
+    }
+
+    @Override
+    public void skipChildrenTo(int index) {
+        this.nextIndex = index;
     }
 }
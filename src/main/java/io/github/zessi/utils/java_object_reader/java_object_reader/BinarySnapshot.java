@@ -0,0 +1,823 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable capture of the state of an object graph, encoded in a compact binary format held in a direct (off-heap) ByteBuffer. <br>
+ * It captures the same state as a Snapshot (See Snapshot), but the captured values are encoded into the buffer instead of being kept as objects on the heap, so keeping many
+ * captures does not add to the work of the garbage collector. The buffer is decoded on demand, each time the capture is written. <br>
+ * The format of the buffer.
+ * <ul>
+ * <li>
+ * A header; the MAGIC int followed by the VERSION byte.
+ * </li>
+ * <li>
+ * The value of the captured object, followed by the records of all the captured objects, in the order of their reference ids (the captured object is the record 0 if it is
+ * not a String, a boxed value or null).
+ * </li>
+ * <li>
+ * A value is a tag byte followed by its payload. Strings are encoded as their lengths followed by their chars, chars as unsigned varints, boxed values of the other integral
+ * types as ZigZag varints, floating point values as their raw bits, and the references to captured objects as varint reference ids (TAG_REFERENCE). An object is encoded
+ * once, even if it is referenced many times, so shared objects and circular references are kept by the capture.
+ * </li>
+ * <li>
+ * A record starts with the varint index of the class of the object in the type table. The first record of each class defines the class in place: its name, the form of its
+ * records (like the forms of SnapshotNode, plus PRIMITIVE_ARRAY) and, for the OBJECT form, the field table (the number of fields and the kind of each field, See
+ * SnapshotLayout).
+ * </li>
+ * <li>
+ * The record of an object holds the values of its fields of primitive types (the chars as unsigned varints, the other integral values as ZigZag varints and the floating point
+ * values as their raw bits), followed by the values of its other fields. The record of an array, an Iterable or a Map holds the varint number of values followed by the values
+ * (an array of a primitive type holds its elements encoded like the fields of primitive types). The record of an object that has a TypeRenderer (See TypeRenderers) holds its
+ * rendered value, encoded like a String.
+ * </li>
+ * </ul>
+ * Writing the capture produces the same text that reading the captured object would have produced at the time of the capture. Like a Snapshot, the elements exceeding the
+ * budget of elements of the options are not captured.
+ */
+public final class BinarySnapshot {
+
+    /**
+     * The first bytes of an encoded buffer ("JORB").
+     */
+    private static final int MAGIC = 0x4A4F5242;
+
+    /**
+     * The version of the format, following the MAGIC int.
+     */
+    private static final byte VERSION = 1;
+
+    /**
+     * The number of bytes of the header (the MAGIC int and the VERSION byte).
+     */
+    private static final int HEADER_SIZE = 5;
+
+    /**
+     * The capacity of the buffer that an encoding starts with. The buffer grows as needed, and is copied to a buffer of the exact size at the end of the encoding.
+     */
+    private static final int INITIAL_CAPACITY = 4096;
+
+    /**
+     * The largest number of bytes of a varint.
+     */
+    private static final int MAX_VARINT_SIZE = 10;
+
+    /*The form of the records of arrays of primitive types. The other forms are the forms of SnapshotNode*/
+    private static final byte PRIMITIVE_ARRAY = 5;
+
+    /*The tags of the values*/
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_REFERENCE = 1;
+    private static final byte TAG_STRING = 2;
+    private static final byte TAG_TRUE = 3;
+    private static final byte TAG_FALSE = 4;
+    private static final byte TAG_BYTE = 5;
+    private static final byte TAG_SHORT = 6;
+    private static final byte TAG_INT = 7;
+    private static final byte TAG_LONG = 8;
+    private static final byte TAG_FLOAT = 9;
+    private static final byte TAG_DOUBLE = 10;
+    private static final byte TAG_CHAR = 11;
+
+    /**
+     * The read-only buffer holding the encoded capture, from its header to its last record.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The StringRepresentationOptions object that was used to capture the object, which is used to write the capture by default.
+     */
+    private final StringRepresentationOptions options;
+
+    /**
+     * The classes of the type table, in the order of their indexes, or null if the classes should be resolved by their names (for a wrapped buffer).
+     */
+    private final Class[] types;
+
+    /**
+     * A constructor that creates a BinarySnapshot holding the provided buffer.
+     *
+     * @param buffer  The read-only buffer holding the encoded capture.
+     * @param options The StringRepresentationOptions object that was used to capture the object.
+     * @param types   The classes of the type table, or null if the classes should be resolved by their names.
+     */
+    private BinarySnapshot(ByteBuffer buffer, StringRepresentationOptions options, Class[] types) {
+        this.buffer = buffer;
+        this.options = options;
+        this.types = types;
+    }
+
+    /**
+     * Captures the provided object and all the objects that are reachable from it into a direct ByteBuffer.
+     *
+     * @param object  The object to be captured.
+     * @param options The StringRepresentationOptions object that is used to capture the object, and to write the capture by default.
+     * @return The encoded capture of the object.
+     */
+    static BinarySnapshot encode(Object object, StringRepresentationOptions options) {
+        if (options == null) throw new IllegalArgumentException("null 2nd argument");
+        return new Encoder(options).encode(object);
+    }
+
+    /**
+     * Creates a BinarySnapshot reading a buffer holding an encoded capture (See getBuffer), e.g. a buffer that was written to a file and read back. The classes of the type table
+     * are resolved by their names, using the context class loader of the current thread.
+     *
+     * @param buffer  The buffer holding the encoded capture, from its position to its limit. The buffer is not copied, so it should not be modified later.
+     * @param options The StringRepresentationOptions object that was used to capture the object, which is used to write the capture by default.
+     * @return The BinarySnapshot reading the provided buffer.
+     */
+    public static BinarySnapshot wrap(ByteBuffer buffer, StringRepresentationOptions options) {
+        if (buffer == null) throw new IllegalArgumentException("null 1st argument");
+        if (options == null) throw new IllegalArgumentException("null 2nd argument");
+        if ((buffer.remaining() < HEADER_SIZE) || (buffer.getInt(buffer.position()) != MAGIC) || (buffer.get(buffer.position() + 4) != VERSION)) {
+            throw new IllegalArgumentException("The buffer does not hold an encoded BinarySnapshot");
+        }
+        return new BinarySnapshot(buffer.slice().asReadOnlyBuffer(), options, null);
+    }
+
+    /**
+     * @return A read-only view of the buffer holding the encoded capture, from its position (0) to its limit.
+     */
+    public ByteBuffer getBuffer() {
+        return buffer.duplicate();
+    }
+
+    /**
+     * @return The number of bytes of the encoded capture.
+     */
+    public int getSize() {
+        return buffer.limit();
+    }
+
+    /**
+     * @return The StringRepresentationOptions object that was used to capture the object.
+     */
+    public StringRepresentationOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * @return The String representation of the captured object, using the options that were used to capture it.
+     */
+    public String render() {
+        return render(this.options);
+    }
+
+    /**
+     * @param options The StringRepresentationOptions object that should be used control the behavior of the String representation. The structure of the capture (e.g. the
+     *                representation of Iterables, Maps and Optionals) was decided by the options that were used to capture it.
+     * @return The String representation of the captured object.
+     */
+    public String render(StringRepresentationOptions options) {
+        try {
+            return render(options, new StringBuilder()).toString();
+        } catch (IOException e) {
+            //A StringBuilder never throws an IOException, this is only here to satisfy the Appendable contract.
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decodes the buffer and writes the String representation of the captured object to the provided Appendable (See ObjectReader#read(Object, StringRepresentationOptions,
+     * Appendable)). The decoded values only live while they are written.
+     *
+     * @param options    The StringRepresentationOptions object that should be used control the behavior of the String representation.
+     * @param appendable The Appendable that the String representation will be written to.
+     * @param <A>        The type of the Appendable
+     * @return The same Appendable that was provided, to allow chaining.
+     * @throws IOException If the Appendable fails to append.
+     */
+    public <A extends Appendable> A render(StringRepresentationOptions options, A appendable) throws IOException {
+        return ObjectReader.read(new Decoder(buffer.duplicate(), this.options, types).decode(), options, appendable);
+    }
+
+    /**
+     * @return The String representation of the captured object, using the options that were used to capture it.
+     */
+    @Override
+    public String toString() {
+        return render();
+    }
+
+    /**
+     * @param type    The class of a captured object.
+     * @param options The StringRepresentationOptions object that is used to capture the objects.
+     * @return The form of the records of the instances of the class.
+     */
+    private static byte getForm(Class type, StringRepresentationOptions options) {
+        if (TypeRenderers.getRenderer(type, options) != null) return SnapshotNode.RENDERED;
+        final byte kind = NodeKind.of(type);
+        if (NodeKind.isArray(kind)) return (kind == NodeKind.PRIMITIVE_ARRAY) ? PRIMITIVE_ARRAY : SnapshotNode.ARRAY;
+        if (ContainerObjectInfo.isContainer(kind, options)) return (kind == NodeKind.MAP) ? SnapshotNode.MAP : SnapshotNode.ITERABLE;
+        return SnapshotNode.OBJECT;
+    }
+
+    /**
+     * A class that encodes a single object graph. The objects are given reference ids in the order they are first met, and their records are written in the same order, so
+     * the graph is walked without recursion.
+     */
+    private static final class Encoder {
+
+        /**
+         * The StringRepresentationOptions object that is used to capture the objects.
+         */
+        private final StringRepresentationOptions options;
+
+        /**
+         * The largest number of elements that is captured for each array, Iterable and Map (See Snapshot#getMaxCapturedElements).
+         */
+        private final int maxCapturedElements;
+
+        /**
+         * The captured objects (compared by identity) mapped to their reference ids.
+         */
+        private final Map<Object, Integer> ids = new IdentityHashMap<>();
+
+        /**
+         * The objects that were given reference ids and of which the records were not written yet, in the order of their ids.
+         */
+        private final Deque<Object> pending = new ArrayDeque<>();
+
+        /**
+         * The classes of the type table mapped to their indexes.
+         */
+        private final Map<Class, Integer> typeIndexes = new HashMap<>();
+
+        /**
+         * The classes of the type table, in the order of their indexes.
+         */
+        private final List<Class> types = new ArrayList<>();
+
+        /*The arrays that the fields of the objects are read into, reused for all the objects*/
+        private long[] primitives = new long[0];
+        private Object[] references = new Object[0];
+
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_CAPACITY);
+
+        Encoder(StringRepresentationOptions options) {
+            this.options = options;
+            this.maxCapturedElements = Snapshot.getMaxCapturedElements(options);
+        }
+
+        /**
+         * @param object The object to be captured.
+         * @return The encoded capture of the object.
+         */
+        BinarySnapshot encode(Object object) {
+            buffer.putInt(MAGIC).put(VERSION);
+            writeValue(object);
+            while (!pending.isEmpty()) {
+                writeRecord(pending.pollFirst());
+            }
+            //The buffer is copied to a buffer of the exact size, so the capture does not hold the unused capacity.
+            final ByteBuffer result = ByteBuffer.allocateDirect(buffer.position());
+            buffer.flip();
+            result.put(buffer).flip();
+            return new BinarySnapshot(result.asReadOnlyBuffer(), options, types.toArray(new Class[0]));
+        }
+
+        /**
+         * Writes a value of a field or an element. The objects that are not Strings or boxed values are written as their reference ids.
+         *
+         * @param value The value.
+         */
+        private void writeValue(Object value) {
+            ensureRemaining(1 + MAX_VARINT_SIZE);
+            if (value == null) {
+                buffer.put(TAG_NULL);
+            } else if (!NodeKind.isValue(NodeKind.of(value.getClass()))) {
+                //Most values are references, so they are told apart from the Strings and boxed values by a single lookup.
+                Integer id = ids.get(value);
+                if (id == null) {
+                    id = ids.size();
+                    ids.put(value, id);
+                    pending.addLast(value);
+                }
+                buffer.put(TAG_REFERENCE);
+                putVarint(id);
+            } else if (value instanceof String) {
+                buffer.put(TAG_STRING);
+                writeString((String) value);
+            } else if (value instanceof Boolean) {
+                buffer.put(((Boolean) value) ? TAG_TRUE : TAG_FALSE);
+            } else if (value instanceof Byte) {
+                buffer.put(TAG_BYTE).put((Byte) value);
+            } else if (value instanceof Short) {
+                buffer.put(TAG_SHORT);
+                putSignedVarint((Short) value);
+            } else if (value instanceof Integer) {
+                buffer.put(TAG_INT);
+                putSignedVarint((Integer) value);
+            } else if (value instanceof Long) {
+                buffer.put(TAG_LONG);
+                putSignedVarint((Long) value);
+            } else if (value instanceof Float) {
+                buffer.put(TAG_FLOAT).putInt(Float.floatToRawIntBits((Float) value));
+            } else if (value instanceof Double) {
+                buffer.put(TAG_DOUBLE).putLong(Double.doubleToRawLongBits((Double) value));
+            } else {
+                buffer.put(TAG_CHAR);
+                putVarint((Character) value);
+            }
+        }
+
+        /**
+         * Writes the record of a captured object.
+         *
+         * @param value The captured object.
+         */
+        private void writeRecord(Object value) {
+            final Class type = value.getClass();
+            final byte form = writeType(type);
+            if (form == SnapshotNode.RENDERED) {
+                writeString(TypeRenderers.render(TypeRenderers.getRenderer(type, options), value, options));
+            } else if (form == PRIMITIVE_ARRAY) {
+                writePrimitiveArray(value, Math.min(Array.getLength(value), maxCapturedElements));
+            } else if (form == SnapshotNode.ARRAY) {
+                final Object[] array = (Object[]) value;
+                final int length = Math.min(array.length, maxCapturedElements);
+                writeVarint(length);
+                for (int i = 0; i < length; i++) {
+                    writeValue(array[i]);
+                }
+            } else if (form != SnapshotNode.OBJECT) {
+                final Object[] elements = Snapshot.getCapturedElements(value, maxCapturedElements);
+                writeVarint(elements.length);
+                for (Object element : elements) {
+                    writeValue(element);
+                }
+            } else {
+                final SnapshotLayout layout = SnapshotLayout.getSnapshotLayout(type, options);
+                if (primitives.length < layout.getPrimitiveCount()) primitives = new long[layout.getPrimitiveCount()];
+                if (references.length < layout.getReferenceCount()) references = new Object[layout.getReferenceCount()];
+                layout.read(value, primitives, references);
+                for (int slot = 0; slot < layout.getPrimitiveCount(); slot++) {
+                    writePrimitive(layout.getPrimitiveKind(slot), primitives[slot]);
+                }
+                for (int slot = 0; slot < layout.getReferenceCount(); slot++) {
+                    writeValue(references[slot]);
+                    references[slot] = null;
+                }
+            }
+        }
+
+        /**
+         * Writes the index of the provided class in the type table, followed by the definition of the class if it is the first record of the class.
+         *
+         * @param type The class of a captured object.
+         * @return The form of the records of the class.
+         */
+        private byte writeType(Class type) {
+            final byte form = getForm(type, options);
+            Integer index = typeIndexes.get(type);
+            if (index != null) {
+                writeVarint(index);
+                return form;
+            }
+            index = types.size();
+            typeIndexes.put(type, index);
+            types.add(type);
+            writeVarint(index);
+            writeString(type.getName());
+            ensureRemaining(1);
+            buffer.put(form);
+            if (form == SnapshotNode.OBJECT) {
+                final SnapshotLayout layout = SnapshotLayout.getSnapshotLayout(type, options);
+                writeVarint(layout.getFieldCount());
+                ensureRemaining(layout.getFieldCount());
+                for (int i = 0; i < layout.getFieldCount(); i++) {
+                    buffer.put(layout.getKind(i));
+                }
+            }
+            return form;
+        }
+
+        /**
+         * Writes the value of a field of a primitive type, as stored in the long[] of a SnapshotNode.
+         *
+         * @param kind  The kind of the field.
+         * @param value The value of the field.
+         */
+        private void writePrimitive(byte kind, long value) {
+            ensureRemaining(MAX_VARINT_SIZE);
+            switch (kind) {
+                case MethodHandleReader.KIND_BOOLEAN:
+                    buffer.put((byte) value);
+                    break;
+                case MethodHandleReader.KIND_FLOAT:
+                    buffer.putInt((int) value);
+                    break;
+                case MethodHandleReader.KIND_DOUBLE:
+                    buffer.putLong(value);
+                    break;
+                case MethodHandleReader.KIND_CHAR:
+                    putVarint(value);
+                    break;
+                default:
+                    putSignedVarint(value);
+            }
+        }
+
+        /**
+         * Writes the length of an array of a primitive type followed by its elements.
+         *
+         * @param array  The array.
+         * @param length The number of elements to be written.
+         */
+        private void writePrimitiveArray(Object array, int length) {
+            writeVarint(length);
+            if (array instanceof byte[]) {
+                ensureRemaining(length);
+                buffer.put((byte[]) array, 0, length);
+            } else if (array instanceof boolean[]) {
+                final boolean[] values = (boolean[]) array;
+                ensureRemaining(length);
+                for (int i = 0; i < length; i++) {
+                    buffer.put((byte) (values[i] ? 1 : 0));
+                }
+            } else if (array instanceof float[]) {
+                final float[] values = (float[]) array;
+                ensureRemaining(4 * length);
+                for (int i = 0; i < length; i++) {
+                    buffer.putInt(Float.floatToRawIntBits(values[i]));
+                }
+            } else if (array instanceof double[]) {
+                final double[] values = (double[]) array;
+                ensureRemaining(8 * length);
+                for (int i = 0; i < length; i++) {
+                    buffer.putLong(Double.doubleToRawLongBits(values[i]));
+                }
+            } else if (array instanceof char[]) {
+                //A char is never negative, so it is encoded as an unsigned varint, like the chars of Strings.
+                final char[] values = (char[]) array;
+                for (int i = 0; i < length; i++) {
+                    ensureRemaining(MAX_VARINT_SIZE);
+                    putVarint(values[i]);
+                }
+            } else if (array instanceof short[]) {
+                final short[] values = (short[]) array;
+                for (int i = 0; i < length; i++) {
+                    ensureRemaining(MAX_VARINT_SIZE);
+                    putSignedVarint(values[i]);
+                }
+            } else if (array instanceof int[]) {
+                final int[] values = (int[]) array;
+                for (int i = 0; i < length; i++) {
+                    ensureRemaining(MAX_VARINT_SIZE);
+                    putSignedVarint(values[i]);
+                }
+            } else {
+                final long[] values = (long[]) array;
+                for (int i = 0; i < length; i++) {
+                    ensureRemaining(MAX_VARINT_SIZE);
+                    putSignedVarint(values[i]);
+                }
+            }
+        }
+
+        private void writeString(String value) {
+            writeVarint(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                writeVarint(value.charAt(i));
+            }
+        }
+
+        private void writeVarint(long value) {
+            ensureRemaining(MAX_VARINT_SIZE);
+            putVarint(value);
+        }
+
+        private void putSignedVarint(long value) {
+            putVarint((value << 1) ^ (value >> 63));
+        }
+
+        private void putVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        /**
+         * Grows the buffer (to a larger direct buffer) if it cannot hold the provided number of bytes.
+         *
+         * @param count The number of bytes that will be written.
+         */
+        private void ensureRemaining(int count) {
+            if (buffer.remaining() >= count) return;
+            final long capacity = Math.max(2L * buffer.capacity(), (long) buffer.position() + count);
+            if (capacity > Integer.MAX_VALUE) throw new IllegalStateException("The capture exceeds the largest size of a ByteBuffer");
+            final ByteBuffer grown = ByteBuffer.allocateDirect((int) capacity);
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+    }
+
+    /**
+     * A class that decodes a buffer into the nodes of a Snapshot (See SnapshotNode), which are written by the ObjectInfo classes exactly like the captured objects.
+     */
+    private static final class Decoder {
+
+        private final ByteBuffer buffer;
+
+        /**
+         * The StringRepresentationOptions object that was used to capture the objects, which decides the fields stored by the records (See
+         * StringRepresentationOptions#getFieldFilter).
+         */
+        private final StringRepresentationOptions options;
+
+        /**
+         * The classes of the type table, or null if the classes should be resolved by their names.
+         */
+        private final Class[] knownTypes;
+
+        /**
+         * The definitions of the classes of the type table, in the order of their indexes.
+         */
+        private final List<TypeDefinition> definitions = new ArrayList<>();
+
+        /**
+         * The decoded records, in the order of their reference ids.
+         */
+        private final List<Object> records = new ArrayList<>();
+
+        /**
+         * The arrays of values that hold references to records, which are replaced by the records once all the records are decoded.
+         */
+        private final List<Object[]> unresolved = new ArrayList<>();
+
+        Decoder(ByteBuffer buffer, StringRepresentationOptions options, Class[] knownTypes) {
+            this.buffer = buffer;
+            this.options = options;
+            this.knownTypes = knownTypes;
+        }
+
+        /**
+         * @return The decoded value of the captured object.
+         */
+        Object decode() {
+            buffer.position(HEADER_SIZE);
+            final Object[] root = readValues(1);
+            while (buffer.hasRemaining()) {
+                records.add(readRecord());
+            }
+            for (Object[] values : unresolved) {
+                for (int i = 0; i < values.length; i++) {
+                    if (!(values[i] instanceof Reference)) continue;
+                    final int id = ((Reference) values[i]).id;
+                    if (id >= records.size()) throw new IllegalStateException("The buffer holds a reference to a missing record");
+                    values[i] = records.get(id);
+                }
+            }
+            return root[0];
+        }
+
+        /**
+         * @return The decoded record, a node or an array of a primitive type.
+         */
+        private Object readRecord() {
+            final TypeDefinition definition = readType();
+            switch (definition.form) {
+                case PRIMITIVE_ARRAY:
+                    return readPrimitiveArray(definition.type.getComponentType(), readLength());
+                case SnapshotNode.RENDERED:
+                    return new SnapshotNode(definition.type, SnapshotNode.RENDERED, null, null, new Object[]{readString()});
+                case SnapshotNode.OBJECT: {
+                    final SnapshotLayout layout = definition.layout;
+                    final long[] primitives = new long[layout.getPrimitiveCount()];
+                    for (int slot = 0; slot < primitives.length; slot++) {
+                        primitives[slot] = readPrimitive(layout.getPrimitiveKind(slot));
+                    }
+                    return new SnapshotNode(definition.type, SnapshotNode.OBJECT, layout, primitives, readValues(layout.getReferenceCount()));
+                }
+                default:
+                    return new SnapshotNode(definition.type, definition.form, null, null, readValues(readLength()));
+            }
+        }
+
+        /**
+         * @return The definition of the class of a record, which is read from the buffer if it is the first record of the class.
+         */
+        private TypeDefinition readType() {
+            final int index = readLength();
+            if (index < definitions.size()) return definitions.get(index);
+            if (index != definitions.size()) throw new IllegalStateException("The buffer holds a reference to a missing class");
+            final String name = readString();
+            final byte form = buffer.get();
+            final Class type = (knownTypes != null) ? knownTypes[index] : resolve(name);
+            SnapshotLayout layout = null;
+            if (form == SnapshotNode.OBJECT) {
+                layout = SnapshotLayout.getSnapshotLayout(type, options);
+                final int count = readLength();
+                boolean matching = count == layout.getFieldCount();
+                for (int i = 0; i < count; i++) {
+                    final byte kind = buffer.get();
+                    matching = matching && (kind == layout.getKind(i));
+                }
+                if (!matching) throw new IllegalStateException("The fields of the class " + name + " do not match the encoded fields");
+            }
+            final TypeDefinition definition = new TypeDefinition(type, form, layout);
+            definitions.add(definition);
+            return definition;
+        }
+
+        /**
+         * @param count The number of values.
+         * @return The decoded values. The references to records are resolved once all the records are decoded.
+         */
+        private Object[] readValues(int count) {
+            final Object[] values = new Object[count];
+            boolean hasReferences = false;
+            for (int i = 0; i < count; i++) {
+                values[i] = readValue();
+                hasReferences = hasReferences || (values[i] instanceof Reference);
+            }
+            if (hasReferences) unresolved.add(values);
+            return values;
+        }
+
+        private Object readValue() {
+            final byte tag = buffer.get();
+            switch (tag) {
+                case TAG_NULL:
+                    return null;
+                case TAG_REFERENCE:
+                    return new Reference(readLength());
+                case TAG_STRING:
+                    return readString();
+                case TAG_TRUE:
+                    return Boolean.TRUE;
+                case TAG_FALSE:
+                    return Boolean.FALSE;
+                case TAG_BYTE:
+                    return buffer.get();
+                case TAG_SHORT:
+                    return (short) readSignedVarint();
+                case TAG_INT:
+                    return (int) readSignedVarint();
+                case TAG_LONG:
+                    return readSignedVarint();
+                case TAG_FLOAT:
+                    return Float.intBitsToFloat(buffer.getInt());
+                case TAG_DOUBLE:
+                    return Double.longBitsToDouble(buffer.getLong());
+                case TAG_CHAR:
+                    return (char) readVarint();
+                default:
+                    throw new IllegalStateException("Unknown value tag " + tag);
+            }
+        }
+
+        /**
+         * @param kind The kind of a field of a primitive type.
+         * @return The value of the field, as stored in the long[] of a SnapshotNode.
+         */
+        private long readPrimitive(byte kind) {
+            switch (kind) {
+                case MethodHandleReader.KIND_BOOLEAN:
+                    return buffer.get();
+                case MethodHandleReader.KIND_FLOAT:
+                    return buffer.getInt();
+                case MethodHandleReader.KIND_DOUBLE:
+                    return buffer.getLong();
+                case MethodHandleReader.KIND_CHAR:
+                    return readVarint();
+                default:
+                    return readSignedVarint();
+            }
+        }
+
+        /**
+         * @param componentType The component type of the array.
+         * @param length        The length of the array.
+         * @return The decoded array.
+         */
+        private Object readPrimitiveArray(Class componentType, int length) {
+            final Object array = Array.newInstance(componentType, length);
+            if (componentType == byte.class) {
+                buffer.get((byte[]) array);
+            } else if (componentType == boolean.class) {
+                final boolean[] values = (boolean[]) array;
+                for (int i = 0; i < length; i++) {
+                    values[i] = buffer.get() != 0;
+                }
+            } else if (componentType == float.class) {
+                final float[] values = (float[]) array;
+                for (int i = 0; i < length; i++) {
+                    values[i] = Float.intBitsToFloat(buffer.getInt());
+                }
+            } else if (componentType == double.class) {
+                final double[] values = (double[]) array;
+                for (int i = 0; i < length; i++) {
+                    values[i] = Double.longBitsToDouble(buffer.getLong());
+                }
+            } else if (componentType == char.class) {
+                final char[] values = (char[]) array;
+                for (int i = 0; i < length; i++) {
+                    values[i] = (char) readVarint();
+                }
+            } else if (componentType == short.class) {
+                final short[] values = (short[]) array;
+                for (int i = 0; i < length; i++) {
+                    values[i] = (short) readSignedVarint();
+                }
+            } else if (componentType == int.class) {
+                final int[] values = (int[]) array;
+                for (int i = 0; i < length; i++) {
+                    values[i] = (int) readSignedVarint();
+                }
+            } else {
+                final long[] values = (long[]) array;
+                for (int i = 0; i < length; i++) {
+                    values[i] = readSignedVarint();
+                }
+            }
+            return array;
+        }
+
+        private String readString() {
+            final char[] chars = new char[readLength()];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char) readVarint();
+            }
+            return new String(chars);
+        }
+
+        private int readLength() {
+            return (int) readVarint();
+        }
+
+        private long readSignedVarint() {
+            final long value = readVarint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private long readVarint() {
+            long value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = buffer.get();
+                value |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while (current < 0);
+            return value;
+        }
+
+        /**
+         * @param name The name of a class of the type table.
+         * @return The class.
+         */
+        private static Class resolve(String name) {
+            final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+            try {
+                return Class.forName(name, false, (contextClassLoader != null) ? contextClassLoader : BinarySnapshot.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("The class " + name + " cannot be found", e);
+            }
+        }
+    }
+
+    /**
+     * A class of the type table, as defined by its first record.
+     */
+    private static final class TypeDefinition {
+        private final Class type;
+        private final byte form;
+
+        /**
+         * The layout of the fields of the class, or null if the form is not OBJECT.
+         */
+        private final SnapshotLayout layout;
+
+        TypeDefinition(Class type, byte form, SnapshotLayout layout) {
+            this.type = type;
+            this.form = form;
+            this.layout = layout;
+        }
+    }
+
+    /**
+     * A reference to a record that is not resolved yet.
+     */
+    private static final class Reference {
+        private final int id;
+
+        Reference(int id) {
+            this.id = id;
+        }
+    }
+}
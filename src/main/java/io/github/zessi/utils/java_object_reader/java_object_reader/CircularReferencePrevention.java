@@ -1,7 +1,8 @@
 package io.github.zessi.utils.java_object_reader.java_object_reader;
 
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Set;
 
 /**
@@ -32,13 +33,15 @@ import java.util.Set;
  * The object is passed down recursively to each object that will have its data String represented
  * </li>
  * </ul>
+ * Objects are compared by identity (==), their equals and hashCode methods are never called. Each instance is used by a single thread, so the class is not synchronized. Branches
+ * of the object graph that are written by other threads use copies (See copy()).
  */
 class CircularReferencePrevention {
 
     /**
-     * The set of objects that are currently being processed.
+     * The set of objects that are currently being processed. The set is backed by an IdentityHashMap so that lookups take constant time and compare objects by identity.
      */
-    private final Set<Object> currentlyProcessing = new HashSet<>();
+    private final Set<Object> currentlyProcessing = Collections.newSetFromMap(new IdentityHashMap<>());
 
     /**
      * Checks weather the input object exists within the set of currentlyProcessing objects or not.
@@ -46,12 +49,8 @@ class CircularReferencePrevention {
      * @param inputObject The object that should be checked if it exists in the set of currentlyProcessing objects or not.
      * @return true if the object exists, false otherwise.
      */
-    synchronized boolean checkExists(Object inputObject) {
-        boolean exists = false;
-        for (Object element : this.currentlyProcessing) {
-            if (element == inputObject) exists = true;
-        }
-        return exists;
+    boolean checkExists(Object inputObject) {
+        return this.currentlyProcessing.contains(inputObject);
     }
 
     /**
@@ -59,7 +58,7 @@ class CircularReferencePrevention {
      *
      * @param objects The collection that contains the objects that should be added.
      */
-    synchronized void addAll(Collection objects) {
+    void addAll(Collection objects) {
         this.currentlyProcessing.addAll(objects);
     }
 
@@ -68,7 +67,7 @@ class CircularReferencePrevention {
      *
      * @param o The object to be added.
      */
-    synchronized void add(Object o) {
+    void add(Object o) {
         this.currentlyProcessing.add(o);
     }
 
@@ -77,16 +76,26 @@ class CircularReferencePrevention {
      *
      * @param o The object to be removed
      */
-    synchronized void remove(Object o) {
+    void remove(Object o) {
         this.currentlyProcessing.remove(o);
     }
 
+    /**
+     * @return A new CircularReferencePrevention object holding the same objects as this one, which can be used by another thread (e.g. for a branch of the object graph that is
+     * written in parallel) without affecting this one.
+     */
+    CircularReferencePrevention copy() {
+        final CircularReferencePrevention result = new CircularReferencePrevention();
+        result.currentlyProcessing.addAll(this.currentlyProcessing);
+        return result;
+    }
+
     /**
      * A method that is used to remove a collection of objects from the set of currentlyProcessing objects.
      *
      * @param objects The collection that contains the objects that should be removed
      */
-    synchronized void removeAll(Collection objects) {
+    void removeAll(Collection objects) {
         this.currentlyProcessing.removeAll(objects);
     }
 
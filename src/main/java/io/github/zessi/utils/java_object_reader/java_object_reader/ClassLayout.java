@@ -0,0 +1,284 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * An immutable class that holds the reflective layout of a class, which is the information needed to String represent the fields of its instances. <br>
+ * The layout is resolved once per class and then cached. The fields are stored as flat arrays that are ordered by the field name, with the hidden fields rules already applied.
+ * <ul>
+ * <li>
+ * FieldAccessor[] accessors; The accessors of all the fields declared by the class and its ancestors, with the exception of hidden fields.
+ * </li>
+ * <li>
+ * Class[] definingClasses; The class that defines/declares the field at the same index.
+ * </li>
+ * <li>
+ * FieldMeta[] metas; The precomputed parts of the meta part of the String representation of the field at the same index.
+ * </li>
+ * </ul>
+ * The cache is a {@link ClassValue}, which keeps the layout attached to the Class object itself. This means that the layout of a class does not prevent the class (or its class loader)
+ * from being unloaded.
+ */
+final class ClassLayout {
+
+    /**
+     * The cache holding the layout of each class. The layout is computed on the first request for a class and the same instance is returned afterwards.
+     */
+    private static final ClassValue<ClassLayout> LAYOUTS = new ClassValue<ClassLayout>() {
+        @Override
+        protected ClassLayout computeValue(Class<?> type) {
+            return new ClassLayout(type);
+        }
+    };
+
+    /**
+     * The class of which this is the layout.
+     */
+    private final Class type;
+
+    /**
+     * The accessors of all the fields declared by the class and its ancestors (with the exception of hidden fields) ordered by the field name.
+     */
+    private final FieldAccessor[] accessors;
+
+    /**
+     * The class that defines/declares the field at the same index in the accessors array.
+     */
+    private final Class[] definingClasses;
+
+    /**
+     * The precomputed parts of the meta part of the String representation of the field at the same index in the accessors array.
+     */
+    private final FieldMeta[] metas;
+
+    /**
+     * The constructor resolves the layout of the provided class.
+     *
+     * @param type The class of which the layout will be resolved.
+     */
+    private ClassLayout(Class type) {
+        this.type = type;
+
+        /*
+        Obtaining all of the participating classes (The class itself and all of its parent classes) in the order where the first element is highest class in the hierarchy and the
+        last element is the lowest class in the hierarchy.
+        https://docs.oracle.com/javase/tutorial/java/IandI/hidevariables.html
+        In hidden fields case : Because the classes order is from highest hierarchy to lowest hierarchy, the fields that were added last will override the fields that were added first.
+        This will allow the String representation of the object to contain the String representation of the most relevant field to it.
+         */
+        final Set<Class> classes = StringRepresentableUtils.getParticipatingClasses(type);
+        final Map<String, Field> fieldsByName = new TreeMap<>();
+        final Map<String, Class> definingClassesByName = new TreeMap<>();
+        for (Class aClass : classes) {
+            for (Field field : aClass.getDeclaredFields()) {
+                fieldsByName.put(field.getName(), field);
+                definingClassesByName.put(field.getName(), aClass);
+            }
+        }
+
+        this.accessors = new FieldAccessor[fieldsByName.size()];
+        int i = 0;
+        for (Field field : fieldsByName.values()) {
+            this.accessors[i++] = FieldAccessor.getFieldAccessor(field);
+        }
+        this.definingClasses = definingClassesByName.values().toArray(new Class[0]);
+        this.metas = new FieldMeta[this.accessors.length];
+        for (i = 0; i < this.metas.length; i++) {
+            this.metas[i] = new FieldMeta(this.accessors[i].getField(), this.definingClasses[i]);
+        }
+    }
+
+    /**
+     * A constructor that creates a copy of the provided layout holding only the fields at the provided indexes.
+     *
+     * @param layout  The layout that will be copied.
+     * @param indexes The indexes of the fields of the provided layout that will be kept, in order.
+     */
+    private ClassLayout(ClassLayout layout, int[] indexes) {
+        this.type = layout.type;
+        this.accessors = new FieldAccessor[indexes.length];
+        this.definingClasses = new Class[indexes.length];
+        this.metas = new FieldMeta[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            this.accessors[i] = layout.accessors[indexes[i]];
+            this.definingClasses[i] = layout.definingClasses[indexes[i]];
+            this.metas[i] = layout.metas[indexes[i]];
+        }
+    }
+
+    /**
+     * A static factory method that returns the cached layout of the provided class. The layout is resolved on the first call for a class.
+     *
+     * @param type The class of which the layout should be returned.
+     * @return The layout of the provided class.
+     */
+    static ClassLayout getClassLayout(Class type) {
+        if (type == null) throw new IllegalArgumentException("null input");
+        return LAYOUTS.get(type);
+    }
+
+    /**
+     * A static factory method that returns the cached layout of the provided class, restricted to the fields that are included by the field filter of the provided options
+     * (See StringRepresentationOptions#getFieldFilter).
+     *
+     * @param type    The class of which the layout should be returned.
+     * @param options The StringRepresentationOptions object that is used to read the instances of the class.
+     * @return The layout of the provided class.
+     */
+    static ClassLayout getClassLayout(Class type, StringRepresentationOptions options) {
+        final FieldSelection selection = options.getFieldSelection();
+        return (selection == null) ? getClassLayout(type) : selection.getClassLayout(type);
+    }
+
+    /**
+     * Evaluates the provided filter against the fields of this layout.
+     *
+     * @param filter The filter deciding which fields are included.
+     * @return A layout holding the fields of this layout that are included by the filter, or this layout if all of them are included.
+     */
+    ClassLayout select(FieldFilter filter) {
+        final int[] indexes = new int[accessors.length];
+        int count = 0;
+        for (int i = 0; i < accessors.length; i++) {
+            if (filter.include(accessors[i].getField())) indexes[count++] = i;
+        }
+        return (count == accessors.length) ? this : new ClassLayout(this, Arrays.copyOf(indexes, count));
+    }
+
+    /**
+     * @return The class of which this is the layout.
+     */
+    Class getType() {
+        return type;
+    }
+
+    /**
+     * @return The number of fields in this layout.
+     */
+    int getFieldCount() {
+        return accessors.length;
+    }
+
+    /**
+     * @param index The index of the field in this layout.
+     * @return The field at the provided index.
+     */
+    Field getField(int index) {
+        return accessors[index].getField();
+    }
+
+    /**
+     * @param index The index of the field in this layout.
+     * @return The accessor that is used to read the value of the field at the provided index.
+     */
+    FieldAccessor getFieldAccessor(int index) {
+        return accessors[index];
+    }
+
+    /**
+     * @param index The index of the field in this layout.
+     * @return The class that defines/declares the field at the provided index.
+     */
+    Class getDefiningClass(int index) {
+        return definingClasses[index];
+    }
+
+    /**
+     * Writes the meta part of the String representation of the field at the provided index. The written text is identical to FieldInfo#writeMetaStringRepresentation.
+     *
+     * @param index   The index of the field in this layout.
+     * @param out     The Appendable that the meta part will be written to.
+     * @param options The StringRepresentationOptions object that is used to control the behavior of the String representation of the field.
+     * @throws IOException If the Appendable fails to append.
+     */
+    void writeFieldMeta(int index, Appendable out, StringRepresentationOptions options) throws IOException {
+        final FieldMeta meta = metas[index];
+        final String separator = options.getFieldMetaSeparator();
+        if (options.isFullTypeName()) {
+            out.append(meta.canonicalDefiningClassName).append(separator).append(meta.modifiersRepresentation).append(separator).append(meta.fullTypeName);
+        } else {
+            out.append(meta.simpleDefiningClassName).append(separator).append(meta.modifiersRepresentation).append(separator).append(meta.simpleTypeName);
+        }
+        out.append(separator).append(meta.quotedName);
+    }
+
+    /**
+     * Writes the beginning of the JSON object of the field at the provided index (See OutputFormat#JSON), which holds the same meta part as
+     * FieldInfo#writeMetaStringRepresentation, up to the "value" member of which the value should be written next. <br>
+     * e.g. {"declaringClass":"TypeOne","modifiers":"ii","type":"int","name":"value","value":
+     *
+     * @param index   The index of the field in this layout.
+     * @param out     The Appendable that the beginning of the JSON object will be written to.
+     * @param options The StringRepresentationOptions object that is used to control the behavior of the String representation of the field.
+     * @throws IOException If the Appendable fails to append.
+     */
+    void writeJsonFieldMeta(int index, Appendable out, StringRepresentationOptions options) throws IOException {
+        out.append(metas[index].getJsonPrefix(options.isFullTypeName()));
+    }
+
+    /**
+     * An immutable class holding the precomputed parts of the meta part of the String representation of a field, so writing it only appends constant Strings.
+     */
+    private static final class FieldMeta {
+        private final String simpleDefiningClassName;
+        private final String canonicalDefiningClassName;
+        private final String modifiersRepresentation;
+        private final String simpleTypeName;
+        private final String fullTypeName;
+        private final String quotedName;
+        private final String name;
+
+        /**
+         * The escaped beginnings of the JSON objects of the field, created on first use. They are immutable Strings, so an instance that is shared through a race is still
+         * complete, and at worst the same String is created twice.
+         */
+        private String simpleJsonPrefix;
+        private String fullJsonPrefix;
+
+        private FieldMeta(Field field, Class definingClass) {
+            this.simpleDefiningClassName = definingClass.getSimpleName();
+            this.canonicalDefiningClassName = definingClass.getCanonicalName();
+            this.modifiersRepresentation = FieldInfo.getModifiersRepresentation(field.getModifiers());
+            this.simpleTypeName = field.getType().getSimpleName();
+            this.fullTypeName = field.getType().getName();
+            this.quotedName = "\"" + field.getName() + "\"";
+            this.name = field.getName();
+        }
+
+        private String getJsonPrefix(boolean full) {
+            String prefix = full ? fullJsonPrefix : simpleJsonPrefix;
+            if (prefix == null) {
+                prefix = full ? createJsonPrefix(canonicalDefiningClassName, fullTypeName) : createJsonPrefix(simpleDefiningClassName, simpleTypeName);
+                if (full) fullJsonPrefix = prefix;
+                else simpleJsonPrefix = prefix;
+            }
+            return prefix;
+        }
+
+        private String createJsonPrefix(String definingClassName, String typeName) {
+            final StringBuilder builder = new StringBuilder();
+            final JsonEncoder encoder = new JsonEncoder(builder);
+            try {
+                builder.append("{\"declaringClass\":");
+                encoder.writeString(definingClassName);
+                builder.append(",\"modifiers\":");
+                encoder.writeString(modifiersRepresentation);
+                builder.append(",\"type\":");
+                encoder.writeString(typeName);
+                builder.append(",\"name\":");
+                encoder.writeString(name);
+                builder.append(",\"value\":");
+            } catch (IOException e) {
+                //A StringBuilder never throws an IOException, this is only here to satisfy the Appendable contract.
+                throw new UncheckedIOException(e);
+            }
+            return builder.toString();
+        }
+    }
+}
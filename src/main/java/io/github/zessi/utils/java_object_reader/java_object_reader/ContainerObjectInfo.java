@@ -0,0 +1,93 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.io.IOException;
+
+/**
+ * An abstract class extending the abstract class ObjectInfo <br>
+ * This class is the parent of the ObjectInfo classes that represent containers (Iterables, Maps and Optionals) by their logical elements instead of their fields. <br>
+ * The elements are obtained through the public iteration APIs of the containers, so the internal structures of the containers (tables, nodes, counters, ... etc.) are never read.
+ */
+abstract class ContainerObjectInfo extends ObjectInfo {
+
+    /**
+     * A variable to hold an object of CircularReferencePrevention which is used to prevent circular references through the elements of the container.
+     */
+    private final CircularReferencePrevention crp;
+
+    /**
+     * The StringRepresentationOptions object that is used for the String representation of the elements, which is this container's options with one more indent.
+     */
+    private StringRepresentationOptions elementOptions;
+
+    /**
+     * The last written element, which was added to the CircularReferencePrevention object and should be removed from it before the next element is written.
+     */
+    private Object processingElement;
+
+    /**
+     * A constructor that creates an instance of ContainerObjectInfo using the provided arguments.
+     *
+     * @param object  The container object that will be used for the String representation.
+     * @param options The StringRepresentationOptions object that will be used to control the behavior of the String representation of this object according to its options.
+     * @param crp     The CircularReferencePrevention object that is used to prevent circular references.
+     */
+    ContainerObjectInfo(Object object, StringRepresentationOptions options, CircularReferencePrevention crp) {
+        super(object, options);
+        if (object == null) throw new IllegalArgumentException("null first parameter");
+        this.crp = crp;
+    }
+
+    /**
+     * @param kind    The kind of the class of an object (See NodeKind).
+     * @param options The StringRepresentationOptions object that is used to read the object.
+     * @return true if the object should be represented by one of the ContainerObjectInfo classes, false otherwise.
+     */
+    static boolean isContainer(byte kind, StringRepresentationOptions options) {
+        return options.isLogicalContainers() && NodeKind.isContainer(kind);
+    }
+
+    /**
+     * @return The StringRepresentationOptions object that is used for the String representation of the elements.
+     */
+    StringRepresentationOptions getElementOptions() {
+        if (this.elementOptions == null) this.elementOptions = this.getOptions().cloneAndAddIndent();
+        return this.elementOptions;
+    }
+
+    /**
+     * Writes an element of the container if it can be written directly (a null or an element that is currently being processed). Otherwise, the element is added to the
+     * CircularReferencePrevention object (unless it is of a primitive type, which never takes part in circular references) and its ObjectInfo is returned.
+     * The element that was written before is released first.
+     *
+     * @param element The element.
+     * @param out     The Appendable that will be written to.
+     * @return The ObjectInfo of the element, or null if the element was written completely.
+     * @throws IOException If the Appendable fails to append.
+     */
+    ObjectInfo writeElement(Object element, Appendable out) throws IOException {
+        releaseProcessingElement();
+        if (element == null) {
+            out.append(getElementOptions().getNullRepresentation());
+            return null;
+        }
+        final byte kind = NodeKind.of(element.getClass());
+        if (NodeKind.isValue(kind)) return new PrimitiveObjectInfo(element, getElementOptions());
+        if (this.crp.checkExists(element)) {
+            out.append("<Object Processing>");
+            return null;
+        }
+        this.crp.add(element);
+        this.processingElement = element;
+        return ObjectInfo.getObjectInfo(element, kind, getElementOptions(), this.crp);
+    }
+
+    /**
+     * Removes the last written element from the CircularReferencePrevention object.
+     */
+    void releaseProcessingElement() {
+        if (this.processingElement != null) {
+            this.crp.remove(this.processingElement);
+            this.processingElement = null;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.io.IOException;
+
+/**
+ * A class that writes the decimal digits of integral values to an Appendable, the same digits Long.toString writes, without creating a String per value. <br>
+ * A StringBuilder appends the digits of the values directly, other Appendables are given the digits one by one from a buffer that is reused for all the values.
+ * It is shared by the JsonEncoder and the PrimitiveArrayWriter, so both write integral values the same way.
+ */
+final class DecimalWriter {
+
+    /**
+     * The largest number of characters needed to write a long value (Long.MIN_VALUE).
+     */
+    private static final int MAX_LONG_LENGTH = 20;
+
+    /**
+     * The Appendable that the values are written to.
+     */
+    private final Appendable out;
+
+    /**
+     * The out Appendable if it is a StringBuilder, null otherwise. A StringBuilder already appends numbers without creating intermediate Strings.
+     */
+    private final StringBuilder builder;
+
+    /**
+     * A buffer that is used to write the digits when the Appendable is not a StringBuilder, created on first use.
+     */
+    private char[] digits;
+
+    /**
+     * A constructor that creates a DecimalWriter writing to the provided Appendable.
+     *
+     * @param out The Appendable that the values will be written to.
+     */
+    DecimalWriter(Appendable out) {
+        this.out = out;
+        this.builder = (out instanceof StringBuilder) ? (StringBuilder) out : null;
+    }
+
+    /**
+     * Writes the decimal digits of the provided value, the same digits Long.toString writes.
+     *
+     * @param value The value to be written.
+     * @throws IOException If the Appendable fails to append.
+     */
+    void write(long value) throws IOException {
+        if (builder != null) {
+            builder.append(value);
+            return;
+        }
+        if (digits == null) digits = new char[MAX_LONG_LENGTH];
+        int position = MAX_LONG_LENGTH;
+        //Working with the negative value, so that Long.MIN_VALUE doesn't overflow.
+        long remaining = (value < 0) ? value : -value;
+        do {
+            digits[--position] = (char) ('0' - (remaining % 10));
+            remaining /= 10;
+        } while (remaining != 0);
+        if (value < 0) digits[--position] = '-';
+        for (int i = position; i < MAX_LONG_LENGTH; i++) {
+            out.append(digits[i]);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * An immutable class that is used to read the value of a java field. <br>
+ * The field is made accessible and unreflected into a MethodHandle a single time when the accessor is created. Reading the value afterwards takes no locks and does not change
+ * the accessibility of the field, which allows many threads to read the same field at the same time. <br>
+ * Accessors are resolved once per field and cached as part of the {@link ClassLayout} of the class declaring the field. <br>
+ * A field that cannot be made accessible (for example, a field of a JDK class when its module is not open to this library) is written as INACCESSIBLE_REPRESENTATION instead of
+ * its value, so it is never mistaken for a field holding null.
+ */
+final class FieldAccessor {
+
+    /**
+     * The String representation written instead of the value of a field that could not be made accessible.
+     */
+    static final String INACCESSIBLE_REPRESENTATION = "<Inaccessible>";
+
+    /**
+     * The MethodType that all of the getters are adapted to. (Object)Object where the argument is the object holding the field (ignored for static fields).
+     */
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * The associated java field
+     */
+    private final Field field;
+
+    /**
+     * A MethodHandle of type (Object)Object that returns the value of the field. null if the field could not be made accessible.
+     */
+    private final MethodHandle getter;
+
+    /**
+     * The kind of the declared type of the field (See NodeKind).
+     */
+    private final byte kind;
+
+    /**
+     * A constructor that creates an instance of FieldAccessor for the provided field.
+     *
+     * @param field  The field that will be read.
+     * @param getter A MethodHandle of type (Object)Object that returns the value of the field. null if the field could not be made accessible.
+     */
+    private FieldAccessor(Field field, MethodHandle getter) {
+        this.field = field;
+        this.getter = getter;
+        this.kind = NodeKind.of(field.getType());
+    }
+
+    /**
+     * A static factory method that creates a FieldAccessor for the provided field. <br>
+     * The field is made accessible even if it was inaccessible. If that is not possible (for example, the field belongs to a module that is not open to this library), then the
+     * accessor is not accessible (See isAccessible), and the callers write INACCESSIBLE_REPRESENTATION instead of the value of the field.
+     *
+     * @param field The field that will be read.
+     * @return A FieldAccessor that reads the value of the provided field.
+     */
+    static FieldAccessor getFieldAccessor(Field field) {
+        if (field == null) throw new IllegalArgumentException("null input");
+        MethodHandle getter;
+        try {
+            field.setAccessible(true);
+            getter = MethodHandles.lookup().unreflectGetter(field);
+            //Adapting the getter to a single type, static getters take no arguments so an ignored argument is added to them.
+            if (Modifier.isStatic(field.getModifiers())) {
+                getter = MethodHandles.dropArguments(getter.asType(MethodType.methodType(Object.class)), 0, Object.class);
+            } else {
+                getter = getter.asType(GETTER_TYPE);
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            getter = null;
+        }
+        return new FieldAccessor(field, getter);
+    }
+
+    /**
+     * @return The associated java field
+     */
+    Field getField() {
+        return field;
+    }
+
+    /**
+     * @return The kind of the declared type of the field (See NodeKind).
+     */
+    byte getKind() {
+        return kind;
+    }
+
+    /**
+     * @return true if the field's value can be read, false if the field could not be made accessible.
+     */
+    boolean isAccessible() {
+        return getter != null;
+    }
+
+    /**
+     * Reads the value of the field. Primitive values are returned boxed.
+     *
+     * @param object The object holding the field. If the field is static, then this object is ignored and can be null.
+     * @return The value of the field, or null if the field could not be made accessible (which the callers check with isAccessible before writing the value).
+     */
+    Object get(Object object) {
+        if (getter == null) return null;
+        try {
+            return (Object) getter.invokeExact(object);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable throwable) {
+            //A field getter does not throw checked exceptions.
+            throw new IllegalStateException(throwable);
+        }
+    }
+}
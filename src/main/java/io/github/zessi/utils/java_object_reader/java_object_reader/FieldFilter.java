@@ -0,0 +1,117 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An interface deciding which fields are String represented (See StringRepresentationOptions.Builder#setFieldFilter). <br>
+ * The filter is evaluated once per class and field, when the layout of the class is first needed, and the excluded fields are removed from the layout. So the excluded fields are
+ * never read, and neither they nor the objects they reference are written. <br>
+ * The filter receives the Field itself, so it can decide by the name, the modifiers, the declaring class, the type or the annotations of the field. The static methods of this
+ * interface create the common filters, which can be combined using and(FieldFilter).
+ */
+@FunctionalInterface
+public interface FieldFilter {
+
+    /**
+     * @param field A field declared by the class of a read object or by one of its ancestors.
+     * @return true if the field should be String represented, false if it should be excluded.
+     */
+    boolean include(Field field);
+
+    /**
+     * @param other Another filter.
+     * @return A filter including the fields that are included by both this filter and the other filter.
+     */
+    default FieldFilter and(FieldFilter other) {
+        if (other == null) throw new IllegalArgumentException("null input");
+        return field -> include(field) && other.include(field);
+    }
+
+    /**
+     * @return A filter excluding the static fields.
+     */
+    static FieldFilter excludeStatic() {
+        return field -> !Modifier.isStatic(field.getModifiers());
+    }
+
+    /**
+     * @return A filter excluding the transient fields.
+     */
+    static FieldFilter excludeTransient() {
+        return field -> !Modifier.isTransient(field.getModifiers());
+    }
+
+    /**
+     * @param names The names of the fields to be excluded.
+     * @return A filter excluding the fields with the provided names.
+     */
+    static FieldFilter excludeNames(String... names) {
+        final Set<String> excluded = new HashSet<>(Arrays.asList(names));
+        return field -> !excluded.contains(field.getName());
+    }
+
+    /**
+     * @param packageNames The names of the packages (e.g. "java.util") of which the declared fields should be excluded. The fields declared in their sub-packages are excluded
+     *                     as well.
+     * @return A filter excluding the fields that are declared by classes of the provided packages.
+     */
+    static FieldFilter excludePackages(String... packageNames) {
+        final String[] excluded = packageNames.clone();
+        return field -> {
+            final String className = field.getDeclaringClass().getName();
+            for (String packageName : excluded) {
+                if (className.startsWith(packageName) && (className.length() > packageName.length()) && (className.charAt(packageName.length()) == '.')) return false;
+            }
+            return true;
+        };
+    }
+
+    /**
+     * @param classes The classes of which the declared fields should be excluded.
+     * @return A filter excluding the fields that are declared by the provided classes. The fields declared by their subclasses are still included.
+     */
+    static FieldFilter excludeDeclaringClasses(Class<?>... classes) {
+        final Set<Class<?>> excluded = new HashSet<>(Arrays.asList(classes));
+        return field -> !excluded.contains(field.getDeclaringClass());
+    }
+
+    /**
+     * @param types The types of which the fields should be excluded.
+     * @return A filter excluding the fields of which the declared type is one of the provided types or a subtype of them.
+     */
+    static FieldFilter excludeTypes(Class<?>... types) {
+        final Class<?>[] excluded = types.clone();
+        return field -> {
+            for (Class<?> type : excluded) {
+                if (type.isAssignableFrom(field.getType())) return false;
+            }
+            return true;
+        };
+    }
+
+    /**
+     * @param annotations The annotations of which the annotated fields should be excluded. Only the annotations retained at runtime can be found.
+     * @return A filter excluding the fields that are annotated with one of the provided annotations.
+     */
+    @SafeVarargs
+    static FieldFilter excludeAnnotated(Class<? extends Annotation>... annotations) {
+        //The annotations are copied one by one, as passing on the generic array itself is reported as possible heap pollution.
+        final List<Class<? extends Annotation>> excluded = new ArrayList<>(annotations.length);
+        for (Class<? extends Annotation> annotation : annotations) {
+            excluded.add(annotation);
+        }
+        return field -> {
+            for (Class<? extends Annotation> annotation : excluded) {
+                if (field.isAnnotationPresent(annotation)) return false;
+            }
+            return true;
+        };
+    }
+}
@@ -1,5 +1,7 @@
 package io.github.zessi.utils.java_object_reader.java_object_reader;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 
@@ -40,6 +42,11 @@ abstract class FieldInfo implements StringRepresentable {
      */
     private final Field field;
 
+    /**
+     * The accessor that is used to read the value of the associated java field
+     */
+    private final FieldAccessor accessor;
+
     /**
      * The class that defines/declares this field. This is important to show inherited fields.
      */
@@ -58,7 +65,7 @@ abstract class FieldInfo implements StringRepresentable {
     /**
      * The value of the field's data
      */
-    private Object value;
+    private final Object value;
 
     /**
      * An int representing the java modifiers applied to this field
@@ -77,38 +84,39 @@ abstract class FieldInfo implements StringRepresentable {
 
     /**
      * A constructor that calls the main constructor <br>
-     * this(field, definingClass, null, new StringRepresentationOptions())
+     * this(accessor, definingClass, null, new StringRepresentationOptions())
      *
-     * @param field         The field that will be String represented
+     * @param accessor      The accessor of the field that will be String represented
      * @param definingClass The class that defines/declares this field
      */
-    FieldInfo(Field field, Class definingClass) {
-        this(field, definingClass, null, StringRepresentationOptions.Builder.build().get());
+    FieldInfo(FieldAccessor accessor, Class definingClass) {
+        this(accessor, definingClass, null, StringRepresentationOptions.Builder.build().get());
     }
 
     /**
      * A constructor that calls the main constructor<br>
-     * this(field, definingClass, null, options)
+     * this(accessor, definingClass, null, options)
      *
-     * @param field         The field that will be String represented
+     * @param accessor      The accessor of the field that will be String represented
      * @param definingClass The class that defines/declares this field
      * @param options       The StringRepresentationOptions object that will be used to control the behavior of the String representation of this field
      */
-    FieldInfo(Field field, Class definingClass, StringRepresentationOptions options) {
-        this(field, definingClass, null, options);
+    FieldInfo(FieldAccessor accessor, Class definingClass, StringRepresentationOptions options) {
+        this(accessor, definingClass, null, options);
     }
 
     /**
      * The main constructor of this class<br>
      * The constructor creates a new instance FieldInfo type using the provided input. Upon creation, the object becomes immutable
      *
-     * @param field            The field that will be String represented
+     * @param accessor         The accessor of the field that will be String represented
      * @param definingClass    The class that defines/declares this field
      * @param associatedObject The context object of the class that this field is a part of. If the field is static, then this object should be null
      * @param options          The StringRepresentationOptions object that will be used to control the behavior of the String representation of this field
      */
-    FieldInfo(Field field, Class definingClass, Object associatedObject, StringRepresentationOptions options) {
-        if (field == null) throw new IllegalArgumentException("null first parameter");
+    FieldInfo(FieldAccessor accessor, Class definingClass, Object associatedObject, StringRepresentationOptions options) {
+        if (accessor == null) throw new IllegalArgumentException("null first parameter");
+        final Field field = accessor.getField();
         if (definingClass == null) throw new IllegalArgumentException("null second parameter");
         //A null associatedObject is only allowed for static fields.
         if ((associatedObject == null) && (!Modifier.isStatic(field.getModifiers())))
@@ -116,6 +124,7 @@ abstract class FieldInfo implements StringRepresentable {
         if (options == null) throw new IllegalArgumentException("null fourth parameter");
 
         this.field = field;
+        this.accessor = accessor;
         this.definingClass = definingClass;
         this.name = field.getName();
         this.fieldType = field.getType();
@@ -123,17 +132,8 @@ abstract class FieldInfo implements StringRepresentable {
         this.associatedObject = associatedObject;
         this.options = options;
 
-        //Reading the value of the field even if it was inaccessible.
-        synchronized (this.field) {
-            final boolean originalAccessibility = this.field.isAccessible();
-            this.field.setAccessible(true);
-            try {
-                this.value = this.field.get(associatedObject);
-            } catch (IllegalAccessException e) {
-                e.printStackTrace();
-            }
-            this.field.setAccessible(originalAccessibility);
-        }
+        //Reading the value of the field even if it was inaccessible. The accessor was made accessible once when it was created, so no locking is needed here.
+        this.value = accessor.get(associatedObject);
     }
 
     /**
@@ -150,6 +150,13 @@ abstract class FieldInfo implements StringRepresentable {
         return field;
     }
 
+    /**
+     * @return The accessor that is used to read the value of the associated java field
+     */
+    FieldAccessor getAccessor() {
+        return accessor;
+    }
+
     /**
      * @return The context object of the class that this field is a part of. If the field is static, then null is returned
      */
@@ -184,8 +191,27 @@ abstract class FieldInfo implements StringRepresentable {
      */
     @Override
     public String getMetaStringRepresentation() {
-        return ((options.isFullTypeName()) ? getDefiningClass().getCanonicalName() : getDefiningClass().getSimpleName()) + options.getFieldMetaSeparator()
-                + getModifiersRepresentation() + options.getFieldMetaSeparator() + getTypeName() + options.getFieldMetaSeparator() + "\"" + getName() + "\"";
+        final StringBuilder builder = new StringBuilder();
+        try {
+            writeMetaStringRepresentation(builder);
+        } catch (IOException e) {
+            //A StringBuilder never throws an IOException, this is only here to satisfy the Appendable contract.
+            throw new UncheckedIOException(e);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Writes the meta part of the String representation of this field to the provided Appendable.
+     *
+     * @param out The Appendable that the meta part will be written to.
+     * @throws IOException If the Appendable fails to append.
+     */
+    @Override
+    public void writeMetaStringRepresentation(Appendable out) throws IOException {
+        out.append((options.isFullTypeName()) ? getDefiningClass().getCanonicalName() : getDefiningClass().getSimpleName()).append(options.getFieldMetaSeparator())
+                .append(getModifiersRepresentation()).append(options.getFieldMetaSeparator()).append(getTypeName()).append(options.getFieldMetaSeparator())
+                .append('\"').append(getName()).append('\"');
     }
 
     /**
@@ -196,6 +222,30 @@ abstract class FieldInfo implements StringRepresentable {
         return options.getFieldMetaValueSeparator();
     }
 
+    /**
+     * @return A String representing the value part of the String representation of this field. The String is built by writing the value part to a StringBuilder.
+     */
+    @Override
+    public String getValueStringRepresentation() {
+        final StringBuilder builder = new StringBuilder();
+        try {
+            writeValueStringRepresentation(builder);
+        } catch (IOException e) {
+            //A StringBuilder never throws an IOException, this is only here to satisfy the Appendable contract.
+            throw new UncheckedIOException(e);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Writes the value part of the String representation of this field to the provided Appendable.
+     *
+     * @param out The Appendable that the value part will be written to.
+     * @throws IOException If the Appendable fails to append.
+     */
+    @Override
+    public abstract void writeValueStringRepresentation(Appendable out) throws IOException;
+
     /**
      * @return The value of the field's data
      */
@@ -329,14 +379,24 @@ abstract class FieldInfo implements StringRepresentable {
      * @return The string representation of this field's modifiers.
      */
     String getModifiersRepresentation() {
+        return getModifiersRepresentation(this.modifiers);
+    }
+
+    /**
+     * A static method that returns a string representing the provided modifiers using the format described in getModifiersRepresentation().
+     *
+     * @param modifiers The int holding the information about the reflection modifiers of a field.
+     * @return The string representation of the provided modifiers.
+     */
+    static String getModifiersRepresentation(int modifiers) {
         StringBuilder rep = new StringBuilder();
         //Variables were used to make the code more readable/understandable
-        final char access = AccessModifier.getAccessModifier(this.modifiers).getRepresentation();
-        final String isStatic = (isStatic()) ? "t" : "";
-        final String isFinal = (isFinal()) ? "i" : "";
-        final String isVolatile = (isVolatile()) ? "o" : "";
-        final String isTransient = (isTransient()) ? "r" : "";
-        final String isStrictfp = (isStrict()) ? "f" : "";
+        final char access = AccessModifier.getAccessModifier(modifiers).getRepresentation();
+        final String isStatic = (Modifier.isStatic(modifiers)) ? "t" : "";
+        final String isFinal = (Modifier.isFinal(modifiers)) ? "i" : "";
+        final String isVolatile = (Modifier.isVolatile(modifiers)) ? "o" : "";
+        final String isTransient = (Modifier.isTransient(modifiers)) ? "r" : "";
+        final String isStrictfp = (Modifier.isStrict(modifiers)) ? "f" : "";
 
         rep.append(access);
         rep.append(isStatic);
@@ -351,14 +411,14 @@ abstract class FieldInfo implements StringRepresentable {
     /**
      * A static factory method that returns an implementation of this class depending on the field type being provided
      *
-     * @param field            The field that will be String represented
+     * @param accessor         The accessor of the field that will be String represented
      * @param definingClass    The class that defines/declares this field. This is important to show inherited fields.
      * @param associatedObject The context object of the class that this field is a part of. If the field is static, then this object should be null
      * @param options          The StringRepresentationOptions object that will be used to control the behavior of the String representation of this field
      * @return
      */
-    static FieldInfo getFieldInfo(Field field, Class definingClass, Object associatedObject, StringRepresentationOptions options, CircularReferencePrevention crp) {
+    static FieldInfo getFieldInfo(FieldAccessor accessor, Class definingClass, Object associatedObject, StringRepresentationOptions options, CircularReferencePrevention crp) {
         //The method returns the appropriate FieldInfo type according the field's type.
-        return (StringRepresentableUtils.isPrimitive(field.getType())) ? new PrimitiveFieldInfo(field, definingClass, associatedObject, options) : new NonPrimitiveFieldInfo(field, definingClass, associatedObject, options, crp);
+        return NodeKind.isValue(accessor.getKind()) ? new PrimitiveFieldInfo(accessor, definingClass, associatedObject, options) : new NonPrimitiveFieldInfo(accessor, definingClass, associatedObject, options, crp);
     }
 }
@@ -0,0 +1,86 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+/**
+ * A class holding the layouts of the classes restricted to the fields that are included by a FieldFilter. <br>
+ * The filter is compiled once per class: the first request for a class evaluates the filter against the fields of the ClassLayout of the class, and the restricted layout (and
+ * the MethodHandleReader and the SnapshotLayout created from it) are cached for the following requests. The caches are ClassValues owned by this object, so they are shared by
+ * all the StringRepresentationOptions objects that are copied from the same built instance, and they are released with them.
+ */
+final class FieldSelection {
+
+    /**
+     * The filter deciding which fields are included.
+     */
+    private final FieldFilter filter;
+
+    /**
+     * The cache holding the restricted layout of each class.
+     */
+    private final ClassValue<ClassLayout> layouts = new ClassValue<ClassLayout>() {
+        @Override
+        protected ClassLayout computeValue(Class<?> type) {
+            return ClassLayout.getClassLayout(type).select(filter);
+        }
+    };
+
+    /**
+     * The cache holding the reader of each class, created from its restricted layout.
+     */
+    private final ClassValue<MethodHandleReader> readers = new ClassValue<MethodHandleReader>() {
+        @Override
+        protected MethodHandleReader computeValue(Class<?> type) {
+            return MethodHandleReader.createMethodHandleReader(layouts.get(type));
+        }
+    };
+
+    /**
+     * The cache holding the snapshot layout of each class, created from its restricted layout.
+     */
+    private final ClassValue<SnapshotLayout> snapshotLayouts = new ClassValue<SnapshotLayout>() {
+        @Override
+        protected SnapshotLayout computeValue(Class<?> type) {
+            return new SnapshotLayout(layouts.get(type));
+        }
+    };
+
+    /**
+     * A constructor that creates the selection of the fields included by the provided filter.
+     *
+     * @param filter The filter deciding which fields are included.
+     */
+    FieldSelection(FieldFilter filter) {
+        if (filter == null) throw new IllegalArgumentException("null input");
+        this.filter = filter;
+    }
+
+    /**
+     * @return The filter deciding which fields are included.
+     */
+    FieldFilter getFilter() {
+        return filter;
+    }
+
+    /**
+     * @param type A class.
+     * @return The layout of the class, restricted to the included fields.
+     */
+    ClassLayout getClassLayout(Class type) {
+        return layouts.get(type);
+    }
+
+    /**
+     * @param type A class.
+     * @return The reader of the class reading the included fields, or MethodHandleReader's unavailable reader if a reader could not be created for it.
+     */
+    MethodHandleReader getMethodHandleReader(Class type) {
+        return readers.get(type);
+    }
+
+    /**
+     * @param type A class.
+     * @return The snapshot layout of the class storing the included fields.
+     */
+    SnapshotLayout getSnapshotLayout(Class type) {
+        return snapshotLayouts.get(type);
+    }
+}
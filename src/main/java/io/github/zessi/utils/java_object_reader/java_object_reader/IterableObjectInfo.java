@@ -0,0 +1,117 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * A class extending the abstract class ContainerObjectInfo <br>
+ * This class should be used for String representation of Iterables (Lists, Sets, Queues, ... etc.) and Optionals. The elements are written the same way the elements of an array
+ * are written, so a List is represented like an array holding the same elements. An Optional is represented like a List holding its value if it is present. <br>
+ * The elements are obtained through the Iterable's iterator, which is weakly consistent for the concurrent collections (java.util.concurrent), so those collections are never
+ * locked while they are being written and they can be modified concurrently.
+ */
+final class IterableObjectInfo extends ContainerObjectInfo {
+
+    /**
+     * The iterator of the elements that are being written, or null if the elements are not being written.
+     */
+    private Iterator<?> iterator;
+
+    /**
+     * A boolean indicating if the next element is the first element.
+     */
+    private boolean first;
+
+    /**
+     * The number of elements that were written.
+     */
+    private int written;
+
+    /**
+     * A boolean indicating if the budget of elements was exhausted and the truncation marker was written in place of the remaining elements.
+     */
+    private boolean truncated;
+
+    /**
+     * A constructor that creates an instance of IterableObjectInfo using the provided arguments.
+     *
+     * @param object  The Iterable or Optional object that will be used for the String representation.
+     * @param options The StringRepresentationOptions object that will be used to control the behavior of the String representation of this object according to its options.
+     * @param crp     The CircularReferencePrevention object that is used to prevent circular references.
+     */
+    IterableObjectInfo(Object object, StringRepresentationOptions options, CircularReferencePrevention crp) {
+        super(object, options, crp);
+        if (!Iterable.class.isAssignableFrom(this.getType()) && (this.getType() != Optional.class)) throw new IllegalArgumentException("First input parameter is neither an Iterable nor an Optional");
+    }
+
+    /**
+     * Writes the beginning of the String representation of the elements.
+     *
+     * @param out The Appendable that will be written to.
+     * @return true, the elements and the end are written using writeNextChild and writeValueTail.
+     * @throws IOException If the Appendable fails to append.
+     */
+    @Override
+    boolean writeValueHead(Appendable out) throws IOException {
+        if (this.getObject() instanceof SnapshotNode) {
+            this.iterator = ((SnapshotNode) this.getObject()).iterator();
+        } else if (this.getObject() instanceof Optional) {
+            final Optional<?> optional = (Optional<?>) this.getObject();
+            this.iterator = optional.isPresent() ? Collections.singleton(optional.get()).iterator() : Collections.emptyIterator();
+        } else {
+            this.iterator = ((Iterable<?>) this.getObject()).iterator();
+        }
+        this.first = true;
+        this.written = 0;
+        this.truncated = false;
+        out.append("[\n");
+        return true;
+    }
+
+    /**
+     * @return true if there are more elements to be written, false otherwise.
+     */
+    @Override
+    boolean hasNextChild() {
+        return !this.truncated && this.iterator.hasNext();
+    }
+
+    /**
+     * Writes the separator and the indentation preceding the next element.
+     *
+     * @param out The Appendable that will be written to.
+     * @return The ObjectInfo of the next element, or null if the element was written completely or if the budget of elements is exhausted, in which case the truncation marker
+     * is written instead of the remaining elements.
+     * @throws IOException If the Appendable fails to append.
+     */
+    @Override
+    ObjectInfo writeNextChild(Appendable out) throws IOException {
+        if (!this.first) out.append(",\n");
+        this.first = false;
+        getElementOptions().writeIndents(out);
+        if (this.written++ >= getElementOptions().getMaxElements()) {
+            this.truncated = true;
+            releaseProcessingElement();
+            out.append(Traversal.TRUNCATION_MARKER);
+            return null;
+        }
+        return writeElement(this.iterator.next(), out);
+    }
+
+    /**
+     * Writes the end of the String representation of the elements.
+     *
+     * @param out The Appendable that will be written to.
+     * @throws IOException If the Appendable fails to append.
+     */
+    @Override
+    void writeValueTail(Appendable out) throws IOException {
+        releaseProcessingElement();
+        this.iterator = null;
+        out.append("\n");
+        this.getOptions().writeIndents(out);
+        out.append("]");
+    }
+}
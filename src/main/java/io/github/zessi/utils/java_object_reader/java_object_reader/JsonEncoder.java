@@ -0,0 +1,287 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.io.IOException;
+
+/**
+ * A class that writes JSON values (strings, numbers, booleans and nulls) straight to an Appendable. <br>
+ * Strings are escaped using a table indexed by the char: the runs of chars that need no escaping are appended as ranges of the original CharSequence, and the escaped chars are
+ * replaced by precomputed escape sequences, so no intermediate Strings are created. Integral values are written digit by digit (like PrimitiveArrayWriter). How the chars are
+ * escaped.
+ * <ul>
+ * <li>
+ * The quotation mark, the reverse solidus and the control chars are escaped, using the short escape sequences (e.g. \n) where JSON defines them and \\u00XX otherwise.
+ * </li>
+ * <li>
+ * The line and paragraph separators (U+2028 and U+2029) and the unpaired surrogates are escaped as \\uXXXX, so the written text is valid in JavaScript and in strict UTF-8
+ * sinks. The other chars are written as they are.
+ * </li>
+ * </ul>
+ * An encoder is not thread safe, it is created for a single write.
+ */
+final class JsonEncoder {
+
+    /**
+     * The escape sequences of the ASCII chars, or null for the chars that are written as they are.
+     */
+    private static final String[] ESCAPES = new String[128];
+
+    /**
+     * The hexadecimal digits.
+     */
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * The line separator (U+2028) and the paragraph separator (U+2029), which end the lines in JavaScript.
+     */
+    private static final char LINE_SEPARATOR = 0x2028;
+    private static final char PARAGRAPH_SEPARATOR = 0x2029;
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = "\\u00" + HEX_DIGITS[c >> 4] + HEX_DIGITS[c & 0xF];
+        }
+        ESCAPES['\b'] = "\\b";
+        ESCAPES['\f'] = "\\f";
+        ESCAPES['\n'] = "\\n";
+        ESCAPES['\r'] = "\\r";
+        ESCAPES['\t'] = "\\t";
+        ESCAPES['\"'] = "\\\"";
+        ESCAPES['\\'] = "\\\\";
+    }
+
+    /**
+     * The Appendable that the values are written to.
+     */
+    private final Appendable out;
+
+    /**
+     * The out Appendable if it is a StringBuilder, null otherwise. A StringBuilder already appends numbers without creating intermediate Strings.
+     */
+    private final StringBuilder builder;
+
+    /**
+     * The maximum number of chars of each String value that are written (See StringRepresentationOptions#getMaxStringLength).
+     */
+    private final int maxStringLength;
+
+    /**
+     * An Appendable escaping the chars appended to it into out, created on first use.
+     */
+    private Appendable escaping;
+
+    /**
+     * The writer of the digits of integral values.
+     */
+    private final DecimalWriter decimals;
+
+    /**
+     * A constructor that creates an encoder writing to the provided Appendable.
+     *
+     * @param out The Appendable that the values will be written to.
+     */
+    JsonEncoder(Appendable out) {
+        this(out, Integer.MAX_VALUE);
+    }
+
+    /**
+     * A constructor that creates an encoder writing to the provided Appendable, which writes the Strings that are longer than the provided length as previews
+     * (See StringValueWriter).
+     *
+     * @param out             The Appendable that the values will be written to.
+     * @param maxStringLength The maximum number of chars of each String value that are written.
+     */
+    JsonEncoder(Appendable out, int maxStringLength) {
+        if (out == null) throw new IllegalArgumentException("null 1st argument");
+        if (maxStringLength < 0) throw new IllegalArgumentException("negative 2nd argument");
+        this.out = out;
+        this.builder = (out instanceof StringBuilder) ? (StringBuilder) out : null;
+        this.decimals = new DecimalWriter(out);
+        this.maxStringLength = maxStringLength;
+    }
+
+    /**
+     * @return The Appendable that the values are written to.
+     */
+    Appendable getOut() {
+        return out;
+    }
+
+    /**
+     * @return An Appendable that escapes the chars appended to it and writes them to the Appendable of this encoder, without the quotation marks. It is used to write the
+     * contents of a string that is produced by other code (e.g. a TypeRenderer).
+     */
+    Appendable escaping() {
+        if (escaping == null) {
+            escaping = new Appendable() {
+                @Override
+                public Appendable append(CharSequence csq) throws IOException {
+                    final CharSequence chars = (csq != null) ? csq : "null";
+                    writeEscaped(chars, 0, chars.length());
+                    return this;
+                }
+
+                @Override
+                public Appendable append(CharSequence csq, int start, int end) throws IOException {
+                    writeEscaped((csq != null) ? csq : "null", start, end);
+                    return this;
+                }
+
+                @Override
+                public Appendable append(char c) throws IOException {
+                    writeEscaped(c);
+                    return this;
+                }
+            };
+        }
+        return escaping;
+    }
+
+    /**
+     * Writes a value of a primitive type (See StringRepresentableUtils#isPrimitive) as a JSON value. Strings and chars are written as strings, booleans as booleans and the other
+     * values as numbers (See writeDouble(double)).
+     *
+     * @param value A String, a boxed value or null.
+     * @throws IOException If the Appendable fails to append.
+     */
+    void writeScalar(Object value) throws IOException {
+        if (value == null) out.append("null");
+        else if (value instanceof String) writeString((String) value);
+        else if (value instanceof Integer) writeLong((Integer) value);
+        else if (value instanceof Long) writeLong((Long) value);
+        else if (value instanceof Boolean) out.append(((Boolean) value) ? "true" : "false");
+        else if (value instanceof Double) writeDouble((Double) value);
+        else if (value instanceof Character) writeChar((Character) value);
+        else if (value instanceof Float) writeFloat((Float) value);
+        else if (value instanceof Short) writeLong((Short) value);
+        else if (value instanceof Byte) writeLong((Byte) value);
+        else throw new IllegalArgumentException("Input object is not of a primitive type");
+    }
+
+    /**
+     * Writes a quoted and escaped string, or null. A string that is longer than the maximum String length is written as a preview holding its first and last chars, with a
+     * marker noting its original length in between (See StringValueWriter).
+     *
+     * @param value The string.
+     * @throws IOException If the Appendable fails to append.
+     */
+    void writeString(CharSequence value) throws IOException {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('\"');
+        final int length = value.length();
+        if (length <= maxStringLength) {
+            writeEscaped(value, 0, length);
+        } else {
+            writeEscaped(value, 0, StringValueWriter.getHeadEnd(value, maxStringLength));
+            StringValueWriter.writeTruncationMarker(length, out);
+            writeEscaped(value, StringValueWriter.getTailStart(value, maxStringLength), length);
+        }
+        out.append('\"');
+    }
+
+    /**
+     * Writes a char as a quoted and escaped string.
+     *
+     * @param value The char.
+     * @throws IOException If the Appendable fails to append.
+     */
+    void writeChar(char value) throws IOException {
+        out.append('\"');
+        writeEscaped(value);
+        out.append('\"');
+    }
+
+    /**
+     * Writes the escaped chars of the provided range, without quotation marks.
+     *
+     * @param value The chars.
+     * @param start The index of the first char.
+     * @param end   The index following the last char.
+     * @throws IOException If the Appendable fails to append.
+     */
+    void writeEscaped(CharSequence value, int start, int end) throws IOException {
+        //The start of the run of chars that are written as they are.
+        int run = start;
+        for (int i = start; i < end; i++) {
+            final char c = value.charAt(i);
+            if (c < 128) {
+                final String escape = ESCAPES[c];
+                if (escape == null) continue;
+                if (run < i) StringValueWriter.writeChunked(value, run, i, out);
+                out.append(escape);
+            } else if ((c == LINE_SEPARATOR) || (c == PARAGRAPH_SEPARATOR)) {
+                if (run < i) StringValueWriter.writeChunked(value, run, i, out);
+                writeUnicodeEscape(c);
+            } else if (Character.isHighSurrogate(c) && (i + 1 < end) && Character.isLowSurrogate(value.charAt(i + 1))) {
+                //A surrogate pair is written as it is.
+                i++;
+                continue;
+            } else if (Character.isSurrogate(c)) {
+                if (run < i) StringValueWriter.writeChunked(value, run, i, out);
+                writeUnicodeEscape(c);
+            } else {
+                continue;
+            }
+            run = i + 1;
+        }
+        if (run < end) StringValueWriter.writeChunked(value, run, end, out);
+    }
+
+    /**
+     * Writes a single escaped char, without quotation marks. A surrogate is escaped, as it is written without its pair.
+     *
+     * @param c The char.
+     * @throws IOException If the Appendable fails to append.
+     */
+    private void writeEscaped(char c) throws IOException {
+        if (c < 128) {
+            final String escape = ESCAPES[c];
+            if (escape == null) out.append(c);
+            else out.append(escape);
+        } else if ((c == LINE_SEPARATOR) || (c == PARAGRAPH_SEPARATOR) || Character.isSurrogate(c)) {
+            writeUnicodeEscape(c);
+        } else {
+            out.append(c);
+        }
+    }
+
+    private void writeUnicodeEscape(char c) throws IOException {
+        out.append('\\').append('u').append(HEX_DIGITS[c >> 12]).append(HEX_DIGITS[(c >> 8) & 0xF]).append(HEX_DIGITS[(c >> 4) & 0xF]).append(HEX_DIGITS[c & 0xF]);
+    }
+
+    /**
+     * Writes the decimal digits of the provided value, the same digits Long.toString writes.
+     *
+     * @param value The value to be written.
+     * @throws IOException If the Appendable fails to append.
+     */
+    void writeLong(long value) throws IOException {
+        decimals.write(value);
+    }
+
+    /**
+     * Writes a double value as a number, or as a string ("NaN", "Infinity" or "-Infinity") if it is not finite, as JSON numbers cannot represent them.
+     *
+     * @param value The value to be written.
+     * @throws IOException If the Appendable fails to append.
+     */
+    void writeDouble(double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) out.append('\"').append(Double.toString(value)).append('\"');
+        else if (builder != null) builder.append(value);
+        else out.append(Double.toString(value));
+    }
+
+    /**
+     * Writes a float value as a number, or as a string ("NaN", "Infinity" or "-Infinity") if it is not finite, as JSON numbers cannot represent them.
+     *
+     * @param value The value to be written.
+     * @throws IOException If the Appendable fails to append.
+     */
+    void writeFloat(float value) throws IOException {
+        if (Float.isNaN(value) || Float.isInfinite(value)) out.append('\"').append(Float.toString(value)).append('\"');
+        else if (builder != null) builder.append(value);
+        else out.append(Float.toString(value));
+    }
+}
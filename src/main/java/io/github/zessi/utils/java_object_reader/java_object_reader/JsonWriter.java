@@ -0,0 +1,629 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A class that writes an object graph as a strict JSON document (See OutputFormat#JSON). <br>
+ * The graph is read using the same rules that are used to write the TEXT format: the fields are resolved by the cached layout of the class (See ClassLayout), the objects that
+ * have a TypeRenderer are written as their rendered values, Iterables, Maps and Optionals are written as their logical elements (unless disabled by the options), and the nodes
+ * of Snapshots are written like the objects that they captured. The JSON values that are written.
+ * <ul>
+ * <li>
+ * A null is written as null, and a value of a primitive type is written as {"type":"Integer","value":1}. The values of the fields and of the elements of arrays of primitive
+ * types are written as bare JSON values, as their types are already known. Chars are written as strings, and the floating point values that are not finite as strings as well.
+ * </li>
+ * <li>
+ * An object is written as {"type":"TypeOne","fields":[...]}, where each field is written as {"declaringClass":"TypeOne","modifiers":"ii","type":"int","name":"value","value":1}
+ * (the meta part of FieldInfo#getMetaStringRepresentation). An object that has a TypeRenderer is written as {"type":"BigDecimal","value":"12.50"}.
+ * </li>
+ * <li>
+ * An array, an Iterable or an Optional is written as {"type":"ArrayList","elements":[...]}, and a Map as {"type":"HashMap","entries":[{"key":...,"value":...},...]}.
+ * </li>
+ * <li>
+ * An object that is being written is written as {"type":"TypeOne","processing":true}, an object that is not written because of the depth or object budgets as
+ * {"type":"TypeOne","truncated":true}, and the elements past the budget of elements are replaced by a "truncated":true member following the elements. When back-references
+ * are enabled, the objects are given an "id" member and their later occurrences are written as {"type":"TypeOne","ref":1}. Once the length budget is exhausted (See
+ * StringRepresentationOptions#getMaxLength), no more children are started, and the objects that still had children are closed with a "truncated":true member. An entry of
+ * a Map of which the value is not written because a budget was exhausted after its key is written as {"key":...,"truncated":true}. When size estimates are enabled, the
+ * objects are given "shallowSize" and "retainedSize" members (See SizeEstimate), which follow the "id" member.
+ * </li>
+ * </ul>
+ * The graph is walked using an explicit stack (like the Traversal), and the values are written straight to the Appendable with a JsonEncoder, so no intermediate Strings are
+ * created for the values.
+ */
+final class JsonWriter {
+
+    /**
+     * The JSON value written instead of the value of a field that could not be made accessible (See FieldAccessor#isAccessible).
+     */
+    static final String INACCESSIBLE_VALUE = "{\"inaccessible\":true}";
+
+    /**
+     * The StringRepresentationOptions object that is used to read the objects.
+     */
+    private final StringRepresentationOptions options;
+
+    /**
+     * The Appendable that the document is written to.
+     */
+    private final Appendable out;
+
+    /**
+     * The encoder writing the strings and the numbers to the Appendable.
+     */
+    private final JsonEncoder encoder;
+
+    /**
+     * The stack of the objects of which the children are currently being written. The stack grows as needed.
+     */
+    private Frame[] stack = new Frame[16];
+
+    /**
+     * The number of frames in the stack.
+     */
+    private int size;
+
+    /**
+     * The objects in the stack (compared by identity), which are written as being processed if they are met again.
+     */
+    private final Set<Object> path = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * The number of objects of which the contents can still be written.
+     */
+    private int remainingObjects;
+
+    /**
+     * A boolean indicating if the object budget was exhausted, after which the frames are closed without writing their remaining children.
+     */
+    private boolean exhausted;
+
+    /**
+     * The Appendable counting the written chars, which wraps the Appendable of the document when a length budget is set, or null if there is no length budget.
+     */
+    private final CountingAppendable counter;
+
+    /**
+     * A boolean indicating if the budget was exhausted by the length budget, after which the frames that still have children are closed as truncated.
+     */
+    private boolean lengthExhausted;
+
+    /**
+     * The ids of the objects that were written (compared by identity), or null if back-references are disabled.
+     */
+    private final Map<Object, Integer> ids;
+
+    /**
+     * The estimated sizes of the objects of the document, or null if size estimates are disabled.
+     */
+    private final SizeEstimate sizes;
+
+    /**
+     * A constructor that creates a JsonWriter writing to the provided Appendable.
+     *
+     * @param options The StringRepresentationOptions object that is used to read the objects.
+     * @param out     The Appendable that the document will be written to.
+     * @param sizes   The estimated sizes of the objects of the document, or null if size estimates are disabled.
+     */
+    private JsonWriter(StringRepresentationOptions options, Appendable out, SizeEstimate sizes) {
+        this.options = options;
+        this.sizes = sizes;
+        this.counter = (options.getMaxLength() != Integer.MAX_VALUE) ? new CountingAppendable(out) : null;
+        this.out = (counter != null) ? counter : out;
+        this.encoder = new JsonEncoder(this.out, options.getMaxStringLength());
+        this.remainingObjects = options.getMaxObjects();
+        this.ids = options.isBackReferences() ? new IdentityHashMap<>() : null;
+    }
+
+    /**
+     * Writes the provided object as a JSON document.
+     *
+     * @param object  The object to be written.
+     * @param options The StringRepresentationOptions object that is used to read the object.
+     * @param out     The Appendable that the document will be written to.
+     * @throws IOException If the Appendable fails to append.
+     */
+    static void write(Object object, StringRepresentationOptions options, Appendable out) throws IOException {
+        //The sizes are estimated from the live objects, so a captured SnapshotNode is not estimated.
+        final SizeEstimate sizes = (options.isSizeEstimates() && !(object instanceof SnapshotNode)) ? SizeEstimator.estimate(object, options, true) : null;
+        final JsonWriter writer = new JsonWriter(options, out, sizes);
+        writer.writeValue(object);
+        while (writer.size > 0) {
+            final Frame top = writer.stack[writer.size - 1];
+            if (!writer.exhausted && top.hasNext() && !writer.isLengthExhausted()) top.writeNext();
+            else writer.pop();
+        }
+    }
+
+    /**
+     * Checks the length budget, which is checked before each child is started. The budget is exhausted once the written chars reach the maximum length, so the document may be
+     * longer than the maximum length by the last value that was started and the ends of the open objects.
+     *
+     * @return true if the length budget is exhausted, false otherwise.
+     */
+    private boolean isLengthExhausted() {
+        if (lengthExhausted) return true;
+        if ((counter == null) || (counter.count < options.getMaxLength())) return false;
+        lengthExhausted = true;
+        exhausted = true;
+        return true;
+    }
+
+    /**
+     * Writes the provided value. The values of primitive types, the rendered objects and the arrays of primitive types are written completely, the other objects are written up
+     * to their children, and their frames are pushed to the stack.
+     *
+     * @param value The value.
+     * @throws IOException If the Appendable fails to append.
+     */
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        final byte kind = NodeKind.of(value.getClass());
+        if (NodeKind.isValue(kind)) {
+            writeTypeMember(value.getClass());
+            out.append(",\"value\":");
+            encoder.writeScalar(value);
+            out.append('}');
+            return;
+        }
+        final SnapshotNode node = (kind == NodeKind.NODE) ? (SnapshotNode) value : null;
+        final Class type = (node != null) ? node.getType() : value.getClass();
+        final TypeRenderer renderer = (node == null) ? TypeRenderers.getRenderer(type, options) : null;
+        if ((renderer != null) || ((node != null) && (node.getForm() == SnapshotNode.RENDERED))) {
+            writeRendered(value, type, renderer);
+            return;
+        }
+        if (path.contains(value)) {
+            writeTypeMember(type);
+            out.append(",\"processing\":true}");
+            return;
+        }
+        if (ids != null) {
+            final Integer id = ids.get(value);
+            //An object that was already written is replaced by a back-reference, even if it is deeper than the depth budget or the object budget is exhausted.
+            if (id != null) {
+                writeTypeMember(type);
+                out.append(",\"ref\":");
+                encoder.writeLong(id);
+                out.append('}');
+                return;
+            }
+        }
+        if (remainingObjects < 1) {
+            writeTruncated(type);
+            exhausted = true;
+            return;
+        }
+        //The value is at depth "size", as the root is written before anything is pushed.
+        if (size > options.getMaxDepth()) {
+            writeTruncated(type);
+            return;
+        }
+        remainingObjects--;
+        writeTypeMember(type);
+        if (ids != null) {
+            //The ids are given in the order in which the objects are written, starting with the root's id.
+            final int id = Traversal.ROOT_ID + ids.size();
+            ids.put(value, id);
+            out.append(",\"id\":");
+            encoder.writeLong(id);
+        }
+        if (sizes != null) writeSizeMembers(value);
+        if (node != null) {
+            switch (node.getForm()) {
+                case SnapshotNode.ARRAY:
+                case SnapshotNode.ITERABLE:
+                    out.append(",\"elements\":[");
+                    push(new ElementsFrame(value, node.iterator()));
+                    break;
+                case SnapshotNode.MAP:
+                    out.append(",\"entries\":[");
+                    push(new EntriesFrame(value, node.entryIterator()));
+                    break;
+                default:
+                    out.append(",\"fields\":[");
+                    push(new NodeFieldsFrame(node));
+                    break;
+            }
+        } else if (kind == NodeKind.PRIMITIVE_ARRAY) {
+            out.append(",\"elements\":[");
+            writePrimitiveElements(value);
+        } else if (kind == NodeKind.ARRAY) {
+            out.append(",\"elements\":[");
+            push(new ElementsFrame(value, Arrays.asList((Object[]) value).iterator()));
+        } else if (ContainerObjectInfo.isContainer(kind, options)) {
+            if (kind == NodeKind.MAP) {
+                out.append(",\"entries\":[");
+                push(new EntriesFrame(value, ((Map<?, ?>) value).entrySet().iterator()));
+            } else {
+                out.append(",\"elements\":[");
+                push(new ElementsFrame(value, getElements(value)));
+            }
+        } else {
+            out.append(",\"fields\":[");
+            push(new FieldsFrame(value, ClassLayout.getClassLayout(type, options)));
+        }
+    }
+
+    /**
+     * Writes the estimated sizes of the provided value as members, e.g. ,"shallowSize":24,"retainedSize":312. Nothing is written if the value was not counted.
+     *
+     * @param value The value.
+     * @throws IOException If the Appendable fails to append.
+     */
+    private void writeSizeMembers(Object value) throws IOException {
+        final Long retained = sizes.getRetainedSize(value);
+        if (retained == null) return;
+        out.append(",\"shallowSize\":");
+        encoder.writeLong(SizeEstimator.getShallowSize(value));
+        out.append(",\"retainedSize\":");
+        encoder.writeLong(retained);
+    }
+
+    /**
+     * Writes the beginning of the JSON object of a value, up to its type member. e.g. {"type":"TypeOne"
+     *
+     * @param type The class of the value.
+     * @throws IOException If the Appendable fails to append.
+     */
+    private void writeTypeMember(Class type) throws IOException {
+        out.append("{\"type\":");
+        encoder.writeString(options.isFullTypeName() ? type.getName() : type.getSimpleName());
+    }
+
+    /**
+     * Writes an object of which the contents are not written because a budget was exhausted.
+     *
+     * @param type The class of the object.
+     * @throws IOException If the Appendable fails to append.
+     */
+    private void writeTruncated(Class type) throws IOException {
+        writeTypeMember(type);
+        out.append(",\"truncated\":true}");
+    }
+
+    /**
+     * Writes the rendered value of an object as an escaped string. The renderer writes straight to the Appendable through the escaping Appendable of the encoder.
+     *
+     * @param value    The object, or a node of a Snapshot of the RENDERED form.
+     * @param type     The class of the object.
+     * @param renderer The renderer of the object, or null if the value is a node of a Snapshot.
+     * @throws IOException If the Appendable fails to append.
+     */
+    @SuppressWarnings("unchecked")
+    private void writeRendered(Object value, Class type, TypeRenderer renderer) throws IOException {
+        writeTypeMember(type);
+        out.append(",\"value\":");
+        if (renderer == null) {
+            encoder.writeString(((SnapshotNode) value).getRendered());
+        } else {
+            out.append('\"');
+            renderer.render(value, encoder.escaping(), options);
+            out.append('\"');
+        }
+        out.append('}');
+    }
+
+    /**
+     * Writes the elements of an array of a primitive type as bare JSON values, followed by the end of the array. The elements are read directly from the typed array, so they are
+     * not boxed.
+     *
+     * @param array The array of a primitive type.
+     * @throws IOException If the Appendable fails to append.
+     */
+    private void writePrimitiveElements(Object array) throws IOException {
+        final int length = Array.getLength(array);
+        final int count = Math.min(length, options.getMaxElements());
+        int i = 0;
+        for (; (i < count) && !isLengthExhausted(); i++) {
+            if (i > 0) out.append(',');
+            if (array instanceof int[]) encoder.writeLong(((int[]) array)[i]);
+            else if (array instanceof long[]) encoder.writeLong(((long[]) array)[i]);
+            else if (array instanceof double[]) encoder.writeDouble(((double[]) array)[i]);
+            else if (array instanceof byte[]) encoder.writeLong(((byte[]) array)[i]);
+            else if (array instanceof char[]) encoder.writeChar(((char[]) array)[i]);
+            else if (array instanceof boolean[]) out.append(((boolean[]) array)[i] ? "true" : "false");
+            else if (array instanceof short[]) encoder.writeLong(((short[]) array)[i]);
+            else encoder.writeFloat(((float[]) array)[i]);
+        }
+        out.append(']');
+        if (i < length) out.append(",\"truncated\":true");
+        out.append('}');
+    }
+
+    /**
+     * @param container An Iterable or an Optional.
+     * @return The iterator of the logical elements of the container. An Optional holds its value if it is present.
+     */
+    private static Iterator<?> getElements(Object container) {
+        if (container instanceof Optional) {
+            final Optional<?> optional = (Optional<?>) container;
+            return optional.isPresent() ? Collections.singleton(optional.get()).iterator() : Collections.emptyIterator();
+        }
+        return ((Iterable<?>) container).iterator();
+    }
+
+    /**
+     * Pushes a frame to the stack, growing the stack if needed.
+     *
+     * @param frame The frame to be pushed.
+     */
+    private void push(Frame frame) {
+        if (size == stack.length) stack = Arrays.copyOf(stack, size * 2);
+        stack[size++] = frame;
+        path.add(frame.object);
+    }
+
+    /**
+     * Writes the end of the frame at the top of the stack and pops it.
+     *
+     * @throws IOException If the Appendable fails to append.
+     */
+    private void pop() throws IOException {
+        final Frame top = stack[size - 1];
+        //A frame that still has children when the length budget is exhausted is written as truncated, like a frame exceeding the budget of elements.
+        if (lengthExhausted && top.hasNext()) top.truncated = true;
+        top.writeTail();
+        path.remove(top.object);
+        stack[--size] = null;
+    }
+
+    /**
+     * An object of which the children are being written.
+     */
+    private abstract static class Frame {
+
+        /**
+         * The object, or the node of a Snapshot.
+         */
+        final Object object;
+
+        /**
+         * The number of children that were started.
+         */
+        int index;
+
+        /**
+         * A boolean indicating if some children are not written because of the budget of elements or the length budget.
+         */
+        boolean truncated;
+
+        Frame(Object object) {
+            this.object = object;
+        }
+
+        /**
+         * @return true if the object has more children to be written, false otherwise.
+         */
+        abstract boolean hasNext();
+
+        /**
+         * Writes the next child. A child that has children of its own pushes its own frame.
+         *
+         * @throws IOException If the Appendable fails to append.
+         */
+        abstract void writeNext() throws IOException;
+
+        /**
+         * Writes the end of the JSON object of the object.
+         *
+         * @throws IOException If the Appendable fails to append.
+         */
+        abstract void writeTail() throws IOException;
+    }
+
+    /**
+     * The frame of an object of which the fields are read through its ClassLayout. The JSON object of a field is closed when the next field is started, as the value of the field
+     * may be written by the frames pushed above this one.
+     */
+    private final class FieldsFrame extends Frame {
+
+        private final ClassLayout layout;
+
+        FieldsFrame(Object object, ClassLayout layout) {
+            super(object);
+            this.layout = layout;
+        }
+
+        @Override
+        boolean hasNext() {
+            return index < layout.getFieldCount();
+        }
+
+        @Override
+        void writeNext() throws IOException {
+            if (index > 0) out.append("},");
+            layout.writeJsonFieldMeta(index, out, options);
+            final FieldAccessor accessor = layout.getFieldAccessor(index++);
+            if (!accessor.isAccessible()) {
+                out.append(INACCESSIBLE_VALUE);
+                return;
+            }
+            final Object value = accessor.get(object);
+            //The values of the fields of primitive types are written as bare JSON values, like the values of the fields of nodes.
+            if (NodeKind.isValue(accessor.getKind())) encoder.writeScalar(value);
+            else writeValue(value);
+        }
+
+        @Override
+        void writeTail() throws IOException {
+            out.append((index > 0) ? "}]" : "]");
+            out.append(truncated ? ",\"truncated\":true}" : "}");
+        }
+    }
+
+    /**
+     * The frame of a node of a Snapshot of the OBJECT form.
+     */
+    private final class NodeFieldsFrame extends Frame {
+
+        private final SnapshotLayout layout;
+
+        private final long[] primitives;
+
+        private final Object[] references;
+
+        NodeFieldsFrame(SnapshotNode node) {
+            super(node);
+            this.layout = node.getLayout();
+            this.primitives = node.getPrimitives();
+            this.references = node.getReferences();
+        }
+
+        @Override
+        boolean hasNext() {
+            return index < layout.getFieldCount();
+        }
+
+        @Override
+        void writeNext() throws IOException {
+            if (index > 0) out.append("},");
+            final int field = index++;
+            layout.writeJsonMeta(field, out, options);
+            if (layout.isLeaf(field)) layout.writeJsonLeafValue(field, encoder, primitives, references);
+            else writeValue(layout.getReference(field, references));
+        }
+
+        @Override
+        void writeTail() throws IOException {
+            out.append((index > 0) ? "}]" : "]");
+            out.append(truncated ? ",\"truncated\":true}" : "}");
+        }
+    }
+
+    /**
+     * The frame of an array, an Iterable or an Optional. The elements past the budget of elements (See StringRepresentationOptions#getMaxElements) are not read.
+     */
+    private final class ElementsFrame extends Frame {
+
+        private final Iterator<?> elements;
+
+        ElementsFrame(Object object, Iterator<?> elements) {
+            super(object);
+            this.elements = elements;
+        }
+
+        @Override
+        boolean hasNext() {
+            return !truncated && elements.hasNext();
+        }
+
+        @Override
+        void writeNext() throws IOException {
+            if (index >= options.getMaxElements()) {
+                truncated = true;
+                return;
+            }
+            if (index++ > 0) out.append(',');
+            writeValue(elements.next());
+        }
+
+        @Override
+        void writeTail() throws IOException {
+            out.append(truncated ? "],\"truncated\":true}" : "]}");
+        }
+    }
+
+    /**
+     * The frame of a Map. Each entry is written as {"key":...,"value":...}, of which the key and the value are written as two children, as both may push their own frames. The
+     * entries past the budget of elements (See StringRepresentationOptions#getMaxElements) are not read.
+     */
+    private final class EntriesFrame extends Frame {
+
+        private final Iterator<? extends Map.Entry<?, ?>> entries;
+
+        /**
+         * The entry of which the key was written and the value is still to be written, or null.
+         */
+        private Map.Entry<?, ?> pending;
+
+        EntriesFrame(Object object, Iterator<? extends Map.Entry<?, ?>> entries) {
+            super(object);
+            this.entries = entries;
+        }
+
+        @Override
+        boolean hasNext() {
+            return (pending != null) || (!truncated && entries.hasNext());
+        }
+
+        @Override
+        void writeNext() throws IOException {
+            if (pending != null) {
+                final Object value = pending.getValue();
+                pending = null;
+                out.append(",\"value\":");
+                writeValue(value);
+                return;
+            }
+            if (index >= options.getMaxElements()) {
+                truncated = true;
+                return;
+            }
+            if (index++ > 0) out.append("},");
+            pending = entries.next();
+            out.append("{\"key\":");
+            writeValue(pending.getKey());
+        }
+
+        @Override
+        void writeTail() throws IOException {
+            if (index > 0) {
+                //The value of the last entry is missing if the object budget or the length budget was exhausted while its key was written, so the entry is marked as truncated
+                //instead of holding a null value that the map does not hold.
+                out.append((pending != null) ? ",\"truncated\":true}" : "}");
+            }
+            out.append(truncated ? "],\"truncated\":true}" : "]}");
+        }
+    }
+
+    /**
+     * An Appendable that counts the chars appended to another Appendable.
+     */
+    private static final class CountingAppendable implements Appendable {
+
+        private final Appendable out;
+
+        /**
+         * The number of chars appended so far.
+         */
+        private long count;
+
+        CountingAppendable(Appendable out) {
+            this.out = out;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq) throws IOException {
+            final CharSequence chars = (csq != null) ? csq : "null";
+            count += chars.length();
+            out.append(chars);
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) throws IOException {
+            out.append(csq, start, end);
+            count += end - start;
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) throws IOException {
+            count++;
+            out.append(c);
+            return this;
+        }
+    }
+}
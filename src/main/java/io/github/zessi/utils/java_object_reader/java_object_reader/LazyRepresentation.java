@@ -0,0 +1,67 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+/**
+ * A handle of the String representation of an object, which is only produced the first time it is requested. <br>
+ * It is meant to be passed to logging frameworks that call toString only if the message is actually logged
+ * (e.g. log.debug("state {}", ObjectReader.lazy(object, options))), so a disabled log level costs the creation of the handle instead of reading the whole object graph. <br>
+ * The representation is produced once and then memoized, so all the calls to toString return the same String, even if the object changed after the first call.
+ * The object is read when the representation is first requested, not when the handle is created (See ObjectReader#capture to record the state of the object at a precise
+ * moment). <br>
+ * The handle is thread safe. The object is read at most once, and the handle releases its reference to the object after reading it.
+ */
+public final class LazyRepresentation {
+
+    /**
+     * The object that should be read, or null after it was read.
+     */
+    private Object object;
+
+    /**
+     * The StringRepresentationOptions object that should be used control the behavior of the String representation, or null after the object was read.
+     */
+    private StringRepresentationOptions options;
+
+    /**
+     * The String representation of the object, or null if it was not produced yet.
+     */
+    private volatile String representation;
+
+    /**
+     * A constructor that creates a handle of the String representation of the provided object.
+     *
+     * @param object  The object of which the String representation should be produced.
+     * @param options The StringRepresentationOptions object that should be used control the behavior of the String representation of the object.
+     */
+    LazyRepresentation(Object object, StringRepresentationOptions options) {
+        if (options == null) throw new IllegalArgumentException("null 2nd argument");
+        this.object = object;
+        this.options = options;
+    }
+
+    /**
+     * @return true if the String representation was produced, false if it was never requested.
+     */
+    public boolean isRendered() {
+        return representation != null;
+    }
+
+    /**
+     * @return The String representation of the object. It is produced on the first call, and the same String is returned by the later calls.
+     */
+    @Override
+    public String toString() {
+        String result = representation;
+        if (result == null) {
+            synchronized (this) {
+                result = representation;
+                if (result == null) {
+                    result = ObjectReader.read(object, options);
+                    representation = result;
+                    object = null;
+                    options = null;
+                }
+            }
+        }
+        return result;
+    }
+}
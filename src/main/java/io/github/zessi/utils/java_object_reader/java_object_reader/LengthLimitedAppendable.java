@@ -0,0 +1,97 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.io.IOException;
+
+/**
+ * An Appendable that forwards at most a fixed number of characters to another Appendable. <br>
+ * Once the limit is reached, the characters that still fit are forwarded, the truncation marker is appended and a LimitReachedException is thrown, so that the read stops
+ * immediately instead of rendering everything and trimming afterwards. ObjectReader catches the exception.
+ */
+final class LengthLimitedAppendable implements Appendable {
+
+    /**
+     * The exception that is thrown when the limit is reached. It extends IOException, so it passes through all the writing methods, which already declare IOException.
+     */
+    static final class LimitReachedException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        LimitReachedException() {
+            super("The maximum length was reached");
+        }
+
+        /**
+         * The exception is only used to stop the read, so the stack trace is not filled.
+         *
+         * @return this exception.
+         */
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * The Appendable that the characters are forwarded to.
+     */
+    private final Appendable out;
+
+    /**
+     * The number of characters that can still be forwarded.
+     */
+    private int remaining;
+
+    /**
+     * A constructor that creates a LengthLimitedAppendable forwarding to the provided Appendable.
+     *
+     * @param out       The Appendable that the characters will be forwarded to.
+     * @param maxLength The maximum number of characters that will be forwarded, not counting the truncation marker.
+     */
+    LengthLimitedAppendable(Appendable out, int maxLength) {
+        if (out == null) throw new IllegalArgumentException("null 1st argument");
+        if (maxLength < 0) throw new IllegalArgumentException("negative 2nd argument");
+        this.out = out;
+        this.remaining = maxLength;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) throws IOException {
+        if (csq == null) csq = "null";
+        return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) throws IOException {
+        if (csq == null) csq = "null";
+        final int length = end - start;
+        if (length <= remaining) {
+            remaining -= length;
+            //Whole sequences are appended as such, as some Appendables (StringBuilder) append them faster than ranges.
+            if ((start == 0) && (end == csq.length())) out.append(csq);
+            else out.append(csq, start, end);
+            return this;
+        }
+        out.append(csq, start, start + remaining);
+        throw limitReached();
+    }
+
+    @Override
+    public Appendable append(char c) throws IOException {
+        if (remaining < 1) throw limitReached();
+        remaining--;
+        out.append(c);
+        return this;
+    }
+
+    /**
+     * Appends the truncation marker and creates the exception that stops the read.
+     *
+     * @return The exception that should be thrown.
+     * @throws IOException If the Appendable fails to append.
+     */
+    private LimitReachedException limitReached() throws IOException {
+        remaining = 0;
+        out.append(Traversal.TRUNCATION_MARKER);
+        return new LimitReachedException();
+    }
+}
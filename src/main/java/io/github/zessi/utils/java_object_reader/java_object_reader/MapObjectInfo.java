@@ -0,0 +1,127 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * A class extending the abstract class ContainerObjectInfo <br>
+ * This class should be used for String representation of Maps. The entries are written the same way the fields of an object are written, with the String representation of the
+ * key in place of the meta part of the field. Example: HashMap:{String:{"key"}=Integer:{1}} (with new lines and indentation). <br>
+ * The entries are obtained through the iterator of the Map's entry set, which is weakly consistent for the concurrent maps (java.util.concurrent), so those maps are never
+ * locked while they are being written and they can be modified concurrently.
+ */
+final class MapObjectInfo extends ContainerObjectInfo {
+
+    /**
+     * The iterator of the entries that are being written, or null if the entries are not being written.
+     */
+    private Iterator<? extends Map.Entry<?, ?>> iterator;
+
+    /**
+     * The entry of which the key was written and the value wasn't, or null if the next child is a key.
+     */
+    private Map.Entry<?, ?> entry;
+
+    /**
+     * A boolean indicating if the next entry is the first entry.
+     */
+    private boolean first;
+
+    /**
+     * The number of entries that were written.
+     */
+    private int written;
+
+    /**
+     * A boolean indicating if the budget of elements was exhausted and the truncation marker was written in place of the remaining entries.
+     */
+    private boolean truncated;
+
+    /**
+     * A constructor that creates an instance of MapObjectInfo using the provided arguments.
+     *
+     * @param object  The Map object that will be used for the String representation.
+     * @param options The StringRepresentationOptions object that will be used to control the behavior of the String representation of this object according to its options.
+     * @param crp     The CircularReferencePrevention object that is used to prevent circular references.
+     */
+    MapObjectInfo(Object object, StringRepresentationOptions options, CircularReferencePrevention crp) {
+        super(object, options, crp);
+        if (!Map.class.isAssignableFrom(this.getType())) throw new IllegalArgumentException("First input parameter is not a Map");
+    }
+
+    /**
+     * Writes the beginning of the String representation of the entries.
+     *
+     * @param out The Appendable that will be written to.
+     * @return true if the Map has entries that should be written next, false if the Map has no entries.
+     * @throws IOException If the Appendable fails to append.
+     */
+    @Override
+    boolean writeValueHead(Appendable out) throws IOException {
+        this.iterator = (this.getObject() instanceof SnapshotNode) ? ((SnapshotNode) this.getObject()).entryIterator() : ((Map<?, ?>) this.getObject()).entrySet().iterator();
+        if (!this.iterator.hasNext()) {
+            this.iterator = null;
+            out.append("{}");
+            return false;
+        }
+        this.entry = null;
+        this.first = true;
+        this.written = 0;
+        this.truncated = false;
+        out.append("{\n");
+        return true;
+    }
+
+    /**
+     * @return true if there are more keys or values to be written, false otherwise.
+     */
+    @Override
+    boolean hasNextChild() {
+        return (this.entry != null) || (!this.truncated && this.iterator.hasNext());
+    }
+
+    /**
+     * Writes the separator and the indentation preceding the next key, or the separator preceding the next value. The key and the value of an entry are two consecutive children.
+     *
+     * @param out The Appendable that will be written to.
+     * @return The ObjectInfo of the next key or value, or null if it was written completely or if the budget of elements is exhausted, in which case the truncation marker is
+     * written instead of the remaining entries.
+     * @throws IOException If the Appendable fails to append.
+     */
+    @Override
+    ObjectInfo writeNextChild(Appendable out) throws IOException {
+        if (this.entry != null) {
+            final Object value = this.entry.getValue();
+            this.entry = null;
+            out.append(getElementOptions().getFieldMetaValueSeparator());
+            return writeElement(value, out);
+        }
+        if (!this.first) out.append(",").append(this.getOptions().getNewLine());
+        this.first = false;
+        getElementOptions().writeIndents(out);
+        if (this.written++ >= getElementOptions().getMaxElements()) {
+            this.truncated = true;
+            releaseProcessingElement();
+            out.append(Traversal.TRUNCATION_MARKER);
+            return null;
+        }
+        this.entry = this.iterator.next();
+        return writeElement(this.entry.getKey(), out);
+    }
+
+    /**
+     * Writes the end of the String representation of the entries.
+     *
+     * @param out The Appendable that will be written to.
+     * @throws IOException If the Appendable fails to append.
+     */
+    @Override
+    void writeValueTail(Appendable out) throws IOException {
+        releaseProcessingElement();
+        this.iterator = null;
+        out.append("\n");
+        this.getOptions().writeIndents(out);
+        out.append("}");
+    }
+}
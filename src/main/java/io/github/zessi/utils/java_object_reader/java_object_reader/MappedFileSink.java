@@ -0,0 +1,231 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An Appendable that writes the appended text as UTF-8 bytes to a file, through memory-mapped regions of the file. <br>
+ * It allows writing very large String representations (See ObjectReader#read(Object, StringRepresentationOptions, Appendable)) to a file without holding them on the heap. How it
+ * works.
+ * <ul>
+ * <li>
+ * The file is written through a single mapped region at a time. When a region is full, the next region of the file is mapped, so the mapping grows as the text is written.
+ * The regions start small and grow up to the maximum region size, so small outputs map small regions.
+ * </li>
+ * <li>
+ * The chars are encoded to UTF-8 straight into the region, without intermediate buffers. A surrogate pair that is split between two appends is encoded as a single code point,
+ * and an unpaired surrogate is encoded as '?' (like String#getBytes).
+ * </li>
+ * <li>
+ * Closing the sink truncates the file to the number of written bytes (the last region is usually not full).
+ * </li>
+ * </ul>
+ * The sink is not thread safe.
+ */
+public final class MappedFileSink implements Appendable, Closeable {
+
+    /**
+     * The size of the first mapped region.
+     */
+    private static final int INITIAL_REGION_SIZE = 1 << 20;
+
+    /**
+     * The default largest size of a mapped region.
+     */
+    private static final int DEFAULT_MAX_REGION_SIZE = 1 << 26;
+
+    /**
+     * The largest number of bytes of a single encoded code point.
+     */
+    private static final int MAX_ENCODED_SIZE = 4;
+
+    /**
+     * The byte written for an unpaired surrogate.
+     */
+    private static final byte REPLACEMENT = '?';
+
+    private final FileChannel channel;
+
+    /**
+     * The largest size of a mapped region.
+     */
+    private final int maxRegionSize;
+
+    /**
+     * The region that is currently written, or null after the sink is closed.
+     */
+    private MappedByteBuffer region;
+
+    /**
+     * The position of the current region in the file.
+     */
+    private long regionStart;
+
+    /**
+     * A high surrogate that was appended last, and is waiting for its low surrogate, or 0.
+     */
+    private char pendingHighSurrogate;
+
+    /**
+     * A constructor that creates a sink writing to the provided channel.
+     *
+     * @param channel       The channel of the file, opened for reading and writing.
+     * @param maxRegionSize The largest size of a mapped region.
+     * @throws IOException If the first region cannot be mapped.
+     */
+    private MappedFileSink(FileChannel channel, int maxRegionSize) throws IOException {
+        this.channel = channel;
+        this.maxRegionSize = maxRegionSize;
+        this.region = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(INITIAL_REGION_SIZE, maxRegionSize));
+    }
+
+    /**
+     * Opens a sink writing to the provided file. The file is created if it doesn't exist, and its content is replaced otherwise.
+     *
+     * @param path The path of the file.
+     * @return The sink writing to the file.
+     * @throws IOException If the file cannot be opened or mapped.
+     */
+    public static MappedFileSink open(Path path) throws IOException {
+        return open(path, DEFAULT_MAX_REGION_SIZE);
+    }
+
+    /**
+     * Opens a sink writing to the provided file, mapping regions of the file of at most the provided size. The file is created if it doesn't exist, and its content is replaced
+     * otherwise.
+     *
+     * @param path          The path of the file.
+     * @param maxRegionSize The largest size of a mapped region, in bytes. Larger regions are mapped less often, but reserve more of the address space.
+     * @return The sink writing to the file.
+     * @throws IOException If the file cannot be opened or mapped.
+     */
+    public static MappedFileSink open(Path path, int maxRegionSize) throws IOException {
+        if (path == null) throw new IllegalArgumentException("null 1st argument");
+        if (maxRegionSize < MAX_ENCODED_SIZE) throw new IllegalArgumentException("The region size should be at least " + MAX_ENCODED_SIZE + " bytes");
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new MappedFileSink(channel, maxRegionSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The number of bytes written to the file so far.
+     */
+    public long getSize() {
+        return regionStart + ((region != null) ? region.position() : 0);
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) throws IOException {
+        final CharSequence chars = (csq != null) ? csq : "null";
+        return append(chars, 0, chars.length());
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) throws IOException {
+        final CharSequence chars = (csq != null) ? csq : "null";
+        if ((start < 0) || (start > end) || (end > chars.length())) throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + chars.length());
+        ensureOpen();
+        for (int i = start; i < end; i++) {
+            write(chars.charAt(i));
+        }
+        return this;
+    }
+
+    @Override
+    public Appendable append(char c) throws IOException {
+        ensureOpen();
+        write(c);
+        return this;
+    }
+
+    /**
+     * Writes the pending surrogate (if any), forces the bytes of the last region to the file (the previous regions were forced when the next ones were mapped), truncates the file to the number of written bytes and closes it.
+     *
+     * @throws IOException If the file cannot be written or truncated.
+     */
+    @Override
+    public void close() throws IOException {
+        if (region == null) return;
+        try {
+            if (pendingHighSurrogate != 0) {
+                ensureRemaining(1);
+                region.put(REPLACEMENT);
+                pendingHighSurrogate = 0;
+            }
+            final long size = getSize();
+            region.force();
+            regionStart = size;
+            channel.truncate(size);
+        } finally {
+            region = null;
+            channel.close();
+        }
+    }
+
+    /**
+     * Encodes a single char as UTF-8. A surrogate pair is encoded once its low surrogate is written.
+     *
+     * @param c The char.
+     * @throws IOException If the next region cannot be mapped.
+     */
+    private void write(char c) throws IOException {
+        if (region.remaining() < MAX_ENCODED_SIZE) ensureRemaining(MAX_ENCODED_SIZE);
+        if (pendingHighSurrogate != 0) {
+            if (Character.isLowSurrogate(c)) {
+                final int codePoint = Character.toCodePoint(pendingHighSurrogate, c);
+                pendingHighSurrogate = 0;
+                region.put((byte) (0xF0 | (codePoint >> 18)));
+                region.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                region.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                region.put((byte) (0x80 | (codePoint & 0x3F)));
+                return;
+            }
+            pendingHighSurrogate = 0;
+            region.put(REPLACEMENT);
+            //The char is written on its own.
+            if (region.remaining() < MAX_ENCODED_SIZE) ensureRemaining(MAX_ENCODED_SIZE);
+        }
+        if (c < 0x80) {
+            region.put((byte) c);
+        } else if (c < 0x800) {
+            region.put((byte) (0xC0 | (c >> 6)));
+            region.put((byte) (0x80 | (c & 0x3F)));
+        } else if (Character.isHighSurrogate(c)) {
+            pendingHighSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            region.put(REPLACEMENT);
+        } else {
+            region.put((byte) (0xE0 | (c >> 12)));
+            region.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+            region.put((byte) (0x80 | (c & 0x3F)));
+        }
+    }
+
+    /**
+     * Maps the next region of the file if the current region cannot hold the provided number of bytes. The next region starts at the current position, and is twice as large
+     * as the current region (up to the largest region size). The current region is forced to the file before it is dropped, so every region is forced once it is written.
+     *
+     * @param count The number of bytes that will be written.
+     * @throws IOException If the next region cannot be mapped.
+     */
+    private void ensureRemaining(int count) throws IOException {
+        if (region.remaining() >= count) return;
+        region.force();
+        final long start = regionStart + region.position();
+        final int size = (int) Math.min(maxRegionSize, 2L * region.capacity());
+        region = channel.map(FileChannel.MapMode.READ_WRITE, start, size);
+        regionStart = start;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (region == null) throw new IOException("The sink is closed");
+    }
+}
@@ -0,0 +1,271 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * An immutable class that reads and writes the fields of the instances of a single class through MethodHandles. It is used by the {@link ReaderMode#METHOD_HANDLES} mode. <br>
+ * The reader is created once per class from the {@link ClassLayout} of the class. Each field gets a getter MethodHandle typed exactly to the field's type, so primitive values are
+ * written without being boxed, and the meta part of each field is precomputed by the layout so writing it only appends constant Strings. <br>
+ * No code is generated per class: the readers are instances of this class, holding their getters in instance fields, and the getter of each field is invoked through a switch
+ * on the kind of the field. <br>
+ * The text written by this class is identical to the text produced by PrimitiveFieldInfo and NonPrimitiveFieldInfo. <br>
+ * If a reader cannot be created for a class (for example, one of its fields cannot be made accessible), then the class falls back to the {@link ReaderMode#REFLECTIVE} mode.
+ */
+final class MethodHandleReader {
+
+    /*The kinds of fields. A field of the KIND_OBJECT kind is the only kind that is not written directly by this class*/
+    static final byte KIND_OBJECT = 0;
+    static final byte KIND_REFERENCE = 1;
+    static final byte KIND_BOOLEAN = 2;
+    static final byte KIND_BYTE = 3;
+    static final byte KIND_SHORT = 4;
+    static final byte KIND_INT = 5;
+    static final byte KIND_LONG = 6;
+    static final byte KIND_FLOAT = 7;
+    static final byte KIND_DOUBLE = 8;
+    static final byte KIND_CHAR = 9;
+
+    /**
+     * A reader that is cached for the classes that a reader could not be created for.
+     */
+    private static final MethodHandleReader UNAVAILABLE = new MethodHandleReader();
+
+    /**
+     * The cache holding the reader of each class. The reader is created on the first request for a class.
+     */
+    private static final ClassValue<MethodHandleReader> READERS = new ClassValue<MethodHandleReader>() {
+        @Override
+        protected MethodHandleReader computeValue(Class<?> type) {
+            return createMethodHandleReader(ClassLayout.getClassLayout(type));
+        }
+    };
+
+    /**
+     * The layout of the class, which writes the meta parts of the fields.
+     */
+    private final ClassLayout layout;
+
+    /**
+     * The readers of the fields, in the same order as the fields of the ClassLayout.
+     */
+    private final FieldReader[] fields;
+
+    /**
+     * A constructor that is only used to create the UNAVAILABLE reader.
+     */
+    private MethodHandleReader() {
+        this.layout = null;
+        this.fields = null;
+    }
+
+    /**
+     * A constructor that creates the reader of the class of the provided layout.
+     *
+     * @param layout The layout of the class.
+     * @throws IllegalAccessException If one of the fields cannot be read.
+     */
+    private MethodHandleReader(ClassLayout layout) throws IllegalAccessException {
+        this.layout = layout;
+        this.fields = new FieldReader[layout.getFieldCount()];
+        for (int i = 0; i < this.fields.length; i++) {
+            this.fields[i] = new FieldReader(layout.getFieldAccessor(i));
+        }
+    }
+
+    /**
+     * A static factory method that returns the reader of the provided class. The reader is created on the first call for a class.
+     *
+     * @param type The class of which the reader should be returned.
+     * @return The reader of the provided class, or null if a reader could not be created for it.
+     */
+    static MethodHandleReader getMethodHandleReader(Class type) {
+        if (type == null) throw new IllegalArgumentException("null input");
+        final MethodHandleReader reader = READERS.get(type);
+        return (reader == UNAVAILABLE) ? null : reader;
+    }
+
+    /**
+     * A static factory method that returns the reader of the provided class, reading only the fields that are included by the field filter of the provided options
+     * (See StringRepresentationOptions#getFieldFilter).
+     *
+     * @param type    The class of which the reader should be returned.
+     * @param options The StringRepresentationOptions object that is used to read the instances of the class.
+     * @return The reader of the provided class, or null if a reader could not be created for it.
+     */
+    static MethodHandleReader getMethodHandleReader(Class type, StringRepresentationOptions options) {
+        final FieldSelection selection = options.getFieldSelection();
+        if (selection == null) return getMethodHandleReader(type);
+        final MethodHandleReader reader = selection.getMethodHandleReader(type);
+        return (reader == UNAVAILABLE) ? null : reader;
+    }
+
+    /**
+     * Creates the reader of the fields of the provided layout. The readers are cached by the callers.
+     *
+     * @param layout The layout of the class.
+     * @return The reader, or the UNAVAILABLE reader if a reader could not be created for the layout.
+     */
+    static MethodHandleReader createMethodHandleReader(ClassLayout layout) {
+        try {
+            return new MethodHandleReader(layout);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return UNAVAILABLE;
+        }
+    }
+
+    /**
+     * @return The number of fields read by this reader.
+     */
+    int getFieldCount() {
+        return fields.length;
+    }
+
+    /**
+     * @param index The index of the field.
+     * @return true if the value of the field is written directly by this reader (A field of a primitive type), false if its value is an object that should be String represented
+     * on its own.
+     */
+    boolean isLeaf(int index) {
+        return fields[index].kind != KIND_OBJECT;
+    }
+
+    /**
+     * Writes the meta part of the field at the provided index. The written text is identical to FieldInfo#writeMetaStringRepresentation.
+     *
+     * @param index   The index of the field.
+     * @param out     The Appendable that the meta part will be written to.
+     * @param options The StringRepresentationOptions object that is used to control the behavior of the String representation of the field.
+     * @throws IOException If the Appendable fails to append.
+     */
+    void writeMeta(int index, Appendable out, StringRepresentationOptions options) throws IOException {
+        layout.writeFieldMeta(index, out, options);
+    }
+
+    /**
+     * Writes the value of a leaf field (See isLeaf(int)). The written text is identical to PrimitiveFieldInfo#writeValueStringRepresentation.
+     *
+     * @param index   The index of the field.
+     * @param out     The Appendable that the value will be written to.
+     * @param object  The object holding the field.
+     * @param options The StringRepresentationOptions object that is used to control the behavior of the String representation of the field.
+     * @throws IOException If the Appendable fails to append.
+     */
+    void writeLeafValue(int index, Appendable out, Object object, StringRepresentationOptions options) throws IOException {
+        final FieldReader field = fields[index];
+        final MethodHandle getter = field.getter;
+        try {
+            switch (field.kind) {
+                case KIND_BOOLEAN:
+                    out.append(String.valueOf((boolean) getter.invokeExact(object)));
+                    break;
+                case KIND_BYTE:
+                    out.append(String.valueOf((byte) getter.invokeExact(object)));
+                    break;
+                case KIND_SHORT:
+                    out.append(String.valueOf((short) getter.invokeExact(object)));
+                    break;
+                case KIND_INT:
+                    out.append(String.valueOf((int) getter.invokeExact(object)));
+                    break;
+                case KIND_LONG:
+                    out.append(String.valueOf((long) getter.invokeExact(object)));
+                    break;
+                case KIND_FLOAT:
+                    out.append(String.valueOf((float) getter.invokeExact(object)));
+                    break;
+                case KIND_DOUBLE:
+                    out.append(String.valueOf((double) getter.invokeExact(object)));
+                    break;
+                case KIND_CHAR:
+                    out.append('\'').append((char) getter.invokeExact(object)).append('\'');
+                    break;
+                case KIND_REFERENCE: {
+                    final Object value = (Object) getter.invokeExact(object);
+                    if (value == null) out.append(options.getNullRepresentation());
+                    else if (field.type == String.class) StringValueWriter.writeQuoted((String) value, out, options);
+                    else if (field.type == Character.class) out.append('\'').append(value.toString()).append('\'');
+                    else out.append(value.toString());
+                    break;
+                }
+                default:
+                    throw new IllegalArgumentException("The field is not a leaf field");
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable throwable) {
+            //A field getter does not throw checked exceptions.
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Reads the value of a field. Primitive values are returned boxed.
+     *
+     * @param index  The index of the field.
+     * @param object The object holding the field.
+     * @return The value of the field.
+     */
+    Object getValue(int index, Object object) {
+        return fields[index].accessor.get(object);
+    }
+
+    /**
+     * An immutable class holding the reader of a single field.
+     */
+    private static final class FieldReader {
+        private final FieldAccessor accessor;
+        private final Class type;
+        private final byte kind;
+
+        /**
+         * A MethodHandle of type (Object)T where T is the type of the field if it is a primitive type, or Object otherwise.
+         */
+        private final MethodHandle getter;
+
+        /**
+         * A constructor that creates the reader of the field of the provided accessor.
+         *
+         * @param accessor The accessor of the field.
+         * @throws IllegalAccessException If the field cannot be read.
+         */
+        private FieldReader(FieldAccessor accessor) throws IllegalAccessException {
+            if (!accessor.isAccessible()) throw new IllegalAccessException("The field " + accessor.getField() + " is not accessible");
+            final Field field = accessor.getField();
+            this.accessor = accessor;
+            this.type = field.getType();
+            this.kind = getKind(this.type);
+
+            //The field was already made accessible by the FieldAccessor.
+            MethodHandle getter = MethodHandles.lookup().unreflectGetter(field);
+            final Class valueType = this.type.isPrimitive() ? this.type : Object.class;
+            if (Modifier.isStatic(field.getModifiers())) {
+                getter = MethodHandles.dropArguments(getter.asType(MethodType.methodType(valueType)), 0, Object.class);
+            } else {
+                getter = getter.asType(MethodType.methodType(valueType, Object.class));
+            }
+            this.getter = getter;
+        }
+    }
+
+    /**
+     * @param type The type of a field.
+     * @return The kind of the field according to its type.
+     */
+    static byte getKind(Class type) {
+        if (type == boolean.class) return KIND_BOOLEAN;
+        if (type == byte.class) return KIND_BYTE;
+        if (type == short.class) return KIND_SHORT;
+        if (type == int.class) return KIND_INT;
+        if (type == long.class) return KIND_LONG;
+        if (type == float.class) return KIND_FLOAT;
+        if (type == double.class) return KIND_DOUBLE;
+        if (type == char.class) return KIND_CHAR;
+        if (NodeKind.isValue(NodeKind.of(type))) return KIND_REFERENCE;
+        return KIND_OBJECT;
+    }
+}
@@ -0,0 +1,172 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A class classifying the classes by how their instances are String represented. <br>
+ * The kind of each class is computed the first time the class is met and cached in a ClassValue, so classifying a value costs a single lookup of its class instead of a chain of
+ * comparisons. The kinds are ordered so that the kinds that are checked together are contiguous.
+ * <ul>
+ * <li>
+ * PRIMITIVE, BOXED and STRING; The primitive types, their wrapper classes and String. Their values are written directly (See StringRepresentableUtils#isPrimitive).
+ * </li>
+ * <li>
+ * PRIMITIVE_ARRAY and ARRAY; The arrays of primitive types, and the other arrays.
+ * </li>
+ * <li>
+ * ITERABLE, MAP and OPTIONAL; The containers that are represented by their logical elements, unless disabled by the options (See ContainerObjectInfo#isContainer). An
+ * Iterable that is not a Collection and of which the elements can be instances of its own class (e.g. java.nio.file.Path, which iterates over new Paths holding its name
+ * elements) is not a container, as its elements would be read as containers endlessly. It is represented by its fields instead.
+ * </li>
+ * <li>
+ * NODE; The nodes of a Snapshot, which are represented according to their own form.
+ * </li>
+ * <li>
+ * ENUM and OBJECT; The enums (including the classes of the constants that have bodies) and the other classes, which are represented by their fields.
+ * </li>
+ * </ul>
+ */
+final class NodeKind {
+
+    /*The kinds*/
+    static final byte PRIMITIVE = 0;
+    static final byte BOXED = 1;
+    static final byte STRING = 2;
+    static final byte PRIMITIVE_ARRAY = 3;
+    static final byte ARRAY = 4;
+    static final byte ITERABLE = 5;
+    static final byte MAP = 6;
+    static final byte OPTIONAL = 7;
+    static final byte NODE = 8;
+    static final byte ENUM = 9;
+    static final byte OBJECT = 10;
+
+    /**
+     * The cache holding the kind of each class.
+     */
+    private static final ClassValue<Byte> KINDS = new ClassValue<Byte>() {
+        @Override
+        protected Byte computeValue(Class<?> type) {
+            return classify(type);
+        }
+    };
+
+    private NodeKind() {
+    }
+
+    /**
+     * @param type A class.
+     * @return The kind of the class.
+     */
+    static byte of(Class type) {
+        return KINDS.get(type);
+    }
+
+    /**
+     * @param kind A kind.
+     * @return true if the values of the kind are written directly (primitive types, their wrapper classes and String), false otherwise.
+     */
+    static boolean isValue(byte kind) {
+        return kind <= STRING;
+    }
+
+    /**
+     * @param kind A kind.
+     * @return true if the kind is an array kind, false otherwise.
+     */
+    static boolean isArray(byte kind) {
+        return (kind == PRIMITIVE_ARRAY) || (kind == ARRAY);
+    }
+
+    /**
+     * @param kind A kind.
+     * @return true if the kind is a container kind (an Iterable, a Map or an Optional), false otherwise.
+     */
+    static boolean isContainer(byte kind) {
+        return (kind >= ITERABLE) && (kind <= OPTIONAL);
+    }
+
+    /**
+     * Classifies a class, without the cache.
+     *
+     * @param type A class.
+     * @return The kind of the class.
+     */
+    private static byte classify(Class type) {
+        if (type.isPrimitive()) return (type != void.class) ? PRIMITIVE : OBJECT;
+        if ((type == Boolean.class) || (type == Byte.class) || (type == Short.class) || (type == Integer.class) || (type == Long.class) || (type == Float.class)
+                || (type == Double.class) || (type == Character.class)) return BOXED;
+        if (type == String.class) return STRING;
+        if (type.isArray()) return type.getComponentType().isPrimitive() ? PRIMITIVE_ARRAY : ARRAY;
+        //A Map that is also an Iterable is represented as a Map.
+        if (Map.class.isAssignableFrom(type)) return MAP;
+        if (Iterable.class.isAssignableFrom(type)) return (Collection.class.isAssignableFrom(type) || !isSelfIterable(type)) ? ITERABLE : OBJECT;
+        if (type == Optional.class) return OPTIONAL;
+        if (type == SnapshotNode.class) return NODE;
+        if (Enum.class.isAssignableFrom(type) && (type != Enum.class)) return ENUM;
+        return OBJECT;
+    }
+
+    /**
+     * @param type A class implementing Iterable.
+     * @return true if the element type of the Iterable (resolved through the generic supertypes of the class) can hold instances of the class, false otherwise. An element type
+     * that is unknown (a raw type, a type variable without bounds or Object, e.g. for lambdas) is assumed not to hold them.
+     */
+    private static boolean isSelfIterable(Class type) {
+        final Class<?> elementType = findElementType(type, new HashMap<>());
+        return (elementType != null) && (elementType != Object.class) && elementType.isAssignableFrom(type);
+    }
+
+    /**
+     * Searches the generic supertypes of the provided type for Iterable, substituting the type variables bound on the way.
+     *
+     * @param type     A type.
+     * @param bindings The type variables bound by the subtypes of the type, mapped to their arguments.
+     * @return The erasure of the element type of Iterable, or null if the type doesn't implement Iterable or the element type is unknown.
+     */
+    private static Class<?> findElementType(Type type, Map<TypeVariable, Type> bindings) {
+        final Class<?> raw;
+        final Map<TypeVariable, Type> typeBindings = new HashMap<>();
+        if (type instanceof ParameterizedType) {
+            raw = (Class<?>) ((ParameterizedType) type).getRawType();
+            final Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            final TypeVariable[] parameters = raw.getTypeParameters();
+            for (int i = 0; i < parameters.length; i++) {
+                final Type argument = arguments[i];
+                typeBindings.put(parameters[i], bindings.getOrDefault(argument, argument));
+            }
+            if (raw == Iterable.class) return erase(typeBindings.get(parameters[0]));
+        } else if (type instanceof Class) {
+            raw = (Class<?>) type;
+            if (raw == Iterable.class) return null;
+        } else {
+            return null;
+        }
+        for (Type anInterface : raw.getGenericInterfaces()) {
+            final Class<?> elementType = findElementType(anInterface, typeBindings);
+            if (elementType != null) return elementType;
+        }
+        return (raw.getGenericSuperclass() != null) ? findElementType(raw.getGenericSuperclass(), typeBindings) : null;
+    }
+
+    /**
+     * @param type A type.
+     * @return The erasure of the type (the erasure of the upper bound of a wildcard or a type variable).
+     */
+    private static Class<?> erase(Type type) {
+        if (type instanceof Class) return (Class<?>) type;
+        if (type instanceof ParameterizedType) return (Class<?>) ((ParameterizedType) type).getRawType();
+        if (type instanceof WildcardType) return erase(((WildcardType) type).getUpperBounds()[0]);
+        if (type instanceof TypeVariable) return erase(((TypeVariable) type).getBounds()[0]);
+        if (type instanceof GenericArrayType) return Object[].class;
+        return Object.class;
+    }
+}
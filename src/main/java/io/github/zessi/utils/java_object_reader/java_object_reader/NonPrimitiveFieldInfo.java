@@ -1,6 +1,6 @@
 package io.github.zessi.utils.java_object_reader.java_object_reader;
 
-import java.lang.reflect.Field;
+import java.io.IOException;
 
 /**
  * An immutable class that is used for the String representation of a java field of a non-primitive type <br>
@@ -15,22 +15,32 @@ final class NonPrimitiveFieldInfo extends FieldInfo {
     /**
      * A Constructor that creates an instance of NonPrimitiveObjectInfo using the provided arguments
      *
-     * @param field            The field that will be String represented
+     * @param accessor         The accessor of the field that will be String represented
      * @param definingClass    The class that defines/declares this field
      * @param associatedObject The context object of the class that this field is a part of. If the field is static, then this object should be null
      * @param options          The StringRepresentationOptions object that will be used to control the behavior of the String representation of this field
      */
-    NonPrimitiveFieldInfo(Field field, Class definingClass, Object associatedObject, StringRepresentationOptions options, CircularReferencePrevention crp) {
-        super(field, definingClass, associatedObject, options);
-        if (StringRepresentableUtils.isPrimitive(this.getFieldType())) throw new IllegalArgumentException("The field's data type is of a primitive type.");
+    NonPrimitiveFieldInfo(FieldAccessor accessor, Class definingClass, Object associatedObject, StringRepresentationOptions options, CircularReferencePrevention crp) {
+        super(accessor, definingClass, associatedObject, options);
         this.crp = crp;
     }
 
     /**
-     * @return String representation of this field's value. which is basically the String representation of this field's object
+     * @return The ObjectInfo that is used for the String representation of this field's value.
+     */
+    ObjectInfo getValueObjectInfo() {
+        return ObjectInfo.getObjectInfo(this.getValue(), this.getOptions(), this.crp);
+    }
+
+    /**
+     * Writes the String representation of this field's value to the provided Appendable. which is basically the String representation of this field's object
+     *
+     * @param out The Appendable that the value will be written to.
+     * @throws IOException If the Appendable fails to append.
      */
     @Override
-    public String getValueStringRepresentation() {
-        return ObjectInfo.getObjectInfo(this.getValue(), this.getOptions(), this.crp).getFullStringRepresentation();
+    public void writeValueStringRepresentation(Appendable out) throws IOException {
+        if (!this.getAccessor().isAccessible()) out.append(FieldAccessor.INACCESSIBLE_REPRESENTATION);
+        else getValueObjectInfo().writeTo(out);
     }
 }
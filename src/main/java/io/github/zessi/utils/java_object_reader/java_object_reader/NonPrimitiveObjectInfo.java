@@ -1,57 +1,127 @@
 package io.github.zessi.utils.java_object_reader.java_object_reader;
 
-import java.lang.reflect.Field;
-import java.util.*;
-
-import static io.github.zessi.utils.java_object_reader.java_object_reader.StringRepresentableUtils.*;
+import java.io.IOException;
 
 /**
  * A class extending the abstract class ObjectInfo <br>
  * This class should be used for String representation of objects that are not primitive objects. <br>
+ * The nodes of Snapshots that were captured from such objects are represented by this class as well, in which case the fields are read from the node (See SnapshotNode).
  */
-final class NonPrimitiveObjectInfo extends ObjectInfo {
+final class NonPrimitiveObjectInfo extends ObjectInfo implements Sliceable {
+
     /**
-     * A map (mapped by field name to prevent hidden fields) that contains all (with the exception of hidden fields) the fields declared by this object's class and its ancestors. <br>
-     * In case of hidden fields, only the last field in the inheritance hierarchy should remain in the map.
+     * The depth up to which the fields of objects are written by slices (when a ForkJoinPool is provided by the options). Only the objects near the read object are sliced, as
+     * their fields are the roots of the largest independent subtrees.
      */
-    private final Map<String, FieldInfo> fields = new TreeMap<>();
+    private static final int MAX_SLICED_DEPTH = 1;
 
     /**
-     * A variable to hold an object of CircularReferencePrevention which is used and passed recursively to prevent circular references.
+     * An array (ordered by field name) that contains all (with the exception of hidden fields) the fields declared by this object's class and its ancestors. <br>
+     * In case of hidden fields, only the last field in the inheritance hierarchy is present in the array. <br>
+     * When a MethodHandleReader is used, the array is only created if getFields() is called. It is never created for a node of a Snapshot.
+     */
+    private FieldInfo[] fields;
+
+    /**
+     * The reader that is used to read and write the fields when the ReaderMode.METHOD_HANDLES mode is used. null when the fields are read reflectively.
+     */
+    private final MethodHandleReader reader;
+
+    /**
+     * The node of a Snapshot of which the fields are written, or null when the fields are read from the object itself.
+     */
+    private final SnapshotNode node;
+
+    /**
+     * A variable to hold an object of CircularReferencePrevention which is used and passed down to the fields' objects to prevent circular references.
      */
     private final CircularReferencePrevention crp;
 
     /**
-     * This constructor creates an instance of this type containing a map of FieldInfo objects
-     * (The mapping is done by the String of the field name to avoid duplicate names and hidden fields) that are being used for the String representation of each field.
+     * The number of fields to be written.
+     */
+    private final int fieldCount;
+
+    /**
+     * The StringRepresentationOptions object that is used for the String representation of the fields, which is this object's options with one more indent.
+     */
+    private StringRepresentationOptions fieldOptions;
+
+    /**
+     * The index of the next field to be written.
+     */
+    private int nextIndex;
+
+    /**
+     * The index after the last field to be written. It is the number of fields, except for slices.
+     */
+    private final int end;
+
+    /**
+     * The value of the last written field, which was added to the CircularReferencePrevention object and should be removed from it before the next field is written.
+     */
+    private Object processingValue;
+
+    /**
+     * This constructor creates an instance of this type containing an array of FieldInfo objects
+     * (Ordered by the field name, without duplicate names and hidden fields) that are being used for the String representation of each field.
      *
      * @param object  The object that will be used for the String representation.
      * @param options The StringRepresentationOptions object that will be used to control the behavior of the String representation of this object according to its options.
      */
     NonPrimitiveObjectInfo(Object object, StringRepresentationOptions options, CircularReferencePrevention crp) {
         super(object, options);
-        if (StringRepresentableUtils.isPrimitive(object)) throw new IllegalArgumentException("Input object is of a primitive type");
+        if (object == null) throw new IllegalArgumentException("null first parameter");
         this.crp = crp;
 
-        /*
-        Obtaining all of the participating classes (The class that represents the object's type and all of its parent classes) in the order where the first element is highest class
-        in the hierarchy and the last element is the lowest class in the hierarchy (basically the class the represents the type of the object of which the String representation will
-        be evaluated).
-         */
-        final Set<Class> classes = getParticipatingClasses(this.getType());
+        this.node = (object instanceof SnapshotNode) ? (SnapshotNode) object : null;
+        this.reader = ((this.node == null) && (options.getReaderMode() == ReaderMode.METHOD_HANDLES)) ? MethodHandleReader.getMethodHandleReader(this.getType(), options) : null;
+        //The MethodHandleReader and the node read the fields while writing them, so the FieldInfo objects are only created when the fields are read reflectively.
+        if (this.node != null) {
+            this.fieldCount = this.node.getLayout().getFieldCount();
+        } else if (this.reader == null) {
+            this.fields = createFields();
+            this.fieldCount = this.fields.length;
+        } else {
+            this.fieldCount = this.reader.getFieldCount();
+        }
+        this.end = this.fieldCount;
+    }
 
+    /**
+     * A constructor that creates a slice of the provided NonPrimitiveObjectInfo (See Sliceable).
+     *
+     * @param source The NonPrimitiveObjectInfo of which the head was written.
+     * @param from   The index of the first field of the slice.
+     * @param to     The index after the last field of the slice.
+     */
+    private NonPrimitiveObjectInfo(NonPrimitiveObjectInfo source, int from, int to) {
+        super(source.getObject(), source.getOptions());
+        this.crp = source.crp.copy();
+        this.reader = source.reader;
+        this.node = source.node;
+        this.fields = source.fields;
+        this.fieldCount = source.fieldCount;
+        this.fieldOptions = source.fieldOptions;
+        this.nextIndex = from;
+        this.end = to;
+    }
+
+    /**
+     * @return An array of FieldInfo objects for all the fields in the cached layout of the object's class.
+     */
+    private FieldInfo[] createFields() {
         /*
-        Obtaining the fields declared in each of the classes.
-        https://docs.oracle.com/javase/tutorial/java/IandI/hidevariables.html
-        In hidden fields case : Because the classes order is from highest hierarchy to lowest hierarchy, the fields that were added last will override the fields that were added first.
-        This will allow the String representation of the object to contain the String representation of the most relevant field to it.
+        Obtaining the cached layout of the object's class. The layout already contains the fields of the class and all of its parent classes ordered by the field name with the
+        hidden fields resolved. See ClassLayout.
          */
-        for (Class aClass : classes) {
-            for (Field field : aClass.getDeclaredFields()) {
-                final FieldInfo fieldInfo = FieldInfo.getFieldInfo(field, aClass, object, this.getOptions().cloneAndAddIndent(), this.crp);
-                fields.put(fieldInfo.getName(), fieldInfo);
-            }
+        final ClassLayout layout = ClassLayout.getClassLayout(this.getType(), this.getOptions());
+        final FieldInfo[] result = new FieldInfo[layout.getFieldCount()];
+        final StringRepresentationOptions fieldOptions = this.getOptions().cloneAndAddIndent();
+        for (int i = 0; i < result.length; i++) {
+            result[i] = FieldInfo.getFieldInfo(layout.getFieldAccessor(i), layout.getDefiningClass(i), this.getObject(), fieldOptions, this.crp);
         }
+        return result;
     }
 
     /**
@@ -63,49 +133,211 @@ final class NonPrimitiveObjectInfo extends ObjectInfo {
     }
 
     /**
-     * @return A map of FieldInfo objects (The mapping is done by the String of the field name to avoid duplicate names and hidden fields) that are being used for the String representation of each field.
+     * @return An array of FieldInfo objects (Ordered by the field name, without duplicate names and hidden fields) that are being used for the String representation of each field.
      */
-    Map<String, FieldInfo> getFields() {
+    FieldInfo[] getFields() {
+        if (node != null) throw new UnsupportedOperationException("The fields of a node of a Snapshot are not read reflectively");
+        if (fields == null) fields = createFields();
         return fields;
     }
 
     /**
-     * @return The String representation of the value of this NonPrimitiveObjectInfo object. This String representation should contain all the String representations of the fields
-     * related this NonPrimitiveObjectInfo's object be it declared fields or inherited fields.
+     * Writes the beginning of the String representation of the value of this NonPrimitiveObjectInfo object. This String representation should contain all the String
+     * representations of the fields related this NonPrimitiveObjectInfo's object be it declared fields or inherited fields.
+     *
+     * @param out The Appendable that will be written to.
+     * @return true if the object has fields that should be written next, false if the object has no fields.
+     * @throws IOException If the Appendable fails to append.
+     */
+    @Override
+    boolean writeValueHead(Appendable out) throws IOException {
+        if (this.fieldCount < 1) {
+            out.append("{}");
+            return false;
+        }
+        this.nextIndex = 0;
+        if (this.fieldOptions == null) this.fieldOptions = this.getOptions().cloneAndAddIndent();
+        out.append("{\n");
+        return true;
+    }
+
+    /**
+     * @return true if there are more fields to be written, false otherwise.
+     */
+    @Override
+    boolean hasNextChild() {
+        return this.nextIndex < this.end;
+    }
+
+    /**
+     * Writes the separator, the indentation and the meta part of the next field. The value of the field is written directly if it is of a primitive type, null or currently being
+     * processed. Otherwise, the value is added to the CircularReferencePrevention object and its ObjectInfo is returned.
+     *
+     * @param out The Appendable that will be written to.
+     * @return The ObjectInfo of the value of the next field, or null if the field was written completely.
+     * @throws IOException If the Appendable fails to append.
+     */
+    @Override
+    ObjectInfo writeNextChild(Appendable out) throws IOException {
+        //The value of the previous field is no longer being processed.
+        releaseProcessingValue();
+        final int i = this.nextIndex++;
+        //Separating the String representation of the fields
+        if (i > 0) out.append(",").append(this.getOptions().getNewLine());
+        this.fieldOptions.writeIndents(out);
+        if (this.node != null) return writeSnapshotField(i, out);
+        return (this.reader == null) ? writeReflectiveField(this.fields[i], out) : writeMethodHandleField(i, out);
+    }
+
+    /**
+     * Writes the end of the String representation of the value of this NonPrimitiveObjectInfo object.
+     *
+     * @param out The Appendable that will be written to.
+     * @throws IOException If the Appendable fails to append.
      */
     @Override
-    public String getValueStringRepresentation() {
-        if (this.getFields().size() < 1) return "{}";
-        //A StringBuilder that should contain the String representation result
-        final StringBuilder result = new StringBuilder();
-
-        result.append("{\n");
-
-        //A StringJoiner to join the String representation of all of the fields
-        final StringJoiner fieldsJoiner = new StringJoiner("," + this.getOptions().getNewLine());
-        for (FieldInfo fieldInfo : fields.values()) {
-            //Checks if the fieldInfo's object exists in the crp list or not. If it exists then it shouldn't be processed otherwise, this will result in circular reference and lead to a stack overflow.
-            if (!this.crp.checkExists(fieldInfo.getValue())) {
-                if (fieldInfo.getValue() == null) {
-                    //Representing a field of which the value is null. This should be coherent with the String representation of a FieldInfo object's getFullStringRepresentation
-                    fieldsJoiner.add(fieldInfo.getOptions().getIndents() + fieldInfo.getMetaStringRepresentation() + fieldInfo.getMetaValueSeparator() + fieldInfo.getOptions().getNullRepresentation());
-                } else {
-                    //Adding the fieldInfo's object to the crp list to prevent circular references to it.
-                    this.crp.add(fieldInfo.getValue());
-                    //Processing the String representation of the current field and adding the result to the joiner.
-                    fieldsJoiner.add(fieldInfo.getOptions().getIndents() + fieldInfo.getFullStringRepresentation());
-                    //Removing the fieldInfo's object from the crp list.
-                    this.crp.remove(fieldInfo.getValue());
-                }
-            } else {
-                //If the fieldInfo's object exists in the crp list then this String representation will be printed instead.
-                fieldsJoiner.add(fieldInfo.getOptions().getIndents() + fieldInfo.getMetaStringRepresentation() + fieldInfo.getMetaValueSeparator() + "<Object Processing>");
-            }
+    void writeValueTail(Appendable out) throws IOException {
+        releaseProcessingValue();
+        out.append("\n");
+        this.getOptions().writeIndents(out);
+        out.append("}");
+    }
+
+    /**
+     * Writes a field that was read reflectively.
+     *
+     * @param fieldInfo The FieldInfo of the field.
+     * @param out       The Appendable that will be written to.
+     * @return The ObjectInfo of the value of the field, or null if the field was written completely.
+     * @throws IOException If the Appendable fails to append.
+     */
+    private ObjectInfo writeReflectiveField(FieldInfo fieldInfo, Appendable out) throws IOException {
+        fieldInfo.writeMetaStringRepresentation(out);
+        out.append(fieldInfo.getMetaValueSeparator());
+        if (!fieldInfo.getAccessor().isAccessible()) {
+            //A field that could not be made accessible is not written as null, as its value is unknown.
+            out.append(FieldAccessor.INACCESSIBLE_REPRESENTATION);
+            return null;
+        }
+        //Checks if the fieldInfo's object exists in the crp list or not. If it exists then it shouldn't be processed otherwise, this will result in circular reference.
+        if (this.crp.checkExists(fieldInfo.getValue())) {
+            //If the fieldInfo's object exists in the crp list then this String representation will be printed instead.
+            out.append("<Object Processing>");
+            return null;
+        }
+        if (fieldInfo.getValue() == null) {
+            //Representing a field of which the value is null. This should be coherent with the String representation of a FieldInfo object's writeTo
+            out.append(fieldInfo.getOptions().getNullRepresentation());
+            return null;
+        }
+        //Adding the fieldInfo's object to the crp list to prevent circular references to it. It is removed before the next field is written.
+        this.crp.add(fieldInfo.getValue());
+        this.processingValue = fieldInfo.getValue();
+        //The ObjectInfo uses this object's CircularReferencePrevention object, which is not the one held by the FieldInfo when this object is a slice.
+        if (fieldInfo instanceof NonPrimitiveFieldInfo) return ObjectInfo.getObjectInfo(fieldInfo.getValue(), fieldInfo.getOptions(), this.crp);
+        fieldInfo.writeValueStringRepresentation(out);
+        return null;
+    }
+
+    /**
+     * Writes a field using the MethodHandleReader. The written text is identical to the text written when the fields are read reflectively.
+     *
+     * @param index The index of the field.
+     * @param out   The Appendable that will be written to.
+     * @return The ObjectInfo of the value of the field, or null if the field was written completely.
+     * @throws IOException If the Appendable fails to append.
+     */
+    private ObjectInfo writeMethodHandleField(int index, Appendable out) throws IOException {
+        this.reader.writeMeta(index, out, this.fieldOptions);
+        out.append(this.fieldOptions.getFieldMetaValueSeparator());
+        //Values of primitive types never take part in circular references, so they are written directly.
+        if (this.reader.isLeaf(index)) {
+            this.reader.writeLeafValue(index, out, this.getObject(), this.fieldOptions);
+            return null;
+        }
+        final Object value = this.reader.getValue(index, this.getObject());
+        if (this.crp.checkExists(value)) {
+            out.append("<Object Processing>");
+            return null;
+        }
+        if (value == null) {
+            out.append(this.fieldOptions.getNullRepresentation());
+            return null;
+        }
+        this.crp.add(value);
+        this.processingValue = value;
+        return ObjectInfo.getObjectInfo(value, this.fieldOptions, this.crp);
+    }
+
+    /**
+     * Writes a field stored in the node of a Snapshot. The written text is identical to the text written when the fields are read from the captured object.
+     *
+     * @param index The index of the field.
+     * @param out   The Appendable that will be written to.
+     * @return The ObjectInfo of the value of the field, or null if the field was written completely.
+     * @throws IOException If the Appendable fails to append.
+     */
+    private ObjectInfo writeSnapshotField(int index, Appendable out) throws IOException {
+        final SnapshotLayout layout = this.node.getLayout();
+        layout.writeMeta(index, out, this.fieldOptions);
+        out.append(this.fieldOptions.getFieldMetaValueSeparator());
+        if (layout.isLeaf(index)) {
+            layout.writeLeafValue(index, out, this.node.getPrimitives(), this.node.getReferences(), this.fieldOptions);
+            return null;
+        }
+        final Object value = layout.getReference(index, this.node.getReferences());
+        if (this.crp.checkExists(value)) {
+            out.append("<Object Processing>");
+            return null;
+        }
+        if (value == null) {
+            out.append(this.fieldOptions.getNullRepresentation());
+            return null;
         }
-        result.append(fieldsJoiner.toString());
+        this.crp.add(value);
+        this.processingValue = value;
+        return ObjectInfo.getObjectInfo(value, this.fieldOptions, this.crp);
+    }
 
-        result.append("\n" + this.getOptions().getIndents() + "}");
-        return result.toString();
+    /**
+     * Removes the value of the last written field from the CircularReferencePrevention object.
+     */
+    private void releaseProcessingValue() {
+        if (this.processingValue != null) {
+            this.crp.remove(this.processingValue);
+            this.processingValue = null;
+        }
+    }
+
+    @Override
+    public int getNextChildIndex() {
+        return this.nextIndex;
     }
 
+    @Override
+    public int getChildLimit() {
+        return this.end;
+    }
+
+    /**
+     * Each field of the objects near the read object is written by its own slice.
+     *
+     * @param depth       The depth of the ObjectInfo (The read object is at depth 0).
+     * @param parallelism The number of threads that the slices can be written by.
+     * @return 1 if the object is near the read object and has more than one field to be written, 0 otherwise.
+     */
+    @Override
+    public int getSliceSize(int depth, int parallelism) {
+        return ((depth <= MAX_SLICED_DEPTH) && (this.end - this.nextIndex > 1)) ? 1 : 0;
+    }
+
+    @Override
+    public ObjectInfo slice(int from, int to) {
+        return new NonPrimitiveObjectInfo(this, from, to);
+    }
+
+    @Override
+    public void skipChildrenTo(int index) {
+        this.nextIndex = index;
+    }
 }
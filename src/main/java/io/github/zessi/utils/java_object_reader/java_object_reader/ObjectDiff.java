@@ -0,0 +1,334 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A class that writes the structural differences between two object graphs. <br>
+ * The graphs are walked side by side using the same rules that are used to read them: the fields are resolved by the cached layout of the class (See ClassLayout), arrays are
+ * compared element by element, and Iterables, Maps and Optionals are compared by their logical elements (unless disabled by the options, See
+ * StringRepresentationOptions#isLogicalContainers). <br>
+ * How it works.
+ * <ul>
+ * <li>
+ * Two values that are the same reference are identical, so their subtrees are skipped without being read.
+ * </li>
+ * <li>
+ * Two values of primitive types are compared using equals, and two objects that have a TypeRenderer are compared by their rendered values (See TypeRenderers). Two values
+ * of different classes (or a null and a non-null value) are different.
+ * </li>
+ * <li>
+ * Two other values of the same class are compared child by child (fields, elements or entries). A pair of objects is only compared once, so shared objects and circular
+ * references are compared once as well.
+ * </li>
+ * </ul>
+ * Each difference is written on its own line as the path of the value followed by the String representations of the value in both graphs,
+ * e.g. TypeFour.typeOne.value: Integer:{1} -&gt; Integer:{2} <br>
+ * The values are only read when they differ. The graphs are walked using an explicit stack (like the Traversal), so the depth of the graphs is not limited by the size of the
+ * thread's stack.
+ */
+final class ObjectDiff {
+
+    /**
+     * The String that separates the path of a difference from the values.
+     */
+    private static final String PATH_SEPARATOR = ": ";
+
+    /**
+     * The String that separates the value in the first graph from the value in the second graph.
+     */
+    private static final String CHANGE_SEPARATOR = " -> ";
+
+    /**
+     * The String that is written in place of an element or an entry that only exists in one of the graphs.
+     */
+    private static final String ABSENT_REPRESENTATION = "<Absent>";
+
+    /**
+     * The value of an element or an entry that only exists in one of the graphs.
+     */
+    private static final Object ABSENT = new Object();
+
+    /**
+     * The StringRepresentationOptions object that is used to read the values that differ.
+     */
+    private final StringRepresentationOptions options;
+
+    /**
+     * The Appendable that the differences are written to.
+     */
+    private final Appendable out;
+
+    /**
+     * The comparisons that are still to be done. The children of a comparison are pushed in reverse order, so they are done in order.
+     */
+    private final Deque<Comparison> stack = new ArrayDeque<>();
+
+    /**
+     * The objects of the first graph (compared by identity) mapped to the objects of the second graph that they were compared to.
+     */
+    private final Map<Object, Set<Object>> compared = new IdentityHashMap<>();
+
+    /**
+     * A boolean indicating if a difference was written.
+     */
+    private boolean written;
+
+    /**
+     * A constructor that creates an ObjectDiff writing to the provided Appendable.
+     *
+     * @param options The StringRepresentationOptions object that is used to read the values that differ.
+     * @param out     The Appendable that the differences will be written to.
+     */
+    private ObjectDiff(StringRepresentationOptions options, Appendable out) {
+        this.options = options;
+        this.out = out;
+    }
+
+    /**
+     * Writes the differences between the provided objects, separated by the options' new line. Nothing is written if the objects are identical.
+     *
+     * @param before  The object in the first graph.
+     * @param after   The object in the second graph.
+     * @param options The StringRepresentationOptions object that is used to read the values that differ.
+     * @param out     The Appendable that the differences will be written to.
+     * @throws IOException If the Appendable fails to append.
+     */
+    static void writeDiff(Object before, Object after, StringRepresentationOptions options, Appendable out) throws IOException {
+        final ObjectDiff diff = new ObjectDiff(options, out);
+        final Object root = (before != null) ? before : after;
+        final String rootPath = (root == null) ? options.getNullRepresentation() : getTypeName(root.getClass(), options);
+        diff.stack.push(new Comparison(null, rootPath, before, after));
+        while (!diff.stack.isEmpty()) {
+            diff.compare(diff.stack.pop());
+        }
+    }
+
+    /**
+     * Compares the values of the provided comparison, writing them if they differ or pushing the comparisons of their children.
+     *
+     * @param comparison The comparison.
+     * @throws IOException If the Appendable fails to append.
+     */
+    private void compare(Comparison comparison) throws IOException {
+        final Object before = comparison.before;
+        final Object after = comparison.after;
+        //The same reference (or two nulls), so the subtree is identical.
+        if (before == after) return;
+        if ((before == null) || (after == null) || (before == ABSENT) || (after == ABSENT) || (before.getClass() != after.getClass())) {
+            writeDifference(comparison);
+            return;
+        }
+        final byte kind = NodeKind.of(before.getClass());
+        if (NodeKind.isValue(kind)) {
+            if (!before.equals(after)) writeDifference(comparison);
+            return;
+        }
+        final TypeRenderer renderer = TypeRenderers.getRenderer(before.getClass(), options);
+        if (renderer != null) {
+            if (!TypeRenderers.render(renderer, before, options).equals(TypeRenderers.render(renderer, after, options))) writeDifference(comparison);
+            return;
+        }
+        if (!markCompared(before, after)) return;
+        final List<Comparison> children = new ArrayList<>();
+        if (NodeKind.isArray(kind)) {
+            //Arrays of primitive types are compared without boxing their elements, and are only compared element by element if they differ.
+            if ((kind == NodeKind.PRIMITIVE_ARRAY) && Objects.deepEquals(before, after)) return;
+            addElements(comparison, new ArrayIterator(before), new ArrayIterator(after), children);
+        } else if (ContainerObjectInfo.isContainer(kind, options)) {
+            if (kind == NodeKind.MAP) addEntries(comparison, (Map<?, ?>) before, (Map<?, ?>) after, children);
+            else addElements(comparison, getElements(before), getElements(after), children);
+        } else {
+            final ClassLayout layout = ClassLayout.getClassLayout(before.getClass(), options);
+            for (int i = 0; i < layout.getFieldCount(); i++) {
+                final FieldAccessor accessor = layout.getFieldAccessor(i);
+                children.add(new Comparison(comparison, "." + accessor.getField().getName(), accessor.get(before), accessor.get(after)));
+            }
+        }
+        for (int i = children.size() - 1; i >= 0; i--) {
+            stack.push(children.get(i));
+        }
+    }
+
+    /**
+     * Adds the comparisons of the elements at the same positions. The elements that only exist in one of the graphs are compared to the ABSENT value.
+     *
+     * @param parent   The comparison of the arrays, Iterables or Optionals.
+     * @param before   The iterator of the elements in the first graph.
+     * @param after    The iterator of the elements in the second graph.
+     * @param children The list that the comparisons are added to.
+     */
+    private static void addElements(Comparison parent, Iterator<?> before, Iterator<?> after, List<Comparison> children) {
+        for (int i = 0; before.hasNext() || after.hasNext(); i++) {
+            final Object beforeElement = before.hasNext() ? before.next() : ABSENT;
+            final Object afterElement = after.hasNext() ? after.next() : ABSENT;
+            children.add(new Comparison(parent, "[" + i + "]", beforeElement, afterElement));
+        }
+    }
+
+    /**
+     * Adds the comparisons of the values of the same keys, in the order of the entries of the first graph followed by the entries that only exist in the second graph.
+     *
+     * @param parent   The comparison of the Maps.
+     * @param before   The Map in the first graph.
+     * @param after    The Map in the second graph.
+     * @param children The list that the comparisons are added to.
+     */
+    private void addEntries(Comparison parent, Map<?, ?> before, Map<?, ?> after, List<Comparison> children) {
+        for (Map.Entry<?, ?> entry : before.entrySet()) {
+            final Object afterValue = after.containsKey(entry.getKey()) ? after.get(entry.getKey()) : ABSENT;
+            children.add(new Comparison(parent, getKeySegment(entry.getKey()), entry.getValue(), afterValue));
+        }
+        for (Map.Entry<?, ?> entry : after.entrySet()) {
+            if (!before.containsKey(entry.getKey())) children.add(new Comparison(parent, getKeySegment(entry.getKey()), ABSENT, entry.getValue()));
+        }
+    }
+
+    /**
+     * @param key A key of a Map.
+     * @return The segment of the path of the value of the key. Keys of primitive types are written by value, and other keys by their type and identity hash code, so that the
+     * toString methods of the keys are never called.
+     */
+    private String getKeySegment(Object key) {
+        if (key == null) return "[" + options.getNullRepresentation() + "]";
+        if (key instanceof String) return "[\"" + key + "\"]";
+        if (key instanceof Character) return "['" + key + "']";
+        if (NodeKind.isValue(NodeKind.of(key.getClass()))) return "[" + key + "]";
+        return "[" + getTypeName(key.getClass(), options) + "@" + Integer.toHexString(System.identityHashCode(key)) + "]";
+    }
+
+    /**
+     * Records that the provided objects are compared.
+     *
+     * @param before The object in the first graph.
+     * @param after  The object in the second graph.
+     * @return true if the objects were not compared before, false otherwise.
+     */
+    private boolean markCompared(Object before, Object after) {
+        Set<Object> afters = compared.get(before);
+        if (afters == null) {
+            afters = Collections.newSetFromMap(new IdentityHashMap<>());
+            compared.put(before, afters);
+        }
+        return afters.add(after);
+    }
+
+    /**
+     * Writes the path of the provided comparison followed by the String representations of both of its values.
+     *
+     * @param comparison The comparison of which the values differ.
+     * @throws IOException If the Appendable fails to append.
+     */
+    private void writeDifference(Comparison comparison) throws IOException {
+        if (written) out.append(options.getNewLine());
+        written = true;
+        final List<String> segments = new ArrayList<>();
+        for (Comparison current = comparison; current != null; current = current.parent) {
+            segments.add(current.segment);
+        }
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            out.append(segments.get(i));
+        }
+        out.append(PATH_SEPARATOR);
+        writeValue(comparison.before);
+        out.append(CHANGE_SEPARATOR);
+        writeValue(comparison.after);
+    }
+
+    /**
+     * Writes the String representation of the provided value, or the absent representation if the value is ABSENT.
+     *
+     * @param value The value.
+     * @throws IOException If the Appendable fails to append.
+     */
+    private void writeValue(Object value) throws IOException {
+        if (value == ABSENT) out.append(ABSENT_REPRESENTATION);
+        else ObjectReader.read(value, options, out);
+    }
+
+    /**
+     * @param container An Iterable or an Optional.
+     * @return The iterator of the logical elements of the container. An Optional holds its value if it is present.
+     */
+    private static Iterator<?> getElements(Object container) {
+        if (container instanceof Optional) {
+            final Optional<?> optional = (Optional<?>) container;
+            return optional.isPresent() ? Collections.singleton(optional.get()).iterator() : Collections.emptyIterator();
+        }
+        return ((Iterable<?>) container).iterator();
+    }
+
+    /**
+     * @param type    A class.
+     * @param options The StringRepresentationOptions object.
+     * @return The name of the class, full or simple according to the options.
+     */
+    private static String getTypeName(Class type, StringRepresentationOptions options) {
+        return options.isFullTypeName() ? type.getName() : type.getSimpleName();
+    }
+
+    /**
+     * A comparison of a value in the first graph to the value at the same path in the second graph.
+     */
+    private static final class Comparison {
+
+        /**
+         * The comparison of the values holding these values, or null for the read objects.
+         */
+        private final Comparison parent;
+
+        /**
+         * The last segment of the path (.field, [index] or [key]), or the type name of the read objects.
+         */
+        private final String segment;
+
+        private final Object before;
+
+        private final Object after;
+
+        Comparison(Comparison parent, String segment, Object before, Object after) {
+            this.parent = parent;
+            this.segment = segment;
+            this.before = before;
+            this.after = after;
+        }
+    }
+
+    /**
+     * An iterator over the elements of an array of any component type. Elements of arrays of primitive types are returned boxed.
+     */
+    private static final class ArrayIterator implements Iterator<Object> {
+
+        private final Object array;
+
+        private final int length;
+
+        private int index;
+
+        ArrayIterator(Object array) {
+            this.array = array;
+            this.length = Array.getLength(array);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < length;
+        }
+
+        @Override
+        public Object next() {
+            return Array.get(array, index++);
+        }
+    }
+}
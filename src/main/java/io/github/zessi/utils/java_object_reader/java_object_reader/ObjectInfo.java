@@ -1,5 +1,8 @@
 package io.github.zessi.utils.java_object_reader.java_object_reader;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 /**
  * A class representing Object information when displayed as a String.
  */
@@ -35,7 +38,10 @@ abstract class ObjectInfo implements StringRepresentable {
         /*if (object == null) throw new IllegalArgumentException("null first parameter");*/
         if (options == null) throw new IllegalArgumentException("null second parameter");
         this.object = object;
-        if (object != null) {
+        if (object instanceof SnapshotNode) {
+            //A node of a Snapshot is represented as the object it was captured from.
+            this.type = ((SnapshotNode) object).getType();
+        } else if (object != null) {
             this.type = object.getClass();
         } else {
             this.type = null;
@@ -88,6 +94,120 @@ abstract class ObjectInfo implements StringRepresentable {
         return options.getObjectMetaValueSeparator();
     }
 
+    /**
+     * @return A String representing the value part of the String representation. The String is built by writing the value part to a StringBuilder.
+     */
+    @Override
+    public String getValueStringRepresentation() {
+        final StringBuilder builder = new StringBuilder();
+        try {
+            writeValueStringRepresentation(builder);
+        } catch (IOException e) {
+            //A StringBuilder never throws an IOException, this is only here to satisfy the Appendable contract.
+            throw new UncheckedIOException(e);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Writes the value part of the String representation of this object to the provided Appendable. <br>
+     * The value is written by a {@link Traversal}, which walks the nested objects without recursion, so nested objects are neither copied once per nesting level nor limited by the
+     * size of the thread's stack.
+     *
+     * @param out The Appendable that the value part will be written to.
+     * @throws IOException If the Appendable fails to append.
+     */
+    @Override
+    public void writeValueStringRepresentation(Appendable out) throws IOException {
+        Traversal.writeValue(this, out, estimateSizes());
+    }
+
+    /**
+     * Writes both parts of this object to the provided Appendable (See StringRepresentable#writeTo). When back-references are enabled (See
+     * StringRepresentationOptions#isBackReferences), the id of this object, which is the read object, follows the meta part. When size estimates are enabled (See
+     * StringRepresentationOptions#isSizeEstimates), the sizes of the graph are estimated first, and the sizes of this object follow the meta part and the id.
+     *
+     * @param out The Appendable that the full String representation will be written to.
+     * @throws IOException If the Appendable fails to append.
+     */
+    @Override
+    public void writeTo(Appendable out) throws IOException {
+        final SizeEstimate sizes = estimateSizes();
+        writeMetaStringRepresentation(out);
+        if (options.isBackReferences() && !isLeaf()) out.append(Traversal.ID_PREFIX).append(String.valueOf(Traversal.ROOT_ID));
+        if (sizes != null) sizes.writeSizes(object, out);
+        out.append(getMetaValueSeparator());
+        Traversal.writeValue(this, out, sizes);
+    }
+
+    /**
+     * @return The estimated sizes of the graph of this object if they are enabled by the options (See StringRepresentationOptions#isSizeEstimates), null otherwise. The sizes
+     * of values without children and of the nodes of Snapshots are not estimated.
+     */
+    SizeEstimate estimateSizes() {
+        if (!options.isSizeEstimates() || isLeaf() || (object instanceof SnapshotNode)) return null;
+        return SizeEstimator.estimate(object, options, true);
+    }
+
+    /**
+     * Writes the meta part, the meta-value separator and the beginning of the value part of this object. This is how a Traversal starts writing a child object.
+     *
+     * @param out The Appendable that will be written to.
+     * @return true if this object has children that should be written next (See writeValueHead), false if the object was written completely.
+     * @throws IOException If the Appendable fails to append.
+     */
+    boolean writeHead(Appendable out) throws IOException {
+        writeMetaStringRepresentation(out);
+        out.append(getMetaValueSeparator());
+        return writeValueHead(out);
+    }
+
+    /**
+     * Writes the beginning of the value part of this object. An object without children writes its whole value part. <br>
+     * An object with children (fields or elements) writes the part preceding its children and resets its position to the first child.
+     *
+     * @param out The Appendable that will be written to.
+     * @return true if this object has children that should be written next using hasNextChild, writeNextChild and writeValueTail, false if the value part was written completely.
+     * @throws IOException If the Appendable fails to append.
+     */
+    abstract boolean writeValueHead(Appendable out) throws IOException;
+
+    /**
+     * @return true if this object has no contents of its own (values of primitive types and nulls), false otherwise. Leaves are not subject to the depth and object budgets.
+     */
+    boolean isLeaf() {
+        return false;
+    }
+
+    /**
+     * @return true if this object has more children to be written, false otherwise. Objects without children always return false.
+     */
+    boolean hasNextChild() {
+        return false;
+    }
+
+    /**
+     * Writes the next child of this object. The separator and the indentation preceding the child are written. If the child is a value that can be written directly (a primitive,
+     * a null, a reference that is currently being processed, ... etc.), then it is written completely.
+     * Otherwise, the ObjectInfo of the child is returned so that the Traversal writes it.
+     *
+     * @param out The Appendable that will be written to.
+     * @return The ObjectInfo of the child that should be written next using writeHead, or null if the child was written completely.
+     * @throws IOException If the Appendable fails to append.
+     */
+    ObjectInfo writeNextChild(Appendable out) throws IOException {
+        throw new UnsupportedOperationException("The object has no children");
+    }
+
+    /**
+     * Writes the end of the value part of this object. Only called for objects of which writeValueHead returned true, after all of their children were written.
+     *
+     * @param out The Appendable that will be written to.
+     * @throws IOException If the Appendable fails to append.
+     */
+    void writeValueTail(Appendable out) throws IOException {
+    }
+
     /**
      * A static factory method that is used to create objects of ObjectInfo type and return them.
      *
@@ -96,32 +216,82 @@ abstract class ObjectInfo implements StringRepresentable {
      * @return An object of a type implementing the ObjectInfo class which is going to be used in String representation of the input object.
      */
     static ObjectInfo getObjectInfo(Object object, StringRepresentationOptions options, CircularReferencePrevention crp) {
-        if (options == null) throw new IllegalArgumentException("null 2nd argument");
-        if (crp == null) throw new IllegalArgumentException("null 3rd argument");
+        return getObjectInfo(object, (object != null) ? NodeKind.of(object.getClass()) : NodeKind.OBJECT, options, crp);
+    }
+
+    /**
+     * A static factory method that is used to create objects of ObjectInfo type and return them, for an object that was already classified by the caller.
+     *
+     * @param object  The object of which the ObjectInfo instance will be created.
+     * @param kind    The kind of the class of the object (See NodeKind). It is ignored if the object is null.
+     * @param options The StringRepresentationOptions object that is going to be used in the ObjectInfo instance
+     * @return An object of a type implementing the ObjectInfo class which is going to be used in String representation of the input object.
+     */
+    static ObjectInfo getObjectInfo(Object object, byte kind, StringRepresentationOptions options, CircularReferencePrevention crp) {
+        if (options == null) throw new IllegalArgumentException("null 3rd argument");
+        if (crp == null) throw new IllegalArgumentException("null 4th argument");
         //Handling a null object input with a specific implementation of ObjectInfo that should be used to represent null objects
         if (object == null) return new ObjectInfo(object, options) {
             @Override
-            public String getValueStringRepresentation() {
-                return "";
+            boolean writeValueHead(Appendable out) {
+                return false;
+            }
+
+            @Override
+            boolean isLeaf() {
+                return true;
+            }
+
+            @Override
+            boolean writeHead(Appendable out) throws IOException {
+                out.append(options.getNullRepresentation());
+                return false;
             }
 
             @Override
             public String getFullStringRepresentation() {
                 return options.getNullRepresentation();
             }
+
+            @Override
+            public void writeTo(Appendable out) throws IOException {
+                out.append(options.getNullRepresentation());
+            }
         };
 
+        //If the input object is of a primitive type, then a PrimitiveObjectInfo object will be created and returned
+        if (NodeKind.isValue(kind)) return new PrimitiveObjectInfo(object, options);
+
+        //If the input object is a node of a Snapshot, then the ObjectInfo reading the form of the node will be created and returned
+        if (kind == NodeKind.NODE) {
+            switch (((SnapshotNode) object).getForm()) {
+                case SnapshotNode.ARRAY:
+                    return new ArrayObjectInfo(object, options, crp);
+                case SnapshotNode.ITERABLE:
+                    return new IterableObjectInfo(object, options, crp);
+                case SnapshotNode.MAP:
+                    return new MapObjectInfo(object, options, crp);
+                case SnapshotNode.RENDERED:
+                    return new RenderedObjectInfo(object, null, options);
+                default:
+                    return new NonPrimitiveObjectInfo(object, options, crp);
+            }
+        }
+
+        //If the input object has a TypeRenderer, then a RenderedObjectInfo object writing its rendered value will be created and returned
+        final TypeRenderer renderer = TypeRenderers.getRenderer(object.getClass(), options);
+        if (renderer != null) return new RenderedObjectInfo(object, renderer, options);
+
         //If the input object is of array type, then an ArrayObjectInfo object will be created and returned
-        if (StringRepresentableUtils.isArray(object)) return new ArrayObjectInfo(object, options, crp);
+        if (NodeKind.isArray(kind)) return new ArrayObjectInfo(object, options, crp);
 
-        //Checking if the input object is of a primitive type or not.
-        if (StringRepresentableUtils.isPrimitive(object)) {
-            //If the input object is of a primitive type, then a PrimitiveObjectInfo object will be created and returned
-            return new PrimitiveObjectInfo(object, options);
-        } else {
-            //If the input object is not of a primitive type, then a NonPrimitiveObjectInfo object will be created and returned
-            return new NonPrimitiveObjectInfo(object, options, crp);
+        //If the input object is an Iterable, a Map or an Optional, then it is represented by its logical elements instead of its fields (unless disabled by the options)
+        if (ContainerObjectInfo.isContainer(kind, options)) {
+            return (kind == NodeKind.MAP) ? new MapObjectInfo(object, options, crp) : new IterableObjectInfo(object, options, crp);
         }
+
+        //Otherwise, a NonPrimitiveObjectInfo object representing the fields of the object will be created and returned
+        return new NonPrimitiveObjectInfo(object, options, crp);
     }
 
 }
@@ -1,10 +1,25 @@
 package io.github.zessi.utils.java_object_reader.java_object_reader;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * A class that has methods working as an interface to Java Object Reader functionality
  */
 public class ObjectReader {
 
+    /**
+     * The StringRepresentationOptions object using the default options. It is shared by all the reads using the default options, so that they share the instances that the
+     * options create for each depth (See StringRepresentationOptions#cloneAndAddIndent).
+     */
+    private static final StringRepresentationOptions DEFAULT_OPTIONS = StringRepresentationOptions.Builder.build().get();
+
     /**
      * A method that returns a String representing the input java object. <br>
      * This method calls the other method "static String read(Object object, StringRepresentationOptions options)" using default StringRepresentationOptions
@@ -13,7 +28,7 @@ public class ObjectReader {
      * @return The String representation of the input object according to the default StringRepresentationOptions settings.
      */
     public static String read(Object object) {
-        return read(object, StringRepresentationOptions.Builder.build().get());
+        return read(object, DEFAULT_OPTIONS);
     }
 
     /**
@@ -24,18 +39,295 @@ public class ObjectReader {
      * @return The String representation of the input object according the input StringRepresentationOptions object.
      */
     public static String read(Object object, StringRepresentationOptions options) {
+        try {
+            return read(object, options, new StringBuilder()).toString();
+        } catch (IOException e) {
+            //A StringBuilder never throws an IOException, this is only here to satisfy the Appendable contract.
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A method that writes the String representation of the input java object to the provided Appendable <br>
+     * The representation is written in a single pass straight into the Appendable (Writer, StringBuilder, log buffer, ... etc.) without building intermediate Strings for the
+     * nested objects. The written text is identical to the String returned from "static String read(Object object, StringRepresentationOptions options)". <br>
+     * If the options limit the length of the representation (See StringRepresentationOptions#getMaxLength), then the read stops as soon as the limit is reached and the
+     * truncation marker is written at the end. If the options request the JSON format (See OutputFormat#JSON), then the object is written as a JSON document instead.
+     *
+     * @param object     The object of which the String representation should be written
+     * @param options    The StringRepresentationOptions object that should be used control the behavior of the String representation of the input object.
+     * @param appendable The Appendable that the String representation will be written to.
+     * @param <A>        The type of the Appendable
+     * @return The same Appendable that was provided, to allow chaining.
+     * @throws IOException If the Appendable fails to append.
+     */
+    public static <A extends Appendable> A read(Object object, StringRepresentationOptions options, A appendable) throws IOException {
+        if (options == null) throw new IllegalArgumentException("null 2nd argument");
+        if (appendable == null) throw new IllegalArgumentException("null 3rd argument");
+        if (options.getOutputFormat() == OutputFormat.JSON) {
+            JsonWriter.write(object, options, appendable);
+            return appendable;
+        }
         //Creating a CircularReferencePrevention object associated with the input object's String representation
         final CircularReferencePrevention circularReferencePrevention = new CircularReferencePrevention();
-        return ObjectInfo.getObjectInfo(object, options, circularReferencePrevention).getFullStringRepresentation();
+        final ObjectInfo objectInfo = ObjectInfo.getObjectInfo(object, options, circularReferencePrevention);
+        if (options.getMaxLength() == Integer.MAX_VALUE) {
+            objectInfo.writeTo(appendable);
+            return appendable;
+        }
+        try {
+            objectInfo.writeTo(new LengthLimitedAppendable(appendable, options.getMaxLength()));
+        } catch (LengthLimitedAppendable.LimitReachedException e) {
+            //The truncation marker was already written, the rest of the representation is skipped.
+        }
+        return appendable;
+    }
+
+    /**
+     * A method that writes the String representation of the input java object to a file, encoded as UTF-8. <br>
+     * The representation is streamed into memory-mapped regions of the file (See MappedFileSink), so the heap usage does not depend on the size of the representation. The file
+     * is created if it doesn't exist, and its content is replaced otherwise.
+     *
+     * @param object  The object of which the String representation should be written
+     * @param options The StringRepresentationOptions object that should be used control the behavior of the String representation of the input object.
+     * @param path    The path of the file.
+     * @return The number of bytes written to the file.
+     * @throws IOException If the file cannot be written.
+     */
+    public static long dump(Object object, StringRepresentationOptions options, Path path) throws IOException {
+        if (options == null) throw new IllegalArgumentException("null 2nd argument");
+        if (path == null) throw new IllegalArgumentException("null 3rd argument");
+        final MappedFileSink sink = MappedFileSink.open(path);
+        try {
+            read(object, options, sink);
+        } finally {
+            sink.close();
+        }
+        //The size is read once the sink is closed, as closing it writes the pending surrogate (if any).
+        return sink.getSize();
+    }
+
+    /**
+     * A method that reads many independent objects at once, each of them on the provided Executor. <br>
+     * The reads share the class metadata (the cached layouts and readers of the classes) and the options' instances, so each class is only inspected once for all the objects.
+     * Any Executor can be used, e.g. a fixed thread pool, ForkJoinPool.commonPool() or, on JDK 21+, Executors.newVirtualThreadPerTaskExecutor().
+     *
+     * @param objects  The objects of which the String representations should be returned
+     * @param options  The StringRepresentationOptions object that should be used control the behavior of the String representations of the objects.
+     * @param executor The Executor that the reads will be executed on.
+     * @return A list of futures completed with the String representations of the objects, in the order of the provided collection.
+     */
+    public static List<CompletableFuture<String>> readAll(Collection<?> objects, StringRepresentationOptions options, Executor executor) {
+        if (objects == null) throw new IllegalArgumentException("null 1st argument");
+        if (options == null) throw new IllegalArgumentException("null 2nd argument");
+        if (executor == null) throw new IllegalArgumentException("null 3rd argument");
+        final List<CompletableFuture<String>> result = new ArrayList<>(objects.size());
+        for (Object object : objects) {
+            result.add(CompletableFuture.supplyAsync(() -> read(object, options), executor));
+        }
+        return result;
+    }
+
+    /**
+     * A method that reads many independent objects at once on the provided Executor (See readAll(Collection, StringRepresentationOptions, Executor)) and writes their String
+     * representations to the provided Appendable, in the order of the provided collection and separated by the options' new line. <br>
+     * Each representation is written as soon as it and all the representations preceding it are complete.
+     *
+     * @param objects    The objects of which the String representations should be written
+     * @param options    The StringRepresentationOptions object that should be used control the behavior of the String representations of the objects.
+     * @param executor   The Executor that the reads will be executed on.
+     * @param appendable The Appendable that the String representations will be written to.
+     * @param <A>        The type of the Appendable
+     * @return The same Appendable that was provided, to allow chaining.
+     * @throws IOException                                 If the Appendable fails to append.
+     * @throws java.util.concurrent.CompletionException If one of the reads fails.
+     */
+    public static <A extends Appendable> A readAll(Collection<?> objects, StringRepresentationOptions options, Executor executor, A appendable) throws IOException {
+        if (appendable == null) throw new IllegalArgumentException("null 4th argument");
+        final List<CompletableFuture<String>> futures = readAll(objects, options, executor);
+        for (int i = 0; i < futures.size(); i++) {
+            if (i > 0) appendable.append(options.getNewLine());
+            appendable.append(futures.get(i).join());
+            //The representation was written, so it doesn't need to be retained until all the representations are written.
+            futures.set(i, null);
+        }
+        return appendable;
+    }
+
+    /**
+     * A method that returns a handle of the String representation of the input java object using the default StringRepresentationOptions. <br>
+     * See "static LazyRepresentation lazy(Object object, StringRepresentationOptions options)"
+     *
+     * @param object The object of which the String representation should be produced when it is first requested.
+     * @return The handle of the String representation of the input object.
+     */
+    public static LazyRepresentation lazy(Object object) {
+        return lazy(object, DEFAULT_OPTIONS);
+    }
+
+    /**
+     * A method that returns a handle of the String representation of the input java object, without reading the object. <br>
+     * The object is only read the first time LazyRepresentation#toString is called, and the produced String is memoized. This allows passing the handle to a logging call
+     * without reading the object if the message is not logged.
+     *
+     * @param object  The object of which the String representation should be produced when it is first requested.
+     * @param options The StringRepresentationOptions object that should be used control the behavior of the String representation of the input object.
+     * @return The handle of the String representation of the input object.
+     */
+    public static LazyRepresentation lazy(Object object, StringRepresentationOptions options) {
+        return new LazyRepresentation(object, options);
+    }
+
+    /**
+     * A method that captures the state of the input java object using the default StringRepresentationOptions. <br>
+     * See "static Snapshot capture(Object object, StringRepresentationOptions options)"
+     *
+     * @param object The object of which the state should be captured.
+     * @return The Snapshot of the input object.
+     */
+    public static Snapshot capture(Object object) {
+        return capture(object, DEFAULT_OPTIONS);
+    }
+
+    /**
+     * A method that captures the state of the input java object, without producing its String representation. <br>
+     * The values of the fields and the elements of the object and of all the objects reachable from it are copied into an immutable Snapshot, which can be written later (on
+     * any thread) using Snapshot#render. The written text is identical to the String that "static String read(Object object, StringRepresentationOptions options)" would have
+     * returned at the time of the capture.
+     *
+     * @param object  The object of which the state should be captured.
+     * @param options The StringRepresentationOptions object that should be used to capture the object, and to write the Snapshot by default.
+     * @return The Snapshot of the input object.
+     */
+    public static Snapshot capture(Object object, StringRepresentationOptions options) {
+        return Snapshot.capture(object, options);
+    }
+
+    /**
+     * A method that captures the state of the input java object into a compact binary format, using the default StringRepresentationOptions. <br>
+     * See "static BinarySnapshot encode(Object object, StringRepresentationOptions options)"
+     *
+     * @param object The object of which the state should be captured.
+     * @return The BinarySnapshot of the input object.
+     */
+    public static BinarySnapshot encode(Object object) {
+        return encode(object, DEFAULT_OPTIONS);
+    }
+
+    /**
+     * A method that captures the state of the input java object into a compact binary format held in a direct (off-heap) ByteBuffer. <br>
+     * It captures the same state as "static Snapshot capture(Object object, StringRepresentationOptions options)", but the captured values are not kept as objects on the heap.
+     * The buffer is decoded each time the BinarySnapshot is written (See BinarySnapshot#render), and the written text is identical to the String that
+     * "static String read(Object object, StringRepresentationOptions options)" would have returned at the time of the capture.
+     *
+     * @param object  The object of which the state should be captured.
+     * @param options The StringRepresentationOptions object that should be used to capture the object, and to write the BinarySnapshot by default.
+     * @return The BinarySnapshot of the input object.
+     */
+    public static BinarySnapshot encode(Object object, StringRepresentationOptions options) {
+        return BinarySnapshot.encode(object, options);
+    }
+
+    /**
+     * A method that estimates the memory held by the input java object, using the default StringRepresentationOptions. <br>
+     * See "static SizeEstimate estimateSize(Object object, StringRepresentationOptions options)"
+     *
+     * @param object The object of which the size should be estimated.
+     * @return The SizeEstimate of the input object.
+     */
+    public static SizeEstimate estimateSize(Object object) {
+        return estimateSize(object, DEFAULT_OPTIONS);
+    }
+
+    /**
+     * A method that estimates the memory held by the input java object, without producing its String representation. <br>
+     * The graph of the object is walked through the same fields as the ones that are read (See StringRepresentationOptions#getFieldFilter), and the shallow size of each reached
+     * object is estimated from the memory layout of the running JVM. The returned SizeEstimate holds the shallow and the retained sizes of the object, the number of reached
+     * objects and the shallow sizes summed by class. The budgets of the options are not applied, as the whole graph is measured.
+     *
+     * @param object  The object of which the size should be estimated.
+     * @param options The StringRepresentationOptions object that should be used to reach the objects of the graph.
+     * @return The SizeEstimate of the input object.
+     */
+    public static SizeEstimate estimateSize(Object object, StringRepresentationOptions options) {
+        if (options == null) throw new IllegalArgumentException("null 2nd argument");
+        return SizeEstimator.estimate(object, options, false);
+    }
+
+    /**
+     * A method that returns the structural differences between two objects, using the default StringRepresentationOptions. <br>
+     * See "static String diff(Object before, Object after, StringRepresentationOptions options)"
+     *
+     * @param before The object before the changes.
+     * @param after  The object after the changes.
+     * @return The differences between the objects, one per line, or an empty String if the objects are identical.
+     */
+    public static String diff(Object before, Object after) {
+        return diff(before, after, DEFAULT_OPTIONS);
+    }
+
+    /**
+     * A method that returns the structural differences between two objects. <br>
+     * The objects are walked side by side, field by field (and element by element for arrays, Iterables, Maps and Optionals), and only the paths of the values that differ are
+     * returned, each followed by the String representations of the value before and after the changes, e.g. TypeFour.typeOne.value: Integer:{1} -&gt; Integer:{2} <br>
+     * Values that are the same reference are identical, so they are skipped without being read. Values of primitive types are compared using equals.
+     * An element or an entry that only exists in one of the objects is represented as "&lt;Absent&gt;" in the other object.
+     *
+     * @param before  The object before the changes.
+     * @param after   The object after the changes.
+     * @param options The StringRepresentationOptions object that should be used to walk the objects and to read the values that differ.
+     * @return The differences between the objects, one per line, or an empty String if the objects are identical.
+     */
+    public static String diff(Object before, Object after, StringRepresentationOptions options) {
+        try {
+            return diff(before, after, options, new StringBuilder()).toString();
+        } catch (IOException e) {
+            //A StringBuilder never throws an IOException, this is only here to satisfy the Appendable contract.
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A method that writes the structural differences between two objects to the provided Appendable. The written text is identical to the String returned from
+     * "static String diff(Object before, Object after, StringRepresentationOptions options)".
+     *
+     * @param before     The object before the changes.
+     * @param after      The object after the changes.
+     * @param options    The StringRepresentationOptions object that should be used to walk the objects and to read the values that differ.
+     * @param appendable The Appendable that the differences will be written to.
+     * @param <A>        The type of the Appendable
+     * @return The same Appendable that was provided, to allow chaining.
+     * @throws IOException If the Appendable fails to append.
+     */
+    public static <A extends Appendable> A diff(Object before, Object after, StringRepresentationOptions options, A appendable) throws IOException {
+        if (options == null) throw new IllegalArgumentException("null 3rd argument");
+        if (appendable == null) throw new IllegalArgumentException("null 4th argument");
+        ObjectDiff.writeDiff(before, after, options, appendable);
+        return appendable;
+    }
+
+    /**
+     * A method that reports the mode that the fields of the provided class are read in, when the options request the ReaderMode.METHOD_HANDLES mode. <br>
+     * If a MethodHandleReader cannot be created for the class, then the class falls back to the ReaderMode.REFLECTIVE mode. The reader is created by this call if the class
+     * was not read before.
+     *
+     * @param type The class of which the mode should be reported.
+     * @return ReaderMode.METHOD_HANDLES if the class is read using a MethodHandleReader, ReaderMode.REFLECTIVE otherwise.
+     */
+    public static ReaderMode getReaderMode(Class type) {
+        if (type == null) throw new IllegalArgumentException("null input");
+        final byte kind = NodeKind.of(type);
+        if (NodeKind.isValue(kind) || NodeKind.isArray(kind) || type.isInterface()) return ReaderMode.REFLECTIVE;
+        return (MethodHandleReader.getMethodHandleReader(type) != null) ? ReaderMode.METHOD_HANDLES : ReaderMode.REFLECTIVE;
     }
 
     /**
      * A convenient method that is used to return a StringRepresentationOptions object using default options
      *
-     * @return A StringRepresentationOptions object using the default settings.
+     * @return A StringRepresentationOptions object using the default settings. The object is immutable, so the same object is returned by every call.
      */
     public static StringRepresentationOptions getDefaultOptions() {
-        return StringRepresentationOptions.Builder.build().get();
+        return DEFAULT_OPTIONS;
     }
 
 }
@@ -0,0 +1,19 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+/**
+ * An enum holding the formats that the String representation can be written in.
+ */
+public enum OutputFormat {
+    /**
+     * The default format, which is shaped by the separators, the indentation and the null representation of the options.
+     */
+    TEXT,
+
+    /**
+     * A strict JSON document on a single line, holding the same information as the TEXT format (the types, the meta parts of the fields, the ids, back-references and the
+     * truncation of the budgets). The separators, the indentation and the null representation of the options are not used. The document is never cut by the length budget
+     * (See StringRepresentationOptions#getMaxLength), as it would not be valid JSON; once the budget is exhausted, no more children are written and the open objects are closed
+     * with a "truncated":true member. The objects are written sequentially even if the options provide a ForkJoinPool.
+     */
+    JSON
+}
@@ -0,0 +1,194 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+
+/**
+ * A class that writes the elements of arrays of primitive types (int[], long[], double[], byte[], char[], boolean[], short[] and float[]). <br>
+ * The elements are read directly from the typed array, so they are neither boxed nor wrapped in ObjectInfo objects, and integral values are written digit by digit without
+ * creating intermediate Strings. The written text is identical to the text written for the elements of the equivalent array of wrapper objects (e.g. Integer[] for int[]).
+ */
+final class PrimitiveArrayWriter {
+
+    /**
+     * The separator that is written between the elements of an array.
+     */
+    private static final String ELEMENT_SEPARATOR = ",\n";
+
+    /**
+     * The Appendable that the elements are written to.
+     */
+    private final Appendable out;
+
+    /**
+     * The out Appendable if it is a StringBuilder, null otherwise. A StringBuilder already appends numbers without creating intermediate Strings.
+     */
+    private final StringBuilder builder;
+
+    /**
+     * The String that is written before the value of every element. It contains the separator, the indentation, the type name and the beginning of the value of the element.
+     */
+    private final String prefix;
+
+    /**
+     * The String that is written after the value of every element.
+     */
+    private final String suffix;
+
+    /**
+     * The writer of the digits of integral values.
+     */
+    private final DecimalWriter decimals;
+
+    /**
+     * A constructor that creates a PrimitiveArrayWriter for arrays of the provided component type.
+     *
+     * @param componentType  The primitive component type of the array.
+     * @param out            The Appendable that the elements will be written to.
+     * @param elementOptions The StringRepresentationOptions object of the elements of the array (The options of the array with one more indent).
+     */
+    private PrimitiveArrayWriter(Class componentType, Appendable out, StringRepresentationOptions elementOptions) {
+        this.out = out;
+        this.builder = (out instanceof StringBuilder) ? (StringBuilder) out : null;
+        this.decimals = new DecimalWriter(out);
+        final Class wrapperType = getWrapperType(componentType);
+        final String typeName = elementOptions.isFullTypeName() ? wrapperType.getName() : wrapperType.getSimpleName();
+        //Characters are quoted the same way PrimitiveObjectInfo quotes them.
+        final String quote = (componentType == char.class) ? "'" : "";
+        this.prefix = ELEMENT_SEPARATOR + elementOptions.getIndents() + typeName + elementOptions.getObjectMetaValueSeparator() + "{" + quote;
+        this.suffix = quote + "}";
+    }
+
+    /**
+     * @param array An array.
+     * @return true if the array's component type is primitive (e.g. int[]), false otherwise (e.g. Integer[] or int[][]).
+     */
+    static boolean isPrimitiveArray(Object array) {
+        return array.getClass().getComponentType().isPrimitive();
+    }
+
+    /**
+     * Writes the String representations of the elements of the provided array of a primitive type, separated by the element separator.
+     * Nothing is written for an empty array. If the array has more elements than the budget of elements of the options, then the truncation marker is written in place of the
+     * remaining elements.
+     *
+     * @param array          The array of a primitive type.
+     * @param out            The Appendable that the elements will be written to.
+     * @param elementOptions The StringRepresentationOptions object of the elements of the array (The options of the array with one more indent).
+     * @throws IOException If the Appendable fails to append.
+     */
+    static void writeElements(Object array, Appendable out, StringRepresentationOptions elementOptions) throws IOException {
+        if (array == null) throw new IllegalArgumentException("null 1st argument");
+        if (!isPrimitiveArray(array)) throw new IllegalArgumentException("Input object is not an array of a primitive type");
+        final PrimitiveArrayWriter writer = new PrimitiveArrayWriter(array.getClass().getComponentType(), out, elementOptions);
+        final int length = Array.getLength(array);
+        final int count = Math.min(length, elementOptions.getMaxElements());
+        if (array instanceof int[]) writer.write((int[]) array, count);
+        else if (array instanceof long[]) writer.write((long[]) array, count);
+        else if (array instanceof double[]) writer.write((double[]) array, count);
+        else if (array instanceof byte[]) writer.write((byte[]) array, count);
+        else if (array instanceof char[]) writer.write((char[]) array, count);
+        else if (array instanceof boolean[]) writer.write((boolean[]) array, count);
+        else if (array instanceof short[]) writer.write((short[]) array, count);
+        else writer.write((float[]) array, count);
+        if (count < length) {
+            if (count > 0) out.append(ELEMENT_SEPARATOR);
+            elementOptions.writeIndents(out);
+            out.append(Traversal.TRUNCATION_MARKER);
+        }
+    }
+
+    private void write(int[] array, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            writePrefix(i);
+            decimals.write(array[i]);
+            out.append(suffix);
+        }
+    }
+
+    private void write(long[] array, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            writePrefix(i);
+            decimals.write(array[i]);
+            out.append(suffix);
+        }
+    }
+
+    private void write(short[] array, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            writePrefix(i);
+            decimals.write(array[i]);
+            out.append(suffix);
+        }
+    }
+
+    private void write(byte[] array, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            writePrefix(i);
+            decimals.write(array[i]);
+            out.append(suffix);
+        }
+    }
+
+    private void write(char[] array, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            writePrefix(i);
+            out.append(array[i]);
+            out.append(suffix);
+        }
+    }
+
+    private void write(boolean[] array, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            writePrefix(i);
+            out.append(array[i] ? "true" : "false");
+            out.append(suffix);
+        }
+    }
+
+    private void write(double[] array, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            writePrefix(i);
+            //A StringBuilder writes the digits of floating point values directly, other Appendables need the String produced by Double.toString.
+            if (builder != null) builder.append(array[i]);
+            else out.append(Double.toString(array[i]));
+            out.append(suffix);
+        }
+    }
+
+    private void write(float[] array, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            writePrefix(i);
+            if (builder != null) builder.append(array[i]);
+            else out.append(Float.toString(array[i]));
+            out.append(suffix);
+        }
+    }
+
+    /**
+     * Writes the prefix of the element at the provided index. The first element is not preceded by the element separator.
+     *
+     * @param index The index of the element.
+     * @throws IOException If the Appendable fails to append.
+     */
+    private void writePrefix(int index) throws IOException {
+        if (index == 0) out.append(prefix, ELEMENT_SEPARATOR.length(), prefix.length());
+        else out.append(prefix);
+    }
+
+    /**
+     * @param primitiveType A primitive type.
+     * @return The wrapper type of the provided primitive type (e.g. Integer for int).
+     */
+    private static Class getWrapperType(Class primitiveType) {
+        if (primitiveType == int.class) return Integer.class;
+        if (primitiveType == long.class) return Long.class;
+        if (primitiveType == double.class) return Double.class;
+        if (primitiveType == byte.class) return Byte.class;
+        if (primitiveType == char.class) return Character.class;
+        if (primitiveType == boolean.class) return Boolean.class;
+        if (primitiveType == short.class) return Short.class;
+        if (primitiveType == float.class) return Float.class;
+        throw new IllegalArgumentException("Input class is not a primitive type");
+    }
+}
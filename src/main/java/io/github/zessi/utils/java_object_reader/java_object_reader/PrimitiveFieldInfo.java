@@ -1,6 +1,6 @@
 package io.github.zessi.utils.java_object_reader.java_object_reader;
 
-import java.lang.reflect.Field;
+import java.io.IOException;
 
 /**
  * An immutable class that is used for the String representation of a java field of a primitive type <br>
@@ -11,24 +11,27 @@ final class PrimitiveFieldInfo extends FieldInfo {
     /**
      * The main constructor of this class
      *
-     * @param field            The field that will be String represented
+     * @param accessor         The accessor of the field that will be String represented
      * @param definingClass    The class that defines/declares this field
      * @param associatedObject The context object of the class that this field is a part of. If the field is static, then this object should be null
      * @param options          The StringRepresentationOptions object that will be used to control the behavior of the String representation of this field
      */
-    PrimitiveFieldInfo(Field field, Class definingClass, Object associatedObject, StringRepresentationOptions options) {
-        super(field, definingClass, associatedObject, options);
-        if (!StringRepresentableUtils.isPrimitive(this.getFieldType())) throw new IllegalArgumentException("The field's data type is not of a primitive type.");
+    PrimitiveFieldInfo(FieldAccessor accessor, Class definingClass, Object associatedObject, StringRepresentationOptions options) {
+        super(accessor, definingClass, associatedObject, options);
     }
 
     /**
-     * @return String representation of this field's value
+     * Writes the String representation of this field's value to the provided Appendable.
+     *
+     * @param out The Appendable that the value will be written to.
+     * @throws IOException If the Appendable fails to append.
      */
     @Override
-    public String getValueStringRepresentation() {
-        if (this.getValue() == null) return this.getOptions().getNullRepresentation();
-        if (this.getFieldType() == String.class) return "\"" + this.getValue().toString() + "\"";
-        if ((this.getFieldType() == Character.class) || (this.getFieldType() == char.class)) return "\'" + this.getValue().toString() + "\'";
-        return this.getValue().toString();
+    public void writeValueStringRepresentation(Appendable out) throws IOException {
+        if (!this.getAccessor().isAccessible()) out.append(FieldAccessor.INACCESSIBLE_REPRESENTATION);
+        else if (this.getValue() == null) out.append(this.getOptions().getNullRepresentation());
+        else if (this.getFieldType() == String.class) StringValueWriter.writeQuoted((String) this.getValue(), out, this.getOptions());
+        else if ((this.getFieldType() == Character.class) || (this.getFieldType() == char.class)) out.append('\'').append(this.getValue().toString()).append('\'');
+        else out.append(this.getValue().toString());
     }
 }
@@ -1,5 +1,7 @@
 package io.github.zessi.utils.java_object_reader.java_object_reader;
 
+import java.io.IOException;
+
 /**
  * A class extending the abstract class ObjectInfo <br>
  * This class should be used for String representation of objects that are primitive. Like int/Integer, float/Float, char/Character, String, ... etc. <br>
@@ -9,22 +11,37 @@ class PrimitiveObjectInfo extends ObjectInfo {
     /**
      * A constructor that is used to create an instance of PrimitiveObjectInfo.
      *
-     * @param object  The object that will be used for the String representation.
+     * @param object  The object that will be used for the String representation. It should be of a primitive type, as classified by the caller (See NodeKind).
      * @param options The StringRepresentationOptions object that will be used to control the behavior of the String representation of this object according to its options.
      */
     PrimitiveObjectInfo(Object object, StringRepresentationOptions options) {
         super(object, options);
-        if (!StringRepresentableUtils.isPrimitive(object)) throw new IllegalArgumentException("Input object is not of a primitive type.");
+        if (object == null) throw new IllegalArgumentException("null first parameter");
+    }
+
+    /**
+     * Writes the value of the object associated with this PrimitiveObjectInfo object to the provided Appendable. Primitive objects have no children, so the whole value is written.
+     *
+     * @param out The Appendable that the value will be written to.
+     * @return false, as primitive objects have no children.
+     * @throws IOException If the Appendable fails to append.
+     */
+    @Override
+    boolean writeValueHead(Appendable out) throws IOException {
+        out.append('{');
+        if (this.getType() == String.class) StringValueWriter.writeQuoted((String) this.getObject(), out, this.getOptions());
+        else if ((this.getType() == Character.class) || (this.getType() == char.class)) out.append('\'').append(this.getObject().toString()).append('\'');
+        else out.append(this.getObject().toString());
+        out.append('}');
+        return false;
     }
 
     /**
-     * @return A String representing the value of the object associated with this PrimitiveObjectInfo object.
+     * @return true, as primitive objects have no contents of their own.
      */
     @Override
-    public String getValueStringRepresentation() {
-        if (this.getType() == String.class) return "{\"" + this.getObject().toString() + "\"}";
-        if ((this.getType() == Character.class) || (this.getType() == char.class)) return "{\'" + this.getObject() + "\'}";
-        return "{" + this.getObject().toString() + "}";
+    boolean isLeaf() {
+        return true;
     }
 
 
@@ -0,0 +1,19 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+/**
+ * An enum holding the modes that can be used to read the fields of non-primitive objects.
+ * Both modes produce the same String representation.
+ */
+public enum ReaderMode {
+    /**
+     * The fields are read one by one through their FieldAccessor and wrapped in FieldInfo objects. Primitive values are boxed.
+     */
+    REFLECTIVE,
+
+    /**
+     * The fields are read through getter MethodHandles that are resolved once per class and typed exactly to each field, so primitive values are written without being
+     * boxed and no FieldInfo objects are created. No code is generated per class. If a reader cannot be created for a class, then that class falls back to the REFLECTIVE mode.
+     * Use ObjectReader#getReaderMode(Class) to find out which mode a class is running in.
+     */
+    METHOD_HANDLES
+}
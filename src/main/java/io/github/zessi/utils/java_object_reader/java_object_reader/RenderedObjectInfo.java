@@ -0,0 +1,55 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.io.IOException;
+
+/**
+ * A class extending the abstract class ObjectInfo <br>
+ * This class should be used for String representation of objects that have a TypeRenderer (See TypeRenderers). The object is written as its rendered value, enclosed like the
+ * values of primitive types, and the objects it references are not read. <br>
+ * A node of a Snapshot of the RENDERED form holds the value that was rendered when it was captured, which is written as is.
+ */
+class RenderedObjectInfo extends ObjectInfo {
+
+    /**
+     * The renderer of the object, or null if the object is a node of a Snapshot.
+     */
+    private final TypeRenderer renderer;
+
+    /**
+     * A constructor that is used to create an instance of RenderedObjectInfo.
+     *
+     * @param object   The object that will be used for the String representation, or a node of a Snapshot of the RENDERED form.
+     * @param renderer The renderer of the object, or null if the object is a node of a Snapshot.
+     * @param options  The StringRepresentationOptions object that will be used to control the behavior of the String representation of this object according to its options.
+     */
+    RenderedObjectInfo(Object object, TypeRenderer renderer, StringRepresentationOptions options) {
+        super(object, options);
+        if ((renderer == null) && !(object instanceof SnapshotNode)) throw new IllegalArgumentException("null 2nd argument");
+        this.renderer = renderer;
+    }
+
+    /**
+     * Writes the rendered value of the object associated with this RenderedObjectInfo object to the provided Appendable.
+     *
+     * @param out The Appendable that the value will be written to.
+     * @return false, as rendered objects have no children.
+     * @throws IOException If the Appendable fails to append.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    boolean writeValueHead(Appendable out) throws IOException {
+        out.append('{');
+        if (renderer != null) renderer.render(this.getObject(), out, this.getOptions());
+        else out.append(((SnapshotNode) this.getObject()).getRendered());
+        out.append('}');
+        return false;
+    }
+
+    /**
+     * @return true, as rendered objects are written as a single value.
+     */
+    @Override
+    boolean isLeaf() {
+        return true;
+    }
+}
@@ -0,0 +1,137 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable class holding the estimated memory held by an object graph, in bytes (See ObjectReader#estimateSize). <br>
+ * The sizes are estimated from the memory layout of the running JVM (the object header, the sizes of the fields, the lengths of the arrays, the compressed oops and the
+ * object alignment), without reading the contents of the objects other than their references. How the sizes are defined.
+ * <ul>
+ * <li>
+ * The shallow size of an object is the memory taken by the object itself (its header and its fields, or its header and its elements). The shallow size of a String includes its
+ * backing array.
+ * </li>
+ * <li>
+ * The retained size of an object is the sum of the shallow sizes of the object and of the objects that are reached first through it. An object that is shared is counted once,
+ * in the subtree that reaches it first (in the order of the fields and the elements). The Class objects and the enum constants are shared by the whole JVM, so they are not
+ * counted.
+ * </li>
+ * </ul>
+ * The objects are reached through the fields that are read by the options (See StringRepresentationOptions#getFieldFilter), whatever the budgets of the options are.
+ */
+public final class SizeEstimate {
+
+    /**
+     * The String that precedes the sizes of an object, which are written after the meta part of the object (See StringRepresentationOptions#isSizeEstimates).
+     */
+    static final String SIZES_PREFIX = "(shallow=";
+
+    /**
+     * The String that separates the shallow size of an object from its retained size.
+     */
+    static final String SIZES_SEPARATOR = ",retained=";
+
+    /**
+     * The String that follows the sizes of an object.
+     */
+    static final String SIZES_SUFFIX = ")";
+
+    private final long shallowSize;
+
+    private final long retainedSize;
+
+    private final int objectCount;
+
+    /**
+     * The sums of the shallow sizes of the objects of each class, from the largest to the smallest.
+     */
+    private final Map<Class, Long> shallowSizesByClass;
+
+    /**
+     * The reached objects (compared by identity) mapped to their retained sizes, or null if they were not recorded.
+     */
+    private final Map<Object, Long> retainedSizes;
+
+    /**
+     * A constructor that creates an estimate holding the provided sizes.
+     *
+     * @param shallowSize   The shallow size of the root.
+     * @param retainedSize  The retained size of the root.
+     * @param objectCount   The number of counted objects.
+     * @param classSizes    The sums of the shallow sizes of the objects of each class.
+     * @param retainedSizes The reached objects mapped to their retained sizes, or null if they were not recorded.
+     */
+    SizeEstimate(long shallowSize, long retainedSize, int objectCount, Map<Class, long[]> classSizes, Map<Object, Long> retainedSizes) {
+        this.shallowSize = shallowSize;
+        this.retainedSize = retainedSize;
+        this.objectCount = objectCount;
+        final List<Map.Entry<Class, long[]>> entries = new ArrayList<>(classSizes.entrySet());
+        entries.sort((first, second) -> Long.compare(second.getValue()[0], first.getValue()[0]));
+        final Map<Class, Long> sorted = new LinkedHashMap<>();
+        for (Map.Entry<Class, long[]> entry : entries) {
+            sorted.put(entry.getKey(), entry.getValue()[0]);
+        }
+        this.shallowSizesByClass = Collections.unmodifiableMap(sorted);
+        this.retainedSizes = retainedSizes;
+    }
+
+    /**
+     * @return The estimated shallow size of the root of the graph, in bytes. 0 for a null root.
+     */
+    public long getShallowSize() {
+        return shallowSize;
+    }
+
+    /**
+     * @return The estimated retained size of the root of the graph, in bytes, which is the memory held by the whole graph. 0 for a null root.
+     */
+    public long getRetainedSize() {
+        return retainedSize;
+    }
+
+    /**
+     * @return The number of objects that were counted in the retained size of the root.
+     */
+    public int getObjectCount() {
+        return objectCount;
+    }
+
+    /**
+     * @return The sums of the estimated shallow sizes of the objects of each class, in bytes, ordered from the largest to the smallest. This answers which classes hold the
+     * memory of the graph.
+     */
+    public Map<Class, Long> getShallowSizesByClass() {
+        return shallowSizesByClass;
+    }
+
+    /**
+     * @param object An object of the graph.
+     * @return The estimated retained size of the object, or null if the object was not counted or the retained sizes were not recorded.
+     */
+    Long getRetainedSize(Object object) {
+        return (retainedSizes != null) ? retainedSizes.get(object) : null;
+    }
+
+    /**
+     * Writes the sizes of the provided object, e.g. (shallow=24,retained=312). Nothing is written if the object was not counted.
+     *
+     * @param object An object of the graph.
+     * @param out    The Appendable that the sizes will be written to.
+     * @throws IOException If the Appendable fails to append.
+     */
+    void writeSizes(Object object, Appendable out) throws IOException {
+        final Long retained = getRetainedSize(object);
+        if (retained == null) return;
+        out.append(SIZES_PREFIX).append(Long.toString(SizeEstimator.getShallowSize(object))).append(SIZES_SEPARATOR).append(Long.toString(retained)).append(SIZES_SUFFIX);
+    }
+
+    @Override
+    public String toString() {
+        return "SizeEstimate{shallowSize=" + shallowSize + ", retainedSize=" + retainedSize + ", objectCount=" + objectCount + '}';
+    }
+}
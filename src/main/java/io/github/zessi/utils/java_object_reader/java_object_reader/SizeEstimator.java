@@ -0,0 +1,339 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A class that estimates the memory held by an object graph (See SizeEstimate). <br>
+ * The shallow size of an object is estimated from the memory layout of the running JVM, which is read once from the HotSpot VM options (with defaults for the other JVMs).
+ * <ul>
+ * <li>
+ * An instance of a class takes the object header (12 bytes with compressed class pointers, 16 bytes without, 8 bytes on a 32-bit JVM), followed by its instance fields
+ * (including the fields declared by its superclasses), rounded up to the object alignment. The references take 4 bytes with compressed oops, and 8
+ * bytes without. The size is computed once per class and cached.
+ * </li>
+ * <li>
+ * An array takes the object header and its length, followed by its elements, rounded up to the object alignment.
+ * </li>
+ * <li>
+ * A String also holds its backing array (a byte[] holding 1 or 2 bytes per char on JVMs that have compact Strings, a char[] otherwise), which is counted without reading it.
+ * </li>
+ * </ul>
+ * The graph is walked using an explicit stack (like the Traversal), through the same ClassLayouts that are used to read the objects (so the field filter of the options
+ * applies), but through the actual fields of the objects instead of the logical elements of the containers, as the internal structures of the containers are part of the
+ * memory they hold. The logical elements are only walked for a container of which the fields cannot be read (e.g. the JDK collections when java.base is not open). <br>
+ * The retained size of an object is the sum of the shallow sizes of the objects that are reached first through it, so an object that is shared is counted once, in the
+ * subtree that reaches it first. The Class objects and the enum constants are shared by the whole JVM, so they are not counted.
+ */
+final class SizeEstimator {
+
+    /**
+     * true if the JVM is a 64-bit JVM.
+     */
+    private static final boolean IS_64_BIT;
+
+    /**
+     * The size of a reference, in bytes.
+     */
+    static final int REFERENCE_SIZE;
+
+    /**
+     * The size of the header of an object, in bytes.
+     */
+    static final int OBJECT_HEADER_SIZE;
+
+    /**
+     * The offset of the first element of an array, in bytes (the header of the object followed by the length of the array).
+     */
+    static final int ARRAY_BASE_OFFSET;
+
+    /**
+     * The alignment of the objects in the heap, in bytes.
+     */
+    static final int OBJECT_ALIGNMENT;
+
+    /**
+     * true if the Strings of the JVM store their chars in a byte[], with a single byte per char when all of their chars are Latin-1 (Java 9 and later).
+     */
+    private static final boolean COMPACT_STRINGS;
+
+    static {
+        final String dataModel = System.getProperty("sun.arch.data.model");
+        IS_64_BIT = (dataModel != null) ? dataModel.equals("64") : System.getProperty("os.arch", "").contains("64");
+        boolean compressedOops = IS_64_BIT && (Runtime.getRuntime().maxMemory() < 32L * 1024 * 1024 * 1024);
+        boolean compressedClassPointers = compressedOops;
+        int alignment = 8;
+        try {
+            final HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            compressedOops = Boolean.parseBoolean(hotSpot.getVMOption("UseCompressedOops").getValue());
+            compressedClassPointers = Boolean.parseBoolean(hotSpot.getVMOption("UseCompressedClassPointers").getValue());
+            alignment = Integer.parseInt(hotSpot.getVMOption("ObjectAlignmentInBytes").getValue());
+        } catch (RuntimeException | LinkageError e) {
+            //Not a HotSpot JVM (or a 32-bit one, which has no compressed oops), the defaults are kept.
+        }
+        REFERENCE_SIZE = (IS_64_BIT && !compressedOops) ? 8 : 4;
+        OBJECT_HEADER_SIZE = !IS_64_BIT ? 8 : (compressedClassPointers ? 12 : 16);
+        ARRAY_BASE_OFFSET = (int) align(OBJECT_HEADER_SIZE + 4, IS_64_BIT ? 8 : 4);
+        OBJECT_ALIGNMENT = alignment;
+        boolean compactStrings;
+        try {
+            compactStrings = String.class.getDeclaredField("value").getType() == byte[].class;
+        } catch (NoSuchFieldException | RuntimeException e) {
+            compactStrings = false;
+        }
+        COMPACT_STRINGS = compactStrings;
+    }
+
+    /**
+     * The cache holding the shallow size of the instances of each class.
+     */
+    private static final ClassValue<Long> INSTANCE_SIZES = new ClassValue<Long>() {
+        @Override
+        protected Long computeValue(Class<?> type) {
+            long size = OBJECT_HEADER_SIZE;
+            for (Class aClass = type; aClass != null; aClass = aClass.getSuperclass()) {
+                for (Field field : aClass.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) size += getSize(field.getType());
+                }
+            }
+            return align(size, OBJECT_ALIGNMENT);
+        }
+    };
+
+    /**
+     * The value returned by the Frames that have no more children.
+     */
+    private static final Object DONE = new Object();
+
+    /**
+     * The StringRepresentationOptions object that is used to read the objects.
+     */
+    private final StringRepresentationOptions options;
+
+    /**
+     * The objects that were reached (compared by identity), mapped to their retained sizes, which are 0 until their subtrees are complete.
+     */
+    private final Map<Object, Long> retainedSizes = new IdentityHashMap<>();
+
+    /**
+     * The sums of the shallow sizes of the objects of each class.
+     */
+    private final Map<Class, long[]> classSizes = new IdentityHashMap<>();
+
+    /**
+     * The stack of the objects of which the children are being walked. The stack grows as needed.
+     */
+    private Frame[] stack = new Frame[16];
+
+    /**
+     * The number of frames in the stack.
+     */
+    private int size;
+
+    private SizeEstimator(StringRepresentationOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * Estimates the sizes of the provided object graph.
+     *
+     * @param object  The root of the graph.
+     * @param options The StringRepresentationOptions object that is used to read the objects.
+     * @param record  true if the retained size of every object should be kept in the estimate (See SizeEstimate#getRetainedSize(Object)), false if only the totals are needed.
+     * @return The estimate.
+     */
+    static SizeEstimate estimate(Object object, StringRepresentationOptions options, boolean record) {
+        final SizeEstimator estimator = new SizeEstimator(options);
+        final long retained = estimator.walk(object);
+        final long shallow = isCounted(object) ? getShallowSize(object) : 0;
+        return new SizeEstimate(shallow, retained, estimator.retainedSizes.size(), estimator.classSizes, record ? estimator.retainedSizes : null);
+    }
+
+    /**
+     * @param object An object.
+     * @return The estimated shallow size of the object, in bytes. The shallow size of a String includes its backing array.
+     */
+    static long getShallowSize(Object object) {
+        final Class type = object.getClass();
+        if (type.isArray()) return align(ARRAY_BASE_OFFSET + ((long) Array.getLength(object)) * getSize(type.getComponentType()), OBJECT_ALIGNMENT);
+        final long size = INSTANCE_SIZES.get(type);
+        if (type != String.class) return size;
+        final String string = (String) object;
+        final long bytes = COMPACT_STRINGS ? (isLatin1(string) ? string.length() : 2L * string.length()) : 2L * string.length();
+        return size + align(ARRAY_BASE_OFFSET + bytes, OBJECT_ALIGNMENT);
+    }
+
+    /**
+     * Walks the graph of the provided object.
+     *
+     * @param root The root of the graph.
+     * @return The retained size of the root.
+     */
+    private long walk(Object root) {
+        if (!isCounted(root)) return 0;
+        long rootSize = visit(root);
+        while (size > 0) {
+            final Frame top = stack[size - 1];
+            final Object child = top.next();
+            if (child == DONE) {
+                retainedSizes.put(top.object, top.retained);
+                stack[--size] = null;
+                if (size > 0) stack[size - 1].retained += top.retained;
+                else rootSize = top.retained;
+            } else if ((child != null) && isCounted(child) && !retainedSizes.containsKey(child)) {
+                top.retained += visit(child);
+            }
+        }
+        return rootSize;
+    }
+
+    /**
+     * Records an object that is reached for the first time. An object that has children pushes its frame, and its retained size is added to its parent's once its subtree is
+     * complete.
+     *
+     * @param object The object.
+     * @return The retained size of the object if it has no children, 0 otherwise.
+     */
+    private long visit(Object object) {
+        final long shallow = getShallowSize(object);
+        final Class type = object.getClass();
+        final long[] classSize = classSizes.computeIfAbsent(type, aClass -> new long[1]);
+        classSize[0] += shallow;
+        final byte kind = NodeKind.of(type);
+        if (NodeKind.isValue(kind) || (kind == NodeKind.PRIMITIVE_ARRAY)) {
+            retainedSizes.put(object, shallow);
+            return shallow;
+        }
+        retainedSizes.put(object, 0L);
+        if (size == stack.length) stack = Arrays.copyOf(stack, size * 2);
+        stack[size++] = (kind == NodeKind.ARRAY) ? new Frame(object, shallow, (Object[]) object, null, kind)
+                : new Frame(object, shallow, null, ClassLayout.getClassLayout(type, options), kind);
+        return 0;
+    }
+
+    /**
+     * @param object An object.
+     * @return true if the object is counted, false if it is null or shared by the whole JVM (Class objects and enum constants).
+     */
+    private static boolean isCounted(Object object) {
+        return (object != null) && !(object instanceof Class) && (NodeKind.of(object.getClass()) != NodeKind.ENUM);
+    }
+
+    /**
+     * @param type A class.
+     * @return The size of a field or an element of the class, in bytes.
+     */
+    private static int getSize(Class type) {
+        if (!type.isPrimitive()) return REFERENCE_SIZE;
+        if ((type == long.class) || (type == double.class)) return 8;
+        if ((type == int.class) || (type == float.class)) return 4;
+        if ((type == short.class) || (type == char.class)) return 2;
+        return 1;
+    }
+
+    private static long align(long size, int alignment) {
+        return ((size + alignment - 1) / alignment) * alignment;
+    }
+
+    private static boolean isLatin1(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) > 0xFF) return false;
+        }
+        return true;
+    }
+
+    /**
+     * An object of which the children are being walked. The children are the elements of an array, or the values of the instance fields of the ClassLayout that are not of
+     * primitive types, followed by the logical elements of a container of which some fields cannot be read.
+     */
+    private static final class Frame {
+
+        private final Object object;
+
+        private final Object[] array;
+
+        private final ClassLayout layout;
+
+        private final byte kind;
+
+        private int index;
+
+        /**
+         * true if a field that cannot be read was skipped.
+         */
+        private boolean unreadable;
+
+        /**
+         * The logical elements of the container, or null if they are not walked (yet).
+         */
+        private Iterator<?> elements;
+
+        /**
+         * The retained size of the object, which grows as its subtree is walked.
+         */
+        private long retained;
+
+        Frame(Object object, long shallow, Object[] array, ClassLayout layout, byte kind) {
+            this.object = object;
+            this.array = array;
+            this.layout = layout;
+            this.kind = kind;
+            this.retained = shallow;
+        }
+
+        /**
+         * @return The next child, which may be null, or DONE if there are no more children.
+         */
+        Object next() {
+            if (array != null) return (index < array.length) ? array[index++] : DONE;
+            while (index < layout.getFieldCount()) {
+                final FieldAccessor accessor = layout.getFieldAccessor(index++);
+                if ((accessor.getKind() == NodeKind.PRIMITIVE) || Modifier.isStatic(accessor.getField().getModifiers())) continue;
+                if (accessor.isAccessible()) return accessor.get(object);
+                unreadable = true;
+            }
+            if (unreadable && (elements == null) && NodeKind.isContainer(kind)) elements = getElements(object, kind);
+            return ((elements != null) && elements.hasNext()) ? elements.next() : DONE;
+        }
+
+        /**
+         * @param container An Iterable, a Map or an Optional.
+         * @param kind      The kind of the container.
+         * @return The iterator of the logical elements of the container. The keys and the values of a Map are returned one after the other.
+         */
+        private static Iterator<?> getElements(Object container, byte kind) {
+            if (kind == NodeKind.OPTIONAL) return Collections.singleton(((Optional<?>) container).orElse(null)).iterator();
+            if (kind == NodeKind.ITERABLE) return ((Iterable<?>) container).iterator();
+            final Iterator<? extends Map.Entry<?, ?>> entries = ((Map<?, ?>) container).entrySet().iterator();
+            return new Iterator<Object>() {
+                private Map.Entry<?, ?> pending;
+
+                @Override
+                public boolean hasNext() {
+                    return (pending != null) || entries.hasNext();
+                }
+
+                @Override
+                public Object next() {
+                    if (pending != null) {
+                        final Object value = pending.getValue();
+                        pending = null;
+                        return value;
+                    }
+                    pending = entries.next();
+                    return pending.getKey();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+/**
+ * An interface implemented by the ObjectInfo classes of which the children (elements or fields) are independent of each other and are accessed by index, so that ranges of
+ * children can be written separately (by different threads) and concatenated in order. <br>
+ * A slice is a copy of the ObjectInfo that only writes a range of the children, without the beginning and the end of the value. The slice uses its own copy of the
+ * CircularReferencePrevention object, holding the objects on the path from the read object to the sliced object, so the circular references are detected along each branch
+ * exactly like they are detected when the children are written one after the other. See Traversal.
+ */
+interface Sliceable {
+
+    /**
+     * @return The index of the next child to be written.
+     */
+    int getNextChildIndex();
+
+    /**
+     * @return The index after the last child that can be written by slices. Children after it (if any) are written by the ObjectInfo itself.
+     */
+    int getChildLimit();
+
+    /**
+     * @param depth       The depth of the ObjectInfo (The read object is at depth 0).
+     * @param parallelism The number of threads that the slices can be written by.
+     * @return The number of children that each slice should write, or 0 if the children are not worth slicing.
+     */
+    int getSliceSize(int depth, int parallelism);
+
+    /**
+     * @param from The index of the first child of the slice.
+     * @param to   The index after the last child of the slice.
+     * @return A copy of the ObjectInfo that writes the children in the provided range, using its own copy of the CircularReferencePrevention object.
+     */
+    ObjectInfo slice(int from, int to);
+
+    /**
+     * Moves the position of the ObjectInfo to the provided index, after the children preceding it were written by slices.
+     *
+     * @param index The index of the next child to be written.
+     */
+    void skipChildrenTo(int index);
+}
@@ -0,0 +1,242 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An immutable capture of the state of an object graph at a precise moment, which can be written later (on any thread) without reading the captured objects again. <br>
+ * Capturing only copies the values of the fields and the elements, and leaves the formatting of the text to the time the snapshot is written. How it works.
+ * <ul>
+ * <li>
+ * Each captured object is copied into a compact node holding its class and its values (See SnapshotNode). The values of the fields of primitive types are stored unboxed,
+ * Strings and boxed values are stored by reference, as they are immutable, and the references to other objects are stored as their nodes.
+ * </li>
+ * <li>
+ * Arrays of primitive types are captured as copies of the arrays. Iterables, Maps and Optionals are captured by their logical elements, unless disabled by the options
+ * (See StringRepresentationOptions#isLogicalContainers), in which case they are captured by their fields like any other object.
+ * </li>
+ * <li>
+ * An object is captured once, even if it is referenced many times, so the shared objects and the circular references of the captured graph are kept by the snapshot.
+ * </li>
+ * </ul>
+ * Writing the snapshot produces the same text that reading the captured object would have produced at the time of the capture. The elements exceeding the budget of elements of
+ * the options (See StringRepresentationOptions#getMaxElements) are not captured, which also allows capturing endless Iterables.
+ */
+public final class Snapshot {
+
+    /**
+     * The captured value of the object. A node, a copy of an array of a primitive type, a String, a boxed value or null.
+     */
+    private final Object root;
+
+    /**
+     * The StringRepresentationOptions object that was used to capture the object, which is used to write the snapshot by default.
+     */
+    private final StringRepresentationOptions options;
+
+    /**
+     * A constructor that creates a Snapshot holding the provided captured value.
+     *
+     * @param root    The captured value of the object.
+     * @param options The StringRepresentationOptions object that was used to capture the object.
+     */
+    private Snapshot(Object root, StringRepresentationOptions options) {
+        this.root = root;
+        this.options = options;
+    }
+
+    /**
+     * Captures the provided object and all the objects that are reachable from it.
+     *
+     * @param object  The object to be captured.
+     * @param options The StringRepresentationOptions object that is used to capture the object, and to write the snapshot by default.
+     * @return The snapshot of the object.
+     */
+    static Snapshot capture(Object object, StringRepresentationOptions options) {
+        if (options == null) throw new IllegalArgumentException("null 2nd argument");
+        return new Snapshot(new Capture(options).capture(object), options);
+    }
+
+    /**
+     * @return The StringRepresentationOptions object that was used to capture the object.
+     */
+    public StringRepresentationOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * @return The String representation of the captured object, using the options that were used to capture it.
+     */
+    public String render() {
+        return render(this.options);
+    }
+
+    /**
+     * @param options The StringRepresentationOptions object that should be used control the behavior of the String representation. The structure of the snapshot (e.g. the
+     *                representation of Iterables, Maps and Optionals) was decided by the options that were used to capture it.
+     * @return The String representation of the captured object.
+     */
+    public String render(StringRepresentationOptions options) {
+        try {
+            return render(options, new StringBuilder()).toString();
+        } catch (IOException e) {
+            //A StringBuilder never throws an IOException, this is only here to satisfy the Appendable contract.
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the String representation of the captured object to the provided Appendable (See ObjectReader#read(Object, StringRepresentationOptions, Appendable)).
+     *
+     * @param options    The StringRepresentationOptions object that should be used control the behavior of the String representation.
+     * @param appendable The Appendable that the String representation will be written to.
+     * @param <A>        The type of the Appendable
+     * @return The same Appendable that was provided, to allow chaining.
+     * @throws IOException If the Appendable fails to append.
+     */
+    public <A extends Appendable> A render(StringRepresentationOptions options, A appendable) throws IOException {
+        return ObjectReader.read(this.root, options, appendable);
+    }
+
+    /**
+     * @return The String representation of the captured object, using the options that were used to capture it.
+     */
+    @Override
+    public String toString() {
+        return render();
+    }
+
+    /**
+     * A class that captures a single object graph. The graph is walked without recursion: the nodes are created with the references of the captured objects, and the references
+     * are then replaced by their nodes, so the depth of the graph is not limited by the size of the thread's stack.
+     */
+    private static final class Capture {
+
+        /**
+         * The StringRepresentationOptions object that is used to capture the objects.
+         */
+        private final StringRepresentationOptions options;
+
+        /**
+         * The largest number of elements that is captured for each array, Iterable and Map (See getMaxCapturedElements).
+         */
+        private final int maxCapturedElements;
+
+        /**
+         * The captured objects (compared by identity) mapped to their captured values.
+         */
+        private final Map<Object, Object> captured = new IdentityHashMap<>();
+
+        /**
+         * The arrays of references of the nodes that still hold references to captured objects.
+         */
+        private final Deque<Object[]> pending = new ArrayDeque<>();
+
+        Capture(StringRepresentationOptions options) {
+            this.options = options;
+            this.maxCapturedElements = getMaxCapturedElements(options);
+        }
+
+        /**
+         * @param object The object to be captured.
+         * @return The captured value of the object.
+         */
+        Object capture(Object object) {
+            final Object result = captureValue(object);
+            while (!pending.isEmpty()) {
+                final Object[] references = pending.pop();
+                for (int i = 0; i < references.length; i++) {
+                    references[i] = captureValue(references[i]);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * @param value A value of a field or an element of a captured object.
+         * @return The captured value. Nulls, Strings and boxed values are returned as they are, the other objects are captured once and their captured value is returned.
+         */
+        private Object captureValue(Object value) {
+            if (value == null) return value;
+            final Class type = value.getClass();
+            final byte kind = NodeKind.of(type);
+            if (NodeKind.isValue(kind)) return value;
+            final Object existing = captured.get(value);
+            if (existing != null) return existing;
+            final Object result;
+            Object[] references = null;
+            final TypeRenderer renderer = TypeRenderers.getRenderer(type, options);
+            if (renderer != null) {
+                //The rendered value is captured, as the rendered object may change later.
+                result = new SnapshotNode(type, SnapshotNode.RENDERED, null, null, new Object[]{TypeRenderers.render(renderer, value, options)});
+            } else if (NodeKind.isArray(kind)) {
+                final int length = Math.min(Array.getLength(value), maxCapturedElements);
+                if (kind == NodeKind.PRIMITIVE_ARRAY) {
+                    result = Array.newInstance(type.getComponentType(), length);
+                    System.arraycopy(value, 0, result, 0, length);
+                } else {
+                    references = new Object[length];
+                    System.arraycopy(value, 0, references, 0, length);
+                    result = new SnapshotNode(type, SnapshotNode.ARRAY, null, null, references);
+                }
+            } else if (ContainerObjectInfo.isContainer(kind, options)) {
+                references = getCapturedElements(value, maxCapturedElements);
+                result = new SnapshotNode(type, (kind == NodeKind.MAP) ? SnapshotNode.MAP : SnapshotNode.ITERABLE, null, null, references);
+            } else {
+                final SnapshotLayout layout = SnapshotLayout.getSnapshotLayout(type, options);
+                final long[] primitives = new long[layout.getPrimitiveCount()];
+                references = new Object[layout.getReferenceCount()];
+                layout.read(value, primitives, references);
+                result = new SnapshotNode(type, SnapshotNode.OBJECT, layout, primitives, references);
+            }
+            captured.put(value, result);
+            if ((references != null) && (references.length > 0)) pending.push(references);
+            return result;
+        }
+    }
+
+    /**
+     * @param options The StringRepresentationOptions object that is used to capture the objects.
+     * @return The largest number of elements that is captured for each array, Iterable and Map. One element more than the budget of elements is captured, so that the
+     * truncation marker is written for the captured elements exactly like it is written for the captured object.
+     */
+    static int getMaxCapturedElements(StringRepresentationOptions options) {
+        return (int) Math.min(Integer.MAX_VALUE, options.getMaxElements() + 1L);
+    }
+
+    /**
+     * @param container           An Iterable, a Map or an Optional (See ContainerObjectInfo#isContainer).
+     * @param maxCapturedElements The largest number of elements (or entries) that should be captured.
+     * @return The logical elements of the container. The entries of a Map are returned as each key followed by its value.
+     */
+    static Object[] getCapturedElements(Object container, int maxCapturedElements) {
+        final List<Object> elements = new ArrayList<>();
+        if (container instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) container).entrySet()) {
+                if (elements.size() / 2 >= maxCapturedElements) break;
+                elements.add(entry.getKey());
+                elements.add(entry.getValue());
+            }
+        } else {
+            final Iterator<?> iterator = (container instanceof Optional) ? getOptionalIterator((Optional<?>) container) : ((Iterable<?>) container).iterator();
+            while ((elements.size() < maxCapturedElements) && iterator.hasNext()) {
+                elements.add(iterator.next());
+            }
+        }
+        return elements.toArray();
+    }
+
+    private static Iterator<?> getOptionalIterator(Optional<?> optional) {
+        return optional.isPresent() ? Collections.singleton(optional.get()).iterator() : Collections.emptyIterator();
+    }
+}
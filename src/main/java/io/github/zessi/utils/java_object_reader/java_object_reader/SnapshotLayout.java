@@ -0,0 +1,367 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * An immutable class that describes how the fields of the instances of a single class are stored in a SnapshotNode. <br>
+ * The fields of primitive types (int, double, boolean, ... etc.) are stored unboxed in the long[] of the node, and all the other fields (Strings, boxed values and references to
+ * other objects) are stored in the Object[] of the node. Each field gets a slot in one of the two arrays, in the order of the fields of the {@link ClassLayout} of the class. <br>
+ * The values of the fields of primitive types are read with getter MethodHandles that convert them to long values without boxing them. The text written for each field is
+ * identical to the text written by PrimitiveFieldInfo and NonPrimitiveFieldInfo. The fields that cannot be made accessible are stored as null references, and written as
+ * inaccessible. <br>
+ * The layout is created once per class and then cached.
+ */
+final class SnapshotLayout {
+
+    /**
+     * The cache holding the layout of each class. The layout is created on the first request for a class.
+     */
+    private static final ClassValue<SnapshotLayout> LAYOUTS = new ClassValue<SnapshotLayout>() {
+        @Override
+        protected SnapshotLayout computeValue(Class<?> type) {
+            return new SnapshotLayout(ClassLayout.getClassLayout(type));
+        }
+    };
+
+    /**
+     * The MethodType of the getters of the fields of primitive types. (Object)long where the argument is the object holding the field (ignored for static fields).
+     */
+    private static final MethodType PRIMITIVE_GETTER_TYPE = MethodType.methodType(long.class, Object.class);
+
+    /**
+     * The layout of the class, which reads the fields stored in the Object[] and writes the meta parts of the fields.
+     */
+    private final ClassLayout layout;
+
+    /**
+     * The kinds of the fields (See MethodHandleReader#getKind). The fields that cannot be read directly are stored in the Object[] like the fields of the KIND_REFERENCE kind.
+     */
+    private final byte[] kinds;
+
+    /**
+     * The index of each field in the long[] or in the Object[] of the nodes, according to its kind.
+     */
+    private final int[] slots;
+
+    /**
+     * The fields that could not be made accessible (See FieldAccessor#isAccessible), which are leaf fields of the KIND_REFERENCE kind holding null.
+     */
+    private final boolean[] inaccessible;
+
+    /**
+     * The kinds of the fields stored in the long[] of the nodes, in the order of their slots.
+     */
+    private final byte[] primitiveKinds;
+
+    /**
+     * The getters of the fields stored in the long[] of the nodes, null for the other fields.
+     */
+    private final MethodHandle[] primitiveGetters;
+
+    /**
+     * The number of fields stored in the long[] of the nodes.
+     */
+    private final int primitiveCount;
+
+    /**
+     * The number of fields stored in the Object[] of the nodes.
+     */
+    private final int referenceCount;
+
+    /**
+     * A constructor that creates the layout of the class of the provided ClassLayout.
+     *
+     * @param layout The layout of the class.
+     */
+    SnapshotLayout(ClassLayout layout) {
+        this.layout = layout;
+        final int count = layout.getFieldCount();
+        this.kinds = new byte[count];
+        this.slots = new int[count];
+        this.inaccessible = new boolean[count];
+        this.primitiveGetters = new MethodHandle[count];
+        int primitives = 0;
+        int references = 0;
+        for (int i = 0; i < count; i++) {
+            final FieldAccessor accessor = layout.getFieldAccessor(i);
+            byte kind = MethodHandleReader.getKind(accessor.getField().getType());
+            if (!accessor.isAccessible()) {
+                //A field that cannot be read is stored as a null reference, and written as inaccessible like it is when it is read reflectively.
+                this.inaccessible[i] = true;
+                kind = MethodHandleReader.KIND_REFERENCE;
+            } else if (kind > MethodHandleReader.KIND_REFERENCE) {
+                this.primitiveGetters[i] = createPrimitiveGetter(accessor);
+                //A field of which a getter cannot be created is read through its accessor and stored as a boxed value.
+                if (this.primitiveGetters[i] == null) kind = MethodHandleReader.KIND_REFERENCE;
+            }
+            this.kinds[i] = kind;
+            this.slots[i] = (kind > MethodHandleReader.KIND_REFERENCE) ? primitives++ : references++;
+        }
+        this.primitiveCount = primitives;
+        this.referenceCount = references;
+        this.primitiveKinds = new byte[primitives];
+        for (int i = 0; i < count; i++) {
+            if (this.kinds[i] > MethodHandleReader.KIND_REFERENCE) this.primitiveKinds[this.slots[i]] = this.kinds[i];
+        }
+    }
+
+    /**
+     * A static factory method that returns the layout of the provided class. The layout is created on the first call for a class.
+     *
+     * @param type The class of which the layout should be returned.
+     * @return The layout of the provided class.
+     */
+    static SnapshotLayout getSnapshotLayout(Class type) {
+        if (type == null) throw new IllegalArgumentException("null input");
+        return LAYOUTS.get(type);
+    }
+
+    /**
+     * A static factory method that returns the layout of the provided class, storing only the fields that are included by the field filter of the provided options
+     * (See StringRepresentationOptions#getFieldFilter).
+     *
+     * @param type    The class of which the layout should be returned.
+     * @param options The StringRepresentationOptions object that is used to capture the instances of the class.
+     * @return The layout of the provided class.
+     */
+    static SnapshotLayout getSnapshotLayout(Class type, StringRepresentationOptions options) {
+        final FieldSelection selection = options.getFieldSelection();
+        return (selection == null) ? getSnapshotLayout(type) : selection.getSnapshotLayout(type);
+    }
+
+    /**
+     * @return The number of fields.
+     */
+    int getFieldCount() {
+        return kinds.length;
+    }
+
+    /**
+     * @return The number of fields stored in the long[] of the nodes.
+     */
+    int getPrimitiveCount() {
+        return primitiveCount;
+    }
+
+    /**
+     * @return The number of fields stored in the Object[] of the nodes.
+     */
+    int getReferenceCount() {
+        return referenceCount;
+    }
+
+    /**
+     * @param index The index of the field.
+     * @return The kind of the field (See MethodHandleReader#getKind), which is KIND_REFERENCE for the fields of primitive types that cannot be read directly.
+     */
+    byte getKind(int index) {
+        return kinds[index];
+    }
+
+    /**
+     * @param slot The index of a value in the long[] of a node.
+     * @return The kind of the field stored at the provided index.
+     */
+    byte getPrimitiveKind(int slot) {
+        return primitiveKinds[slot];
+    }
+
+    /**
+     * @param index The index of the field.
+     * @return true if the value of the field is written directly (A field of a primitive type, a String or a boxed type, or a field that cannot be made accessible), false if its
+     * value is an object that should be String represented on its own.
+     */
+    boolean isLeaf(int index) {
+        return kinds[index] != MethodHandleReader.KIND_OBJECT;
+    }
+
+    /**
+     * Reads the values of all the fields of the provided object into the provided arrays. The references to other objects are stored as they are, to be replaced by their own
+     * nodes by the Snapshot.
+     *
+     * @param object     The object holding the fields.
+     * @param primitives The array that the values of the fields of primitive types are stored in.
+     * @param references The array that the values of the other fields are stored in.
+     */
+    void read(Object object, long[] primitives, Object[] references) {
+        for (int i = 0; i < kinds.length; i++) {
+            if (kinds[i] > MethodHandleReader.KIND_REFERENCE) primitives[slots[i]] = readPrimitive(i, object);
+            else references[slots[i]] = layout.getFieldAccessor(i).get(object);
+        }
+    }
+
+    /**
+     * @param index      The index of the field.
+     * @param references The Object[] of a node.
+     * @return The value of the field stored in the Object[] of the node.
+     */
+    Object getReference(int index, Object[] references) {
+        return references[slots[index]];
+    }
+
+    /**
+     * Writes the meta part of the field at the provided index. The written text is identical to FieldInfo#writeMetaStringRepresentation.
+     *
+     * @param index   The index of the field.
+     * @param out     The Appendable that the meta part will be written to.
+     * @param options The StringRepresentationOptions object that is used to control the behavior of the String representation of the field.
+     * @throws IOException If the Appendable fails to append.
+     */
+    void writeMeta(int index, Appendable out, StringRepresentationOptions options) throws IOException {
+        layout.writeFieldMeta(index, out, options);
+    }
+
+    /**
+     * Writes the value of a leaf field (See isLeaf(int)) stored in the provided arrays. The written text is identical to PrimitiveFieldInfo#writeValueStringRepresentation.
+     *
+     * @param index      The index of the field.
+     * @param out        The Appendable that the value will be written to.
+     * @param primitives The long[] of the node.
+     * @param references The Object[] of the node.
+     * @param options    The StringRepresentationOptions object that is used to control the behavior of the String representation of the field.
+     * @throws IOException If the Appendable fails to append.
+     */
+    void writeLeafValue(int index, Appendable out, long[] primitives, Object[] references, StringRepresentationOptions options) throws IOException {
+        if (inaccessible[index]) {
+            out.append(FieldAccessor.INACCESSIBLE_REPRESENTATION);
+            return;
+        }
+        final int slot = slots[index];
+        switch (kinds[index]) {
+            case MethodHandleReader.KIND_BOOLEAN:
+                out.append(String.valueOf(primitives[slot] != 0));
+                break;
+            case MethodHandleReader.KIND_BYTE:
+            case MethodHandleReader.KIND_SHORT:
+            case MethodHandleReader.KIND_INT:
+            case MethodHandleReader.KIND_LONG:
+                out.append(String.valueOf(primitives[slot]));
+                break;
+            case MethodHandleReader.KIND_FLOAT:
+                out.append(String.valueOf(Float.intBitsToFloat((int) primitives[slot])));
+                break;
+            case MethodHandleReader.KIND_DOUBLE:
+                out.append(String.valueOf(Double.longBitsToDouble(primitives[slot])));
+                break;
+            case MethodHandleReader.KIND_CHAR:
+                out.append('\'').append((char) primitives[slot]).append('\'');
+                break;
+            case MethodHandleReader.KIND_REFERENCE: {
+                final Object value = references[slot];
+                final Class type = layout.getField(index).getType();
+                if (value == null) out.append(options.getNullRepresentation());
+                else if (type == String.class) StringValueWriter.writeQuoted((String) value, out, options);
+                else if ((type == Character.class) || (type == char.class)) out.append('\'').append(value.toString()).append('\'');
+                else out.append(value.toString());
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("The field is not a leaf field");
+        }
+    }
+
+    /**
+     * Writes the beginning of the JSON object of the field at the provided index (See ClassLayout#writeJsonFieldMeta).
+     *
+     * @param index   The index of the field.
+     * @param out     The Appendable that the beginning of the JSON object will be written to.
+     * @param options The StringRepresentationOptions object that is used to control the behavior of the String representation of the field.
+     * @throws IOException If the Appendable fails to append.
+     */
+    void writeJsonMeta(int index, Appendable out, StringRepresentationOptions options) throws IOException {
+        layout.writeJsonFieldMeta(index, out, options);
+    }
+
+    /**
+     * Writes the value of a leaf field (See isLeaf(int)) stored in the provided arrays as a JSON value. The written text is identical to the JSON value written for the field of
+     * the captured object.
+     *
+     * @param index      The index of the field.
+     * @param encoder    The encoder that the value will be written with.
+     * @param primitives The long[] of the node.
+     * @param references The Object[] of the node.
+     * @throws IOException If the Appendable fails to append.
+     */
+    void writeJsonLeafValue(int index, JsonEncoder encoder, long[] primitives, Object[] references) throws IOException {
+        if (inaccessible[index]) {
+            encoder.getOut().append(JsonWriter.INACCESSIBLE_VALUE);
+            return;
+        }
+        final int slot = slots[index];
+        switch (kinds[index]) {
+            case MethodHandleReader.KIND_BOOLEAN:
+                encoder.getOut().append((primitives[slot] != 0) ? "true" : "false");
+                break;
+            case MethodHandleReader.KIND_BYTE:
+            case MethodHandleReader.KIND_SHORT:
+            case MethodHandleReader.KIND_INT:
+            case MethodHandleReader.KIND_LONG:
+                encoder.writeLong(primitives[slot]);
+                break;
+            case MethodHandleReader.KIND_FLOAT:
+                encoder.writeFloat(Float.intBitsToFloat((int) primitives[slot]));
+                break;
+            case MethodHandleReader.KIND_DOUBLE:
+                encoder.writeDouble(Double.longBitsToDouble(primitives[slot]));
+                break;
+            case MethodHandleReader.KIND_CHAR:
+                encoder.writeChar((char) primitives[slot]);
+                break;
+            case MethodHandleReader.KIND_REFERENCE:
+                encoder.writeScalar(references[slot]);
+                break;
+            default:
+                throw new IllegalArgumentException("The field is not a leaf field");
+        }
+    }
+
+    /**
+     * Reads the value of a field of a primitive type as a long value. Floating point values are read as their raw bits.
+     *
+     * @param index  The index of the field.
+     * @param object The object holding the field.
+     * @return The value of the field.
+     */
+    private long readPrimitive(int index, Object object) {
+        try {
+            return (long) primitiveGetters[index].invokeExact(object);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable throwable) {
+            //A field getter does not throw checked exceptions.
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Creates a getter of type (Object)long for a field of a primitive type. Booleans are converted to 0 or 1, floats and doubles to their raw bits and the other types are
+     * widened.
+     *
+     * @param accessor The accessor of the field.
+     * @return The getter, or null if the field cannot be read.
+     */
+    private static MethodHandle createPrimitiveGetter(FieldAccessor accessor) {
+        if (!accessor.isAccessible()) return null;
+        final Field field = accessor.getField();
+        final Class type = field.getType();
+        try {
+            //The field was already made accessible by the FieldAccessor.
+            MethodHandle getter = MethodHandles.lookup().unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers())) getter = MethodHandles.dropArguments(getter, 0, Object.class);
+            getter = getter.asType(MethodType.methodType(type, Object.class));
+            if (type == float.class) {
+                getter = MethodHandles.filterReturnValue(getter, MethodHandles.lookup().findStatic(Float.class, "floatToRawIntBits", MethodType.methodType(int.class, float.class)));
+            } else if (type == double.class) {
+                getter = MethodHandles.filterReturnValue(getter, MethodHandles.lookup().findStatic(Double.class, "doubleToRawLongBits", MethodType.methodType(long.class, double.class)));
+            }
+            return MethodHandles.explicitCastArguments(getter, PRIMITIVE_GETTER_TYPE);
+        } catch (IllegalAccessException | NoSuchMethodException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A class holding the captured state of a single object of a Snapshot. <br>
+ * A node stores the class of the captured object and the captured values of its children in one of the following forms, according to how the object is read.
+ * <ul>
+ * <li>
+ * OBJECT; The values of the fields, stored as described by the SnapshotLayout of the class (the values of primitive types unboxed in a long[] and the others in an Object[]).
+ * </li>
+ * <li>
+ * ARRAY; The elements of an array of a non-primitive type, in an Object[]. Arrays of primitive types are captured as copies of the arrays, without nodes.
+ * </li>
+ * <li>
+ * ITERABLE; The logical elements of an Iterable or an Optional, in an Object[].
+ * </li>
+ * <li>
+ * MAP; The keys and values of the entries of a Map, in an Object[] holding each key followed by its value.
+ * </li>
+ * <li>
+ * RENDERED; The value written by the TypeRenderer of the object when it was captured (See TypeRenderers), in an Object[] holding the String.
+ * </li>
+ * </ul>
+ * The values in the Object[] are nulls, Strings and boxed values (which are immutable, so they are stored by reference), copies of arrays of primitive types and other nodes.
+ * The ObjectInfo classes read the nodes in place of the captured objects, so a Snapshot is written exactly like the captured objects are written.
+ */
+final class SnapshotNode {
+
+    /*The forms of nodes*/
+    static final byte OBJECT = 0;
+    static final byte ARRAY = 1;
+    static final byte ITERABLE = 2;
+    static final byte MAP = 3;
+    static final byte RENDERED = 4;
+
+    /**
+     * The class of the captured object.
+     */
+    private final Class type;
+
+    /**
+     * The form of the node. One of OBJECT, ARRAY, ITERABLE, MAP or RENDERED.
+     */
+    private final byte form;
+
+    /**
+     * The layout of the fields of the captured object, or null if the form is not OBJECT.
+     */
+    private final SnapshotLayout layout;
+
+    /**
+     * The values of the fields of primitive types, or null if the form is not OBJECT.
+     */
+    private final long[] primitives;
+
+    /**
+     * The values of the other fields, the elements or the keys and values of the entries.
+     */
+    private final Object[] references;
+
+    /**
+     * A constructor that creates a node holding the provided values.
+     *
+     * @param type       The class of the captured object.
+     * @param form       The form of the node.
+     * @param layout     The layout of the fields of the captured object, or null if the form is not OBJECT.
+     * @param primitives The values of the fields of primitive types, or null if the form is not OBJECT.
+     * @param references The values of the other fields, the elements or the keys and values of the entries.
+     */
+    SnapshotNode(Class type, byte form, SnapshotLayout layout, long[] primitives, Object[] references) {
+        this.type = type;
+        this.form = form;
+        this.layout = layout;
+        this.primitives = primitives;
+        this.references = references;
+    }
+
+    /**
+     * @return The class of the captured object.
+     */
+    Class getType() {
+        return type;
+    }
+
+    /**
+     * @return The form of the node. One of OBJECT, ARRAY, ITERABLE, MAP or RENDERED.
+     */
+    byte getForm() {
+        return form;
+    }
+
+    /**
+     * @return The layout of the fields of the captured object, or null if the form is not OBJECT.
+     */
+    SnapshotLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * @return The values of the fields of primitive types, or null if the form is not OBJECT.
+     */
+    long[] getPrimitives() {
+        return primitives;
+    }
+
+    /**
+     * @return The values of the other fields, the elements or the keys and values of the entries. The Snapshot replaces the captured references in this array by their nodes
+     * while it is being captured.
+     */
+    Object[] getReferences() {
+        return references;
+    }
+
+    /**
+     * @return The number of elements of a node of the ARRAY or the ITERABLE forms.
+     */
+    int getLength() {
+        return references.length;
+    }
+
+    /**
+     * @param index The index of the element.
+     * @return The element at the provided index of a node of the ARRAY or the ITERABLE forms.
+     */
+    Object getElement(int index) {
+        return references[index];
+    }
+
+    /**
+     * @return The rendered value of a node of the RENDERED form.
+     */
+    String getRendered() {
+        return (String) references[0];
+    }
+
+    /**
+     * @return An iterator of the elements of a node of the ITERABLE form.
+     */
+    Iterator<Object> iterator() {
+        return Arrays.asList(references).iterator();
+    }
+
+    /**
+     * @return An iterator of the entries of a node of the MAP form.
+     */
+    Iterator<Map.Entry<?, ?>> entryIterator() {
+        return new Iterator<Map.Entry<?, ?>>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < references.length;
+            }
+
+            @Override
+            public Map.Entry<?, ?> next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                final Map.Entry<?, ?> entry = new AbstractMap.SimpleImmutableEntry<>(references[next], references[next + 1]);
+                next += 2;
+                return entry;
+            }
+        };
+    }
+}
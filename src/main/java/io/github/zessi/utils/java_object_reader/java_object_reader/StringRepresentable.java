@@ -1,5 +1,8 @@
 package io.github.zessi.utils.java_object_reader.java_object_reader;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 /**
  * An interface to be implemented by types that are going to be used to represent certain objects as strings while also representing the some of the object's runtime meta-data.
  */
@@ -24,7 +27,49 @@ public interface StringRepresentable {
      * @return A String representing both parts of this entity (Meta and Value) separated by the separator returned from getMetValueSeparator().
      */
     default String getFullStringRepresentation() {
-        return getMetaStringRepresentation() + getMetaValueSeparator() + getValueStringRepresentation();
+        final StringBuilder builder = new StringBuilder();
+        try {
+            writeTo(builder);
+        } catch (IOException e) {
+            //A StringBuilder never throws an IOException, this is only here to satisfy the Appendable contract.
+            throw new UncheckedIOException(e);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Writes the meta-data part of this entity to the provided Appendable. <br>
+     * Implementations that can produce the meta-data without building an intermediate String should override this method.
+     *
+     * @param out The Appendable that the meta-data part will be written to.
+     * @throws IOException If the Appendable fails to append.
+     */
+    default void writeMetaStringRepresentation(Appendable out) throws IOException {
+        out.append(getMetaStringRepresentation());
+    }
+
+    /**
+     * Writes the value part of this entity to the provided Appendable. <br>
+     * Implementations that can produce the value without building an intermediate String should override this method.
+     *
+     * @param out The Appendable that the value part will be written to.
+     * @throws IOException If the Appendable fails to append.
+     */
+    default void writeValueStringRepresentation(Appendable out) throws IOException {
+        out.append(getValueStringRepresentation());
+    }
+
+    /**
+     * Writes both parts of this entity (Meta and Value) separated by the separator returned from getMetValueSeparator() to the provided Appendable. <br>
+     * The written text is identical to the String returned from getFullStringRepresentation().
+     *
+     * @param out The Appendable that the full String representation will be written to.
+     * @throws IOException If the Appendable fails to append.
+     */
+    default void writeTo(Appendable out) throws IOException {
+        writeMetaStringRepresentation(out);
+        out.append(getMetaValueSeparator());
+        writeValueStringRepresentation(out);
     }
 
 }
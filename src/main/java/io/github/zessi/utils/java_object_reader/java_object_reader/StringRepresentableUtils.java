@@ -15,18 +15,7 @@ public class StringRepresentableUtils {
      */
     public static boolean isPrimitive(Object o) {
         if (o == null) throw new IllegalArgumentException("null input");
-
-        if (o.getClass() == Boolean.class) return true;
-        if (o.getClass() == Byte.class) return true;
-        if (o.getClass() == Short.class) return true;
-        if (o.getClass() == Integer.class) return true;
-        if (o.getClass() == Long.class) return true;
-        if (o.getClass() == Float.class) return true;
-        if (o.getClass() == Double.class) return true;
-        if (o.getClass() == Character.class) return true;
-        if (o.getClass() == String.class) return true;
-
-        return false;
+        return NodeKind.isValue(NodeKind.of(o.getClass()));
     }
 
     /**
@@ -36,25 +25,8 @@ public class StringRepresentableUtils {
      * @return true if the class is primitive, false otherwise.
      */
     public static boolean isPrimitive(Class aClass) {
-        if (aClass == Boolean.class) return true;
-        if (aClass == boolean.class) return true;
-        if (aClass == Byte.class) return true;
-        if (aClass == byte.class) return true;
-        if (aClass == Short.class) return true;
-        if (aClass == short.class) return true;
-        if (aClass == Integer.class) return true;
-        if (aClass == int.class) return true;
-        if (aClass == Long.class) return true;
-        if (aClass == long.class) return true;
-        if (aClass == Float.class) return true;
-        if (aClass == float.class) return true;
-        if (aClass == Double.class) return true;
-        if (aClass == double.class) return true;
-        if (aClass == Character.class) return true;
-        if (aClass == char.class) return true;
-        if (aClass == String.class) return true;
-
-        return false;
+        if (aClass == null) return false;
+        return NodeKind.isValue(NodeKind.of(aClass));
     }
 
     /**
@@ -64,7 +36,7 @@ public class StringRepresentableUtils {
      * @return true if the object is of an array type, false otherwise.
      */
     public static boolean isArray(Object o) {
-        return o.getClass().isArray();
+        return NodeKind.isArray(NodeKind.of(o.getClass()));
     }
 
     /**
@@ -1,9 +1,18 @@
 package io.github.zessi.utils.java_object_reader.java_object_reader;
 
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * An immutable class that holds the options information to be used when attempting to represent an entity as String.
  */
 public final class StringRepresentationOptions {
+    /**
+     * The largest indentCount of which the indentation String is precomputed and of which the instance is shared by cloneAndAddIndent. <br>
+     * Deeper instances are rare, and caching them would retain indentation Strings that grow with the depth.
+     */
+    private static final int MAX_CACHED_INDENT_COUNT = 64;
+
     /**
      * A boolean that controls weather the type name of the entity should be represented simply or fully.
      */
@@ -44,6 +53,87 @@ public final class StringRepresentationOptions {
      */
     private final String nullRepresentation;
 
+    /**
+     * The mode that is used to read the fields of non-primitive objects.
+     */
+    private final ReaderMode readerMode;
+
+    /**
+     * A boolean that controls whether Iterables, Maps and Optionals are represented by their logical elements or by their fields like any other object.
+     */
+    private final boolean logicalContainers;
+
+    /**
+     * The maximum depth of the objects of which the contents are written. The read object is at depth 0, its fields and elements are at depth 1, ... etc.
+     */
+    private final int maxDepth;
+
+    /**
+     * The maximum number of objects of which the contents are written during a single read, including the read object.
+     */
+    private final int maxObjects;
+
+    /**
+     * The maximum number of elements that are written for each array, Iterable and Map.
+     */
+    private final int maxElements;
+
+    /**
+     * The maximum number of characters that are written during a single read, not counting the truncation marker.
+     */
+    private final int maxLength;
+
+    /**
+     * The maximum number of characters of each String value that are written.
+     */
+    private final int maxStringLength;
+
+    /**
+     * The ForkJoinPool that large objects and arrays are written in parallel on, or null if the objects are written sequentially.
+     */
+    private final ForkJoinPool forkJoinPool;
+
+    /**
+     * A boolean that controls whether the objects that were already written during a read are written again or replaced by back-references to their first String representation.
+     */
+    private final boolean backReferences;
+
+    /**
+     * A boolean that controls whether the estimated shallow and retained sizes of the objects are written after their meta parts.
+     */
+    private final boolean sizeEstimates;
+
+    /**
+     * The filter deciding which fields are String represented, or null if all the fields are String represented.
+     */
+    private final FieldFilter fieldFilter;
+
+    /**
+     * The layouts of the classes restricted to the fields included by the fieldFilter, or null if there is no fieldFilter. It is created once per built instance and shared by its
+     * copies, so the filter is evaluated once per class.
+     */
+    private final FieldSelection fieldSelection;
+
+    /**
+     * The registry of the renderers writing compact values for the objects of their types, or null if all the objects are read.
+     */
+    private final TypeRenderers typeRenderers;
+
+    /**
+     * The format that the String representation is written in.
+     */
+    private final OutputFormat outputFormat;
+
+    /**
+     * The indentation String (indent repeated indentCount times), or null if indentCount is larger than MAX_CACHED_INDENT_COUNT.
+     */
+    private final String indents;
+
+    /**
+     * The instance returned by cloneAndAddIndent, created on the first call. <br>
+     * All the other fields are final, so an instance that is shared through a race is still completely initialized. At worst, two equivalent instances are created.
+     */
+    private StringRepresentationOptions deeper;
 
     /**
      * The main constructor of this class <br>
@@ -58,14 +148,73 @@ public final class StringRepresentationOptions {
      * @param indentCount             An int indicating how many indents will be used
      */
     public StringRepresentationOptions(boolean fullTypeName, String fieldMetaValueSeparator, String objectMetaValueSeparator, String indent, String fieldMetaSeparator, String newLine, int indentCount, String nullRepresentation) {
-        this.fullTypeName = fullTypeName;
-        this.fieldMetaValueSeparator = fieldMetaValueSeparator;
-        this.objectMetaValueSeparator = objectMetaValueSeparator;
-        this.indent = indent;
-        this.fieldMetaSeparator = fieldMetaSeparator;
-        this.newLine = newLine;
+        this(Builder.build().setFullTypeName(fullTypeName).setFieldMetaValueSeparator(fieldMetaValueSeparator).setObjectMetaValueSeparator(objectMetaValueSeparator).setIndent(indent)
+                .setFieldMetaSeparator(fieldMetaSeparator).setNewLine(newLine).setIndentCount(indentCount).setNullRepresentation(nullRepresentation));
+    }
+
+    /**
+     * A constructor that creates an instance of StringRepresentationOptions using the current values of the provided Builder.
+     *
+     * @param builder The Builder holding the values of the options.
+     */
+    private StringRepresentationOptions(Builder builder) {
+        this.fullTypeName = builder.isFullTypeName();
+        this.fieldMetaValueSeparator = builder.getFieldMetaValueSeparator();
+        this.objectMetaValueSeparator = builder.getObjectMetaValueSeparator();
+        this.indent = builder.getIndent();
+        this.fieldMetaSeparator = builder.getFieldMetaSeparator();
+        this.newLine = builder.getNewLine();
+        this.indentCount = builder.getIndentCount();
+        this.nullRepresentation = builder.getNullRepresentation();
+        this.readerMode = builder.getReaderMode();
+        this.logicalContainers = builder.isLogicalContainers();
+        this.maxDepth = builder.getMaxDepth();
+        this.maxObjects = builder.getMaxObjects();
+        this.maxElements = builder.getMaxElements();
+        this.maxLength = builder.getMaxLength();
+        this.maxStringLength = builder.getMaxStringLength();
+        this.forkJoinPool = builder.getForkJoinPool();
+        this.backReferences = builder.isBackReferences();
+        this.sizeEstimates = builder.isSizeEstimates();
+        this.fieldFilter = builder.getFieldFilter();
+        this.fieldSelection = (this.fieldFilter != null) ? new FieldSelection(this.fieldFilter) : null;
+        this.typeRenderers = builder.getTypeRenderers();
+        this.outputFormat = builder.getOutputFormat();
+        this.indents = createIndents(this.indent, this.indentCount);
+    }
+
+    /**
+     * A constructor that creates a copy of the provided StringRepresentationOptions with a different indentCount.
+     *
+     * @param options     The StringRepresentationOptions object that will be copied.
+     * @param indentCount The indentCount of the copy.
+     */
+    private StringRepresentationOptions(StringRepresentationOptions options, int indentCount) {
+        this.fullTypeName = options.fullTypeName;
+        this.fieldMetaValueSeparator = options.fieldMetaValueSeparator;
+        this.objectMetaValueSeparator = options.objectMetaValueSeparator;
+        this.indent = options.indent;
+        this.fieldMetaSeparator = options.fieldMetaSeparator;
+        this.newLine = options.newLine;
         this.indentCount = indentCount;
-        this.nullRepresentation = nullRepresentation;
+        this.nullRepresentation = options.nullRepresentation;
+        this.readerMode = options.readerMode;
+        this.logicalContainers = options.logicalContainers;
+        this.maxDepth = options.maxDepth;
+        this.maxObjects = options.maxObjects;
+        this.maxElements = options.maxElements;
+        this.maxLength = options.maxLength;
+        this.maxStringLength = options.maxStringLength;
+        this.forkJoinPool = options.forkJoinPool;
+        this.backReferences = options.backReferences;
+        this.sizeEstimates = options.sizeEstimates;
+        this.fieldFilter = options.fieldFilter;
+        this.fieldSelection = options.fieldSelection;
+        this.typeRenderers = options.typeRenderers;
+        this.outputFormat = options.outputFormat;
+        //The indentation of the instance one level deeper is built from the indentation of the copied instance.
+        this.indents = ((indentCount == options.indentCount + 1) && (options.indents != null) && (indentCount <= MAX_CACHED_INDENT_COUNT)) ?
+                options.indents + options.indent : createIndents(options.indent, indentCount);
     }
 
     /**
@@ -97,14 +246,111 @@ public final class StringRepresentationOptions {
         return indent;
     }
 
+    /**
+     * @return The ForkJoinPool that large objects and arrays are written in parallel on, or null (default) if the objects are written sequentially. <br>
+     * In parallel, the fields of the objects near the read object and the chunks of large arrays are written by separate tasks and concatenated in order, so the result is
+     * identical to the sequential result. The objects are written sequentially when the maxObjects or the maxLength budgets are set, as they depend on the order of writing, and when the pool's parallelism is 1.
+     * The back-references (See isBackReferences) depend on the order of writing as well.
+     */
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    /**
+     * @return A boolean indicating if the objects that were already written during a read are replaced by back-references (default false). <br>
+     * When enabled, each object (other than values of primitive types and nulls) is given an id the first time it is written, which follows its meta part (e.g. TypeFour#3:{...}).
+     * Later occurrences of the same object (compared by identity) are written as a back-reference to that id (e.g. TypeFour:@ref#3), so an object that is shared by many other
+     * objects is only written once. The read object has the id 1. Objects that are currently being processed are still written as "&lt;Object Processing&gt;".
+     */
+    public boolean isBackReferences() {
+        return backReferences;
+    }
+
+    /**
+     * @return A boolean indicating if the estimated sizes of the objects are written (default false). <br>
+     * When enabled, the sizes of the graph are estimated before it is written (See SizeEstimate), and the shallow and retained sizes of each object (other than values of
+     * primitive types and nulls) follow its meta part and its id, in bytes (e.g. TypeFour(shallow=24,retained=312):{...}). The objects that are not counted (Class objects and enum
+     * constants) and the nodes of Snapshots, which don't hold the sizes of the captured objects, are written without sizes. Use ObjectReader#estimateSize to get the sizes
+     * without writing the graph.
+     */
+    public boolean isSizeEstimates() {
+        return sizeEstimates;
+    }
+
+    /**
+     * @return The filter deciding which fields are String represented, or null (default) if all the fields are String represented. <br>
+     * The filter is evaluated once per class, and the excluded fields are never read, so neither they nor the objects they reference are written (See FieldFilter).
+     */
+    public FieldFilter getFieldFilter() {
+        return fieldFilter;
+    }
+
+    /**
+     * @return The layouts of the classes restricted to the fields included by the field filter, or null if there is no field filter.
+     */
+    FieldSelection getFieldSelection() {
+        return fieldSelection;
+    }
+
+    /**
+     * @return The registry of the renderers writing compact values for the objects of their types, or null (default) if all the objects are read. <br>
+     * The objects of a type that has a renderer are written as their rendered value (e.g. BigDecimal:{12.50}) instead of the String representations of their fields
+     * (See TypeRenderers).
+     */
+    public TypeRenderers getTypeRenderers() {
+        return typeRenderers;
+    }
+
+    /**
+     * @return The format that the String representation is written in. See {@link OutputFormat}.
+     */
+    public OutputFormat getOutputFormat() {
+        return outputFormat;
+    }
+
     /**
      * @return A String containing multiple (0 or more) indents to be used as indentation. The number of multiplication is affected by indentCount field.
-     * To get the number of indents, invoke the method StringRepresentationOptions#getIndentCount().
+     * To get the number of indents, invoke the method StringRepresentationOptions#getIndentCount(). <br>
+     * The String is precomputed, unless the indentCount is unusually large.
      */
     public String getIndents() {
+        return (this.indents != null) ? this.indents : repeat(this.indent, this.indentCount);
+    }
+
+    /**
+     * Writes the indentation (See getIndents) to the provided Appendable without creating a String, even when the indentation is not precomputed.
+     *
+     * @param out The Appendable that the indentation will be written to.
+     * @throws IOException If the Appendable fails to append.
+     */
+    void writeIndents(Appendable out) throws IOException {
+        if (this.indents != null) {
+            out.append(this.indents);
+        } else if (!this.indent.isEmpty()) {
+            for (int i = 0; i < this.indentCount; i++) {
+                out.append(this.indent);
+            }
+        }
+    }
+
+    /**
+     * @param indent      The indent.
+     * @param indentCount The number of indents.
+     * @return The indentation String if indentCount is not larger than MAX_CACHED_INDENT_COUNT, null otherwise.
+     */
+    private static String createIndents(String indent, int indentCount) {
+        return (indentCount <= MAX_CACHED_INDENT_COUNT) ? repeat(indent, indentCount) : null;
+    }
+
+    /**
+     * @param text  A String.
+     * @param count The number of repetitions.
+     * @return A String containing the provided String repeated count times.
+     */
+    private static String repeat(String text, int count) {
         final StringBuilder builder = new StringBuilder();
-        for (int i = 0; i < this.getIndentCount(); i++) {
-            builder.append(getIndent());
+        for (int i = 0; i < count; i++) {
+            builder.append(text);
         }
         return builder.toString();
     }
@@ -138,10 +384,83 @@ public final class StringRepresentationOptions {
     }
 
     /**
-     * @return A method that clones the current StringRepresentationOptions into a new StringRepresentationOptions object with an indentCount incremented by 1.
+     * @return The mode that is used to read the fields of non-primitive objects. See {@link ReaderMode}.
+     */
+    public ReaderMode getReaderMode() {
+        return readerMode;
+    }
+
+    /**
+     * @return A boolean indicating if Iterables, Maps and Optionals are represented by their logical elements, which are obtained through their public iteration APIs. <br>
+     * Example : with isLogicalContainers being true an ArrayList holding "a" will be represented as ArrayList:[String:{"a"}] (with new lines and indentation) instead of the
+     * fields of the ArrayList (elementData, size, modCount, ... etc.).
+     */
+    public boolean isLogicalContainers() {
+        return logicalContainers;
+    }
+
+    /**
+     * @return The maximum depth of the objects of which the contents are written. The read object is at depth 0, its fields and elements are at depth 1, ... etc. <br>
+     * Deeper objects are written as their type name followed by the truncation marker "&lt;Truncated&gt;". <br>
+     * Integer.MAX_VALUE (default) means no limit.
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @return The maximum number of objects of which the contents are written during a single read, including the read object. Values of primitive types and nulls are not
+     * counted. <br>
+     * Once the budget is exhausted, the next object is written as its type name followed by the truncation marker "&lt;Truncated&gt;" and the read stops, closing the objects
+     * that are still open. <br>
+     * Integer.MAX_VALUE (default) means no limit.
+     */
+    public int getMaxObjects() {
+        return maxObjects;
+    }
+
+    /**
+     * @return The maximum number of elements that are written for each array, Iterable and Map (entries). <br>
+     * The remaining elements are replaced by a single truncation marker "&lt;Truncated&gt;" in place of the next element. <br>
+     * Integer.MAX_VALUE (default) means no limit.
+     */
+    public int getMaxElements() {
+        return maxElements;
+    }
+
+    /**
+     * @return The maximum number of characters that are written during a single read, not counting the truncation marker. <br>
+     * Once the budget is exhausted, the text is cut at exactly that many characters, the truncation marker "&lt;Truncated&gt;" is written and the read stops immediately. <br>
+     * In the JSON format (See OutputFormat#JSON), the document is not cut, so it stays valid JSON. No more children are written once the budget is exhausted and the open objects
+     * are closed with a "truncated":true member, so the document can exceed the budget by the last value that was started and the ends of the open objects. <br>
+     * Integer.MAX_VALUE (default) means no limit.
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * @return The maximum number of characters of each String value that are written. <br>
+     * A longer String is written as a preview holding its first and last characters (half of the maximum each), with a marker noting its original length in between,
+     * e.g. "abc&lt;Truncated, length=1048576&gt;xyz". The characters in between are never read. <br>
+     * Integer.MAX_VALUE (default) means no limit.
+     */
+    public int getMaxStringLength() {
+        return maxStringLength;
+    }
+
+    /**
+     * @return A method that clones the current StringRepresentationOptions into a StringRepresentationOptions object with an indentCount incremented by 1. <br>
+     * The clone is created once and shared by all the later calls (a flyweight), so all the reads using the same options share the instances of every depth, along with their
+     * precomputed indentation Strings.
      */
     public StringRepresentationOptions cloneAndAddIndent() {
-        return new StringRepresentationOptions(this.isFullTypeName(), this.getFieldMetaValueSeparator(), this.getObjectMetaValueSeparator(), this.getIndent(), this.getFieldMetaSeparator(), this.getNewLine(), this.getIndentCount() + 1, this.getNullRepresentation());
+        StringRepresentationOptions result = this.deeper;
+        if (result == null) {
+            result = new StringRepresentationOptions(this, this.getIndentCount() + 1);
+            if (this.getIndentCount() < MAX_CACHED_INDENT_COUNT) this.deeper = result;
+        }
+        return result;
     }
 
     /**
@@ -162,6 +481,19 @@ public final class StringRepresentationOptions {
         private String newLine = "\n";
         private int indentCount = 0;
         private String nullRepresentation = "<null>";
+        private ReaderMode readerMode = ReaderMode.REFLECTIVE;
+        private boolean logicalContainers = true;
+        private int maxDepth = Integer.MAX_VALUE;
+        private int maxObjects = Integer.MAX_VALUE;
+        private int maxElements = Integer.MAX_VALUE;
+        private int maxLength = Integer.MAX_VALUE;
+        private int maxStringLength = Integer.MAX_VALUE;
+        private ForkJoinPool forkJoinPool = null;
+        private boolean backReferences = false;
+        private boolean sizeEstimates = false;
+        private FieldFilter fieldFilter = null;
+        private TypeRenderers typeRenderers = null;
+        private OutputFormat outputFormat = OutputFormat.TEXT;
 
         /**
          * A private constructor. cause, why not?
@@ -322,13 +654,257 @@ public final class StringRepresentationOptions {
             return this;
         }
 
+        /**
+         * @return the builder attribute of "readerMode" that will be used when constructing a StringRepresentationOptions object
+         */
+        public ReaderMode getReaderMode() {
+            return readerMode;
+        }
+
+        /**
+         * Sets the builder attribute of "readerMode" that will be used when constructing a StringRepresentationOptions object.
+         *
+         * @param readerMode The value that will be used to set the attribute
+         * @return this object after changing the value
+         */
+        public Builder setReaderMode(ReaderMode readerMode) {
+            if (readerMode == null) throw new IllegalArgumentException("null input");
+            this.readerMode = readerMode;
+            return this;
+        }
+
+        /**
+         * @return the builder attribute of "logicalContainers" that will be used when constructing a StringRepresentationOptions object
+         */
+        public boolean isLogicalContainers() {
+            return logicalContainers;
+        }
+
+        /**
+         * Sets the builder attribute of "logicalContainers" that will be used when constructing a StringRepresentationOptions object.
+         *
+         * @param logicalContainers The value that will be used to set the attribute
+         * @return this object after changing the value
+         */
+        public Builder setLogicalContainers(boolean logicalContainers) {
+            this.logicalContainers = logicalContainers;
+            return this;
+        }
+
+        /**
+         * @return the builder attribute of "maxDepth" that will be used when constructing a StringRepresentationOptions object
+         */
+        public int getMaxDepth() {
+            return maxDepth;
+        }
+
+        /**
+         * Sets the builder attribute of "maxDepth" that will be used when constructing a StringRepresentationOptions object.
+         *
+         * @param maxDepth The value that will be used to set the attribute
+         * @return this object after changing the value
+         */
+        public Builder setMaxDepth(int maxDepth) {
+            if (maxDepth < 0) throw new IllegalArgumentException("negative input");
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        /**
+         * @return the builder attribute of "maxObjects" that will be used when constructing a StringRepresentationOptions object
+         */
+        public int getMaxObjects() {
+            return maxObjects;
+        }
+
+        /**
+         * Sets the builder attribute of "maxObjects" that will be used when constructing a StringRepresentationOptions object.
+         *
+         * @param maxObjects The value that will be used to set the attribute
+         * @return this object after changing the value
+         */
+        public Builder setMaxObjects(int maxObjects) {
+            if (maxObjects < 1) throw new IllegalArgumentException("input less than 1");
+            this.maxObjects = maxObjects;
+            return this;
+        }
+
+        /**
+         * @return the builder attribute of "maxElements" that will be used when constructing a StringRepresentationOptions object
+         */
+        public int getMaxElements() {
+            return maxElements;
+        }
+
+        /**
+         * Sets the builder attribute of "maxElements" that will be used when constructing a StringRepresentationOptions object.
+         *
+         * @param maxElements The value that will be used to set the attribute
+         * @return this object after changing the value
+         */
+        public Builder setMaxElements(int maxElements) {
+            if (maxElements < 0) throw new IllegalArgumentException("negative input");
+            this.maxElements = maxElements;
+            return this;
+        }
+
+        /**
+         * @return the builder attribute of "maxLength" that will be used when constructing a StringRepresentationOptions object
+         */
+        public int getMaxLength() {
+            return maxLength;
+        }
+
+        /**
+         * Sets the builder attribute of "maxLength" that will be used when constructing a StringRepresentationOptions object.
+         *
+         * @param maxLength The value that will be used to set the attribute
+         * @return this object after changing the value
+         */
+        public Builder setMaxLength(int maxLength) {
+            if (maxLength < 0) throw new IllegalArgumentException("negative input");
+            this.maxLength = maxLength;
+            return this;
+        }
+
+        /**
+         * @return the builder attribute of "maxStringLength" that will be used when constructing a StringRepresentationOptions object
+         */
+        public int getMaxStringLength() {
+            return maxStringLength;
+        }
+
+        /**
+         * Sets the builder attribute of "maxStringLength" that will be used when constructing a StringRepresentationOptions object.
+         *
+         * @param maxStringLength The value that will be used to set the attribute
+         * @return this object after changing the value
+         */
+        public Builder setMaxStringLength(int maxStringLength) {
+            if (maxStringLength < 0) throw new IllegalArgumentException("negative input");
+            this.maxStringLength = maxStringLength;
+            return this;
+        }
+
+        /**
+         * @return the builder attribute of "forkJoinPool" that will be used when constructing a StringRepresentationOptions object
+         */
+        public ForkJoinPool getForkJoinPool() {
+            return forkJoinPool;
+        }
+
+        /**
+         * Sets the builder attribute of "forkJoinPool" that will be used when constructing a StringRepresentationOptions object. <br>
+         * ForkJoinPool.commonPool() can be used to write in parallel on the shared pool, and null to write sequentially.
+         *
+         * @param forkJoinPool The value that will be used to set the attribute
+         * @return this object after changing the value
+         */
+        public Builder setForkJoinPool(ForkJoinPool forkJoinPool) {
+            this.forkJoinPool = forkJoinPool;
+            return this;
+        }
+
+        /**
+         * @return the builder attribute of "backReferences" that will be used when constructing a StringRepresentationOptions object
+         */
+        public boolean isBackReferences() {
+            return backReferences;
+        }
+
+        /**
+         * Sets the builder attribute of "backReferences" that will be used when constructing a StringRepresentationOptions object.
+         *
+         * @param backReferences The value that will be used to set the attribute
+         * @return this object after changing the value
+         */
+        public Builder setBackReferences(boolean backReferences) {
+            this.backReferences = backReferences;
+            return this;
+        }
+
+        /**
+         * @return the builder attribute of "sizeEstimates" that will be used when constructing a StringRepresentationOptions object
+         */
+        public boolean isSizeEstimates() {
+            return sizeEstimates;
+        }
+
+        /**
+         * Sets the builder attribute of "sizeEstimates" that will be used when constructing a StringRepresentationOptions object.
+         *
+         * @param sizeEstimates The value that will be used to set the attribute
+         * @return this object after changing the value
+         */
+        public Builder setSizeEstimates(boolean sizeEstimates) {
+            this.sizeEstimates = sizeEstimates;
+            return this;
+        }
+
+        /**
+         * @return the builder attribute of "fieldFilter" that will be used when constructing a StringRepresentationOptions object
+         */
+        public FieldFilter getFieldFilter() {
+            return fieldFilter;
+        }
+
+        /**
+         * Sets the builder attribute of "fieldFilter" that will be used when constructing a StringRepresentationOptions object. <br>
+         * null can be used to String represent all the fields.
+         *
+         * @param fieldFilter The value that will be used to set the attribute
+         * @return this object after changing the value
+         */
+        public Builder setFieldFilter(FieldFilter fieldFilter) {
+            this.fieldFilter = fieldFilter;
+            return this;
+        }
+
+        /**
+         * @return the builder attribute of "typeRenderers" that will be used when constructing a StringRepresentationOptions object
+         */
+        public TypeRenderers getTypeRenderers() {
+            return typeRenderers;
+        }
+
+        /**
+         * Sets the builder attribute of "typeRenderers" that will be used when constructing a StringRepresentationOptions object. <br>
+         * TypeRenderers#getDefaults() can be used to render the common value types of the JDK, and null to read all the objects.
+         *
+         * @param typeRenderers The value that will be used to set the attribute
+         * @return this object after changing the value
+         */
+        public Builder setTypeRenderers(TypeRenderers typeRenderers) {
+            this.typeRenderers = typeRenderers;
+            return this;
+        }
+
+        /**
+         * @return the builder attribute of "outputFormat" that will be used when constructing a StringRepresentationOptions object
+         */
+        public OutputFormat getOutputFormat() {
+            return outputFormat;
+        }
+
+        /**
+         * Sets the builder attribute of "outputFormat" that will be used when constructing a StringRepresentationOptions object.
+         *
+         * @param outputFormat The value that will be used to set the attribute
+         * @return this object after changing the value
+         */
+        public Builder setOutputFormat(OutputFormat outputFormat) {
+            if (outputFormat == null) throw new IllegalArgumentException("null input");
+            this.outputFormat = outputFormat;
+            return this;
+        }
+
         /**
          * A method that is used to construct a new StringRepresentationOptions object using the current values of this Builder instance.
          *
          * @return a new StringRepresentationOptions object using the values of this Builder instance.
          */
         public StringRepresentationOptions get() {
-            return new StringRepresentationOptions(Builder.this.isFullTypeName(), Builder.this.getFieldMetaValueSeparator(), Builder.this.getObjectMetaValueSeparator(), Builder.this.getIndent(), Builder.this.getFieldMetaSeparator(), Builder.this.getNewLine(), Builder.this.getIndentCount(), Builder.this.getNullRepresentation());
+            return new StringRepresentationOptions(Builder.this);
         }
     }
 
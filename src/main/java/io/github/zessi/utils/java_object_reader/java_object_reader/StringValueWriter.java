@@ -0,0 +1,121 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A class that writes the values of Strings to an Appendable. <br>
+ * How it works.
+ * <ul>
+ * <li>
+ * The chars are copied into the Appendable in chunks of CHUNK_SIZE chars, straight from the String, so writing a large String to a Writer never creates a copy of the whole
+ * String (Writers copy the appended ranges into their own buffers, or into a temporary array of the length of the range).
+ * </li>
+ * <li>
+ * A String that is longer than the maximum String length of the options (See StringRepresentationOptions#getMaxStringLength) is written as a preview holding its first and
+ * last chars, with a marker noting its original length in between, e.g. "abc&lt;Truncated, length=1048576&gt;xyz". The chars in between are never read.
+ * </li>
+ * </ul>
+ */
+final class StringValueWriter {
+
+    /**
+     * The number of chars that are copied into the Appendable at once.
+     */
+    static final int CHUNK_SIZE = 8192;
+
+    /**
+     * The String that precedes the original length of a truncated String.
+     */
+    static final String TRUNCATION_PREFIX = "<Truncated, length=";
+
+    /**
+     * The String that follows the original length of a truncated String.
+     */
+    static final String TRUNCATION_SUFFIX = ">";
+
+    private StringValueWriter() {
+    }
+
+    /**
+     * Writes the provided String enclosed in quotation marks, or its preview if it is longer than the maximum String length of the options.
+     *
+     * @param value   The String.
+     * @param out     The Appendable that the String will be written to.
+     * @param options The StringRepresentationOptions object holding the maximum String length.
+     * @throws IOException If the Appendable fails to append.
+     */
+    static void writeQuoted(String value, Appendable out, StringRepresentationOptions options) throws IOException {
+        out.append('\"');
+        final int length = value.length();
+        final int maxLength = options.getMaxStringLength();
+        if (length <= maxLength) {
+            writeChunked(value, 0, length, out);
+        } else {
+            final int headEnd = getHeadEnd(value, maxLength);
+            final int tailStart = getTailStart(value, maxLength);
+            writeChunked(value, 0, headEnd, out);
+            writeTruncationMarker(length, out);
+            writeChunked(value, tailStart, length, out);
+        }
+        out.append('\"');
+    }
+
+    /**
+     * Writes the provided range of chars in chunks of CHUNK_SIZE chars.
+     *
+     * @param value The chars.
+     * @param start The index of the first char.
+     * @param end   The index following the last char.
+     * @param out   The Appendable that the chars will be written to.
+     * @throws IOException If the Appendable fails to append.
+     */
+    static void writeChunked(CharSequence value, int start, int end, Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            //A StringBuilder copies the range straight from the String.
+            ((StringBuilder) out).append(value, start, end);
+            return;
+        }
+        //Writers copy a String range without creating a String of the range, unlike Writer#append which creates a sub-sequence of it.
+        final Writer writer = ((out instanceof Writer) && (value instanceof String)) ? (Writer) out : null;
+        for (int chunkStart = start; chunkStart < end; chunkStart += CHUNK_SIZE) {
+            final int chunkEnd = Math.min(end, chunkStart + CHUNK_SIZE);
+            if (writer != null) writer.write((String) value, chunkStart, chunkEnd - chunkStart);
+            else out.append(value, chunkStart, chunkEnd);
+        }
+    }
+
+    /**
+     * Writes the marker noting the original length of a truncated String.
+     *
+     * @param length The original length of the String.
+     * @param out    The Appendable that the marker will be written to.
+     * @throws IOException If the Appendable fails to append.
+     */
+    static void writeTruncationMarker(int length, Appendable out) throws IOException {
+        out.append(TRUNCATION_PREFIX).append(Integer.toString(length)).append(TRUNCATION_SUFFIX);
+    }
+
+    /**
+     * @param value     A String that is longer than the maximum String length.
+     * @param maxLength The maximum String length.
+     * @return The index following the last char of the head of the preview, which holds the first half of the maximum String length (rounded up). A surrogate pair is not
+     * split, so the head ends before the pair instead.
+     */
+    static int getHeadEnd(CharSequence value, int maxLength) {
+        final int headEnd = (maxLength + 1) / 2;
+        return ((headEnd > 0) && Character.isHighSurrogate(value.charAt(headEnd - 1)) && Character.isLowSurrogate(value.charAt(headEnd))) ? headEnd - 1 : headEnd;
+    }
+
+    /**
+     * @param value     A String that is longer than the maximum String length.
+     * @param maxLength The maximum String length.
+     * @return The index of the first char of the tail of the preview, which holds the second half of the maximum String length (rounded down). A surrogate pair is not split,
+     * so the tail starts after the pair instead.
+     */
+    static int getTailStart(CharSequence value, int maxLength) {
+        final int tailStart = value.length() - (maxLength / 2);
+        return ((tailStart < value.length()) && Character.isLowSurrogate(value.charAt(tailStart)) && Character.isHighSurrogate(value.charAt(tailStart - 1))) ? tailStart + 1
+                : tailStart;
+    }
+}
@@ -0,0 +1,351 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A class that writes the String representation of an object graph without recursion. <br>
+ * The graph is walked using an explicit stack of ObjectInfo objects that is allocated on the heap, so the depth of the graph is not limited by the size of the thread's stack.
+ * How it works.
+ * <ul>
+ * <li>
+ * The beginning of the value of the root ObjectInfo is written (See ObjectInfo#writeValueHead). If the root has children (fields or elements), then it is pushed to the stack.
+ * </li>
+ * <li>
+ * While the stack is not empty, the ObjectInfo at the top of the stack is asked to write its next child (See ObjectInfo#writeNextChild). If the child has children of its own,
+ * then it is pushed to the stack and it becomes the top of the stack.
+ * </li>
+ * <li>
+ * Once the ObjectInfo at the top of the stack has no more children, the end of its value is written (See ObjectInfo#writeValueTail) and it is popped from the stack.
+ * </li>
+ * </ul>
+ * The depth and object budgets of the options of the root ObjectInfo (See StringRepresentationOptions#getMaxDepth and StringRepresentationOptions#getMaxObjects) are enforced
+ * here, before a child is written, so the contents of the truncated objects are never read. <br>
+ * When the options provide a ForkJoinPool (See StringRepresentationOptions#getForkJoinPool), the children of the large Sliceable objects are split into slices that are written
+ * by separate Traversals on the pool, each into its own buffer. The buffers are then appended in order, so the result is identical to the sequential result. <br>
+ * When the options enable back-references (See StringRepresentationOptions#isBackReferences), the Traversal gives an id to each object it writes, and the later occurrences
+ * of the same objects are written as back-references without reading their contents again. When the options enable size estimates (See
+ * StringRepresentationOptions#isSizeEstimates), the sizes of each object, which were estimated before the Traversal started, follow its meta part (and its id).
+ */
+final class Traversal {
+
+    /**
+     * The marker that is written in place of the contents that were not written because a budget was exhausted.
+     */
+    static final String TRUNCATION_MARKER = "<Truncated>";
+
+    /**
+     * The String that precedes the id of an object, which is written after the meta part of the first String representation of the object.
+     */
+    static final String ID_PREFIX = "#";
+
+    /**
+     * The String that precedes the id of an object in a back-reference to the object.
+     */
+    static final String BACK_REFERENCE_PREFIX = "@ref#";
+
+    /**
+     * The id of the read object when back-references are enabled.
+     */
+    static final int ROOT_ID = 1;
+
+    /**
+     * The Appendable that the String representation is written to.
+     */
+    private final Appendable out;
+
+    /**
+     * The stack of the ObjectInfo objects that are currently being written. The stack grows as needed.
+     */
+    private ObjectInfo[] stack = new ObjectInfo[16];
+
+    /**
+     * The number of ObjectInfo objects in the stack.
+     */
+    private int size;
+
+    /**
+     * The maximum depth of the objects of which the contents are written. The root is at depth 0.
+     */
+    private final int maxDepth;
+
+    /**
+     * The number of objects of which the contents can still be written.
+     */
+    private int remainingObjects;
+
+    /**
+     * The depth of the root of this Traversal. It is 0, except for the Traversals writing slices.
+     */
+    private final int rootDepth;
+
+    /**
+     * The StringRepresentationOptions object of the root, which is passed to the Traversals writing slices.
+     */
+    private final StringRepresentationOptions options;
+
+    /**
+     * The ForkJoinPool that slices are written on, or null if the children are written sequentially.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The ids of the objects that were written (compared by identity), or null if back-references are disabled.
+     */
+    private final Map<Object, Integer> ids;
+
+    /**
+     * The estimated sizes of the objects of the read, or null if size estimates are disabled. They are only read, so they are shared by the Traversals writing slices.
+     */
+    private final SizeEstimate sizes;
+
+    /**
+     * A constructor that creates a Traversal writing to the provided Appendable.
+     *
+     * @param out       The Appendable that the String representation will be written to.
+     * @param options   The StringRepresentationOptions object of the root, holding the budgets of the traversal.
+     * @param rootDepth The depth of the root of the traversal.
+     * @param sizes     The estimated sizes of the objects of the read, or null if size estimates are disabled.
+     */
+    private Traversal(Appendable out, StringRepresentationOptions options, int rootDepth, SizeEstimate sizes) {
+        this.out = out;
+        this.sizes = sizes;
+        this.options = options;
+        this.rootDepth = rootDepth;
+        this.maxDepth = options.getMaxDepth();
+        //The root was already written.
+        this.remainingObjects = options.getMaxObjects() - 1;
+        //The object and length budgets and the ids depend on the order in which the objects are written, so they are only used sequentially.
+        final boolean ordered = (options.getMaxObjects() != Integer.MAX_VALUE) || (options.getMaxLength() != Integer.MAX_VALUE) || options.isBackReferences();
+        final ForkJoinPool pool = options.getForkJoinPool();
+        //A pool with a single thread can't write slices at the same time, so the slices would only add the cost of copying their buffers.
+        this.pool = (ordered || (pool == null) || (pool.getParallelism() < 2)) ? null : pool;
+        this.ids = options.isBackReferences() ? new IdentityHashMap<>() : null;
+    }
+
+    /**
+     * Writes the value part of the String representation of the provided ObjectInfo, including all of its children, to the provided Appendable.
+     *
+     * @param root  The ObjectInfo of which the value will be written.
+     * @param out   The Appendable that the value will be written to.
+     * @param sizes The estimated sizes of the objects of the graph of the root (See ObjectInfo#estimateSizes), or null if size estimates are disabled.
+     * @throws IOException If the Appendable fails to append.
+     */
+    static void writeValue(ObjectInfo root, Appendable out, SizeEstimate sizes) throws IOException {
+        //Values without children (primitives, nulls, empty objects) are fully written by writeValueHead, so no stack is needed for them.
+        if (!root.writeValueHead(out)) return;
+        final Traversal traversal = new Traversal(out, root.getOptions(), 0, sizes);
+        if (traversal.ids != null) traversal.ids.put(root.getObject(), ROOT_ID);
+        traversal.writeSlices(root, 0);
+        traversal.traverse(root, true);
+    }
+
+    /**
+     * Walks the children of the provided ObjectInfo using the stack.
+     *
+     * @param root          The ObjectInfo of which the head was already written.
+     * @param writeRootTail true if the end of the root should be written, false if the root is a slice, of which only the children are written.
+     * @throws IOException If the Appendable fails to append.
+     */
+    private void traverse(ObjectInfo root, boolean writeRootTail) throws IOException {
+        push(root);
+        while (size > 0) {
+            final ObjectInfo top = stack[size - 1];
+            if (top.hasNextChild()) {
+                final ObjectInfo child = top.writeNextChild(out);
+                //A null child means that the child was fully written by its parent.
+                if (child == null) continue;
+                //Values of primitive types and nulls have no contents, so they are not subject to the budgets.
+                if (child.isLeaf()) {
+                    child.writeHead(out);
+                    continue;
+                }
+                //An object that was already written is replaced by a back-reference, even if it is deeper than the depth budget or the object budget is exhausted.
+                if ((ids != null) && writeBackReference(child)) continue;
+                if (remainingObjects < 1) {
+                    writeTruncated(child);
+                    close();
+                    return;
+                }
+                //The child is at depth "rootDepth + size", as the root is at index 0 of the stack.
+                final int depth = rootDepth + size;
+                if (depth > maxDepth) {
+                    writeTruncated(child);
+                    continue;
+                }
+                remainingObjects--;
+                if (((ids == null) && (sizes == null)) ? child.writeHead(out) : writeAnnotatedHead(child)) {
+                    writeSlices(child, depth);
+                    push(child);
+                }
+            } else {
+                if ((size > 1) || writeRootTail) top.writeValueTail(out);
+                stack[--size] = null;
+            }
+        }
+    }
+
+    /**
+     * Writes the children of the provided ObjectInfo in parallel, if a ForkJoinPool is available and the ObjectInfo is a Sliceable worth slicing. The children are split into
+     * slices that are written by tasks on the pool, and the results are appended in order. The ObjectInfo is then moved past the written children, so that it writes its
+     * remaining children (if any) and its end sequentially.
+     *
+     * @param objectInfo The ObjectInfo of which the head was written.
+     * @param depth      The depth of the ObjectInfo.
+     * @throws IOException If the Appendable fails to append.
+     */
+    private void writeSlices(ObjectInfo objectInfo, int depth) throws IOException {
+        if ((pool == null) || !(objectInfo instanceof Sliceable)) return;
+        final Sliceable sliceable = (Sliceable) objectInfo;
+        final int sliceSize = sliceable.getSliceSize(depth, pool.getParallelism());
+        if (sliceSize < 1) return;
+        final int from = sliceable.getNextChildIndex();
+        final int to = sliceable.getChildLimit();
+        final List<SliceTask> tasks = new ArrayList<>();
+        for (int start = from; start < to; start += sliceSize) {
+            tasks.add(new SliceTask(sliceable.slice(start, Math.min(to, start + sliceSize)), this.options, depth, this.sizes));
+        }
+        if (ForkJoinTask.getPool() == pool) {
+            //Already running on the pool (in the task of an enclosing slice), so the tasks are forked directly.
+            ForkJoinTask.invokeAll(tasks);
+        } else {
+            pool.invoke(new RecursiveAction() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        }
+        for (SliceTask task : tasks) {
+            out.append(task.join());
+        }
+        sliceable.skipChildrenTo(to);
+    }
+
+    /**
+     * A task that writes a slice (See Sliceable) to its own buffer.
+     */
+    private static final class SliceTask extends RecursiveTask<StringBuilder> {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The slice to be written.
+         */
+        private final ObjectInfo slice;
+
+        /**
+         * The StringRepresentationOptions object of the root of the read.
+         */
+        private final StringRepresentationOptions options;
+
+        /**
+         * The depth of the sliced ObjectInfo.
+         */
+        private final int depth;
+
+        /**
+         * The estimated sizes of the objects of the read, or null if size estimates are disabled.
+         */
+        private final SizeEstimate sizes;
+
+        SliceTask(ObjectInfo slice, StringRepresentationOptions options, int depth, SizeEstimate sizes) {
+            this.slice = slice;
+            this.options = options;
+            this.depth = depth;
+            this.sizes = sizes;
+        }
+
+        @Override
+        protected StringBuilder compute() {
+            final StringBuilder builder = new StringBuilder();
+            try {
+                new Traversal(builder, options, depth, sizes).traverse(slice, false);
+            } catch (IOException e) {
+                //A StringBuilder never throws an IOException, this is only here to satisfy the Appendable contract.
+                throw new UncheckedIOException(e);
+            }
+            return builder;
+        }
+    }
+
+    /**
+     * Writes the meta part of the provided ObjectInfo followed by the truncation marker in place of its value.
+     *
+     * @param objectInfo The ObjectInfo of which the contents are not written.
+     * @throws IOException If the Appendable fails to append.
+     */
+    private void writeTruncated(ObjectInfo objectInfo) throws IOException {
+        objectInfo.writeMetaStringRepresentation(out);
+        out.append(objectInfo.getMetaValueSeparator()).append(TRUNCATION_MARKER);
+    }
+
+    /**
+     * Writes a back-reference to the provided ObjectInfo's object if the object was already written.
+     *
+     * @param objectInfo The ObjectInfo of which the head would be written next.
+     * @return true if the back-reference was written, false if the object was not written before.
+     * @throws IOException If the Appendable fails to append.
+     */
+    private boolean writeBackReference(ObjectInfo objectInfo) throws IOException {
+        final Integer id = ids.get(objectInfo.getObject());
+        if (id == null) return false;
+        objectInfo.writeMetaStringRepresentation(out);
+        out.append(objectInfo.getMetaValueSeparator()).append(BACK_REFERENCE_PREFIX).append(String.valueOf(id));
+        return true;
+    }
+
+    /**
+     * Writes the head of the provided ObjectInfo (See ObjectInfo#writeHead) with the annotations that are enabled following the meta part: the next id, which is given to the
+     * ObjectInfo's object, and the estimated sizes of the object.
+     *
+     * @param objectInfo The ObjectInfo of which the head will be written.
+     * @return true if the ObjectInfo has children that should be written next, false if it was written completely.
+     * @throws IOException If the Appendable fails to append.
+     */
+    private boolean writeAnnotatedHead(ObjectInfo objectInfo) throws IOException {
+        objectInfo.writeMetaStringRepresentation(out);
+        if (ids != null) {
+            //The ids are given in the order in which the objects are written, starting with the root's id.
+            final int id = ROOT_ID + ids.size();
+            ids.put(objectInfo.getObject(), id);
+            out.append(ID_PREFIX).append(String.valueOf(id));
+        }
+        if (sizes != null) sizes.writeSizes(objectInfo.getObject(), out);
+        out.append(objectInfo.getMetaValueSeparator());
+        return objectInfo.writeValueHead(out);
+    }
+
+    /**
+     * Writes the ends of all the ObjectInfo objects in the stack without writing their remaining children, emptying the stack.
+     *
+     * @throws IOException If the Appendable fails to append.
+     */
+    private void close() throws IOException {
+        while (size > 0) {
+            stack[size - 1].writeValueTail(out);
+            stack[--size] = null;
+        }
+    }
+
+    /**
+     * Pushes an ObjectInfo to the stack, growing the stack if needed.
+     *
+     * @param objectInfo The ObjectInfo to be pushed.
+     */
+    private void push(ObjectInfo objectInfo) {
+        if (size == stack.length) stack = Arrays.copyOf(stack, size * 2);
+        stack[size++] = objectInfo;
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.io.IOException;
+
+/**
+ * An interface writing a compact value for the instances of a type, in place of the String representations of their fields (See TypeRenderers). <br>
+ * The written value is enclosed like the values of primitive types, e.g. BigDecimal:{12.50}. The renderer should only write the value itself, and should not read other
+ * objects that are expensive to String represent.
+ *
+ * @param <T> The type of the rendered values.
+ */
+@FunctionalInterface
+public interface TypeRenderer<T> {
+
+    /**
+     * Writes the compact value of the provided object.
+     *
+     * @param value   The object, which is never null.
+     * @param out     The Appendable that the value will be written to.
+     * @param options The StringRepresentationOptions object that is used to read the object.
+     * @throws IOException If the Appendable fails to append.
+     */
+    void render(T value, Appendable out, StringRepresentationOptions options) throws IOException;
+
+    /**
+     * @param <T> The type of the rendered values.
+     * @return A renderer writing the toString of the values.
+     */
+    static <T> TypeRenderer<T> usingToString() {
+        return (value, out, options) -> out.append(value.toString());
+    }
+}
@@ -0,0 +1,218 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalAmount;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * An immutable registry of TypeRenderers (See StringRepresentationOptions.Builder#setTypeRenderers). <br>
+ * The objects of a type that has a renderer are written as a compact value (e.g. UUID:{123e4567-e89b-12d3-a456-426614174000}) instead of the String representations of their
+ * fields, and the objects they reference are not read. How the renderer of a class is found.
+ * <ul>
+ * <li>
+ * The renderer registered for the class itself is used if any, otherwise the renderer registered for its nearest superclass, otherwise the renderer registered for one of the
+ * interfaces it implements (the interfaces of the class before the interfaces of its superclasses). So the renderer registered for Enum renders the constants of all the enums.
+ * </li>
+ * <li>
+ * The renderer found for a class is cached in a ClassValue owned by the registry, so each read object costs a single lookup of its class, whatever the number of registered
+ * types is.
+ * </li>
+ * </ul>
+ * The values of primitive types and Strings are always written directly, so no renderers can be registered for them. The renderers take precedence over the Iterables, the Maps
+ * and the arrays, so registering a renderer for one of them replaces the String representations of its elements.
+ */
+public final class TypeRenderers {
+
+    /**
+     * The registry having no renderers.
+     */
+    private static final TypeRenderers EMPTY = new TypeRenderers(Collections.emptyMap());
+
+    /**
+     * The registry having the renderers of the common value types of the JDK.
+     */
+    private static final TypeRenderers DEFAULTS = EMPTY
+            .register(BigDecimal.class, TypeRenderer.usingToString())
+            .register(BigInteger.class, TypeRenderer.usingToString())
+            .register(AtomicBoolean.class, TypeRenderer.usingToString())
+            .register(AtomicInteger.class, TypeRenderer.usingToString())
+            .register(AtomicLong.class, TypeRenderer.usingToString())
+            .register(LongAdder.class, TypeRenderer.usingToString())
+            .register(DoubleAdder.class, TypeRenderer.usingToString())
+            .register(UUID.class, TypeRenderer.usingToString())
+            .register(TemporalAccessor.class, TypeRenderer.usingToString())
+            .register(TemporalAmount.class, TypeRenderer.usingToString())
+            .register(ZoneId.class, TypeRenderer.usingToString())
+            .register(Date.class, (value, out, options) -> out.append(Instant.ofEpochMilli(value.getTime()).toString()))
+            .register(Enum.class, (value, out, options) -> out.append(value.name()))
+            .register(Class.class, (value, out, options) -> out.append(value.getName()))
+            .register(Thread.class, (value, out, options) -> out.append(value.getName()))
+            .register(Currency.class, TypeRenderer.usingToString())
+            .register(Locale.class, (value, out, options) -> out.append(value.toLanguageTag()))
+            .register(Charset.class, (value, out, options) -> out.append(value.name()))
+            .register(Pattern.class, (value, out, options) -> out.append(value.pattern()))
+            .register(URI.class, TypeRenderer.usingToString())
+            .register(URL.class, TypeRenderer.usingToString())
+            .register(Path.class, TypeRenderer.usingToString())
+            .register(StringBuilder.class, (value, out, options) -> out.append('\"').append(value).append('\"'))
+            .register(StringBuffer.class, (value, out, options) -> out.append('\"').append(value).append('\"'));
+
+    /**
+     * The value cached for the classes that have no renderer, as ClassValue doesn't cache nulls.
+     */
+    private static final TypeRenderer NONE = (value, out, options) -> {
+        throw new IllegalStateException("No renderer");
+    };
+
+    /**
+     * The renderers, by the types they were registered for.
+     */
+    private final Map<Class, TypeRenderer> renderers;
+
+    /**
+     * The cache holding the renderer found for each class, or NONE.
+     */
+    private final ClassValue<TypeRenderer> dispatch = new ClassValue<TypeRenderer>() {
+        @Override
+        protected TypeRenderer computeValue(Class<?> type) {
+            final TypeRenderer renderer = findRenderer(type);
+            return (renderer != null) ? renderer : NONE;
+        }
+    };
+
+    /**
+     * A constructor that creates a registry having the provided renderers.
+     *
+     * @param renderers The renderers, by the types they were registered for. The map is owned by the registry.
+     */
+    private TypeRenderers(Map<Class, TypeRenderer> renderers) {
+        this.renderers = renderers;
+    }
+
+    /**
+     * @return A registry having no renderers.
+     */
+    public static TypeRenderers empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @return A registry having the renderers of the common value types of the JDK. Like BigDecimal, BigInteger, UUID, the java.time types, the enums, Class, Thread, the atomic
+     * numbers, Date, Locale, URI, Path, ... etc.
+     */
+    public static TypeRenderers getDefaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Creates a registry having the renderers of this registry and the provided renderer. This registry is not modified.
+     *
+     * @param type     The type rendered by the renderer. The renderer replaces the one registered for the same type, if any, and applies to the subtypes of the type unless they
+     *                 have renderers of their own.
+     * @param renderer The renderer.
+     * @param <T>      The type rendered by the renderer.
+     * @return The new registry.
+     */
+    public <T> TypeRenderers register(Class<T> type, TypeRenderer<? super T> renderer) {
+        if (type == null) throw new IllegalArgumentException("null 1st argument");
+        if (renderer == null) throw new IllegalArgumentException("null 2nd argument");
+        if (NodeKind.isValue(NodeKind.of(type))) {
+            throw new IllegalArgumentException("The values of " + type.getName() + " are always written directly");
+        }
+        final Map<Class, TypeRenderer> registered = new HashMap<>(renderers);
+        registered.put(type, renderer);
+        return new TypeRenderers(registered);
+    }
+
+    /**
+     * @param type A class.
+     * @return The renderer of the objects of the class, or null if they have no renderer.
+     */
+    public TypeRenderer getRenderer(Class type) {
+        if (type == null) throw new IllegalArgumentException("null input");
+        final TypeRenderer renderer = dispatch.get(type);
+        return (renderer != NONE) ? renderer : null;
+    }
+
+    /**
+     * @param type    A class.
+     * @param options The StringRepresentationOptions object that is used to read the objects of the class.
+     * @return The renderer of the objects of the class according to the registry of the options, or null if they have no renderer.
+     */
+    static TypeRenderer getRenderer(Class type, StringRepresentationOptions options) {
+        final TypeRenderers typeRenderers = options.getTypeRenderers();
+        return (typeRenderers != null) ? typeRenderers.getRenderer(type) : null;
+    }
+
+    /**
+     * @param renderer The renderer of the object.
+     * @param object   The object.
+     * @param options  The StringRepresentationOptions object that is used to read the object.
+     * @return The value rendered by the renderer, as a String.
+     */
+    @SuppressWarnings("unchecked")
+    static String render(TypeRenderer renderer, Object object, StringRepresentationOptions options) {
+        final StringBuilder builder = new StringBuilder();
+        try {
+            renderer.render(object, builder, options);
+        } catch (IOException e) {
+            //StringBuilder doesn't throw IOException
+            throw new UncheckedIOException(e);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Finds the renderer of a class, without the cache.
+     *
+     * @param type A class.
+     * @return The renderer registered for the class, its nearest superclass or one of its interfaces, or null if there is none.
+     */
+    private TypeRenderer findRenderer(Class type) {
+        if (renderers.isEmpty()) return null;
+        for (Class aClass = type; aClass != null; aClass = aClass.getSuperclass()) {
+            final TypeRenderer renderer = renderers.get(aClass);
+            if (renderer != null) return renderer;
+        }
+        //The interfaces are searched breadth first, so the interfaces that are implemented directly are found before the interfaces that they extend.
+        final Queue<Class> interfaces = new ArrayDeque<>();
+        final Set<Class> visited = new HashSet<>();
+        for (Class aClass = type; aClass != null; aClass = aClass.getSuperclass()) {
+            Collections.addAll(interfaces, aClass.getInterfaces());
+        }
+        while (!interfaces.isEmpty()) {
+            final Class anInterface = interfaces.poll();
+            if (!visited.add(anInterface)) continue;
+            final TypeRenderer renderer = renderers.get(anInterface);
+            if (renderer != null) return renderer;
+            Collections.addAll(interfaces, anInterface.getInterfaces());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,118 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.LinkedNode;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.NullsObject;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.ObjectWithLargeString;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.PrimitivesFieldsObject;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.circular.CircularObjectHolder;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.circular.MyCircularTypeOne;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.complex.TypeWithArray;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.inheritance.SimpleTypeOne_One_One;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+
+public class Test_BinarySnapshot {
+
+    private static final StringRepresentationOptions options = StringRepresentationOptions.Builder.build().get();
+
+    @Test
+    public void test_renderingIsIdenticalToReading() {
+        final Map<Object, Object> map = new LinkedHashMap<>();
+        map.put("list", new ArrayList<>(Arrays.asList(1, null, "x")));
+        map.put(null, Optional.of(new int[]{1, 2}));
+        map.put(3, Optional.empty());
+        final Object[] objects = {null, 1, "text", "\uD800 unpaired surrogate", new PrimitivesFieldsObject(), new NullsObject(), new TypeWithArray(), new CircularObjectHolder(),
+                new SimpleTypeOne_One_One().setText3("3").setText2("2").setText1("1"), new ObjectWithLargeString(), map,
+                new Object[]{'c', (byte) -1, (short) -300, -5L, 1.5f, Double.NaN, Float.NEGATIVE_INFINITY, true, new double[0]},
+                new Object[]{new boolean[]{true, false}, new byte[]{-128, 127}, new short[]{Short.MIN_VALUE}, new char[]{'a', Character.MAX_VALUE}, new int[]{Integer.MIN_VALUE, -1},
+                        new long[]{Long.MIN_VALUE, Long.MAX_VALUE}, new float[]{-0.0f, Float.MIN_VALUE}, new double[]{Double.MAX_VALUE, -0.0}}};
+        final StringRepresentationOptions fullOptions = StringRepresentationOptions.Builder.build().setFullTypeName(true).setIndent("  ").setNullRepresentation("NULL").get();
+        final StringRepresentationOptions fieldsOptions = StringRepresentationOptions.Builder.build().setLogicalContainers(false).get();
+        for (Object object : objects) {
+            assertEquals(ObjectReader.read(object, options), ObjectReader.encode(object).render());
+            assertEquals(ObjectReader.read(object, options), ObjectReader.encode(object).toString());
+            assertEquals(ObjectReader.read(object, fullOptions), ObjectReader.encode(object, fullOptions).render());
+            assertEquals(ObjectReader.read(object, fullOptions), ObjectReader.encode(object).render(fullOptions));
+            assertEquals(ObjectReader.capture(object, fieldsOptions).render(), ObjectReader.encode(object, fieldsOptions).render());
+        }
+    }
+
+    @Test
+    public void test_bufferIsOffHeapAndCompact() throws Exception {
+        final CircularObjectHolder holder = new CircularObjectHolder();
+        final int[] numbers = new int[1000];
+        final List<Object> list = new ArrayList<>(Arrays.asList(holder, numbers, numbers));
+        final String expected = ObjectReader.read(list);
+        final BinarySnapshot snapshot = ObjectReader.encode(list);
+        final ByteBuffer buffer = snapshot.getBuffer();
+        assertTrue(buffer.isDirect());
+        assertTrue(buffer.isReadOnly());
+        assertEquals(snapshot.getSize(), buffer.remaining());
+        //The shared array is encoded once, and each of its zeros is a single byte.
+        assertTrue(snapshot.getSize() < 1500);
+        assertTrue(snapshot.getSize() < expected.length() / 5);
+        //The chars are encoded as unsigned varints, so a char up to 0x3FFF takes two bytes.
+        final char[] chars = new char[1000];
+        Arrays.fill(chars, (char) 0x3FFF);
+        final BinarySnapshot charsSnapshot = ObjectReader.encode(chars);
+        assertTrue(charsSnapshot.getSize() < 2100);
+        assertEquals(ObjectReader.read(chars), charsSnapshot.render());
+
+        holder.myCircularTypeOne1.text = "changed";
+        numbers[1] = 5;
+        list.add("added");
+        assertEquals(expected, CompletableFuture.supplyAsync(snapshot::render).get());
+        assertSame(ObjectReader.getDefaultOptions(), snapshot.getOptions());
+    }
+
+    @Test
+    public void test_wrap() {
+        final Object[] array = new Object[3];
+        final MyCircularTypeOne shared = new MyCircularTypeOne();
+        array[0] = shared;
+        array[1] = shared;
+        array[2] = array;
+        final StringRepresentationOptions backReferencesOptions = StringRepresentationOptions.Builder.build().setBackReferences(true).get();
+        final BinarySnapshot snapshot = ObjectReader.encode(array, backReferencesOptions);
+
+        //A copy of the bytes (e.g. read back from a file) is decoded by resolving the classes by their names.
+        final ByteBuffer copy = ByteBuffer.allocate(snapshot.getSize() + 2);
+        copy.put((byte) 0).put(snapshot.getBuffer()).flip().position(1);
+        final BinarySnapshot wrapped = BinarySnapshot.wrap(copy, backReferencesOptions);
+        assertEquals(ObjectReader.read(array, backReferencesOptions), wrapped.render());
+        assertTrue(wrapped.render().contains("MyCircularTypeOne:@ref#2"));
+        assertEquals(ObjectReader.read(LinkedNode.createChain(5)), BinarySnapshot.wrap(ObjectReader.encode(LinkedNode.createChain(5)).getBuffer(), options).render());
+        try {
+            BinarySnapshot.wrap(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6}), options);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("The buffer does not hold an encoded BinarySnapshot", e.getMessage());
+        }
+    }
+
+    @Test
+    public void test_budgetsAndDeepGraphs() {
+        final StringRepresentationOptions budgetOptions = StringRepresentationOptions.Builder.build().setMaxElements(3).get();
+        assertEquals(ObjectReader.read(new int[100], budgetOptions), ObjectReader.encode(new int[100], budgetOptions).render());
+        assertEquals(ObjectReader.read(new ArrayList<>(Arrays.asList(1, 2, 3, 4, 5)), budgetOptions),
+                ObjectReader.encode(new ArrayList<>(Arrays.asList(1, 2, 3, 4, 5)), budgetOptions).render());
+        final StringRepresentationOptions noIndentOptions = StringRepresentationOptions.Builder.build().setIndent("").get();
+        final LinkedNode chain = LinkedNode.createChain(100000);
+        assertEquals(ObjectReader.read(chain, noIndentOptions), ObjectReader.encode(chain, noIndentOptions).render());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_nullOptions() {
+        ObjectReader.encode(1, null);
+    }
+}
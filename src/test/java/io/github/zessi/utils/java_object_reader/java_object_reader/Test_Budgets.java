@@ -0,0 +1,160 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.LinkedNode;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.ObjectWithLargeString;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class Test_Budgets {
+
+    private static final String MARKER = "<Truncated>";
+
+    /**
+     * An Iterable that never ends, which can only be read with a budget.
+     */
+    private static final Iterable<Integer> ENDLESS = () -> new Iterator<Integer>() {
+        private int next;
+
+        @Override
+        public boolean hasNext() {
+            return true;
+        }
+
+        @Override
+        public Integer next() {
+            return next++;
+        }
+    };
+
+    private static int count(String text, String part) {
+        return text.split(java.util.regex.Pattern.quote(part), -1).length - 1;
+    }
+
+    @Test
+    public void test_maxDepth() {
+        final LinkedNode chain = LinkedNode.createChain(10);
+        final String result = ObjectReader.read(chain, StringRepresentationOptions.Builder.build().setMaxDepth(2).get());
+        System.out.println(result);
+        //The root (depth 0) and the nodes at depths 1 and 2 are written, the node at depth 3 is truncated.
+        assertEquals(3, count(result, "LinkedNode:{"));
+        assertEquals(1, count(result, "LinkedNode:" + MARKER));
+        assertTrue(result.endsWith("}"));
+
+        assertEquals("Object[]:[\n\tObject[]:" + MARKER + ",\n\tInteger:{1}\n]",
+                ObjectReader.read(new Object[]{new Object[]{2}, 1}, StringRepresentationOptions.Builder.build().setMaxDepth(0).get()));
+    }
+
+    @Test
+    public void test_maxObjects() {
+        final LinkedNode[] nodes = new LinkedNode[]{LinkedNode.createChain(3), LinkedNode.createChain(3), LinkedNode.createChain(3)};
+        final String result = ObjectReader.read(nodes, StringRepresentationOptions.Builder.build().setMaxObjects(4).get());
+        System.out.println(result);
+        //The array and three nodes are written, then the read stops and the open objects are closed.
+        assertEquals(3, count(result, "LinkedNode:{"));
+        assertEquals(1, count(result, MARKER));
+        assertTrue(result.endsWith("\n]"));
+        assertEquals(count(result, "{"), count(result, "}"));
+
+        //An object that was already written is still written as a back-reference once the budget is exhausted, as it costs no object.
+        final LinkedNode shared = new LinkedNode();
+        final String backReferences = ObjectReader.read(new LinkedNode[]{shared, shared, new LinkedNode()},
+                StringRepresentationOptions.Builder.build().setMaxObjects(2).setBackReferences(true).get());
+        System.out.println(backReferences);
+        assertEquals(1, count(backReferences, "LinkedNode#2:{"));
+        assertEquals(1, count(backReferences, "LinkedNode:" + Traversal.BACK_REFERENCE_PREFIX + "2"));
+        assertEquals(1, count(backReferences, "LinkedNode:" + MARKER));
+    }
+
+    @Test
+    public void test_maxElements() {
+        final StringRepresentationOptions options = StringRepresentationOptions.Builder.build().setMaxElements(2).get();
+        assertEquals("int[]:[\n\tInteger:{1},\n\tInteger:{2},\n\t" + MARKER + "\n]", ObjectReader.read(new int[]{1, 2, 3}, options));
+        assertEquals("int[]:[\n\tInteger:{1},\n\tInteger:{2}\n]", ObjectReader.read(new int[]{1, 2}, options));
+        assertEquals("Integer[]:[\n\tInteger:{1},\n\tInteger:{2},\n\t" + MARKER + "\n]", ObjectReader.read(new Integer[]{1, 2, 3}, options));
+        assertEquals("ArrayList:[\n\tInteger:{1},\n\tInteger:{2},\n\t" + MARKER + "\n]", ObjectReader.read(new java.util.ArrayList<>(Arrays.asList(1, 2, 3)), options));
+        assertEquals("int[]:[\n\t" + MARKER + "\n]", ObjectReader.read(new int[]{1}, StringRepresentationOptions.Builder.build().setMaxElements(0).get()));
+
+        final Map<String, Integer> map = new LinkedHashMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+        assertEquals("LinkedHashMap:{\n\tString:{\"a\"}=Integer:{1},\n\tString:{\"b\"}=Integer:{2},\n\t" + MARKER + "\n}", ObjectReader.read(map, options));
+
+        //An endless Iterable is cut after the budget of elements.
+        assertEquals(3, count(ObjectReader.read(ENDLESS, StringRepresentationOptions.Builder.build().setMaxElements(3).get()), "Integer:{"));
+    }
+
+    @Test
+    public void test_maxLength() throws Exception {
+        final LinkedNode chain = LinkedNode.createChain(20);
+        final String full = ObjectReader.read(chain);
+        for (int maxLength : new int[]{0, 1, 50, full.length() - 1}) {
+            final StringRepresentationOptions options = StringRepresentationOptions.Builder.build().setMaxLength(maxLength).get();
+            assertEquals(full.substring(0, maxLength) + MARKER, ObjectReader.read(chain, options));
+            assertEquals(full.substring(0, maxLength) + MARKER, ObjectReader.read(chain, options, new java.io.StringWriter()).toString());
+        }
+        assertEquals(full, ObjectReader.read(chain, StringRepresentationOptions.Builder.build().setMaxLength(full.length()).get()));
+        assertEquals("int[]:[\n\tI" + MARKER, ObjectReader.read(new int[1000000], StringRepresentationOptions.Builder.build().setMaxLength(10).get()));
+
+        //The read stops as soon as the budget is exhausted, so an endless Iterable can be read.
+        final String endless = ObjectReader.read(ENDLESS, StringRepresentationOptions.Builder.build().setMaxLength(1000).get());
+        assertEquals(1000 + MARKER.length(), endless.length());
+        assertTrue(endless.endsWith(MARKER));
+    }
+
+    @Test
+    public void test_maxStringLength() throws Exception {
+        final StringRepresentationOptions.Builder builder = StringRepresentationOptions.Builder.build().setMaxStringLength(3);
+        assertEquals("String:{\"ab<Truncated, length=6>f\"}", ObjectReader.read("abcdef", builder.get()));
+        assertEquals("String:{\"abc\"}", ObjectReader.read("abc", builder.get()));
+        assertEquals("String:{\"<Truncated, length=6>\"}", ObjectReader.read("abcdef", builder.setMaxStringLength(0).get()));
+        //Surrogate pairs are not split, so the preview may be shorter.
+        assertEquals("String:{\"<Truncated, length=6>\"}", ObjectReader.read("\uD83D\uDE00\uD83D\uDE00\uD83D\uDE00", builder.setMaxStringLength(2).get()));
+
+        final ObjectWithLargeString object = new ObjectWithLargeString();
+        final String full = ObjectReader.read(object);
+        final int start = full.indexOf("\"largeString\"=\"") + "\"largeString\"=\"".length();
+        final String largeString = full.substring(start, full.indexOf('\"', start));
+        assertEquals(1000, largeString.length());
+        final String preview = "\"" + largeString.substring(0, 5) + "<Truncated, length=1000>" + largeString.substring(995) + "\"";
+        for (ReaderMode mode : ReaderMode.values()) {
+            final StringRepresentationOptions options = StringRepresentationOptions.Builder.build().setMaxStringLength(10).setReaderMode(mode).get();
+            final String truncated = ObjectReader.read(object, options);
+            assertEquals(full.replace("\"" + largeString + "\"", preview), truncated);
+            assertEquals(truncated, ObjectReader.capture(object, options).render(options));
+            assertEquals(truncated, ObjectReader.encode(object, options).render(options));
+        }
+        final StringRepresentationOptions jsonOptions = StringRepresentationOptions.Builder.build().setMaxStringLength(10).setOutputFormat(OutputFormat.JSON).get();
+        assertTrue(ObjectReader.read(object, jsonOptions).contains("\"name\":\"largeString\",\"value\":" + preview + "}"));
+
+        //Large Strings are copied into Writers in chunks, which write the same text.
+        final String payload = TestUtils.getRandomLettersAndNumbers(StringValueWriter.CHUNK_SIZE * 3 + 7);
+        assertEquals(ObjectReader.read(payload), ObjectReader.read(payload, StringRepresentationOptions.Builder.build().get(), new java.io.StringWriter()).toString());
+    }
+
+    @Test
+    public void test_invalidBudgets() {
+        final StringRepresentationOptions.Builder builder = StringRepresentationOptions.Builder.build();
+        for (Runnable setter : new Runnable[]{() -> builder.setMaxDepth(-1), () -> builder.setMaxObjects(0), () -> builder.setMaxElements(-1), () -> builder.setMaxLength(-1),
+                () -> builder.setMaxStringLength(-1)}) {
+            try {
+                setter.run();
+                fail();
+            } catch (IllegalArgumentException e) {
+                //Expected
+            }
+        }
+        final StringRepresentationOptions options = builder.get();
+        assertEquals(Integer.MAX_VALUE, options.getMaxDepth());
+        assertEquals(Integer.MAX_VALUE, options.getMaxObjects());
+        assertEquals(Integer.MAX_VALUE, options.getMaxElements());
+        assertEquals(Integer.MAX_VALUE, options.getMaxLength());
+        assertEquals(Integer.MAX_VALUE, options.getMaxStringLength());
+    }
+}
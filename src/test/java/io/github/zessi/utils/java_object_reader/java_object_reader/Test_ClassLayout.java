@@ -0,0 +1,34 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.complex.TypeTwo;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.inheritance.SimpleTypeOne;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.inheritance.SimpleTypeOne_One;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.inheritance.SimpleTypeOne_One_One;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class Test_ClassLayout {
+
+    @Test
+    public void test_layoutIsCached() {
+        assertSame(ClassLayout.getClassLayout(TypeTwo.class), ClassLayout.getClassLayout(TypeTwo.class));
+        assertSame(TypeTwo.class, ClassLayout.getClassLayout(TypeTwo.class).getType());
+        assertEquals(0, ClassLayout.getClassLayout(Object.class).getFieldCount());
+    }
+
+    @Test
+    public void test_hiddenFieldsAndOrder() {
+        final ClassLayout layout = ClassLayout.getClassLayout(SimpleTypeOne_One_One.class);
+        final String[] names = new String[]{"hiddenFiled1", "hiddenFiled2", "text1", "text2", "text3"};
+        final Class[] definingClasses = new Class[]{SimpleTypeOne_One_One.class, SimpleTypeOne_One_One.class, SimpleTypeOne.class, SimpleTypeOne_One.class, SimpleTypeOne_One_One.class};
+
+        assertEquals(names.length, layout.getFieldCount());
+        for (int i = 0; i < layout.getFieldCount(); i++) {
+            System.out.println(layout.getDefiningClass(i).getSimpleName() + " " + layout.getField(i).getName());
+            assertEquals(names[i], layout.getField(i).getName());
+            assertEquals(definingClasses[i], layout.getDefiningClass(i));
+            assertEquals(definingClasses[i], layout.getField(i).getDeclaringClass());
+        }
+    }
+}
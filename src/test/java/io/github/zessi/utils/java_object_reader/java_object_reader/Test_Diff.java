@@ -0,0 +1,109 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.LinkedNode;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.circular.CircularObjectHolder;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.circular.MyCircularTypeOne;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.complex.TypeWithArray;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+public class Test_Diff {
+
+    /**
+     * An Iterable holding a single value in a field.
+     */
+    private static final class Box implements Iterable<Integer> {
+        private final int value;
+
+        Box(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return Collections.singleton(value).iterator();
+        }
+    }
+
+    @Test
+    public void test_identicalGraphs() {
+        assertEquals("", ObjectReader.diff(null, null));
+        assertEquals("", ObjectReader.diff(new TypeWithArray(), new TypeWithArray()));
+        assertEquals("", ObjectReader.diff(new CircularObjectHolder(), new CircularObjectHolder()));
+        assertEquals("", ObjectReader.diff(new int[]{1, 2, 3}, new int[]{1, 2, 3}));
+        //The graphs are walked without recursion.
+        assertEquals("", ObjectReader.diff(LinkedNode.createChain(100000), LinkedNode.createChain(100000)));
+    }
+
+    @Test
+    public void test_changedFields() {
+        final CircularObjectHolder before = new CircularObjectHolder();
+        final CircularObjectHolder after = new CircularObjectHolder();
+        ((MyCircularTypeOne) after.myCircularTypeOne2.innerObject).text = "other text";
+        after.myCircularTypeOne1.innerObject = null;
+        //The text of myCircularTypeOne1 is reported once, although it is also reachable through myCircularTypeOne2.
+        assertEquals("CircularObjectHolder.myCircularTypeOne1.innerObject: " + ObjectReader.read(before.myCircularTypeOne1.innerObject) + " -> <null>\n" +
+                "CircularObjectHolder.myCircularTypeOne1.text: String:{\"some text\"} -> String:{\"other text\"}", ObjectReader.diff(before, after));
+        assertEquals("Integer: Integer:{1} -> Long:{1}", ObjectReader.diff(1, 1L));
+        assertEquals("int[][1]: Integer:{2} -> Integer:{5}", ObjectReader.diff(new int[]{1, 2, 3}, new int[]{1, 5, 3}));
+    }
+
+    @Test
+    public void test_containers() {
+        final Map<String, Object> before = new LinkedHashMap<>();
+        before.put("a", 1);
+        before.put("b", new ArrayList<>(Arrays.asList("x", "y")));
+        before.put("c", Optional.of(3));
+        final Map<String, Object> after = new LinkedHashMap<>();
+        after.put("d", 4);
+        after.put("c", Optional.empty());
+        after.put("b", new ArrayList<>(Arrays.asList("x", "z", "w")));
+        assertEquals("LinkedHashMap[\"a\"]: Integer:{1} -> <Absent>\n" +
+                "LinkedHashMap[\"b\"][1]: String:{\"y\"} -> String:{\"z\"}\n" +
+                "LinkedHashMap[\"b\"][2]: <Absent> -> String:{\"w\"}\n" +
+                "LinkedHashMap[\"c\"][0]: Integer:{3} -> <Absent>\n" +
+                "LinkedHashMap[\"d\"]: <Absent> -> Integer:{4}", ObjectReader.diff(before, after));
+        final StringRepresentationOptions fieldsOptions = StringRepresentationOptions.Builder.build().setLogicalContainers(false).get();
+        assertEquals("Box[0]: Integer:{1} -> Integer:{2}", ObjectReader.diff(new Box(1), new Box(2)));
+        assertEquals("Box.value: Integer:{1} -> Integer:{2}", ObjectReader.diff(new Box(1), new Box(2), fieldsOptions));
+    }
+
+    @Test
+    public void test_sharedReferencesAreSkipped() {
+        //A shared subtree that can't be read (it never ends) is skipped because it is the same reference in both graphs.
+        final Iterable<Integer> endless = () -> new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                return 0;
+            }
+        };
+        assertEquals("Object[][0]: Integer:{1} -> Integer:{2}", ObjectReader.diff(new Object[]{1, endless}, new Object[]{2, endless}));
+    }
+
+    @Test
+    public void test_writingToAppendable() throws Exception {
+        final StringWriter writer = new StringWriter();
+        assertSame(writer, ObjectReader.diff(1, 2, ObjectReader.getDefaultOptions(), writer));
+        assertEquals(ObjectReader.diff(1, 2), writer.toString());
+        try {
+            ObjectReader.diff(1, 2, null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+}
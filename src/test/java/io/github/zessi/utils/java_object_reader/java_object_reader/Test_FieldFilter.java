@@ -0,0 +1,100 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.FilteredFieldsObject;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.PrimitivesFieldsObject;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.inheritance.SimpleTypeOne;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.inheritance.SimpleTypeOne_One_One;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class Test_FieldFilter {
+
+    private static final StringRepresentationOptions options = StringRepresentationOptions.Builder.build().get();
+
+    /**
+     * Reads the provided object in all the ways that String represent fields, which should all produce the same text.
+     */
+    private static String readEveryWay(Object object, StringRepresentationOptions.Builder builder) {
+        final String reflective = ObjectReader.read(object, builder.setReaderMode(ReaderMode.REFLECTIVE).get());
+        final StringRepresentationOptions methodHandleOptions = builder.setReaderMode(ReaderMode.METHOD_HANDLES).get();
+        assertEquals(reflective, ObjectReader.read(object, methodHandleOptions));
+        assertEquals(reflective, ObjectReader.capture(object, methodHandleOptions).render());
+        assertEquals(reflective, ObjectReader.encode(object, methodHandleOptions).render());
+        return reflective;
+    }
+
+    @Test
+    public void test_filters() {
+        final FilteredFieldsObject object = new FilteredFieldsObject();
+        //The counter of the reads is written after the counted elements are read, so the object is read once when the counter is included.
+        final String all = ObjectReader.read(object, options);
+        for (String name : new String[]{"\"CONSTANT\"", "\"cache\"", "\"legacy\"", "\"number\"", "\"counted\""}) {
+            assertTrue(all.contains(name));
+        }
+
+        final String filtered = readEveryWay(object, StringRepresentationOptions.Builder.build()
+                .setFieldFilter(FieldFilter.excludeStatic().and(FieldFilter.excludeTransient()).and(FieldFilter.excludeAnnotated(Deprecated.class))
+                        .and(FieldFilter.excludeNames("reads"))));
+        assertTrue(filtered.startsWith("FilteredFieldsObject:{\n\tFilteredFieldsObject|ii|Iterable|\"counted\"="));
+        assertTrue(filtered.endsWith("\tFilteredFieldsObject|ii|int|\"number\"=1\n}"));
+        for (String name : new String[]{"\"CONSTANT\"", "\"cache\"", "\"legacy\"", "\"reads\""}) {
+            assertFalse(filtered.contains(name));
+        }
+
+        assertEquals("PrimitivesFieldsObject:{}", readEveryWay(new PrimitivesFieldsObject(), StringRepresentationOptions.Builder.build().setFieldFilter(field -> false)));
+    }
+
+    @Test
+    public void test_excludedFieldsAreNeverRead() {
+        final FilteredFieldsObject object = new FilteredFieldsObject();
+        readEveryWay(object, StringRepresentationOptions.Builder.build().setFieldFilter(FieldFilter.excludeTypes(Iterable.class)));
+        assertEquals(0, object.reads.get());
+        ObjectReader.read(object, options);
+        assertEquals(1, object.reads.get());
+    }
+
+    @Test
+    public void test_declaringClassesAndPackages() {
+        final Object object = new SimpleTypeOne_One_One().setText3("3").setText2("2").setText1("1");
+        final String withoutRoot = readEveryWay(object, StringRepresentationOptions.Builder.build().setFieldFilter(FieldFilter.excludeDeclaringClasses(SimpleTypeOne.class)));
+        assertFalse(withoutRoot.contains("SimpleTypeOne|"));
+        assertTrue(withoutRoot.contains("\"text3\"=\"3\""));
+
+        //The fields of ArrayList and its ancestors are declared in java.util.
+        final StringRepresentationOptions.Builder fieldsBuilder = StringRepresentationOptions.Builder.build().setLogicalContainers(false);
+        assertEquals("ArrayList:{}", ObjectReader.read(new ArrayList<>(Arrays.asList(1, 2)), fieldsBuilder.setFieldFilter(FieldFilter.excludePackages("java.util")).get()));
+        assertNotEquals("ArrayList:{}", ObjectReader.read(new ArrayList<>(Arrays.asList(1, 2)), fieldsBuilder.setFieldFilter(FieldFilter.excludePackages("java.u")).get()));
+        assertEquals("AtomicLong:{}", ObjectReader.read(new AtomicLong(), fieldsBuilder.setFieldFilter(FieldFilter.excludePackages("java")).get()));
+    }
+
+    @Test
+    public void test_filterIsEvaluatedOncePerClass() {
+        final AtomicInteger evaluations = new AtomicInteger();
+        final StringRepresentationOptions filterOptions = StringRepresentationOptions.Builder.build().setFieldFilter(field -> {
+            evaluations.incrementAndGet();
+            return true;
+        }).get();
+        final PrimitivesFieldsObject[] objects = {new PrimitivesFieldsObject(), new PrimitivesFieldsObject(), new PrimitivesFieldsObject()};
+        assertEquals(ObjectReader.read(objects, options), ObjectReader.read(objects, filterOptions));
+        final int fieldCount = evaluations.get();
+        assertEquals(ClassLayout.getClassLayout(PrimitivesFieldsObject.class).getFieldCount(), fieldCount);
+        ObjectReader.read(objects, filterOptions);
+        ObjectReader.read(objects, filterOptions.cloneAndAddIndent());
+        assertEquals(fieldCount, evaluations.get());
+    }
+
+    @Test
+    public void test_diff() {
+        final StringRepresentationOptions filterOptions = StringRepresentationOptions.Builder.build().setFieldFilter(FieldFilter.excludeNames("text1")).get();
+        final SimpleTypeOne before = new SimpleTypeOne().setText1("before");
+        final SimpleTypeOne after = new SimpleTypeOne().setText1("after");
+        assertNotEquals("", ObjectReader.diff(before, after, options));
+        assertEquals("", ObjectReader.diff(before, after, filterOptions));
+    }
+}
@@ -0,0 +1,205 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.LinkedNode;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.NullsObject;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.PrimitivesFieldsObject;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.ValueTypesObject;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.circular.MyCircularTypeOne;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.complex.TypeWithArray;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+public class Test_Json {
+
+    private static final StringRepresentationOptions jsonOptions = StringRepresentationOptions.Builder.build().setOutputFormat(OutputFormat.JSON).get();
+
+    @Test
+    public void test_values() {
+        assertEquals("null", ObjectReader.read(null, jsonOptions));
+        assertEquals("{\"type\":\"Integer\",\"value\":-12}", ObjectReader.read(-12, jsonOptions));
+        assertEquals("{\"type\":\"Boolean\",\"value\":true}", ObjectReader.read(true, jsonOptions));
+        assertEquals("{\"type\":\"Double\",\"value\":\"NaN\"}", ObjectReader.read(Double.NaN, jsonOptions));
+        assertEquals("{\"type\":\"Character\",\"value\":\"\\\"\"}", ObjectReader.read('\"', jsonOptions));
+        assertEquals("{\"type\":\"String\",\"value\":\"a\\\"b\\\\c\\n\\t\\u0001\"}", ObjectReader.read("a\"b\\c\n\t\u0001", jsonOptions));
+        //The line separators and the unpaired surrogates are escaped, and the surrogate pairs are written as they are.
+        assertEquals("{\"type\":\"String\",\"value\":\"\\u2028\\ud800x\uD83D\uDE00\"}", ObjectReader.read("\u2028\uD800x\uD83D\uDE00", jsonOptions));
+    }
+
+    @Test
+    public void test_objects() {
+        assertEquals("{\"type\":\"LinkedNode\",\"fields\":["
+                        + "{\"declaringClass\":\"LinkedNode\",\"modifiers\":\"i\",\"type\":\"LinkedNode\",\"name\":\"next\",\"value\":{\"type\":\"LinkedNode\",\"fields\":["
+                        + "{\"declaringClass\":\"LinkedNode\",\"modifiers\":\"i\",\"type\":\"LinkedNode\",\"name\":\"next\",\"value\":null},"
+                        + "{\"declaringClass\":\"LinkedNode\",\"modifiers\":\"i\",\"type\":\"int\",\"name\":\"value\",\"value\":1}]}},"
+                        + "{\"declaringClass\":\"LinkedNode\",\"modifiers\":\"i\",\"type\":\"int\",\"name\":\"value\",\"value\":0}]}",
+                ObjectReader.read(LinkedNode.createChain(2), jsonOptions));
+        assertEquals("{\"type\":\"NullsObject\",\"fields\":["
+                        + "{\"declaringClass\":\"NullsObject\",\"modifiers\":\"i\",\"type\":\"Integer\",\"name\":\"number1\",\"value\":null},"
+                        + "{\"declaringClass\":\"NullsObject\",\"modifiers\":\"i\",\"type\":\"Object\",\"name\":\"object1\",\"value\":null},"
+                        + "{\"declaringClass\":\"NullsObject\",\"modifiers\":\"i\",\"type\":\"String\",\"name\":\"text1\",\"value\":null}]}",
+                ObjectReader.read(new NullsObject(), jsonOptions));
+        for (Object object : new Object[]{new PrimitivesFieldsObject(), new TypeWithArray(), LinkedNode.createChain(100)}) {
+            assertValidJson(ObjectReader.read(object, jsonOptions));
+        }
+    }
+
+    @Test
+    public void test_containers() {
+        final Map<Object, Object> map = new LinkedHashMap<>();
+        map.put("k", new int[]{1, 2});
+        map.put(null, Optional.of('x'));
+        assertEquals("{\"type\":\"LinkedHashMap\",\"entries\":["
+                        + "{\"key\":{\"type\":\"String\",\"value\":\"k\"},\"value\":{\"type\":\"int[]\",\"elements\":[1,2]}},"
+                        + "{\"key\":null,\"value\":{\"type\":\"Optional\",\"elements\":[{\"type\":\"Character\",\"value\":\"x\"}]}}]}",
+                ObjectReader.read(map, jsonOptions));
+
+        final StringRepresentationOptions elementOptions = StringRepresentationOptions.Builder.build().setOutputFormat(OutputFormat.JSON).setMaxElements(1).get();
+        assertEquals("{\"type\":\"int[]\",\"elements\":[1],\"truncated\":true}", ObjectReader.read(new int[]{1, 2}, elementOptions));
+        assertEquals("{\"type\":\"ArrayList\",\"elements\":[null],\"truncated\":true}", ObjectReader.read(new ArrayList<>(Arrays.asList(null, 2)), elementOptions));
+        assertEquals("{\"type\":\"LinkedHashMap\",\"entries\":[{\"key\":{\"type\":\"String\",\"value\":\"k\"},\"value\":{\"type\":\"int[]\",\"elements\":[1],"
+                + "\"truncated\":true}}],\"truncated\":true}", ObjectReader.read(map, elementOptions));
+        assertEquals("{\"type\":\"Object[]\",\"elements\":[]}", ObjectReader.read(new Object[0], jsonOptions));
+    }
+
+    @Test
+    public void test_circularReferencesAndBudgets() {
+        final MyCircularTypeOne circular = new MyCircularTypeOne();
+        circular.innerObject = circular;
+        assertEquals("{\"type\":\"MyCircularTypeOne\",\"fields\":["
+                        + "{\"declaringClass\":\"MyCircularTypeOne\",\"modifiers\":\"b\",\"type\":\"Object\",\"name\":\"innerObject\",\"value\":{\"type\":\"MyCircularTypeOne\",\"processing\":true}},"
+                        + "{\"declaringClass\":\"MyCircularTypeOne\",\"modifiers\":\"b\",\"type\":\"String\",\"name\":\"text\",\"value\":\"some text\"}]}",
+                ObjectReader.read(circular, jsonOptions));
+
+        final Object shared = LinkedNode.createChain(1);
+        final StringRepresentationOptions backReferenceOptions = StringRepresentationOptions.Builder.build().setOutputFormat(OutputFormat.JSON).setBackReferences(true).get();
+        final String backReferences = ObjectReader.read(new Object[]{shared, shared}, backReferenceOptions);
+        assertTrue(backReferences.startsWith("{\"type\":\"Object[]\",\"id\":1,\"elements\":[{\"type\":\"LinkedNode\",\"id\":2,"));
+        assertTrue(backReferences.endsWith(",{\"type\":\"LinkedNode\",\"ref\":2}]}"));
+        //A back-reference costs no object, so it is still written once the object budget is exhausted.
+        assertTrue(ObjectReader.read(new Object[]{shared, shared}, StringRepresentationOptions.Builder.build().setOutputFormat(OutputFormat.JSON).setBackReferences(true)
+                .setMaxObjects(2).get()).endsWith(",{\"type\":\"LinkedNode\",\"ref\":2}]}"));
+
+        final StringRepresentationOptions depthOptions = StringRepresentationOptions.Builder.build().setOutputFormat(OutputFormat.JSON).setMaxDepth(0).get();
+        assertEquals("{\"type\":\"Object[]\",\"elements\":[{\"type\":\"LinkedNode\",\"truncated\":true},{\"type\":\"Integer\",\"value\":1}]}",
+                ObjectReader.read(new Object[]{shared, 1}, depthOptions));
+
+        final StringRepresentationOptions objectOptions = StringRepresentationOptions.Builder.build().setOutputFormat(OutputFormat.JSON).setMaxObjects(10).get();
+        final String truncated = ObjectReader.read(LinkedNode.createChain(100), objectOptions);
+        assertValidJson(truncated);
+        assertTrue(truncated.contains("{\"type\":\"LinkedNode\",\"truncated\":true}"));
+        assertValidJson(ObjectReader.read(new Object[]{createSingleEntryMap(), 1}, StringRepresentationOptions.Builder.build()
+                .setOutputFormat(OutputFormat.JSON).setMaxObjects(2).get()));
+
+        //An entry of which the value is not written because the budget was exhausted by its key is marked as truncated, instead of holding a null value.
+        final Map<Object, Object> map = new LinkedHashMap<>();
+        map.put(LinkedNode.createChain(1), "value");
+        assertEquals("{\"type\":\"LinkedHashMap\",\"entries\":[{\"key\":{\"type\":\"LinkedNode\",\"truncated\":true},\"truncated\":true}]}",
+                ObjectReader.read(map, StringRepresentationOptions.Builder.build().setOutputFormat(OutputFormat.JSON).setMaxObjects(1).get()));
+    }
+
+    @Test
+    public void test_maxLength() {
+        //The length budget stops the document without cutting it, so it stays valid JSON.
+        final LinkedNode chain = LinkedNode.createChain(100);
+        final String full = ObjectReader.read(chain, jsonOptions);
+        final String limited = ObjectReader.read(chain, StringRepresentationOptions.Builder.build().setOutputFormat(OutputFormat.JSON).setMaxLength(500).get());
+        assertValidJson(limited);
+        assertTrue(limited.contains("],\"truncated\":true}"));
+        assertTrue(limited.length() < 1000);
+        assertEquals(full, ObjectReader.read(chain, StringRepresentationOptions.Builder.build().setOutputFormat(OutputFormat.JSON).setMaxLength(full.length()).get()));
+
+        final StringRepresentationOptions arrayOptions = StringRepresentationOptions.Builder.build().setOutputFormat(OutputFormat.JSON).setMaxLength(70).get();
+        final String array = ObjectReader.read(new Object[]{new int[1000], createSingleEntryMap()}, arrayOptions);
+        assertValidJson(array);
+        assertTrue(array.startsWith("{\"type\":\"Object[]\",\"elements\":[{\"type\":\"int[]\",\"elements\":[0,"));
+        assertTrue(array.endsWith("],\"truncated\":true}],\"truncated\":true}"));
+    }
+
+    @Test
+    public void test_snapshotsAndSinks() throws IOException {
+        final StringRepresentationOptions rendererOptions = StringRepresentationOptions.Builder.build().setOutputFormat(OutputFormat.JSON)
+                .setTypeRenderers(TypeRenderers.getDefaults()).get();
+        final Object[] objects = {new ValueTypesObject(), new PrimitivesFieldsObject(), new TypeWithArray(), Arrays.asList("a", 'b'), createSingleEntryMap()};
+        final String expected = ObjectReader.read(objects, rendererOptions);
+        assertValidJson(expected);
+        assertTrue(expected.contains("\"name\":\"amount\",\"value\":{\"type\":\"BigDecimal\",\"value\":\"12.50\"}"));
+        assertEquals(expected, ObjectReader.capture(objects, rendererOptions).render(rendererOptions));
+        assertEquals(expected, ObjectReader.encode(objects, rendererOptions).render(rendererOptions));
+        //An Appendable that is not a StringBuilder writes the numbers through the encoder's own buffer.
+        assertEquals(expected, ObjectReader.read(objects, rendererOptions, new StringWriter()).toString());
+    }
+
+    private static Map<Object, Object> createSingleEntryMap() {
+        final Map<Object, Object> map = new LinkedHashMap<>();
+        map.put(Long.MIN_VALUE, new LinkedNode());
+        return map;
+    }
+
+    /**
+     * Asserts that the provided text is a single strict JSON value, using a minimal recursive descent parser.
+     */
+    private static void assertValidJson(String text) {
+        final int end = skipValue(text, 0);
+        assertEquals("Trailing text in " + text, text.length(), end);
+    }
+
+    private static int skipValue(String text, int index) {
+        assertTrue("Unexpected end of " + text, index < text.length());
+        final char c = text.charAt(index);
+        if (c == '{') return skipMembers(text, index + 1, '}', true);
+        if (c == '[') return skipMembers(text, index + 1, ']', false);
+        if (c == '\"') return skipString(text, index);
+        for (String literal : new String[]{"null", "true", "false"}) {
+            if (text.startsWith(literal, index)) return index + literal.length();
+        }
+        int i = index;
+        while ((i < text.length()) && ("+-0123456789.eE".indexOf(text.charAt(i)) >= 0)) i++;
+        assertTrue("Invalid value at " + index + " in " + text, i > index);
+        Double.parseDouble(text.substring(index, i));
+        return i;
+    }
+
+    private static int skipMembers(String text, int index, char close, boolean object) {
+        if (text.charAt(index) == close) return index + 1;
+        while (true) {
+            if (object) {
+                assertEquals('\"', text.charAt(index));
+                index = skipString(text, index);
+                assertEquals(':', text.charAt(index++));
+            }
+            index = skipValue(text, index);
+            final char c = text.charAt(index++);
+            if (c == close) return index;
+            assertEquals("Invalid separator in " + text, ',', c);
+        }
+    }
+
+    private static int skipString(String text, int index) {
+        for (int i = index + 1; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            assertTrue("Unescaped control char in " + text, c >= 0x20);
+            if (c == '\\') {
+                i++;
+                if (text.charAt(i) == 'u') {
+                    Integer.parseInt(text.substring(i + 1, i + 5), 16);
+                    i += 4;
+                } else {
+                    assertTrue("Invalid escape in " + text, "\"\\/bfnrt".indexOf(text.charAt(i)) >= 0);
+                }
+            } else if (c == '\"') {
+                return i + 1;
+            }
+        }
+        fail("Unterminated string in " + text);
+        return -1;
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.LinkedNode;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.complex.TypeWithArray;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class Test_MappedFileSink {
+
+    private static final StringRepresentationOptions options = StringRepresentationOptions.Builder.build().get();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void test_dump() throws IOException {
+        final Path path = folder.newFile().toPath();
+        final LinkedNode chain = LinkedNode.createChain(2000);
+        final String expected = ObjectReader.read(chain, options);
+        final long size = ObjectReader.dump(chain, options, path);
+        assertEquals(expected.getBytes(StandardCharsets.UTF_8).length, size);
+        assertEquals(size, Files.size(path));
+        assertEquals(expected, new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+
+        //The content of an existing file is replaced.
+        ObjectReader.dump(1, options, path);
+        assertEquals("Integer:{1}", new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void test_regionsAndEncoding() throws IOException {
+        final Path path = folder.newFile().toPath();
+        final String text = "ascii \u00E9\u20AC \uD83D\uDE00 \uD800 \uDC00 end";
+        final StringBuilder expected = new StringBuilder();
+        //Small regions, so many regions are mapped and code points are split between them.
+        try (MappedFileSink sink = MappedFileSink.open(path, 7)) {
+            for (int i = 0; i < 100; i++) {
+                sink.append(text);
+                expected.append(text);
+                //A surrogate pair split between two appends.
+                sink.append('\uD83D').append("\uDE01xy", 0, 2);
+                expected.append("\uD83D\uDE01x");
+            }
+            sink.append(ObjectReader.read(new TypeWithArray(), options));
+            expected.append(ObjectReader.read(new TypeWithArray(), options));
+            sink.append('\uD83D');
+            expected.append('\uD83D');
+        }
+        final byte[] bytes = Files.readAllBytes(path);
+        assertArrayEquals(expected.toString().getBytes(StandardCharsets.UTF_8), bytes);
+    }
+
+    @Test
+    public void test_closed() throws IOException {
+        final MappedFileSink sink = MappedFileSink.open(folder.newFile().toPath());
+        sink.append("text");
+        sink.close();
+        sink.close();
+        assertEquals(4, sink.getSize());
+        try {
+            sink.append('c');
+            fail();
+        } catch (IOException e) {
+            assertEquals("The sink is closed", e.getMessage());
+        }
+    }
+}
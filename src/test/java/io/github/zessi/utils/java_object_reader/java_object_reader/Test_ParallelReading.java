@@ -0,0 +1,81 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.LinkedNode;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.NullsObject;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.PrimitivesFieldsObject;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.TypeFive;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.circular.CircularObjectHolder;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.circular.MyCircularTypeOne;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.complex.TypeFour;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.complex.TypeWithArray;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class Test_ParallelReading {
+
+    private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterClass
+    public static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    private static Object[] createObjects() {
+        final PrimitivesFieldsObject[] primitivesFieldsObjects = new PrimitivesFieldsObject[3000];
+        for (int i = 0; i < primitivesFieldsObjects.length; i++) {
+            primitivesFieldsObjects[i] = new PrimitivesFieldsObject();
+        }
+
+        //Every element refers to the array and to a shared object, so the circular references have to be detected along each branch. The array is held by a field, so that it
+        //takes part in the circular reference prevention.
+        final MyCircularTypeOne cyclicHolder = new MyCircularTypeOne();
+        final Object[] cyclic = new Object[5000];
+        cyclicHolder.innerObject = cyclic;
+        final TypeFive shared = new TypeFive();
+        for (int i = 0; i < cyclic.length; i++) {
+            final MyCircularTypeOne element = new MyCircularTypeOne();
+            element.innerObject = (i % 2 == 0) ? cyclic : new Object[]{shared, element, cyclicHolder};
+            cyclic[i] = element;
+        }
+        final Object[] holders = new Object[2000];
+        for (int i = 0; i < holders.length; i++) {
+            holders[i] = (i % 3 == 0) ? holders : new CircularObjectHolder();
+        }
+
+        return new Object[]{null, "text", new TypeFour(), new TypeWithArray(), new CircularObjectHolder(), new NullsObject(), primitivesFieldsObjects, cyclicHolder, holders,
+                new Object[]{primitivesFieldsObjects, cyclicHolder}, LinkedNode.createChain(500), new long[5000]};
+    }
+
+    @Test
+    public void test_parallelMatchesSequential() {
+        final Object[] objects = createObjects();
+        for (StringRepresentationOptions.Builder builder : new StringRepresentationOptions.Builder[]{
+                StringRepresentationOptions.Builder.build(),
+                StringRepresentationOptions.Builder.build().setReaderMode(ReaderMode.METHOD_HANDLES),
+                StringRepresentationOptions.Builder.build().setMaxDepth(3).setMaxElements(1500).setIndent("  ").setFullTypeName(true),
+                StringRepresentationOptions.Builder.build().setSizeEstimates(true)}) {
+            final StringRepresentationOptions sequential = builder.setForkJoinPool(null).get();
+            final StringRepresentationOptions parallel = builder.setForkJoinPool(pool).get();
+            for (Object object : objects) {
+                assertEquals(ObjectReader.read(object, sequential), ObjectReader.read(object, parallel));
+            }
+        }
+        assertTrue(pool.getPoolSize() > 0);
+    }
+
+    @Test
+    public void test_parallelWithOrderedBudgets() {
+        final Object[] objects = createObjects();
+        final StringRepresentationOptions.Builder builder = StringRepresentationOptions.Builder.build().setMaxObjects(2500).setMaxLength(1000000);
+        final StringRepresentationOptions sequential = builder.setForkJoinPool(null).get();
+        final StringRepresentationOptions parallel = builder.setForkJoinPool(pool).get();
+        for (Object object : objects) {
+            assertEquals(ObjectReader.read(object, sequential), ObjectReader.read(object, parallel));
+        }
+    }
+}
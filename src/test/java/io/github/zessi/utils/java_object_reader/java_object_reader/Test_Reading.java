@@ -1,7 +1,10 @@
 package io.github.zessi.utils.java_object_reader.java_object_reader;
 
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.BrokenHashCodeObject;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.LinkedNode;
 import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.NullsObject;
 import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.ObjectWithLargeString;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.ObjectWithPath;
 import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.PrimitivesFieldsObject;
 import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.TypeFive;
 import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.circular.CircularObjectHolder;
@@ -12,6 +15,31 @@ import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_
 import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.inheritance.SimpleTypeOne_One_One;
 import org.junit.Test;
 
+import java.io.StringWriter;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assert.assertSame;
+
 public class Test_Reading {
     private static final StringRepresentationOptions options = StringRepresentationOptions.Builder.build().get();
 
@@ -63,10 +91,279 @@ public class Test_Reading {
         System.out.println(ObjectReader.read(new CircularObjectHolder(), options));
     }
 
+    @Test
+    public void test_circularWithBrokenHashCode() {
+        //The objects are equal to each other, but only the object that is actually being processed should be represented as <Object Processing>
+        final BrokenHashCodeObject first = new BrokenHashCodeObject();
+        final BrokenHashCodeObject second = new BrokenHashCodeObject().setNext(first);
+        first.setNext(second);
+        final String result = ObjectReader.read(new BrokenHashCodeObject().setNext(first), options);
+        System.out.println(result);
+        assertEquals(1, result.split("<Object Processing>", -1).length - 1);
+    }
+
     @Test
     public void test_inheritanceWithHiddenFields() {
         System.out.println(ObjectReader.read(new SimpleTypeOne(), options));
         System.out.println(ObjectReader.read(new SimpleTypeOne_One(), options));
         System.out.println(ObjectReader.read(new SimpleTypeOne_One_One(), options));
     }
+
+    @Test
+    public void test_streamingMatchesRead() throws Exception {
+        final Object[] objects = new Object[]{null, new Object(), "asd", 1010, new TypeFour(), new TypeWithArray(), new CircularObjectHolder(), new NullsObject(),
+                new SimpleTypeOne_One_One().setText3("333").setText2("222").setText1("111"), new String[]{"1111", "2222", null}};
+        for (Object object : objects) {
+            final StringWriter writer = new StringWriter();
+            ObjectReader.read(object, options, writer);
+            assertEquals(ObjectReader.read(object, options), writer.toString());
+            assertEquals(ObjectReader.read(object, options), ObjectReader.read(object, options, new StringBuilder()).toString());
+        }
+    }
+
+    @Test
+    public void test_methodHandleReaderMode() {
+        final StringRepresentationOptions methodHandleOptions = StringRepresentationOptions.Builder.build().setReaderMode(ReaderMode.METHOD_HANDLES).get();
+        final Object[] objects = new Object[]{new Object(), new PrimitivesFieldsObject(), new TypeFour(), new TypeWithArray(), new CircularObjectHolder(), new NullsObject(),
+                new SimpleTypeOne_One_One().setText3("333").setText2("222").setText1("111")};
+        for (Object object : objects) {
+            System.out.println(object.getClass().getSimpleName() + " : " + ObjectReader.getReaderMode(object.getClass()));
+            assertSame(ReaderMode.METHOD_HANDLES, ObjectReader.getReaderMode(object.getClass()));
+            assertEquals(ObjectReader.read(object, options), ObjectReader.read(object, methodHandleOptions));
+        }
+        assertSame(ReaderMode.REFLECTIVE, ObjectReader.getReaderMode(String.class));
+        assertSame(ReaderMode.REFLECTIVE, ObjectReader.getReaderMode(int[].class));
+    }
+
+    @Test
+    public void test_deepGraphs() {
+        //Without indentation, so that the size of the output grows linearly with the depth.
+        final StringRepresentationOptions noIndentOptions = StringRepresentationOptions.Builder.build().setIndent("").get();
+        final StringRepresentationOptions methodHandleOptions = StringRepresentationOptions.Builder.build().setIndent("").setReaderMode(ReaderMode.METHOD_HANDLES).get();
+        final int depth = 100000;
+
+        final LinkedNode chain = LinkedNode.createChain(depth);
+        final String result = ObjectReader.read(chain, noIndentOptions);
+        assertEquals(depth, result.split("LinkedNode:\\{", -1).length - 1);
+        assertEquals(result, ObjectReader.read(chain, methodHandleOptions));
+
+        Object[] nestedArrays = new Object[0];
+        for (int i = 0; i < depth; i++) {
+            nestedArrays = new Object[]{nestedArrays};
+        }
+        assertEquals(depth + 1, ObjectReader.read(nestedArrays, noIndentOptions).split("Object\\[\\]:\\[", -1).length - 1);
+    }
+
+    @Test
+    public void test_arraysContainingThemselves() {
+        final Object[] first = new Object[2];
+        final Object[] second = new Object[]{first, "2"};
+        first[0] = "1";
+        first[1] = second;
+        final String result = ObjectReader.read(first, options);
+        assertEquals("Object[]:[\n\tString:{\"1\"},\n\tObject[]:[\n\t\t<Object Processing>,\n\t\tString:{\"2\"}\n\t]\n]", result);
+    }
+
+    @Test
+    public void test_primitiveArrays() throws Exception {
+        final StringRepresentationOptions fullTypeNameOptions = StringRepresentationOptions.Builder.build().setFullTypeName(true).get();
+        final Object[][] arrays = new Object[][]{
+                {new int[]{0, 1, -2, Integer.MAX_VALUE, Integer.MIN_VALUE}, new Integer[]{0, 1, -2, Integer.MAX_VALUE, Integer.MIN_VALUE}},
+                {new long[]{0L, -10L, Long.MAX_VALUE, Long.MIN_VALUE}, new Long[]{0L, -10L, Long.MAX_VALUE, Long.MIN_VALUE}},
+                {new double[]{0.0, -1.5, 1e300, Double.NaN, Double.NEGATIVE_INFINITY}, new Double[]{0.0, -1.5, 1e300, Double.NaN, Double.NEGATIVE_INFINITY}},
+                {new byte[]{0, 127, -128}, new Byte[]{0, 127, -128}},
+                {new char[]{'a', '\'', '1'}, new Character[]{'a', '\'', '1'}},
+                {new boolean[]{true, false}, new Boolean[]{true, false}},
+                {new short[]{0, Short.MAX_VALUE, Short.MIN_VALUE}, new Short[]{0, Short.MAX_VALUE, Short.MIN_VALUE}},
+                {new float[]{0.0f, -1.25f, 3.4e38f}, new Float[]{0.0f, -1.25f, 3.4e38f}},
+                {new int[0], new Integer[0]}};
+        for (Object[] pair : arrays) {
+            for (StringRepresentationOptions currentOptions : new StringRepresentationOptions[]{options, fullTypeNameOptions}) {
+                final String boxed = ObjectReader.read(pair[1], currentOptions);
+                //Only the type of the array differs from the String representation of the equivalent array of wrapper objects.
+                final String expected = ObjectReader.read(pair[0], currentOptions).replaceFirst("^[^:]*:", boxed.substring(0, boxed.indexOf(':') + 1));
+                assertEquals(boxed, expected);
+                final StringWriter writer = new StringWriter();
+                ObjectReader.read(pair[0], currentOptions, writer);
+                assertEquals(ObjectReader.read(pair[0], currentOptions), writer.toString());
+            }
+        }
+        assertEquals("int[]:[\n\tInteger:{7},\n\tInteger:{-8}\n]", ObjectReader.read(new int[]{7, -8}, options));
+    }
+
+    @Test
+    public void test_containers() {
+        final Object[] elements = new Object[]{1, "a", null, 'c', new TypeFive(), new int[]{3}};
+        final String array = ObjectReader.read(elements, options);
+        //A List is represented like an array holding the same elements.
+        assertEquals(array.replaceFirst("^Object\\[\\]", "ArrayList"), ObjectReader.read(new ArrayList<>(Arrays.asList(elements)), options));
+        //Concurrent collections are read through their weakly consistent iterators.
+        final Object[] nonNullElements = new Object[]{1, "a", 'c', new TypeFive(), new int[]{3}};
+        assertEquals(ObjectReader.read(nonNullElements, options).replaceFirst("^Object\\[\\]", "ConcurrentLinkedQueue"),
+                ObjectReader.read(new ConcurrentLinkedQueue<>(Arrays.asList(nonNullElements)), options));
+        assertEquals("ArrayList:[\n\n]", ObjectReader.read(new ArrayList<>(), options));
+
+        final Map<Object, Object> map = new LinkedHashMap<>();
+        map.put("key", 1);
+        map.put(2, null);
+        map.put(null, Collections.singletonList('v'));
+        assertEquals("LinkedHashMap:{\n" +
+                "\tString:{\"key\"}=Integer:{1},\n" +
+                "\tInteger:{2}=<null>,\n" +
+                "\t<null>=SingletonList:[\n" +
+                "\t\tCharacter:{'v'}\n" +
+                "\t]\n" +
+                "}", ObjectReader.read(map, options));
+        assertEquals("ConcurrentHashMap:{}", ObjectReader.read(new ConcurrentHashMap<>(), options));
+
+        assertEquals("Optional:[\n\tString:{\"value\"}\n]", ObjectReader.read(Optional.of("value"), options));
+        assertEquals("Optional:[\n\n]", ObjectReader.read(Optional.empty(), options));
+
+        //Containers that contain themselves are handled like objects that refer to themselves.
+        final List<Object> selfContaining = new ArrayList<>();
+        selfContaining.add(selfContaining);
+        assertEquals("ArrayList:[\n\tArrayList:[\n\t\t<Object Processing>\n\t]\n]", ObjectReader.read(selfContaining, options));
+
+        //The internal fields of the containers are only read when the logical representation is disabled.
+        assertFalse(ObjectReader.read(new ArrayList<>(Arrays.asList(elements)), options).contains("elementData"));
+        assertTrue(ObjectReader.read(new ArrayList<>(Arrays.asList(elements)), StringRepresentationOptions.Builder.build().setLogicalContainers(false).get())
+                .contains("elementData"));
+
+        //A Path is an Iterable of new Paths, so it is read by its fields instead of endlessly by its elements.
+        assertEquals(NodeKind.OBJECT, NodeKind.of(Paths.get("reports", "report.txt").getClass()));
+        final String withPath = ObjectReader.read(new ObjectWithPath(), options);
+        assertTrue(withPath.startsWith("ObjectWithPath:{\n\tObjectWithPath|i|String|\"name\"=\"report\",\n\tObjectWithPath|i|Path|\"path\"="));
+        assertEquals(withPath, ObjectReader.read(new ObjectWithPath(), StringRepresentationOptions.Builder.build().setLogicalContainers(false).get()));
+    }
+
+    @Test
+    public void test_readAll() throws Exception {
+        final List<Object> objects = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            objects.add((i % 3 == 0) ? new TypeFour() : (i % 3 == 1) ? new CircularObjectHolder() : "text" + i);
+        }
+        objects.add(null);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<CompletableFuture<String>> futures = ObjectReader.readAll(objects, options, executor);
+            assertEquals(objects.size(), futures.size());
+            final StringBuilder expected = new StringBuilder();
+            for (int i = 0; i < objects.size(); i++) {
+                assertEquals(ObjectReader.read(objects.get(i), options), futures.get(i).get());
+                if (i > 0) expected.append(options.getNewLine());
+                expected.append(ObjectReader.read(objects.get(i), options));
+            }
+            assertEquals(expected.toString(), ObjectReader.readAll(objects, options, executor, new StringWriter()).toString());
+            assertEquals("", ObjectReader.readAll(new ArrayList<>(), options, executor, new StringBuilder()).toString());
+
+            //A failing read fails its own future.
+            final List<Object> failing = Arrays.asList(1, new ArrayList<Object>() {
+                @Override
+                public java.util.Iterator<Object> iterator() {
+                    throw new IllegalStateException("broken");
+                }
+            });
+            final List<CompletableFuture<String>> failingFutures = ObjectReader.readAll(failing, options, executor);
+            assertEquals("Integer:{1}", failingFutures.get(0).get());
+            try {
+                failingFutures.get(1).join();
+                fail();
+            } catch (CompletionException e) {
+                assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_backReferences() {
+        final StringRepresentationOptions backReferencesOptions = StringRepresentationOptions.Builder.build().setBackReferences(true).get();
+        final List<Integer> list = new ArrayList<>(Collections.singletonList(1));
+        final List<Object> holder = new ArrayList<>();
+        final Object[] array = new Object[]{list, list, holder};
+        holder.add(array);
+        assertEquals("Object[]#1:[\n" +
+                "\tArrayList#2:[\n" +
+                "\t\tInteger:{1}\n" +
+                "\t],\n" +
+                "\tArrayList:@ref#2,\n" +
+                "\tArrayList#3:[\n" +
+                "\t\tObject[]:@ref#1\n" +
+                "\t]\n" +
+                "]", ObjectReader.read(array, backReferencesOptions));
+        final Object[] containingItself = new Object[1];
+        containingItself[0] = containingItself;
+        assertEquals("Object[]#1:[\n" +
+                "\t<Object Processing>\n" +
+                "]", ObjectReader.read(containingItself, backReferencesOptions));
+        assertEquals("Integer:{1}", ObjectReader.read(1, backReferencesOptions));
+
+        //An object shared by many objects is written once.
+        final TypeFour shared = new TypeFour();
+        final Object[] dag = new Object[10000];
+        Arrays.fill(dag, shared);
+        final String representation = ObjectReader.read(dag, backReferencesOptions);
+        final String sharedRepresentation = ObjectReader.read(shared, options);
+        assertTrue(representation.startsWith("Object[]#1:[\n\tTypeFour#2:{"));
+        assertEquals(dag.length - 1, representation.split("TypeFour:@ref#2", -1).length - 1);
+        assertTrue(representation.length() < sharedRepresentation.length() + (dag.length * 20));
+        assertTrue(ObjectReader.read(dag, options).length() > sharedRepresentation.length() * dag.length);
+
+        //Back-references depend on the order of writing, so a ForkJoinPool doesn't change the result.
+        final StringRepresentationOptions parallelOptions = StringRepresentationOptions.Builder.build().setBackReferences(true).setForkJoinPool(new ForkJoinPool(4)).get();
+        assertEquals(representation, ObjectReader.read(dag, parallelOptions));
+        assertFalse(ObjectReader.read(dag, options).contains("@ref#"));
+    }
+
+    @Test
+    public void test_inaccessibleFields() throws Exception {
+        //The fields of java.util are only accessible on JDK 8, or when java.base is opened to this library.
+        final boolean accessible = FieldAccessor.getFieldAccessor(UUID.class.getDeclaredField("mostSigBits")).isAccessible();
+        final UUID uuid = new UUID(1, 2);
+        final String representation = ObjectReader.read(uuid, options);
+        if (accessible) {
+            assertTrue(representation.contains("|\"mostSigBits\"=1"));
+        } else {
+            //An inaccessible field is not written as null, as its value is unknown.
+            assertTrue(representation.contains("|\"mostSigBits\"=" + FieldAccessor.INACCESSIBLE_REPRESENTATION));
+            assertFalse(representation.contains(options.getNullRepresentation()));
+            assertTrue(ObjectReader.read(uuid, StringRepresentationOptions.Builder.build().setOutputFormat(OutputFormat.JSON).get())
+                    .contains("\"name\":\"mostSigBits\",\"value\":" + JsonWriter.INACCESSIBLE_VALUE));
+        }
+        //The other reader modes, the snapshots and the binary snapshots write the inaccessible fields the same way.
+        assertEquals(representation, ObjectReader.read(uuid, StringRepresentationOptions.Builder.build().setReaderMode(ReaderMode.METHOD_HANDLES).get()));
+        assertEquals(representation, ObjectReader.capture(uuid, options).render(options));
+        assertEquals(representation, ObjectReader.encode(uuid, options).render(options));
+    }
+
+    @Test
+    public void test_lazy() {
+        //An Iterable counting how many times it is read.
+        final AtomicInteger reads = new AtomicInteger();
+        final Iterable<Integer> counted = () -> {
+            reads.incrementAndGet();
+            return Arrays.asList(1, 2).iterator();
+        };
+        final LazyRepresentation lazy = ObjectReader.lazy(counted, options);
+        assertFalse(lazy.isRendered());
+        assertEquals(0, reads.get());
+
+        final String representation = lazy.toString();
+        assertTrue(lazy.isRendered());
+        assertEquals(1, reads.get());
+        assertEquals(ObjectReader.read(counted, options), representation);
+        reads.set(0);
+        assertSame(representation, lazy.toString());
+        assertEquals(0, reads.get());
+
+        assertEquals(ObjectReader.read(new TypeFour()), ObjectReader.lazy(new TypeFour()).toString());
+        assertEquals(options.getNullRepresentation(), ObjectReader.lazy(null).toString());
+        try {
+            ObjectReader.lazy(counted, null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("null 2nd argument", e.getMessage());
+        }
+    }
 }
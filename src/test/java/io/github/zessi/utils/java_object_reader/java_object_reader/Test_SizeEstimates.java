@@ -0,0 +1,117 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.LinkedNode;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class Test_SizeEstimates {
+
+    private static final StringRepresentationOptions sizeOptions = StringRepresentationOptions.Builder.build().setSizeEstimates(true).get();
+
+    private static long align(long size) {
+        final long alignment = SizeEstimator.OBJECT_ALIGNMENT;
+        return ((size + alignment - 1) / alignment) * alignment;
+    }
+
+    private static String sizes(long shallow, long retained) {
+        return SizeEstimate.SIZES_PREFIX + shallow + SizeEstimate.SIZES_SEPARATOR + retained + SizeEstimate.SIZES_SUFFIX;
+    }
+
+    @Test
+    public void test_shallowSizes() {
+        assertEquals(align(SizeEstimator.ARRAY_BASE_OFFSET + 4 * 10), ObjectReader.estimateSize(new int[10]).getShallowSize());
+        assertEquals(align(SizeEstimator.ARRAY_BASE_OFFSET + 8 * 3), ObjectReader.estimateSize(new long[3]).getShallowSize());
+        assertEquals(align(SizeEstimator.ARRAY_BASE_OFFSET), ObjectReader.estimateSize(new Object[0]).getShallowSize());
+        assertEquals(align(SizeEstimator.ARRAY_BASE_OFFSET + SizeEstimator.REFERENCE_SIZE * 5), ObjectReader.estimateSize(new Object[5]).getShallowSize());
+        assertEquals(align(SizeEstimator.OBJECT_HEADER_SIZE + SizeEstimator.REFERENCE_SIZE + 4), ObjectReader.estimateSize(new LinkedNode()).getShallowSize());
+        //The backing array of a String is part of its shallow size.
+        assertTrue(ObjectReader.estimateSize("some text").getShallowSize() > ObjectReader.estimateSize(new Object()).getShallowSize() + SizeEstimator.ARRAY_BASE_OFFSET);
+    }
+
+    @Test
+    public void test_retainedSizes() {
+        final long nodeSize = ObjectReader.estimateSize(new LinkedNode()).getShallowSize();
+        final SizeEstimate chain = ObjectReader.estimateSize(LinkedNode.createChain(1000));
+        assertEquals(nodeSize, chain.getShallowSize());
+        assertEquals(1000 * nodeSize, chain.getRetainedSize());
+        assertEquals(1000, chain.getObjectCount());
+
+        //A shared object is counted once, and the Class objects, the enum constants and the nulls are not counted.
+        final LinkedNode shared = new LinkedNode();
+        final Object[] array = {shared, shared, null, LinkedNode.class, OutputFormat.JSON};
+        final SizeEstimate estimate = ObjectReader.estimateSize(array);
+        assertEquals(align(SizeEstimator.ARRAY_BASE_OFFSET + SizeEstimator.REFERENCE_SIZE * 5) + nodeSize, estimate.getRetainedSize());
+        assertEquals(2, estimate.getObjectCount());
+
+        final SizeEstimate empty = ObjectReader.estimateSize(null);
+        assertEquals(0, empty.getShallowSize());
+        assertEquals(0, empty.getRetainedSize());
+        assertEquals(0, empty.getObjectCount());
+        try {
+            ObjectReader.estimateSize(shared, null);
+            fail("Expected an IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("null 2nd argument", e.getMessage());
+        }
+    }
+
+    @Test
+    public void test_shallowSizesByClass() {
+        final Object[] array = {LinkedNode.createChain(10), new int[1000], new int[1]};
+        final Map<Class, Long> byClass = ObjectReader.estimateSize(array).getShallowSizesByClass();
+        final Iterator<Map.Entry<Class, Long>> entries = byClass.entrySet().iterator();
+        final Map.Entry<Class, Long> first = entries.next();
+        assertEquals(int[].class, first.getKey());
+        assertEquals(align(SizeEstimator.ARRAY_BASE_OFFSET + 4 * 1000) + align(SizeEstimator.ARRAY_BASE_OFFSET + 4), (long) first.getValue());
+        long previous = first.getValue();
+        while (entries.hasNext()) {
+            final long next = entries.next().getValue();
+            assertTrue(next <= previous);
+            previous = next;
+        }
+        assertEquals(10 * ObjectReader.estimateSize(new LinkedNode()).getShallowSize(), (long) byClass.get(LinkedNode.class));
+        assertEquals(3, byClass.size());
+    }
+
+    @Test
+    public void test_containers() {
+        //The containers are walked through their fields, or through their elements when their fields cannot be read, so their elements are counted either way.
+        final List<Object> list = new ArrayList<>(Arrays.asList(LinkedNode.createChain(5), new long[100]));
+        final SizeEstimate estimate = ObjectReader.estimateSize(list);
+        final long contents = ObjectReader.estimateSize(LinkedNode.createChain(5)).getRetainedSize() + align(SizeEstimator.ARRAY_BASE_OFFSET + 8 * 100);
+        assertTrue(estimate.getRetainedSize() >= estimate.getShallowSize() + contents);
+        assertEquals(5, (long) estimate.getShallowSizesByClass().get(LinkedNode.class) / ObjectReader.estimateSize(new LinkedNode()).getShallowSize());
+    }
+
+    @Test
+    public void test_annotations() {
+        final long nodeSize = ObjectReader.estimateSize(new LinkedNode()).getShallowSize();
+        final LinkedNode chain = LinkedNode.createChain(2);
+        final String text = ObjectReader.read(chain, sizeOptions);
+        assertTrue(text.startsWith("LinkedNode" + sizes(nodeSize, 2 * nodeSize) + ":{"));
+        assertTrue(text.contains("\"next\"=LinkedNode" + sizes(nodeSize, nodeSize) + ":{"));
+        //Without size estimates, the representation is unchanged.
+        assertEquals(ObjectReader.read(chain), text.replace(sizes(nodeSize, 2 * nodeSize), "").replace(sizes(nodeSize, nodeSize), ""));
+
+        //The sizes follow the ids, and the values of primitive types are not annotated.
+        final StringRepresentationOptions backReferenceOptions = StringRepresentationOptions.Builder.build().setSizeEstimates(true).setBackReferences(true).get();
+        final String withIds = ObjectReader.read(new Object[]{chain, chain, "text"}, backReferenceOptions);
+        assertTrue(withIds.contains("LinkedNode#2" + sizes(nodeSize, 2 * nodeSize) + ":{"));
+        assertTrue(withIds.contains("String:{\"text\"}"));
+
+        final StringRepresentationOptions jsonOptions = StringRepresentationOptions.Builder.build().setSizeEstimates(true).setBackReferences(true)
+                .setOutputFormat(OutputFormat.JSON).get();
+        assertTrue(ObjectReader.read(chain, jsonOptions).startsWith("{\"type\":\"LinkedNode\",\"id\":1,\"shallowSize\":" + nodeSize + ",\"retainedSize\":" + (2 * nodeSize)
+                + ",\"fields\":["));
+
+        //The nodes of Snapshots are not sized.
+        assertEquals(ObjectReader.read(chain), ObjectReader.capture(chain).render(sizeOptions));
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.LinkedNode;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.NullsObject;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.PrimitivesFieldsObject;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.circular.CircularObjectHolder;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.circular.MyCircularTypeOne;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.complex.TypeWithArray;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.inheritance.SimpleTypeOne_One_One;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+
+public class Test_Snapshot {
+
+    private static final StringRepresentationOptions options = StringRepresentationOptions.Builder.build().get();
+
+    @Test
+    public void test_renderingIsIdenticalToReading() {
+        final Map<Object, Object> map = new LinkedHashMap<>();
+        map.put("list", new ArrayList<>(Arrays.asList(1, null, "x")));
+        map.put(null, Optional.of(new int[]{1, 2}));
+        map.put(3, Optional.empty());
+        final Object[] objects = {null, 1, "text", new PrimitivesFieldsObject(), new NullsObject(), new TypeWithArray(), new CircularObjectHolder(),
+                new SimpleTypeOne_One_One().setText3("3").setText2("2").setText1("1"), new long[]{Long.MIN_VALUE, 0}, new Object[]{'c', 1.5, new double[0]}, map};
+        final StringRepresentationOptions fullOptions = StringRepresentationOptions.Builder.build().setFullTypeName(true).setIndent("  ").setNullRepresentation("NULL").get();
+        for (Object object : objects) {
+            assertEquals(ObjectReader.read(object, options), ObjectReader.capture(object).render());
+            assertEquals(ObjectReader.read(object, options), ObjectReader.capture(object).toString());
+            assertEquals(ObjectReader.read(object, fullOptions), ObjectReader.capture(object, fullOptions).render());
+            //The formatting can be changed when the snapshot is written.
+            assertEquals(ObjectReader.read(object, fullOptions), ObjectReader.capture(object).render(fullOptions));
+        }
+    }
+
+    @Test
+    public void test_snapshotIsNotAffectedByLaterChanges() throws Exception {
+        final CircularObjectHolder holder = new CircularObjectHolder();
+        final int[] numbers = {1, 2, 3};
+        final List<Object> list = new ArrayList<>(Arrays.asList(holder, numbers));
+        final String expected = ObjectReader.read(list);
+        final Snapshot snapshot = ObjectReader.capture(list);
+
+        holder.myCircularTypeOne1.text = "changed";
+        ((MyCircularTypeOne) holder.myCircularTypeOne1.innerObject).innerObject = null;
+        numbers[1] = 5;
+        list.add("added");
+        assertNotEquals(expected, ObjectReader.read(list));
+
+        //Written on another thread.
+        assertEquals(expected, CompletableFuture.supplyAsync(snapshot::render).get());
+        assertEquals(expected, snapshot.render(options, new StringWriter()).toString());
+        assertSame(ObjectReader.getDefaultOptions(), snapshot.getOptions());
+    }
+
+    @Test
+    public void test_sharedAndCircularReferencesAreKept() {
+        final Object[] array = new Object[3];
+        final MyCircularTypeOne shared = new MyCircularTypeOne();
+        array[0] = shared;
+        array[1] = shared;
+        array[2] = array;
+        final StringRepresentationOptions backReferencesOptions = StringRepresentationOptions.Builder.build().setBackReferences(true).get();
+        assertEquals(ObjectReader.read(array, backReferencesOptions), ObjectReader.capture(array, backReferencesOptions).render());
+        assertTrue(ObjectReader.capture(array, backReferencesOptions).render().contains("MyCircularTypeOne:@ref#2"));
+        assertEquals(ObjectReader.read(new CircularObjectHolder()), ObjectReader.capture(new CircularObjectHolder()).render());
+    }
+
+    @Test
+    public void test_budgets() {
+        //Only one element more than the budget of elements is captured, so an endless Iterable can be captured.
+        final Iterable<Integer> endless = () -> new Iterator<Integer>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                return next++;
+            }
+        };
+        final StringRepresentationOptions budgetOptions = StringRepresentationOptions.Builder.build().setMaxElements(3).get();
+        assertTrue(ObjectReader.capture(endless, budgetOptions).render().endsWith("\t<Truncated>\n]"));
+        assertEquals(ObjectReader.read(new int[100], budgetOptions), ObjectReader.capture(new int[100], budgetOptions).render());
+        final StringRepresentationOptions depthOptions = StringRepresentationOptions.Builder.build().setMaxDepth(2).get();
+        assertEquals(ObjectReader.read(LinkedNode.createChain(10), depthOptions), ObjectReader.capture(LinkedNode.createChain(10), depthOptions).render());
+    }
+
+    @Test
+    public void test_deepGraphs() {
+        final StringRepresentationOptions noIndentOptions = StringRepresentationOptions.Builder.build().setIndent("").get();
+        final LinkedNode chain = LinkedNode.createChain(100000);
+        assertEquals(ObjectReader.read(chain, noIndentOptions), ObjectReader.capture(chain, noIndentOptions).render());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_nullOptions() {
+        ObjectReader.capture(1, null);
+    }
+}
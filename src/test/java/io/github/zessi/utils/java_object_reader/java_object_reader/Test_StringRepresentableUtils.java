@@ -157,4 +157,26 @@ public class Test_StringRepresentableUtils {
 
     }
 
+    @Test
+    public void test_nodeKinds() {
+        assertEquals(NodeKind.PRIMITIVE, NodeKind.of(int.class));
+        assertEquals(NodeKind.OBJECT, NodeKind.of(void.class));
+        assertEquals(NodeKind.BOXED, NodeKind.of(Character.class));
+        assertEquals(NodeKind.STRING, NodeKind.of(String.class));
+        assertEquals(NodeKind.PRIMITIVE_ARRAY, NodeKind.of(long[].class));
+        assertEquals(NodeKind.ARRAY, NodeKind.of(int[][].class));
+        assertEquals(NodeKind.ITERABLE, NodeKind.of(ArrayList.class));
+        assertEquals(NodeKind.MAP, NodeKind.of(TreeMap.class));
+        assertEquals(NodeKind.OPTIONAL, NodeKind.of(Optional.class));
+        assertEquals(NodeKind.NODE, NodeKind.of(SnapshotNode.class));
+        assertEquals(NodeKind.ENUM, NodeKind.of(Thread.State.class));
+        assertEquals(NodeKind.OBJECT, NodeKind.of(Enum.class));
+        assertEquals(NodeKind.OBJECT, NodeKind.of(BigDecimal.class));
+        assertEquals(NodeKind.OBJECT, NodeKind.of(List.class.getClass()));
+        assertTrue(NodeKind.isValue(NodeKind.of(Integer.class)));
+        assertFalse(NodeKind.isValue(NodeKind.of(int[].class)));
+        assertTrue(NodeKind.isContainer(NodeKind.of(Optional.class)));
+        assertFalse(NodeKind.isContainer(NodeKind.of(Object[].class)));
+    }
+
 }
@@ -0,0 +1,36 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class Test_StringRepresentationOptions {
+
+    @Test
+    public void test_cloneAndAddIndentIsShared() {
+        final StringRepresentationOptions options = StringRepresentationOptions.Builder.build().setIndentCount(1).setFullTypeName(true).get();
+        final StringRepresentationOptions deeper = options.cloneAndAddIndent();
+        assertSame(deeper, options.cloneAndAddIndent());
+        assertSame(deeper.cloneAndAddIndent(), options.cloneAndAddIndent().cloneAndAddIndent());
+        assertEquals(2, deeper.getIndentCount());
+        assertTrue(deeper.isFullTypeName());
+        assertSame(ObjectReader.getDefaultOptions(), ObjectReader.getDefaultOptions());
+    }
+
+    @Test
+    public void test_indents() throws Exception {
+        StringRepresentationOptions options = StringRepresentationOptions.Builder.build().setIndent("ab").get();
+        String expected = "";
+        //Deep enough to go past the precomputed indentation Strings.
+        for (int depth = 0; depth < 200; depth++) {
+            assertEquals(depth, options.getIndentCount());
+            assertEquals(expected, options.getIndents());
+            final StringBuilder builder = new StringBuilder();
+            options.writeIndents(builder);
+            assertEquals(expected, builder.toString());
+            options = options.cloneAndAddIndent();
+            expected += "ab";
+        }
+        assertEquals("", StringRepresentationOptions.Builder.build().setIndentCount(-1).get().getIndents());
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader;
+
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.ValueTypesObject;
+import io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests.complex.TypeWithArray;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class Test_TypeRenderers {
+
+    private static final StringRepresentationOptions rendererOptions = StringRepresentationOptions.Builder.build().setTypeRenderers(TypeRenderers.getDefaults()).get();
+
+    @Test
+    public void test_defaults() {
+        assertEquals("BigDecimal:{12.50}", ObjectReader.read(new BigDecimal("12.50"), rendererOptions));
+        //The constants of TimeUnit may have bodies of their own, which are subclasses of TimeUnit.
+        assertTrue(ObjectReader.read(TimeUnit.SECONDS, rendererOptions).endsWith(":{SECONDS}"));
+
+        final String rendered = ObjectReader.read(new ValueTypesObject(), rendererOptions);
+        assertTrue(rendered.contains("\"amount\"=BigDecimal:{12.50}"));
+        assertTrue(rendered.contains("\"id\"=UUID:{00000000-0000-0001-0000-000000000002}"));
+        assertTrue(rendered.contains("\"date\"=LocalDate:{2020-01-31}"));
+        assertTrue(rendered.contains("\"counter\"=AtomicLong:{7}"));
+        assertTrue(rendered.contains("BigDecimal:{1},"));
+        assertTrue(rendered.contains("State:{NEW}"));
+
+        //Without renderers, the objects are read by their fields.
+        assertTrue(ObjectReader.read(new BigDecimal("12.50"), StringRepresentationOptions.Builder.build().setMaxDepth(1).get()).startsWith("BigDecimal:{\n"));
+    }
+
+    @Test
+    public void test_lookup() {
+        final TypeRenderer<Object> listRenderer = (value, out, renderOptions) -> out.append("list");
+        final TypeRenderer<Object> iterableRenderer = (value, out, renderOptions) -> out.append("iterable");
+        final TypeRenderers renderers = TypeRenderers.empty().register(Iterable.class, iterableRenderer).register(ArrayList.class, listRenderer);
+        assertSame(listRenderer, renderers.getRenderer(ArrayList.class));
+        assertSame(iterableRenderer, renderers.getRenderer(Arrays.asList(1).getClass()));
+        assertSame(iterableRenderer, renderers.getRenderer(List.class));
+        assertNull(renderers.getRenderer(Object.class));
+        //Registering creates a new registry.
+        assertNull(TypeRenderers.empty().getRenderer(ArrayList.class));
+        assertNotNull(TypeRenderers.getDefaults().getRenderer(TimeUnit.SECONDS.getClass()));
+
+        final StringRepresentationOptions listOptions = StringRepresentationOptions.Builder.build().setTypeRenderers(renderers).get();
+        assertEquals("Object[]:[\n\tArrayList:{list},\n\tArrayList:{list}\n]", ObjectReader.read(new Object[]{new ArrayList<>(), new ArrayList<>()}, listOptions));
+
+        try {
+            TypeRenderers.empty().register(String.class, TypeRenderer.usingToString());
+            fail();
+        } catch (IllegalArgumentException e) {
+            //The values of primitive types are written directly.
+        }
+    }
+
+    @Test
+    public void test_renderedObjectsAreLeaves() {
+        final AtomicInteger renders = new AtomicInteger();
+        final TypeRenderers renderers = TypeRenderers.empty().register(TypeWithArray.class, (value, out, renderOptions) -> out.append(String.valueOf(renders.incrementAndGet())));
+        final TypeWithArray shared = new TypeWithArray();
+        final StringRepresentationOptions backReferenceOptions = StringRepresentationOptions.Builder.build().setTypeRenderers(renderers).setBackReferences(true)
+                .setMaxDepth(1).get();
+        //Rendered objects are not given ids, and are not limited by the depth.
+        assertEquals("Object[]#1:[\n\tTypeWithArray:{1},\n\tTypeWithArray:{2}\n]", ObjectReader.read(new Object[]{shared, shared}, backReferenceOptions));
+    }
+
+    @Test
+    public void test_snapshotsHoldTheRenderedValues() {
+        final AtomicInteger value = new AtomicInteger(1);
+        final Object[] objects = {value, new ValueTypesObject()};
+        final String expected = ObjectReader.read(objects, rendererOptions);
+        final Snapshot snapshot = ObjectReader.capture(objects, rendererOptions);
+        final BinarySnapshot binarySnapshot = ObjectReader.encode(objects, rendererOptions);
+        value.set(2);
+        assertEquals(expected, snapshot.render());
+        assertEquals(expected, binarySnapshot.render());
+        assertEquals(expected, BinarySnapshot.wrap(binarySnapshot.getBuffer(), rendererOptions).render());
+        assertNotEquals(expected, ObjectReader.read(objects, rendererOptions));
+    }
+
+    @Test
+    public void test_diff() {
+        final ValueTypesObject before = new ValueTypesObject();
+        final ValueTypesObject after = new ValueTypesObject();
+        assertEquals("", ObjectReader.diff(before, after, rendererOptions));
+        after.amount = new BigDecimal("12.5");
+        assertEquals("ValueTypesObject.amount: BigDecimal:{12.50} -> BigDecimal:{12.5}", ObjectReader.diff(before, after, rendererOptions));
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests;
+
+public class BrokenHashCodeObject {
+
+    private String text = "broken";
+    private BrokenHashCodeObject next;
+
+    public BrokenHashCodeObject setNext(BrokenHashCodeObject next) {
+        this.next = next;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        throw new UnsupportedOperationException("hashCode should not be called");
+    }
+}
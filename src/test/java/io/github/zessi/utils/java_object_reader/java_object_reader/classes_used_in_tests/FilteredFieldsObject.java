@@ -0,0 +1,26 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FilteredFieldsObject {
+
+    public static final String CONSTANT = "constant";
+
+    private final int number = 1;
+
+    private transient String cache = "cache";
+
+    @Deprecated
+    private String legacy = "legacy";
+
+    /**
+     * The number of times the elements of the field "counted" were read.
+     */
+    public final AtomicInteger reads = new AtomicInteger();
+
+    private final Iterable<Integer> counted = () -> {
+        reads.incrementAndGet();
+        return Arrays.asList(1, 2).iterator();
+    };
+}
@@ -0,0 +1,18 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests;
+
+public class LinkedNode {
+
+    private int value;
+    private LinkedNode next;
+
+    public static LinkedNode createChain(int length) {
+        final LinkedNode head = new LinkedNode();
+        LinkedNode current = head;
+        for (int i = 1; i < length; i++) {
+            current.next = new LinkedNode();
+            current.next.value = i;
+            current = current.next;
+        }
+        return head;
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class ObjectWithPath {
+
+    private String name = "report";
+    private Path path = Paths.get("reports", "report.txt");
+
+}
@@ -0,0 +1,22 @@
+package io.github.zessi.utils.java_object_reader.java_object_reader.classes_used_in_tests;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ValueTypesObject {
+
+    public BigDecimal amount = new BigDecimal("12.50");
+
+    private final UUID id = new UUID(1, 2);
+
+    private final LocalDate date = LocalDate.of(2020, 1, 31);
+
+    private final TimeUnit unit = TimeUnit.SECONDS;
+
+    private final AtomicLong counter = new AtomicLong(7);
+
+    private final Object[] values = {new BigDecimal("1"), Thread.State.NEW};
+}